@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Christoph Läubrich and others.
+ * Copyright (c) 2022, 2026 Christoph Läubrich and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -64,7 +64,7 @@ public class MavenProjectDependencyProcessor {
 			throws CoreException {
 		Objects.requireNonNull(session);
 		Map<MavenProject, Collection<IInstallableUnit>> projectIUMap = generator.getInstallableUnits(projects, session);
-		return new ProjectDependencyClosureGraph(projectIUMap, slicer);
+		return new ProjectDependencyClosureGraph(projects, projectIUMap, slicer);
 	}
 
 	private static boolean hasAnyHost(IInstallableUnit unit, Iterable<IInstallableUnit> collection) {
@@ -182,6 +182,23 @@ public class MavenProjectDependencyProcessor {
 			}).toList();
 		}
 
+		/**
+		 * Given a maven project returns all other maven projects that (directly)
+		 * depend on this one, regardless of any context filtering
+		 * 
+		 * @param mavenProject the maven project for which all direct dependents should
+		 *                     be collected
+		 * @return the collection of projects in this closure that depend on the given
+		 *         maven project
+		 */
+		default Collection<MavenProject> getDependentProjects(MavenProject mavenProject) {
+			return dependencies(always -> List.of())
+					.filter(entry -> entry.getValue().stream()
+							.flatMap(dependency -> getProject(dependency).stream())
+							.anyMatch(project -> project == mavenProject))
+					.map(Entry::getKey).distinct().toList();
+		}
+
 		/**
 		 * Check if the given unit is a fragment
 		 * 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2025 Christoph Läubrich and others.
+ * Copyright (c) 2025, 2026 Christoph Läubrich and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -18,6 +18,7 @@ import java.util.AbstractMap.SimpleEntry;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -55,12 +56,15 @@ class ProjectDependencyClosureGraph implements ProjectDependencyClosure {
 
 	private Map<MavenProject, ProjectDependencies> projectDependenciesMap;
 
+	private final Map<MavenProject, Collection<MavenProject>> dependentsMap;
+
 	private InstallableUnitSlicer slicer;
 
 	private Map<MavenProject, Collection<IInstallableUnit>> projectIUMap;
 
-	ProjectDependencyClosureGraph(Map<MavenProject, Collection<IInstallableUnit>> projectIUMap,
-			InstallableUnitSlicer slicer) throws CoreException {
+	ProjectDependencyClosureGraph(Collection<MavenProject> projects,
+			Map<MavenProject, Collection<IInstallableUnit>> projectIUMap, InstallableUnitSlicer slicer)
+			throws CoreException {
 		this.projectIUMap = projectIUMap;
 		this.slicer = slicer;
 		Collection<IInstallableUnit> availableIUs = projectIUMap.values().stream().flatMap(Collection::stream)
@@ -73,6 +77,34 @@ class ProjectDependencyClosureGraph implements ProjectDependencyClosure {
 				iuProjectMap.put(iu, mavenProject);
 			}
 		}
+		dependentsMap = computeDependents(projects);
+	}
+
+	/**
+	 * Computes the reverse index from a project to all projects that directly
+	 * depend on it, so dependents can be looked up without scanning the
+	 * dependencies of all projects.
+	 * 
+	 * @param projects the projects in reactor order
+	 * @return a Map from a project to the projects depending on it, in the order
+	 *         of the given projects
+	 */
+	private Map<MavenProject, Collection<MavenProject>> computeDependents(Collection<MavenProject> projects) {
+		Map<MavenProject, Set<MavenProject>> dependents = new HashMap<>();
+		for (MavenProject dependent : projects) {
+			ProjectDependencies projectDependencies = projectDependenciesMap.get(dependent);
+			if (projectDependencies == null) {
+				continue;
+			}
+			for (IInstallableUnit dependency : projectDependencies.getDependencies(List.of())) {
+				MavenProject project = iuProjectMap.get(dependency);
+				if (project != null && project != dependent) {
+					dependents.computeIfAbsent(project, nil -> new LinkedHashSet<>()).add(dependent);
+				}
+			}
+		}
+		return dependents.entrySet().stream()
+				.collect(Collectors.toUnmodifiableMap(Entry::getKey, entry -> List.copyOf(entry.getValue())));
 	}
 
 	/**
@@ -156,6 +188,11 @@ class ProjectDependencyClosureGraph implements ProjectDependencyClosure {
 				pd.getValue().getDependencies(contextIuSupplier.apply(pd.getKey()))));
 	}
 
+	@Override
+	public Collection<MavenProject> getDependentProjects(MavenProject mavenProject) {
+		return dependentsMap.getOrDefault(mavenProject, List.of());
+	}
+
 	@Override
 	public boolean isFragment(MavenProject mavenProject) {
 
@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2maven.transport;
+
+/**
+ * Statistics about the in-memory index of a {@link HttpCache}
+ * 
+ * @param hits
+ *            number of lookups that found an existing cache line
+ * @param misses
+ *            number of lookups that had to create a new cache line
+ * @param evictions
+ *            number of cache lines removed because the capacity was exceeded
+ * @param size
+ *            the current number of cache lines
+ * @param capacity
+ *            the maximum number of cache lines
+ */
+public record CacheStatistics(long hits, long misses, long evictions, int size, int capacity) {
+
+	@Override
+	public String toString() {
+		return "hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", size=" + size + "/" + capacity;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Christoph Läubrich and others.
+ * Copyright (c) 2022, 2026 Christoph Läubrich and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -13,6 +13,7 @@
 package org.eclipse.tycho.p2maven.transport;
 
 import java.io.File;
+import java.util.Date;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
@@ -37,6 +38,7 @@ public class DefaultTransportCacheConfig implements TransportCacheConfig {
 	@Inject
 	private LegacySupport legacySupport;
 	private File cacheLocation;
+	private final long created = System.currentTimeMillis();
 
 	@PostConstruct
 	public void initialize() {
@@ -53,13 +55,20 @@ public class DefaultTransportCacheConfig implements TransportCacheConfig {
 			update = session.getRequest().isUpdateSnapshots();
 			interactive = session.getRequest().isInteractiveMode() && showTransferProgress(session);
 		}
+		cacheLocation = getDefaultCacheLocation(repoDir);
+		cacheLocation.mkdirs();
+	}
+
+	/**
+	 * @param repoDir the local maven repository
+	 * @return the Tycho cache directory for the given local repository
+	 */
+	public static File getDefaultCacheLocation(File repoDir) {
 		String property = System.getProperty("tycho.p2.transport.cache");
 		if (property == null || property.isBlank()) {
-			cacheLocation = new File(repoDir, ".cache/tycho");
-		} else {
-			cacheLocation = new File(property);
+			return new File(repoDir, ".cache/tycho");
 		}
-		cacheLocation.mkdirs();
+		return new File(property);
 	}
 
 	private boolean showTransferProgress(MavenSession session) {
@@ -90,6 +99,19 @@ public class DefaultTransportCacheConfig implements TransportCacheConfig {
 		return cacheLocation;
 	}
 
+	@Override
+	public long getSessionStart() {
+		// the component outlives a session in long running containers like mvnd
+		MavenSession session = legacySupport.getSession();
+		if (session != null) {
+			Date startTime = session.getRequest().getStartTime();
+			if (startTime != null) {
+				return startTime.getTime();
+			}
+		}
+		return created;
+	}
+
 	@Override
 	public boolean isDebug() {
 		return DEBUG_REQUESTS;
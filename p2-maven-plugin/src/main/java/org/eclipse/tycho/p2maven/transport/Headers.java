@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2024 Christoph Läubrich and others.
+ * Copyright (c) 2024, 2026 Christoph Läubrich and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -26,6 +26,11 @@ public interface Headers extends AutoCloseable {
 	String HEADER_CONTENT_ENCODING = "Content-Encoding";
 	String ENCODING_GZIP = "gzip";
 	String ETAG_HEADER = "ETag";
+	String RANGE_HEADER = "Range";
+	String IF_RANGE_HEADER = "If-Range";
+	String ACCEPT_RANGES_HEADER = "Accept-Ranges";
+	String CONTENT_RANGE_HEADER = "Content-Range";
+	String CONTENT_LENGTH_HEADER = "Content-Length";
 	String LAST_MODIFIED_HEADER = "Last-Modified";
 	String EXPIRES_HEADER = "Expires";
 	String CACHE_CONTROL_HEADER = "Cache-Control";
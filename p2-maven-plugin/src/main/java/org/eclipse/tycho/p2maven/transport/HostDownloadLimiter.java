@@ -0,0 +1,341 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2maven.transport;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.equinox.internal.p2.repository.AuthenticationFailedException;
+
+/**
+ * Limits the number of downloads running in parallel, in total and for each host.
+ * <p>
+ * The limit of a host adapts to the observed behavior of the host: while requests are queued
+ * for it, the limit grows as long as the throughput of the host grows as well and shrinks again
+ * if the throughput drops. Errors decrease the limit and responses that indicate an overloaded
+ * server (429, 503) halve it, so slow or overloaded hosts get fewer connections while fast hosts
+ * are not held back by them.
+ */
+final class HostDownloadLimiter {
+
+	/**
+	 * Maximum number of downloads running in parallel in total, the former number of download
+	 * threads still limits the downloads in the same way if it is set
+	 */
+	private static final int MAX_DOWNLOADS = Math.max(1, Integer.getInteger("tycho.p2.transport.max-downloads",
+			Integer.getInteger("tycho.p2.transport.max-download-threads", 32)));
+	/**
+	 * Upper bound for the adaptive number of parallel downloads from one host
+	 */
+	private static final int MAX_HOST_DOWNLOADS = Math.max(1,
+			Integer.getInteger("tycho.p2.transport.max-host-connections", 16));
+	private static final int INITIAL_HOST_DOWNLOADS = Math.min(4, MAX_HOST_DOWNLOADS);
+
+	private static final int HTTP_TOO_MANY_REQUESTS = 429;
+	private static final int HTTP_UNAVAILABLE = 503;
+
+	private final Semaphore downloads;
+
+	private final Map<String, Host> hosts = new ConcurrentHashMap<>();
+
+	private final Permit unlimited = new Permit(null);
+
+	/**
+	 * The permit the current thread holds, a thread that already holds a permit never waits for a
+	 * second one as this could deadlock once all permits are held by threads waiting for another
+	 */
+	private final ThreadLocal<Permit> held = new ThreadLocal<>();
+
+	HostDownloadLimiter() {
+		this(MAX_DOWNLOADS);
+	}
+
+	HostDownloadLimiter(int maxDownloads) {
+		downloads = new Semaphore(maxDownloads);
+	}
+
+	/**
+	 * Waits until a download from the host of the given URI is allowed to start.
+	 *
+	 * @return the permit that must be {@link Permit#release() released} by the same thread when the
+	 *         download is done
+	 */
+	Permit acquire(URI uri) throws IOException {
+		String hostName = uri.getHost();
+		if (hostName == null || held.get() != null) {
+			return unlimited;
+		}
+		Host host = hosts.computeIfAbsent(hostName, Host::new);
+		try {
+			host.acquire();
+			try {
+				downloads.acquire();
+			} catch (InterruptedException e) {
+				host.release();
+				throw e;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		}
+		Permit permit = new Permit(host);
+		held.set(permit);
+		return permit;
+	}
+
+	static boolean isThrottling(int statusCode) {
+		return statusCode == HTTP_TOO_MANY_REQUESTS || statusCode == HTTP_UNAVAILABLE;
+	}
+
+	List<HostStatistics> getStatistics() {
+		return hosts.values().stream().map(Host::getStatistics).filter(statistics -> statistics.requests() > 0)
+				.sorted(Comparator.comparing(HostStatistics::host)).toList();
+	}
+
+	/**
+	 * Permission to run one download, the outcome of the download is used to adapt the limit of
+	 * the host
+	 */
+	final class Permit {
+
+		private final Host host;
+		private boolean recorded;
+		private boolean released;
+
+		private Permit(Host host) {
+			this.host = host;
+		}
+
+		/**
+		 * Records a successful request that transferred the given number of bytes
+		 */
+		void completed(long bytes) {
+			if (record()) {
+				host.completed(bytes);
+			}
+		}
+
+		/**
+		 * Records a failed request
+		 */
+		void failed(IOException e) {
+			if (!record()) {
+				return;
+			}
+			if (e instanceof FileNotFoundException || e instanceof AuthenticationFailedException) {
+				// a regular answer of the server
+				host.completed(0);
+			} else if (e instanceof TransientHttpException transientError
+					&& isThrottling(transientError.getStatusCode())) {
+				host.throttled();
+			} else {
+				host.failed();
+			}
+		}
+
+		/**
+		 * Records that the server asked to slow down
+		 */
+		void throttled() {
+			if (record()) {
+				host.throttled();
+			}
+		}
+
+		void release() {
+			if (host != null && !released) {
+				released = true;
+				downloads.release();
+				host.release();
+				if (held.get() == this) {
+					held.remove();
+				}
+			}
+		}
+
+		private boolean record() {
+			if (host == null || recorded) {
+				return false;
+			}
+			recorded = true;
+			return true;
+		}
+	}
+
+	private static final class Host {
+
+		private final String name;
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Condition available = lock.newCondition();
+
+		private int limit = INITIAL_HOST_DOWNLOADS;
+		private int active;
+		private int waiting;
+		private int maxActive;
+
+		private long requests;
+		private long failures;
+		private long throttles;
+		private long bytes;
+		/**
+		 * Time in which at least one request to this host was running
+		 */
+		private long busyNanos;
+		private long busySince;
+
+		// throughput of the current and the previous adaption window
+		private long windowBytes;
+		/**
+		 * Busy time when the current window started, so that idle periods don't count as slow
+		 */
+		private long windowStart;
+		private int windowRequests;
+		private boolean windowSaturated;
+		private double lastThroughput;
+
+		Host(String name) {
+			this.name = name;
+		}
+
+		void acquire() throws InterruptedException {
+			lock.lock();
+			try {
+				waiting++;
+				try {
+					while (active >= limit) {
+						available.await();
+					}
+				} finally {
+					waiting--;
+				}
+				if (active == 0) {
+					busySince = System.nanoTime();
+				}
+				active++;
+				maxActive = Math.max(maxActive, active);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		void release() {
+			lock.lock();
+			try {
+				active--;
+				if (active == 0) {
+					busyNanos += System.nanoTime() - busySince;
+				}
+				available.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		void completed(long transferred) {
+			lock.lock();
+			try {
+				requests++;
+				bytes += transferred;
+				if (transferred <= 0) {
+					// nothing to learn about the throughput
+					return;
+				}
+				windowBytes += transferred;
+				windowRequests++;
+				windowSaturated |= waiting > 0;
+				if (windowRequests >= limit) {
+					adapt();
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		void failed() {
+			lock.lock();
+			try {
+				requests++;
+				failures++;
+				setLimit(limit - 1);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		void throttled() {
+			lock.lock();
+			try {
+				requests++;
+				throttles++;
+				setLimit(limit / 2);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private void adapt() {
+			long elapsed = Math.max(1, busyTime() - windowStart);
+			double throughput = (double) windowBytes / elapsed;
+			if (windowSaturated && throughput >= lastThroughput * 0.95) {
+				// more parallel requests were wanted and did not hurt so far
+				setLimit(limit + 1);
+			} else if (throughput < lastThroughput * 0.75) {
+				setLimit(limit - 1);
+			}
+			lastThroughput = throughput;
+			windowBytes = 0;
+			windowRequests = 0;
+			windowSaturated = false;
+			windowStart = busyTime();
+		}
+
+		private void setLimit(int newLimit) {
+			int bounded = Math.max(1, Math.min(MAX_HOST_DOWNLOADS, newLimit));
+			if (bounded != limit) {
+				limit = bounded;
+				// start a new window measuring the throughput with the new limit
+				windowBytes = 0;
+				windowRequests = 0;
+				windowSaturated = false;
+				windowStart = busyTime();
+				available.signalAll();
+			}
+		}
+
+		private long busyTime() {
+			if (active > 0) {
+				return busyNanos + System.nanoTime() - busySince;
+			}
+			return busyNanos;
+		}
+
+		HostStatistics getStatistics() {
+			lock.lock();
+			try {
+				return new HostStatistics(name, requests, failures, throttles, bytes, busyTime() / 1_000_000, limit,
+						maxActive);
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+}
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2maven.transport;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Statistics about the downloads from one host
+ * 
+ * @param host
+ *            the name of the host
+ * @param requests
+ *            number of download requests sent to the host
+ * @param failures
+ *            number of requests that failed with an error
+ * @param throttles
+ *            number of requests the host answered with 429 or 503
+ * @param bytes
+ *            number of bytes downloaded from the host
+ * @param busyMillis
+ *            time in which at least one download from the host was running
+ * @param limit
+ *            the current number of parallel downloads allowed for the host
+ * @param maxParallel
+ *            the maximum number of downloads that were running in parallel
+ */
+public record HostStatistics(String host, long requests, long failures, long throttles, long bytes, long busyMillis,
+		int limit, int maxParallel) {
+
+	/**
+	 * @return the average number of bytes per second downloaded while the host was busy
+	 */
+	public long bytesPerSecond() {
+		return busyMillis > 0 ? bytes * 1000 / busyMillis : 0;
+	}
+
+	@Override
+	public String toString() {
+		return host + ": " + FileUtils.byteCountToDisplaySize(bytes) + " in " + requests + " requests ("
+				+ FileUtils.byteCountToDisplaySize(bytesPerSecond()) + "/s, up to " + maxParallel
+				+ " parallel, current limit " + limit + ", " + failures + " failures, " + throttles + " throttled)";
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Christoph Läubrich and others.
+ * Copyright (c) 2022, 2026 Christoph Läubrich and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -14,6 +14,7 @@ package org.eclipse.tycho.p2maven.transport;
 
 import java.io.FileNotFoundException;
 import java.net.URI;
+import java.util.List;
 
 import org.codehaus.plexus.logging.Logger;
 
@@ -29,4 +30,16 @@ public interface HttpCache {
 	 */
 	CacheEntry getCacheEntry(URI uri, Logger logger) throws FileNotFoundException;
 
+	/**
+	 * 
+	 * @return the current statistics of this cache
+	 */
+	CacheStatistics getStatistics();
+
+	/**
+	 * 
+	 * @return the statistics of the downloads from each host accessed so far
+	 */
+	List<HostStatistics> getHostStatistics();
+
 }
\ No newline at end of file
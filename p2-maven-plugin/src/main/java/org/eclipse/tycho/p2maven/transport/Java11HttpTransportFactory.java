@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Christoph Läubrich and others.
+ * Copyright (c) 2022, 2026 Christoph Läubrich and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -317,8 +317,10 @@ public class Java11HttpTransportFactory implements HttpTransportFactory, Initial
 
 			}
 		};
+		// concurrent requests to the same host are multiplexed over one connection if the server
+		// supports HTTP/2
 		client = HttpClient.newBuilder().connectTimeout(Duration.ofMinutes(TIMEOUT_SECONDS))
-				.followRedirects(Redirect.NEVER)
+				.version(Version.HTTP_2).followRedirects(Redirect.NEVER)
 				.cookieHandler(cookieManager)
 				.proxy(proxySelector).build();
 		clientHttp1 = HttpClient.newBuilder().connectTimeout(Duration.ofMinutes(TIMEOUT_SECONDS))
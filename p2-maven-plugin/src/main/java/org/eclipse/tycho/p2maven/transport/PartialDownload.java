@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2maven.transport;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The content of an unfinished download of a cache file, together with the validator of the remote
+ * file the content belongs to. A download can be resumed as long as the remote file still matches
+ * the validator.
+ * <p>
+ * The cache is shared by all builds on a machine, so each download works in a directory that only
+ * belongs to it. An unfinished download is published under a well known name for later builds, and
+ * a build claims it by atomically renaming it to its own directory, so only one build can ever
+ * continue it.
+ */
+final class PartialDownload implements AutoCloseable {
+
+	static final String SUFFIX = ".partial";
+
+	/**
+	 * Directories of downloads that are not touched for this long belong to builds that were
+	 * killed before they could publish them
+	 */
+	private static final long ABANDONED_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+	private static final String CONTENT = "content";
+	private static final String VALIDATOR = "validator";
+
+	private final File published;
+	private final File directory;
+	private final File content;
+	private final File validator;
+
+	private PartialDownload(File published, File directory) {
+		this.published = published;
+		this.directory = directory;
+		this.content = new File(directory, CONTENT);
+		this.validator = new File(directory, VALIDATOR);
+	}
+
+	/**
+	 * Starts a download of the given cache file, continuing the published unfinished download of it
+	 * if there is one that is not already continued by another build.
+	 */
+	static PartialDownload claim(File file) {
+		File published = new File(file.getParentFile(), file.getName() + SUFFIX);
+		PartialDownload download = new PartialDownload(published,
+				new File(file.getParentFile(), published.getName() + "-" + UUID.randomUUID()));
+		try {
+			Files.move(published.toPath(), download.directory.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			// there is none or another build was faster
+		}
+		return download;
+	}
+
+	/**
+	 * Deletes the downloads of files in the given folder that belong to builds that were killed
+	 * before they could publish them
+	 */
+	static void deleteAbandoned(File folder) {
+		long abandoned = System.currentTimeMillis() - ABANDONED_MILLIS;
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder.toPath(), path -> {
+			String name = path.getFileName().toString();
+			return name.contains(SUFFIX + "-") && path.toFile().lastModified() < abandoned
+					&& path.resolve(CONTENT).toFile().lastModified() < abandoned;
+		})) {
+			for (Path path : stream) {
+				delete(path);
+			}
+		} catch (IOException e) {
+			// try again next time
+		}
+	}
+
+	/**
+	 * @return the length of the content if the download can be resumed, <code>0</code> otherwise
+	 */
+	long getResumableLength() {
+		if (content.isFile() && validator.isFile()) {
+			return content.length();
+		}
+		return 0;
+	}
+
+	String getValidator() throws IOException {
+		return Files.readString(validator.toPath());
+	}
+
+	/**
+	 * Starts the download from the beginning, it can only be resumed later if a validator is given
+	 */
+	void start(String validator) throws IOException {
+		reset();
+		Files.createDirectories(directory.toPath());
+		if (validator != null) {
+			Files.writeString(this.validator.toPath(), validator);
+		}
+	}
+
+	OutputStream openContent(boolean append) throws IOException {
+		return new BufferedOutputStream(new FileOutputStream(content, append));
+	}
+
+	long getLength() {
+		return content.length();
+	}
+
+	/**
+	 * Discards everything downloaded so far
+	 */
+	void reset() {
+		content.delete();
+		validator.delete();
+	}
+
+	/**
+	 * Moves the completely downloaded content to the given file, replacing the file if another build
+	 * has downloaded it in the meantime
+	 */
+	void complete(File file) throws IOException {
+		Files.move(content.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		reset();
+	}
+
+	/**
+	 * Publishes the download for later builds if it can be resumed, discards it otherwise
+	 */
+	@Override
+	public void close() {
+		if (getResumableLength() > 0) {
+			try {
+				Files.move(directory.toPath(), published.toPath(), StandardCopyOption.ATOMIC_MOVE);
+				return;
+			} catch (IOException e) {
+				// another build has published its download in the meantime
+			}
+		}
+		delete(directory.toPath());
+	}
+
+	private static void delete(Path path) {
+		if (!Files.exists(path)) {
+			return;
+		}
+		try (Stream<Path> walk = Files.walk(path)) {
+			walk.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+		} catch (IOException e) {
+			// leftovers are removed once they are abandoned
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Christoph Läubrich and others.
+ * Copyright (c) 2022, 2026 Christoph Läubrich and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -18,22 +18,31 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -50,32 +59,67 @@ import org.eclipse.tycho.transport.FileState;
 @Singleton
 public class SharedHttpCacheStorage implements HttpCache {
 
-	private static final int MAX_CACHE_LINES = Integer.getInteger("tycho.p2.transport.max-cache-lines", 1000);
+	/**
+	 * Maximum number of cache lines (that is parsed header information of cached
+	 * files) kept in memory
+	 */
+	private static final int MAX_CACHE_LINES = Math.max(16,
+			Integer.getInteger("tycho.p2.transport.max-cache-lines", 1000));
+	/**
+	 * Name of the index file p2 first queries for a repository
+	 */
+	private static final String REPOSITORY_INDEX = "p2.index";
+	private static final String FACTORY_ORDER_SUFFIX = ".factory.order";
+	private static final String XML_SUFFIX = ".xml";
 	/**
 	 * Assumes the following minimum caching period for remote files in minutes
 	 */
 	// TODO can we sync this with the time where maven updates snapshots?
 	public static final long MIN_CACHE_PERIOD = Long.getLong("tycho.p2.transport.min-cache-minutes",
 			TimeUnit.HOURS.toMinutes(1));
-	private static final int MAX_IN_MEMORY = 1000;
+	/**
+	 * How often an interrupted download is resumed (with a range request) before it fails
+	 */
+	private static final int MAX_RESUME_ATTEMPTS = Integer.getInteger("tycho.p2.transport.max-resume-attempts", 3);
 
 	@Inject
 	TransportCacheConfig cacheConfig;
 
-	private final Map<File, CacheLine> entryCache;
+	private final Map<File, CacheLine> entryCache = new ConcurrentHashMap<>();
 
-	public SharedHttpCacheStorage() {
+	private final ReentrantLock evictionLock = new ReentrantLock();
 
-		entryCache = new LinkedHashMap<>(MAX_CACHE_LINES, 0.75f, true) {
+	private final AtomicLong accessClock = new AtomicLong();
 
-			private static final long serialVersionUID = 1L;
+	private final LongAdder hits = new LongAdder();
 
-			@Override
-			protected boolean removeEldestEntry(final Map.Entry<File, CacheLine> eldest) {
-				return (size() > MAX_IN_MEMORY);
-			}
+	private final LongAdder misses = new LongAdder();
 
-		};
+	private final LongAdder evictions = new LongAdder();
+
+	private final HostDownloadLimiter hostLimiter;
+
+	private final Executor revalidationExecutor;
+
+	/**
+	 * Repository indices whose announced files were already scheduled for
+	 * revalidation in this session
+	 */
+	private final Set<File> revalidatedIndices = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Cache folders that were already cleaned from abandoned partial downloads in
+	 * this session
+	 */
+	private final Set<File> cleanedFolders = ConcurrentHashMap.newKeySet();
+
+	public SharedHttpCacheStorage() {
+		this(new HostDownloadLimiter(), TychoRepositoryTransport.getDownloadExecutor());
+	}
+
+	SharedHttpCacheStorage(HostDownloadLimiter hostLimiter, Executor revalidationExecutor) {
+		this.hostLimiter = hostLimiter;
+		this.revalidationExecutor = revalidationExecutor;
 	}
 
 	/**
@@ -88,66 +132,152 @@ public class SharedHttpCacheStorage implements HttpCache {
 	@Override
 	public CacheEntry getCacheEntry(URI uri, Logger logger) throws FileNotFoundException {
 		URI normalized = uri.normalize();
-		CacheLine cacheLine = getCacheLine(normalized);
+		File location = getCacheLocation(normalized);
 		if (!cacheConfig.isUpdate()) { // if not updates are forced ...
-			int code = cacheLine.getResponseCode();
-			if (code == HttpURLConnection.HTTP_NOT_FOUND) {
-				throw new FileNotFoundException(normalized.toASCIIString());
-			}
-			if (code == HttpURLConnection.HTTP_MOVED_PERM) {
-				return getCacheEntry(cacheLine.getRedirect(normalized, logger), logger);
+			URI redirect = withCacheLine(location, cacheLine -> {
+				int code = cacheLine.getResponseCode();
+				if (code == HttpURLConnection.HTTP_NOT_FOUND) {
+					throw new FileNotFoundException(normalized.toASCIIString());
+				}
+				if (code == HttpURLConnection.HTTP_MOVED_PERM) {
+					return cacheLine.getRedirect(normalized, logger);
+				}
+				return null;
+			});
+			if (redirect != null) {
+				return getCacheEntry(redirect, logger);
 			}
 		}
 		return new CacheEntry() {
 
 			@Override
 			public long getLastModified(HttpTransportFactory transportFactory) throws IOException {
-				if (cacheConfig.isOffline()) {
-					return cacheLine.getLastModified(normalized, transportFactory,
-							SharedHttpCacheStorage::mavenIsOffline, logger);
-				}
-				try {
-					return cacheLine.fetchLastModified(normalized, transportFactory, logger);
-				} catch (FileNotFoundException | AuthenticationFailedException e) {
-					// for not found and failed authentication we can't do anything useful
-					throw e;
-				} catch (IOException e) {
-					if (!cacheConfig.isUpdate() && cacheLine.getResponseCode() > 0) {
-						// if we have something cached, use that ...
-						logger.warn("Request to " + normalized + " failed, trying cache instead");
-						return cacheLine.getLastModified(normalized, transportFactory, nil -> e, logger);
+				return withCacheLine(location, cacheLine -> {
+					if (cacheConfig.isOffline()) {
+						return cacheLine.getLastModified(normalized, transportFactory,
+								SharedHttpCacheStorage::mavenIsOffline, logger);
 					}
-					throw e;
-				}
+					try {
+						return cacheLine.fetchLastModified(normalized, transportFactory, logger);
+					} catch (FileNotFoundException | AuthenticationFailedException e) {
+						// for not found and failed authentication we can't do anything useful
+						throw e;
+					} catch (IOException e) {
+						if (!cacheConfig.isUpdate() && cacheLine.getResponseCode() > 0) {
+							// if we have something cached, use that ...
+							logger.warn("Request to " + normalized + " failed, trying cache instead");
+							return cacheLine.getLastModified(normalized, transportFactory, nil -> e, logger);
+						}
+						throw e;
+					}
+				});
 			}
 
 			@Override
 			public FileState getCacheFile(HttpTransportFactory transportFactory) throws IOException {
-				if (cacheConfig.isOffline()) {
-					File offlineFile = cacheLine.getFile(normalized, transportFactory,
-							SharedHttpCacheStorage::mavenIsOffline, logger);
-					return new FileState(offlineFile.toPath(), DownloadState.FROM_CACHE);
-				}
-				try {
-					return cacheLine.fetchFile(normalized, transportFactory, logger);
-				} catch (FileNotFoundException | AuthenticationFailedException e) {
-					// for not found and failed authentication we can't do anything useful
-					throw e;
-				} catch (IOException e) {
-					if (!cacheConfig.isUpdate() && cacheLine.getResponseCode() > 0) {
-						// if we have something cached, use that ...
-						logger.warn("Request to " + normalized + " failed, trying cache instead");
-						File fallback = cacheLine.getFile(normalized, transportFactory, nil -> e, logger);
-						return new FileState(fallback.toPath(), DownloadState.FROM_CACHE);
+				return withCacheLine(location, cacheLine -> {
+					if (cacheConfig.isOffline()) {
+						File offlineFile = cacheLine.getFile(normalized, transportFactory,
+								SharedHttpCacheStorage::mavenIsOffline, logger);
+						return new FileState(offlineFile.toPath(), DownloadState.FROM_CACHE);
 					}
-					throw e;
-				}
+					try {
+						FileState state = cacheLine.fetchFile(normalized, transportFactory, logger);
+						if (REPOSITORY_INDEX.equals(location.getName())) {
+							revalidateAnnouncedFiles(normalized, state.file().toFile(), transportFactory, logger);
+						}
+						return state;
+					} catch (FileNotFoundException | AuthenticationFailedException e) {
+						// for not found and failed authentication we can't do anything useful
+						throw e;
+					} catch (IOException e) {
+						if (!cacheConfig.isUpdate() && cacheLine.getResponseCode() > 0) {
+							// if we have something cached, use that ...
+							logger.warn("Request to " + normalized + " failed, trying cache instead");
+							File fallback = cacheLine.getFile(normalized, transportFactory, nil -> e, logger);
+							return new FileState(fallback.toPath(), DownloadState.FROM_CACHE);
+						}
+						throw e;
+					}
+				});
 			}
 
 		};
 	}
 
-	private synchronized CacheLine getCacheLine(URI uri) {
+	@Override
+	public CacheStatistics getStatistics() {
+		return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum(), entryCache.size(), MAX_CACHE_LINES);
+	}
+
+	@Override
+	public List<HostStatistics> getHostStatistics() {
+		return hostLimiter.getStatistics();
+	}
+
+	/**
+	 * Once a repository index is accessed the repository files it announces are
+	 * requested next, so the cached ones that require validation are revalidated
+	 * in the background in parallel instead of one after the other when they are
+	 * accessed. Only the files p2 will actually request are revalidated, that is
+	 * for each factory order of the index the first one that is not known to be
+	 * missing. The cache line locks make sure that a later access waits for the
+	 * pending request instead of issuing a second one.
+	 */
+	private void revalidateAnnouncedFiles(URI indexUri, File index, HttpTransportFactory transportFactory,
+			Logger logger) {
+		if (!revalidatedIndices.add(index)) {
+			return;
+		}
+		Properties properties = new Properties();
+		try (InputStream stream = new FileInputStream(index)) {
+			properties.load(stream);
+		} catch (IOException e) {
+			// p2 can't use the index either
+			return;
+		}
+		for (String key : properties.stringPropertyNames()) {
+			if (!key.endsWith(FACTORY_ORDER_SUFFIX)) {
+				continue;
+			}
+			List<String> order = Stream.of(properties.getProperty(key).split(",")).map(String::trim)
+					.takeWhile(entry -> !entry.startsWith("!")).toList();
+			revalidationExecutor.execute(() -> revalidateFirstAvailable(indexUri, order, transportFactory, logger));
+		}
+	}
+
+	private void revalidateFirstAvailable(URI indexUri, List<String> order, HttpTransportFactory transportFactory,
+			Logger logger) {
+		for (String entry : order) {
+			// a factory for a *.xml file first looks for the jar-ed variant
+			List<String> names = entry.endsWith(XML_SUFFIX)
+					? List.of(entry.substring(0, entry.length() - XML_SUFFIX.length()) + ".jar", entry)
+					: List.of(entry);
+			for (String name : names) {
+				URI uri = indexUri.resolve(name);
+				try {
+					boolean missing = withCacheLine(getCacheLocation(uri), cacheLine -> {
+						int code = cacheLine.getResponseCode();
+						if (code == HttpURLConnection.HTTP_OK && cacheLine.mustValidate()) {
+							cacheLine.fetchFile(uri, transportFactory, logger);
+						}
+						return code == HttpURLConnection.HTTP_NOT_FOUND;
+					});
+					if (!missing) {
+						// either revalidated or unknown, then p2 will request it itself
+						return;
+					}
+				} catch (IOException | RuntimeException e) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Revalidation of " + uri + " failed: " + e);
+					}
+					return;
+				}
+			}
+		}
+	}
+
+	private File getCacheLocation(URI uri) {
 		String cleanPath = uri.normalize().toASCIIString().replace(':', '/').replace('?', '/').replace('&', '/')
 				.replace('*', '/').replaceAll("/+", "/");
 		if (cleanPath.endsWith("/")) {
@@ -156,14 +286,90 @@ public class SharedHttpCacheStorage implements HttpCache {
 			cleanPath += ".idx";
 		}
 		File file = new File(cacheConfig.getCacheLocation(), cleanPath);
-		File location;
 		try {
-			location = file.getCanonicalFile();
+			return file.getCanonicalFile();
 		} catch (IOException e) {
-			location = file.getAbsoluteFile();
+			return file.getAbsoluteFile();
+		}
+	}
+
+	/**
+	 * Runs the given action while holding the lock of the cache line for the given
+	 * location. Different locations proceed fully in parallel, while all actions
+	 * for the same location are serialized so a file is only downloaded once.
+	 */
+	private <T, E extends Exception> T withCacheLine(File location, CacheLineAction<T, E> action) throws E {
+		while (true) {
+			CacheLine cacheLine = entryCache.get(location);
+			if (cacheLine == null) {
+				CacheLine newLine = new CacheLine(location);
+				cacheLine = entryCache.putIfAbsent(location, newLine);
+				if (cacheLine == null) {
+					cacheLine = newLine;
+					misses.increment();
+					evictIfNeeded();
+				} else {
+					hits.increment();
+				}
+			} else {
+				hits.increment();
+			}
+			cacheLine.lock.lock();
+			try {
+				if (cacheLine.evicted) {
+					// was evicted in the meantime, fetch the current one
+					continue;
+				}
+				cacheLine.lastAccess = accessClock.incrementAndGet();
+				return action.apply(cacheLine);
+			} finally {
+				cacheLine.lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Removes the least recently used cache lines that are currently not in use
+	 * until only 90% of the capacity is used.
+	 */
+	private void evictIfNeeded() {
+		if (entryCache.size() <= MAX_CACHE_LINES || !evictionLock.tryLock()) {
+			return;
+		}
+		try {
+			record Candidate(CacheLine line, long lastAccess) {
+			}
+			List<Candidate> candidates = new ArrayList<>(entryCache.size());
+			for (CacheLine line : entryCache.values()) {
+				candidates.add(new Candidate(line, line.lastAccess));
+			}
+			candidates.sort(Comparator.comparingLong(Candidate::lastAccess));
+			int toRemove = entryCache.size() - (MAX_CACHE_LINES - MAX_CACHE_LINES / 10);
+			for (Candidate candidate : candidates) {
+				if (toRemove <= 0) {
+					break;
+				}
+				CacheLine line = candidate.line();
+				if (line.lock.tryLock()) {
+					try {
+						if (entryCache.remove(line.file, line)) {
+							line.evicted = true;
+							evictions.increment();
+							toRemove--;
+						}
+					} finally {
+						line.lock.unlock();
+					}
+				}
+			}
+		} finally {
+			evictionLock.unlock();
 		}
-		return entryCache.computeIfAbsent(location, CacheLine::new);
+	}
 
+	@FunctionalInterface
+	private interface CacheLineAction<T, E extends Exception> {
+		T apply(CacheLine cacheLine) throws E;
 	}
 
 	private final class CacheLine {
@@ -171,23 +377,53 @@ public class SharedHttpCacheStorage implements HttpCache {
 		private static final String RESPONSE_CODE = "HTTP_RESPONSE_CODE";
 		private static final String LAST_UPDATED = "FILE-LAST_UPDATED";
 		private static final String STATUS_LINE = "HTTP_STATUS_LINE";
+		private static final String HEADER_SUFFIX = ".headers";
+		private static final int HTTP_RANGE_NOT_SATISFIABLE = 416;
 		private final File file;
 		private final File headerFile;
 		private Properties header;
 		private final DateFormat httpDateFormat = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss z", Locale.US);
+		private final ReentrantLock lock = new ReentrantLock();
+		private volatile long lastAccess;
+		// guarded by lock
+		private boolean evicted;
 
 		public CacheLine(File file) {
 			this.file = file;
-			this.headerFile = new File(file.getParent(), file.getName() + ".headers");
+			this.headerFile = new File(file.getParent(), file.getName() + HEADER_SUFFIX);
 			httpDateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
 		}
 
-		public synchronized long fetchLastModified(URI uri, HttpTransportFactory transportFactory, Logger logger)
+		public long fetchLastModified(URI uri, HttpTransportFactory transportFactory, Logger logger)
 				throws IOException {
-			// TODO its very likely that the file is downloaded here if it has changed... so
-			// probably just download it right now?
-			HttpTransport transport = transportFactory.createTransport(uri);
+			URI redirect;
+			if (file.isFile()) {
+				// instead of a HEAD request followed by a GET if the file has changed, a cached
+				// file is revalidated with a single conditional GET and the answer is taken from
+				// the updated header
+				fetchFile(uri, transportFactory, logger);
+				if (!isRedirected(getResponseCode())) {
+					Date lastModified = pareHttpDate(
+							getHeader().getProperty(Headers.LAST_MODIFIED_HEADER.toLowerCase()));
+					if (lastModified != null) {
+						return lastModified.getTime();
+					}
+					return 0;
+				}
+				// the header is the one of the redirect and not of the file
+				redirect = getRedirect(uri, logger);
+			} else {
+				// nothing to revalidate, so don't download a file that might never be requested
+				return probeLastModified(uri, transportFactory, logger);
+			}
+			return SharedHttpCacheStorage.this.getCacheEntry(redirect, logger).getLastModified(transportFactory);
+		}
 
+		private long probeLastModified(URI uri, HttpTransportFactory transportFactory, Logger logger)
+				throws IOException {
+			HttpTransport transport = transportFactory.createTransport(uri);
+			URI redirect;
+			HostDownloadLimiter.Permit permit = hostLimiter.acquire(uri);
 			try (Headers response = transport.head()) {
 				int code = response.statusCode();
 				if (isAuthFailure(code)) {
@@ -197,15 +433,26 @@ public class SharedHttpCacheStorage implements HttpCache {
 					updateHeader(response, code);
 					throw new FileNotFoundException(uri.toString());
 				}
-				if (isRedirected(code)) {
+				permit.completed(0);
+				if (!isRedirected(code)) {
+					return response.getLastModified();
+				}
+				if (code == HttpURLConnection.HTTP_MOVED_PERM) {
+					// remembered like the redirect of a download
 					updateHeader(response, code);
-					return SharedHttpCacheStorage.this.getCacheEntry(uri, logger).getLastModified(transportFactory);
 				}
-				return response.getLastModified();
+				redirect = getRedirect(uri, response.getHeader("location"), logger);
+			} catch (IOException e) {
+				permit.failed(e);
+				throw e;
+			} finally {
+				permit.release();
 			}
+			// the header of a redirect response describes the redirect and not the file
+			return SharedHttpCacheStorage.this.getCacheEntry(redirect, logger).getLastModified(transportFactory);
 		}
 
-		public synchronized long getLastModified(URI uri, HttpTransportFactory transportFactory,
+		public long getLastModified(URI uri, HttpTransportFactory transportFactory,
 				Function<URI, IOException> notAviableExceptionSupplier, Logger logger) throws IOException {
 			int code = getResponseCode();
 			if (code > 0) {
@@ -215,8 +462,13 @@ public class SharedHttpCacheStorage implements HttpCache {
 				if (isNotFound(code)) {
 					throw new FileNotFoundException(uri.toString());
 				}
-				if (isRedirected(code)) {
-					return SharedHttpCacheStorage.this.getCacheEntry(uri, logger).getLastModified(transportFactory);
+				if (code == HttpURLConnection.HTTP_MOVED_PERM) {
+					return SharedHttpCacheStorage.this.getCacheEntry(getRedirect(uri, logger), logger)
+							.getLastModified(transportFactory);
+				}
+				if (code == HttpURLConnection.HTTP_MOVED_TEMP) {
+					// the header describes the redirect and not the file
+					return -1;
 				}
 				Properties offlineHeader = getHeader();
 				Date lastModified = pareHttpDate(offlineHeader.getProperty(Headers.LAST_MODIFIED_HEADER.toLowerCase()));
@@ -229,34 +481,98 @@ public class SharedHttpCacheStorage implements HttpCache {
 			}
 		}
 
-		public synchronized FileState fetchFile(URI uri, HttpTransportFactory transportFactory, Logger logger)
+		public FileState fetchFile(URI uri, HttpTransportFactory transportFactory, Logger logger)
 				throws IOException {
 			boolean exists = file.isFile();
 			if (exists && !mustValidate()) {
 				return new FileState(file.toPath(), DownloadState.FROM_CACHE);
 			}
+			File folder = file.getParentFile();
+			if (folder != null && cleanedFolders.add(folder)) {
+				PartialDownload.deleteAbandoned(folder);
+			}
+			try (PartialDownload partial = PartialDownload.claim(file)) {
+				for (int attempt = 1;; attempt++) {
+					long resumeFrom = exists ? 0 : partial.getResumableLength();
+					try {
+						return fetchFile(uri, transportFactory, logger, exists, resumeFrom, partial);
+					} catch (IOException e) {
+						long partialLength = partial.getResumableLength();
+						boolean progress = partialLength > resumeFrom;
+						boolean rangeRejected = resumeFrom > 0 && partialLength == 0;
+						if (attempt > MAX_RESUME_ATTEMPTS || !(progress || rangeRejected)) {
+							throw e;
+						}
+						if (progress) {
+							logger.warn("Download of " + uri + " was interrupted after "
+									+ FileUtils.byteCountToDisplaySize(partialLength) + " (" + e
+									+ "), resuming (attempt " + attempt + "/" + MAX_RESUME_ATTEMPTS + ")...");
+						}
+						exists = file.isFile();
+					}
+				}
+			}
+		}
+
+		private FileState fetchFile(URI uri, HttpTransportFactory transportFactory, Logger logger, boolean exists,
+				long resumeFrom, PartialDownload partial) throws IOException {
 			HttpTransport transport = transportFactory.createTransport(uri);
 			Properties lastHeader = getHeader();
 			if (exists) {
 				if (lastHeader.containsKey(Headers.ETAG_HEADER.toLowerCase())) {
 					transport.setHeader("If-None-Match", lastHeader.getProperty(Headers.ETAG_HEADER.toLowerCase()));
 				}
-				if (lastHeader.contains(Headers.LAST_MODIFIED_HEADER.toLowerCase())) {
+				if (lastHeader.containsKey(Headers.LAST_MODIFIED_HEADER.toLowerCase())) {
 					transport.setHeader("If-Modified-Since",
 							lastHeader.getProperty(Headers.LAST_MODIFIED_HEADER.toLowerCase()));
 				}
 			}
-			transport.setHeader(Headers.HEADER_ACCEPT_ENCODING, Headers.ENCODING_GZIP);
+			if (resumeFrom > 0) {
+				// the offset refers to the unencoded content
+				transport.setHeader(Headers.HEADER_ACCEPT_ENCODING, Headers.ENCODING_IDENTITY);
+				transport.setHeader(Headers.RANGE_HEADER, "bytes=" + resumeFrom + "-");
+				transport.setHeader(Headers.IF_RANGE_HEADER, partial.getValidator());
+			} else {
+				transport.setHeader(Headers.HEADER_ACCEPT_ENCODING, Headers.ENCODING_GZIP);
+			}
+			HostDownloadLimiter.Permit permit = hostLimiter.acquire(uri);
+			try {
+				FileState state = fetchFileFromServer(uri, transportFactory, logger, transport, exists, resumeFrom,
+						partial, permit);
+				// no-op if the downloaded size was already recorded
+				permit.completed(0);
+				return state;
+			} catch (IOException e) {
+				permit.failed(e);
+				throw e;
+			} finally {
+				permit.release();
+			}
+		}
+
+		private FileState fetchFileFromServer(URI uri, HttpTransportFactory transportFactory, Logger logger,
+				HttpTransport transport, boolean exists, long resumeFrom, PartialDownload partial,
+				HostDownloadLimiter.Permit permit)
+				throws IOException {
 			return transport.get(response -> {
-				File tempFile;
 				int code = response.statusCode();
+				if (HostDownloadLimiter.isThrottling(code)) {
+					permit.throttled();
+				}
 				if (exists && code == HttpURLConnection.HTTP_NOT_MODIFIED) {
-					updateHeader(response, getResponseCode());
+					// a 304 response might only carry a subset of the headers, so keep the
+					// stored validators
+					mergeHeader(response);
 					return new FileState(file.toPath(), DownloadState.NOT_MODIFIED);
 				}
 				if (isAuthFailure(code)) {
 					throw new AuthenticationFailedException(); // FIXME why is there no constructor to give a cause?
 				}
+				if (code == HTTP_RANGE_NOT_SATISFIABLE && resumeFrom > 0) {
+					// the partial file does not match the remote file anymore
+					partial.reset();
+					throw new IOException("Server rejected resuming the download of " + uri);
+				}
 				updateHeader(response, code);
 				if (isRedirected(code)) {
 					URI redirect = getRedirect(uri, logger);
@@ -270,6 +586,11 @@ public class SharedHttpCacheStorage implements HttpCache {
 						transferTemporaryRedirect(transportFactory, uri, redirect, logger);
 						return new FileState(file.toPath(), DownloadState.DOWNLOADED);
 					} else {
+						// the redirect target is fetched with its own permit, holding on to this one
+						// while waiting for it could deadlock once all permits are taken
+						response.close();
+						permit.completed(0);
+						permit.release();
 						FileState cached = SharedHttpCacheStorage.this.getCacheEntry(redirect, logger)
 								.getCacheFile(transportFactory);
 						// https://github.com/eclipse-tycho/tycho/issues/2938
@@ -278,7 +599,6 @@ public class SharedHttpCacheStorage implements HttpCache {
 						// Copying file to accommodate original request and its file extension.
 						// Once https://github.com/eclipse-equinox/p2/issues/355 is fixed, cachedFile
 						// may be returned directly without copying.
-						response.close(); // early close before doing unrelated file I/O
 						FileUtils.copyFile(cached.file().toFile(), file);
 						return new FileState(file.toPath(), cached.state());
 					}
@@ -287,15 +607,24 @@ public class SharedHttpCacheStorage implements HttpCache {
 					FileUtils.forceDelete(file);
 				}
 				response.checkResponseCode();
-				tempFile = File.createTempFile("download", ".tmp", file.getParentFile());
-				try (OutputStream os = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+				boolean resumed = false;
+				if (code == HttpURLConnection.HTTP_PARTIAL) {
+					String range = response.getHeader(Headers.CONTENT_RANGE_HEADER);
+					if (resumeFrom <= 0 || range == null || !range.startsWith("bytes " + resumeFrom + "-")) {
+						partial.reset();
+						throw new IOException("Unexpected range " + range + " returned for " + uri);
+					}
+					resumed = true;
+				} else {
+					// a complete response, e.g. because the remote file has changed
+					partial.start(getResumeValidator(response));
+				}
+				try (OutputStream os = partial.openContent(resumed)) {
 					response.transferTo(os);
-				} catch (IOException e) {
-					tempFile.delete();
-					throw e;
 				}
 				response.close(); // early close before doing file I/O
-				FileUtils.moveFile(tempFile, file);
+				permit.completed(partial.getLength() - (resumed ? resumeFrom : 0));
+				partial.complete(file);
 				return new FileState(file.toPath(), DownloadState.DOWNLOADED);
 			});
 
@@ -325,7 +654,7 @@ public class SharedHttpCacheStorage implements HttpCache {
 			}
 		}
 
-		public synchronized File getFile(URI uri, HttpTransportFactory transportFactory,
+		public File getFile(URI uri, HttpTransportFactory transportFactory,
 				Function<URI, IOException> notAviableExceptionSupplier, Logger logger) throws IOException {
 			int code = getResponseCode();
 			if (code > 0) {
@@ -348,8 +677,8 @@ public class SharedHttpCacheStorage implements HttpCache {
 
 		private boolean mustValidate() {
 			if (cacheConfig.isUpdate()) {
-				// user enforced validation
-				return true;
+				// user enforced validation, but only once per session
+				return parseLong(getHeader().getProperty(LAST_UPDATED)) < cacheConfig.getSessionStart();
 			}
 			String[] cacheControls = getCacheControl();
 			for (String directive : cacheControls) {
@@ -404,9 +733,42 @@ public class SharedHttpCacheStorage implements HttpCache {
 			return code == HttpURLConnection.HTTP_PROXY_AUTH || code == HttpURLConnection.HTTP_UNAUTHORIZED;
 		}
 
+		/**
+		 * @return a strong validator of the response that can be used to resume its content later
+		 *         or <code>null</code> if the download can't be resumed
+		 */
+		private static String getResumeValidator(Headers response) {
+			if (!"bytes".equalsIgnoreCase(response.getHeader(Headers.ACCEPT_RANGES_HEADER))) {
+				return null;
+			}
+			String encoding = response.getHeader(Headers.HEADER_CONTENT_ENCODING);
+			if (encoding != null && !encoding.isEmpty() && !Headers.ENCODING_IDENTITY.equals(encoding)) {
+				// offsets in the decoded content do not match the encoded content
+				return null;
+			}
+			String etag = response.getHeader(Headers.ETAG_HEADER);
+			if (etag != null && !etag.startsWith("W/")) {
+				return etag;
+			}
+			return response.getHeader(Headers.LAST_MODIFIED_HEADER);
+		}
+
 		protected void updateHeader(Headers response, int code) throws IOException, FileNotFoundException {
 			header = new Properties();
-			header.setProperty(RESPONSE_CODE, String.valueOf(code));
+			boolean partial = code == HttpURLConnection.HTTP_PARTIAL;
+			// a resumed download results in the complete file
+			header.setProperty(RESPONSE_CODE, String.valueOf(partial ? HttpURLConnection.HTTP_OK : code));
+			storeHeader(response, partial);
+		}
+
+		protected void mergeHeader(Headers response) throws IOException, FileNotFoundException {
+			Properties previous = getHeader();
+			header = new Properties();
+			header.putAll(previous);
+			storeHeader(response, false);
+		}
+
+		private void storeHeader(Headers response, boolean partial) throws IOException, FileNotFoundException {
 			header.setProperty(LAST_UPDATED, String.valueOf(System.currentTimeMillis()));
 			Map<String, List<String>> headerFields = response.headers();
 			for (var entry : headerFields.entrySet()) {
@@ -428,6 +790,11 @@ public class SharedHttpCacheStorage implements HttpCache {
 					// we already decode the content before...
 					continue;
 				}
+				if (partial && (Headers.CONTENT_RANGE_HEADER.equalsIgnoreCase(key)
+						|| Headers.CONTENT_LENGTH_HEADER.equalsIgnoreCase(key))) {
+					// only describe the transferred range, not the complete file
+					continue;
+				}
 				List<String> value = entry.getValue();
 				if (value.size() == 1) {
 					header.put(key, value.get(0));
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Christoph Läubrich and others.
+ * Copyright (c) 2022, 2026 Christoph Läubrich and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -25,4 +25,11 @@ public interface TransportCacheConfig {
 	boolean isDebug();
 
 	File getCacheLocation();
+
+	/**
+	 * @return the start time in milliseconds of the current session, cached files
+	 *         validated after that point in time are current even if updates are
+	 *         forced
+	 */
+	long getSessionStart();
 }
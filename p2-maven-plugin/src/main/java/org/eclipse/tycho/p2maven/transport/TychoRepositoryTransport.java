@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Christoph Läubrich and others.
+ * Copyright (c) 2022, 2026 Christoph Läubrich and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -30,8 +30,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.io.FileUtils;
@@ -58,21 +56,12 @@ import org.eclipse.tycho.transport.TransportProtocolHandler;
 public class TychoRepositoryTransport extends org.eclipse.equinox.internal.p2.repository.Transport
 		implements IAgentServiceFactory {
 
-	private static final int MAX_DOWNLOAD_THREADS = Integer.getInteger("tycho.p2.transport.max-download-threads", 4);
-
-	private static final Executor DOWNLOAD_EXECUTOR = Executors.newFixedThreadPool(MAX_DOWNLOAD_THREADS,
-			new ThreadFactory() {
-
-				private AtomicInteger cnt = new AtomicInteger();
-
-				@Override
-				public Thread newThread(Runnable r) {
-					Thread thread = new Thread(r);
-					thread.setName("Tycho-Download-Thread-" + cnt.getAndIncrement());
-					thread.setDaemon(true);
-					return thread;
-				}
-			});
+	/**
+	 * Downloads mostly wait for the network, so each one gets its own virtual thread, the number of
+	 * downloads actually running in parallel is limited per host by the {@link HostDownloadLimiter}
+	 */
+	private static final Executor DOWNLOAD_EXECUTOR = Executors
+			.newThreadPerTaskExecutor(Thread.ofVirtual().name("Tycho-Download-Thread-", 0).factory());
 
 	private NumberFormat numberFormat = NumberFormat.getNumberInstance();
 
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2maven;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.project.MavenProject;
+import org.eclipse.equinox.p2.metadata.IInstallableUnit;
+import org.eclipse.equinox.p2.metadata.IRequirement;
+import org.eclipse.equinox.p2.metadata.MetadataFactory;
+import org.eclipse.equinox.p2.metadata.MetadataFactory.InstallableUnitDescription;
+import org.eclipse.equinox.p2.metadata.Version;
+import org.eclipse.equinox.p2.metadata.VersionRange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ProjectDependencyClosureGraphTest {
+
+	private final List<MavenProject> reactor = new ArrayList<>();
+
+	// filled like the InstallableUnitGenerator does, so it has no particular order
+	private final Map<MavenProject, Collection<IInstallableUnit>> projectIUMap = new ConcurrentHashMap<>();
+
+	private MavenProject base;
+
+	private MavenProject unused;
+
+	@BeforeEach
+	public void createReactor() {
+		base = addProject("base");
+		for (int i = 0; i < 20; i++) {
+			addProject("dependent" + i, "base");
+		}
+		unused = addProject("unused");
+		addProject("last", "base", "unused");
+	}
+
+	@Test
+	public void testDependentsAreInReactorOrder() throws Exception {
+		List<MavenProject> expected = reactor.stream().filter(project -> project != base && project != unused)
+				.toList();
+		for (int i = 0; i < 5; i++) {
+			ProjectDependencyClosureGraph graph = new ProjectDependencyClosureGraph(reactor, projectIUMap,
+					new InstallableUnitSlicer());
+			assertEquals(expected, graph.getDependentProjects(base));
+			assertEquals(List.of(reactor.get(reactor.size() - 1)), graph.getDependentProjects(unused));
+			assertEquals(List.of(), graph.getDependentProjects(reactor.get(1)));
+		}
+	}
+
+	/**
+	 * Adds a project with a unit of the project id that requires the units of the given ids
+	 */
+	private MavenProject addProject(String id, String... requiredIds) {
+		MavenProject project = new MavenProject();
+		project.setGroupId("test");
+		project.setArtifactId(id);
+		project.setVersion("1.0.0");
+		InstallableUnitDescription description = new InstallableUnitDescription();
+		description.setId(id);
+		description.setVersion(Version.create("1.0.0"));
+		description.addProvidedCapabilities(List.of(MetadataFactory
+				.createProvidedCapability(IInstallableUnit.NAMESPACE_IU_ID, id, Version.create("1.0.0"))));
+		List<IRequirement> requirements = new ArrayList<>();
+		for (String requiredId : requiredIds) {
+			requirements.add(MetadataFactory.createRequirement(IInstallableUnit.NAMESPACE_IU_ID, requiredId,
+					VersionRange.emptyRange, null, false, false));
+		}
+		description.addRequirements(requirements);
+		reactor.add(project);
+		projectIUMap.put(project, List.of(MetadataFactory.createInstallableUnit(description)));
+		return project;
+	}
+}
@@ -0,0 +1,467 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2maven.transport;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.eclipse.tycho.p2maven.transport.TestHttpTransportFactory.Reply;
+import org.eclipse.tycho.p2maven.transport.TestHttpTransportFactory.Request;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SharedHttpCacheStorageTest {
+
+	private static final Logger LOGGER = new ConsoleLogger(Logger.LEVEL_WARN, "test");
+
+	private static final String DATE = "Wed, 21 Oct 2015 07:28:00 GMT";
+	private static final long TIME = 1445412480000L;
+
+	@TempDir
+	Path cacheLocation;
+
+	@Test
+	void testRedirectsWithLessPermitsThanRequests() throws Exception {
+		int requests = 8;
+		int permits = 2;
+		SharedHttpCacheStorage storage = createStorage(new HostDownloadLimiter(permits), false);
+		// all permits are taken before any redirect is followed
+		CyclicBarrier allPermitsTaken = new CyclicBarrier(permits);
+		TestHttpTransportFactory transport = new TestHttpTransportFactory(request -> {
+			String name = request.uri().getPath();
+			if ("redirect.example".equals(request.uri().getHost())) {
+				await(allPermitsTaken);
+				return new Reply(HttpURLConnection.HTTP_MOVED_PERM,
+						Map.of("Location", "http://mirror.example" + name), new byte[0]);
+			}
+			return new Reply(HttpURLConnection.HTTP_OK, Map.of(), name.getBytes(UTF_8));
+		});
+
+		assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+			ExecutorService executor = Executors.newFixedThreadPool(requests);
+			try {
+				List<Future<File>> files = new ArrayList<>();
+				for (int i = 0; i < requests; i++) {
+					URI uri = URI.create("http://redirect.example/file-" + i + ".jar");
+					files.add(executor.submit(() -> storage.getCacheEntry(uri, LOGGER).getCacheFile(transport)
+							.file().toFile()));
+				}
+				for (int i = 0; i < requests; i++) {
+					assertEquals("/file-" + i + ".jar", Files.readString(files.get(i).get().toPath()));
+				}
+			} finally {
+				executor.shutdownNow();
+			}
+		});
+		assertEquals(requests * 2, transport.getRequests("GET").size());
+	}
+
+	@Test
+	void testLastModifiedOfUncachedFileIsProbed() throws Exception {
+		TestHttpTransportFactory transport = new TestHttpTransportFactory(request -> new Reply(
+				HttpURLConnection.HTTP_OK, Map.of(Headers.LAST_MODIFIED_HEADER, DATE), new byte[0]));
+
+		assertEquals(TIME, getLastModified(createStorage(), transport, "http://example.org/content.jar"));
+
+		assertEquals(1, transport.requests.size());
+		assertEquals(1, transport.getRequests("HEAD").size());
+		assertFalse(new File(cacheLocation.toFile(), "http/example.org/content.jar").exists());
+	}
+
+	@Test
+	void testLastModifiedOfCachedFileIsRevalidated() throws Exception {
+		TestHttpTransportFactory transport = new TestHttpTransportFactory(new ConditionalHandler(
+				Map.of("/content.jar", new Reply(HttpURLConnection.HTTP_OK,
+						Map.of(Headers.ETAG_HEADER, "\"v1\"", Headers.LAST_MODIFIED_HEADER, DATE),
+						"content".getBytes(UTF_8)))));
+		String uri = "http://example.org/content.jar";
+		fetch(createStorage(), transport, uri);
+		transport.requests.clear();
+
+		assertEquals(TIME, getLastModified(createStorage(new HostDownloadLimiter(), true), transport, uri));
+
+		assertEquals(1, transport.requests.size());
+		Request request = transport.getRequests("GET").get(0);
+		assertEquals("\"v1\"", request.headers().get("If-None-Match"));
+		assertEquals(DATE, request.headers().get("If-Modified-Since"));
+	}
+
+	@Test
+	void testCachedFileIsRevalidatedOncePerSession() throws Exception {
+		TestHttpTransportFactory transport = new TestHttpTransportFactory(new ConditionalHandler(
+				Map.of("/content.jar", new Reply(HttpURLConnection.HTTP_OK, Map.of(Headers.ETAG_HEADER, "\"v1\""),
+						"content".getBytes(UTF_8)))));
+		String uri = "http://example.org/content.jar";
+		fetch(createStorage(), transport, uri);
+		transport.requests.clear();
+
+		SharedHttpCacheStorage storage = createStorage(new HostDownloadLimiter(), true);
+		fetch(storage, transport, uri);
+		fetch(storage, transport, uri);
+		assertEquals(1, transport.requests.size());
+
+		// the storage is reused by a later session, like in a long running container
+		Thread.sleep(2);
+		((TestCacheConfig) storage.cacheConfig).sessionStart = System.currentTimeMillis();
+		fetch(storage, transport, uri);
+		assertEquals(2, transport.requests.size());
+		assertEquals("\"v1\"", transport.requests.get(1).headers().get("If-None-Match"));
+	}
+
+	@Test
+	void testLastModifiedOfTemporaryRedirect() throws Exception {
+		TestHttpTransportFactory transport = new TestHttpTransportFactory(new ConditionalHandler(Map.of(
+				"/content.jar",
+				new Reply(HttpURLConnection.HTTP_MOVED_TEMP, Map.of("Location", "http://mirror.example.org/content.jar",
+						Headers.LAST_MODIFIED_HEADER, "Mon, 01 Jan 2024 00:00:00 GMT"), new byte[0]),
+				"/mirror/content.jar",
+				new Reply(HttpURLConnection.HTTP_OK, Map.of(Headers.LAST_MODIFIED_HEADER, DATE), new byte[0]))));
+		String uri = "http://example.org/content.jar";
+
+		assertEquals(TIME, getLastModified(createStorage(), transport, uri));
+
+		// once the file is cached at the original location the redirect is revalidated
+		fetch(createStorage(), transport, uri);
+		transport.requests.clear();
+		assertEquals(TIME, getLastModified(createStorage(new HostDownloadLimiter(), true), transport, uri));
+		assertEquals(List.of("GET http://example.org/content.jar", "GET http://mirror.example.org/content.jar",
+				"HEAD http://mirror.example.org/content.jar"),
+				transport.requests.stream().map(request -> request.method() + " " + request.uri()).toList());
+	}
+
+	@Test
+	void testRepositoryIndexRevalidatesAnnouncedFiles() throws Exception {
+		Map<String, Reply> files = new HashMap<>();
+		files.put("/repo/p2.index", new Reply(HttpURLConnection.HTTP_OK, Map.of(Headers.ETAG_HEADER, "\"index\""),
+				("version=1\nmetadata.repository.factory.order=content.xml.xz,content.xml,!\n"
+						+ "artifact.repository.factory.order=artifacts.xml.xz,artifacts.xml,!\n").getBytes(UTF_8)));
+		for (String name : List.of("content.xml.xz", "content.jar", "artifacts.jar", "other.jar")) {
+			files.put("/repo/" + name, new Reply(HttpURLConnection.HTTP_OK,
+					Map.of(Headers.ETAG_HEADER, "\"" + name + "\""), name.getBytes(UTF_8)));
+		}
+		TestHttpTransportFactory transport = new TestHttpTransportFactory(new ConditionalHandler(files));
+		SharedHttpCacheStorage storage = createStorage();
+		for (String name : List.of("p2.index", "content.xml.xz", "content.jar", "artifacts.jar", "other.jar")) {
+			fetch(storage, transport, "http://example.org/repo/" + name);
+		}
+		assertThrows(FileNotFoundException.class,
+				() -> fetch(storage, transport, "http://example.org/repo/artifacts.xml.xz"));
+		transport.requests.clear();
+
+		fetch(createStorage(new HostDownloadLimiter(), true), transport, "http://example.org/repo/p2.index");
+
+		// content.jar and artifacts.xml are not requested by p2 as the files before them in the
+		// factory orders exist, other.jar is not part of the index
+		assertEquals(Set.of("/repo/p2.index", "/repo/content.xml.xz", "/repo/artifacts.jar"),
+				transport.requests.stream().map(request -> request.uri().getPath()).collect(Collectors.toSet()));
+		for (Request request : transport.requests) {
+			assertEquals("GET", request.method());
+			assertNotNull(request.headers().get("If-None-Match"));
+		}
+	}
+
+	@Test
+	void testResumeInterruptedDownload() throws Exception {
+		byte[] content = createContent(1000);
+		TestHttpTransportFactory transport = new TestHttpTransportFactory(
+				new RangeHandler(content, "\"v1\"", 400, false));
+
+		File file = fetch(createStorage(), transport);
+
+		assertArrayEquals(content, Files.readAllBytes(file.toPath()));
+		List<Request> requests = transport.getRequests("GET");
+		assertEquals(2, requests.size());
+		assertNull(requests.get(0).headers().get(Headers.RANGE_HEADER));
+		assertEquals("bytes=400-", requests.get(1).headers().get(Headers.RANGE_HEADER));
+		assertEquals("\"v1\"", requests.get(1).headers().get(Headers.IF_RANGE_HEADER));
+		assertEquals(List.of("big.zip", "big.zip.headers"), listFolder(file));
+	}
+
+	@Test
+	void testResumeDownloadOfEarlierBuild() throws Exception {
+		byte[] content = createContent(1000);
+		File file = interruptDownload(content, "\"v1\"");
+		assertEquals(List.of("big.zip.headers", "big.zip.partial"), listFolder(file));
+
+		TestHttpTransportFactory transport = new TestHttpTransportFactory(
+				new RangeHandler(content, "\"v1\"", -1, false));
+		fetch(createStorage(), transport);
+
+		assertArrayEquals(content, Files.readAllBytes(file.toPath()));
+		List<Request> requests = transport.getRequests("GET");
+		assertEquals(1, requests.size());
+		assertEquals("bytes=400-", requests.get(0).headers().get(Headers.RANGE_HEADER));
+		assertEquals(List.of("big.zip", "big.zip.headers"), listFolder(file));
+	}
+
+	@Test
+	void testRemoteFileChangedSinceInterruptedDownload() throws Exception {
+		File file = interruptDownload(createContent(1000), "\"v1\"");
+
+		byte[] changed = createContent(700);
+		TestHttpTransportFactory transport = new TestHttpTransportFactory(
+				new RangeHandler(changed, "\"v2\"", -1, false));
+		fetch(createStorage(), transport);
+
+		assertArrayEquals(changed, Files.readAllBytes(file.toPath()));
+		List<Request> requests = transport.getRequests("GET");
+		assertEquals(1, requests.size());
+		assertEquals("\"v1\"", requests.get(0).headers().get(Headers.IF_RANGE_HEADER));
+		assertEquals(List.of("big.zip", "big.zip.headers"), listFolder(file));
+	}
+
+	@Test
+	void testRejectedRangeRestartsDownload() throws Exception {
+		byte[] content = createContent(1000);
+		File file = interruptDownload(content, "\"v1\"");
+
+		TestHttpTransportFactory transport = new TestHttpTransportFactory(
+				new RangeHandler(content, "\"v1\"", -1, true));
+		fetch(createStorage(), transport);
+
+		assertArrayEquals(content, Files.readAllBytes(file.toPath()));
+		List<Request> requests = transport.getRequests("GET");
+		assertEquals(2, requests.size());
+		assertEquals("bytes=400-", requests.get(0).headers().get(Headers.RANGE_HEADER));
+		assertNull(requests.get(1).headers().get(Headers.RANGE_HEADER));
+	}
+
+	@Test
+	void testInterruptedDownloadIsContinuedByOneBuildOnly() throws Exception {
+		byte[] content = createContent(1000);
+		File file = interruptDownload(content, "\"v1\"");
+
+		// a second build requests the file while the first one continues the download
+		TestHttpTransportFactory other = new TestHttpTransportFactory(request -> {
+			throw new IOException("Connection refused");
+		});
+		RangeHandler rangeHandler = new RangeHandler(content, "\"v1\"", -1, false);
+		TestHttpTransportFactory transport = new TestHttpTransportFactory(request -> {
+			assertThrows(IOException.class, () -> fetch(createStorage(), other));
+			return rangeHandler.handle(request);
+		});
+		fetch(createStorage(), transport);
+
+		assertArrayEquals(content, Files.readAllBytes(file.toPath()));
+		assertEquals("bytes=400-", transport.getRequests("GET").get(0).headers().get(Headers.RANGE_HEADER));
+		assertNull(other.getRequests("GET").get(0).headers().get(Headers.RANGE_HEADER));
+		assertEquals(List.of("big.zip", "big.zip.headers"), listFolder(file));
+	}
+
+	@Test
+	void testDeleteAbandonedDownloads() throws Exception {
+		File folder = new File(cacheLocation.toFile(), "http/example.org");
+		File abandoned = new File(folder, "other.zip.partial-1");
+		File running = new File(folder, "other.zip.partial-2");
+		for (File download : List.of(abandoned, running)) {
+			download.mkdirs();
+			Files.writeString(download.toPath().resolve("content"), "content");
+		}
+		long twoDaysAgo = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2);
+		new File(abandoned, "content").setLastModified(twoDaysAgo);
+		abandoned.setLastModified(twoDaysAgo);
+
+		File file = fetch(createStorage(),
+				new TestHttpTransportFactory(new RangeHandler(createContent(10), "\"v1\"", -1, false)));
+
+		assertEquals(List.of("big.zip", "big.zip.headers", "other.zip.partial-2"), listFolder(file));
+	}
+
+	/**
+	 * Lets a build download the first 400 bytes of the given content before the server goes away
+	 */
+	private File interruptDownload(byte[] content, String etag) {
+		RangeHandler handler = new RangeHandler(content, etag, 400, false);
+		TestHttpTransportFactory transport = new TestHttpTransportFactory(request -> {
+			if (request.headers().containsKey(Headers.RANGE_HEADER)) {
+				throw new IOException("Connection refused");
+			}
+			return handler.handle(request);
+		});
+		assertThrows(IOException.class, () -> fetch(createStorage(), transport));
+		return new File(cacheLocation.toFile(), "http/example.org/big.zip");
+	}
+
+	private File fetch(SharedHttpCacheStorage storage, TestHttpTransportFactory transport) throws IOException {
+		return fetch(storage, transport, "http://example.org/big.zip");
+	}
+
+	private static File fetch(SharedHttpCacheStorage storage, TestHttpTransportFactory transport, String uri)
+			throws IOException {
+		return storage.getCacheEntry(URI.create(uri), LOGGER).getCacheFile(transport).file().toFile();
+	}
+
+	private static long getLastModified(SharedHttpCacheStorage storage, TestHttpTransportFactory transport,
+			String uri) throws IOException {
+		return storage.getCacheEntry(URI.create(uri), LOGGER).getLastModified(transport);
+	}
+
+	private static byte[] createContent(int length) {
+		byte[] content = new byte[length];
+		new Random(length).nextBytes(content);
+		return content;
+	}
+
+	private static List<String> listFolder(File file) {
+		return Stream.of(file.getParentFile().list()).sorted().toList();
+	}
+
+	/**
+	 * Serves the given files by path (the host is used as the first segment for other hosts than
+	 * example.org) and answers requests with a matching ETag with "not modified"
+	 */
+	private record ConditionalHandler(Map<String, Reply> files) implements TestHttpTransportFactory.Handler {
+
+		@Override
+		public Reply handle(Request request) {
+			String host = request.uri().getHost();
+			String path = request.uri().getPath();
+			Reply reply = files.get("example.org".equals(host) ? path : "/" + host.split("\\.")[0] + path);
+			if (reply == null) {
+				return new Reply(HttpURLConnection.HTTP_NOT_FOUND, Map.of(), new byte[0]);
+			}
+			String etag = reply.headers().get(Headers.ETAG_HEADER);
+			if (etag != null && etag.equals(request.headers().get("If-None-Match"))) {
+				return new Reply(HttpURLConnection.HTTP_NOT_MODIFIED, Map.of(), new byte[0]);
+			}
+			return reply;
+		}
+	}
+
+	/**
+	 * Serves the given content with support for range requests
+	 */
+	private record RangeHandler(byte[] content, String etag, int failAfter, boolean rejectRanges)
+			implements TestHttpTransportFactory.Handler {
+
+		@Override
+		public Reply handle(Request request) {
+			String range = request.headers().get(Headers.RANGE_HEADER);
+			if (range != null && etag.equals(request.headers().get(Headers.IF_RANGE_HEADER))) {
+				if (rejectRanges) {
+					return new Reply(416, Map.of(), new byte[0]);
+				}
+				int from = Integer.parseInt(range.substring("bytes=".length(), range.length() - 1));
+				return new Reply(HttpURLConnection.HTTP_PARTIAL,
+						Map.of(Headers.ETAG_HEADER, etag, Headers.CONTENT_RANGE_HEADER,
+								"bytes " + from + "-" + (content.length - 1) + "/" + content.length),
+						Arrays.copyOfRange(content, from, content.length));
+			}
+			return new Reply(HttpURLConnection.HTTP_OK,
+					Map.of(Headers.ETAG_HEADER, etag, Headers.ACCEPT_RANGES_HEADER, "bytes"), content, failAfter);
+		}
+	}
+
+	SharedHttpCacheStorage createStorage() throws InterruptedException {
+		return createStorage(new HostDownloadLimiter(), false);
+	}
+
+	/**
+	 * @param update
+	 *            if cached files are revalidated once, like in a build with <code>-U</code>
+	 */
+	SharedHttpCacheStorage createStorage(HostDownloadLimiter limiter, boolean update) throws InterruptedException {
+		// files cached before are from an earlier session
+		Thread.sleep(2);
+		// revalidations are done right away
+		SharedHttpCacheStorage storage = new SharedHttpCacheStorage(limiter, Runnable::run);
+		storage.cacheConfig = new TestCacheConfig(update);
+		return storage;
+	}
+
+	private final class TestCacheConfig implements TransportCacheConfig {
+
+		private final boolean update;
+
+		long sessionStart = System.currentTimeMillis();
+
+		TestCacheConfig(boolean update) {
+			this.update = update;
+		}
+
+		@Override
+		public boolean isOffline() {
+			return false;
+		}
+
+		@Override
+		public boolean isUpdate() {
+			return update;
+		}
+
+		@Override
+		public boolean isInteractive() {
+			return false;
+		}
+
+		@Override
+		public boolean isDebug() {
+			return false;
+		}
+
+		@Override
+		public File getCacheLocation() {
+			return cacheLocation.toFile();
+		}
+
+		@Override
+		public long getSessionStart() {
+			return sessionStart;
+		}
+	}
+
+	private static void await(CyclicBarrier barrier) throws IOException {
+		try {
+			barrier.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		} catch (BrokenBarrierException | TimeoutException e) {
+			throw new IOException(e);
+		}
+	}
+}
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2maven.transport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.tycho.p2maven.transport.Response.ResponseConsumer;
+
+/**
+ * Answers requests with responses of a handler instead of a server and records all requests
+ */
+class TestHttpTransportFactory implements HttpTransportFactory {
+
+	/**
+	 * A request sent by the cache, the header names are case insensitive
+	 */
+	record Request(String method, URI uri, Map<String, String> headers) {
+	}
+
+	/**
+	 * A response of the handler, the transfer of the body fails after <code>failAfter</code> bytes
+	 * if it is not negative
+	 */
+	record Reply(int code, Map<String, String> headers, byte[] body, int failAfter) {
+
+		Reply(int code, Map<String, String> headers, byte[] body) {
+			this(code, headers, body, -1);
+		}
+	}
+
+	@FunctionalInterface
+	interface Handler {
+		Reply handle(Request request) throws IOException;
+	}
+
+	final List<Request> requests = new CopyOnWriteArrayList<>();
+
+	private final Handler handler;
+
+	TestHttpTransportFactory(Handler handler) {
+		this.handler = handler;
+	}
+
+	List<Request> getRequests(String method) {
+		return requests.stream().filter(request -> request.method().equals(method)).toList();
+	}
+
+	@Override
+	public HttpTransport createTransport(URI uri) {
+		Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		return new HttpTransport() {
+
+			@Override
+			public void setHeader(String key, String value) {
+				headers.put(key, value);
+			}
+
+			@Override
+			public <T> T get(ResponseConsumer<T> consumer) throws IOException {
+				try (TestResponse response = send("GET")) {
+					return consumer.handleResponse(response);
+				}
+			}
+
+			@Override
+			public Headers head() throws IOException {
+				return send("HEAD");
+			}
+
+			private TestResponse send(String method) throws IOException {
+				Request request = new Request(method, uri, headers);
+				requests.add(request);
+				return new TestResponse(uri, handler.handle(request));
+			}
+		};
+	}
+
+	private static final class TestResponse implements Response {
+
+		private final URI uri;
+		private final Reply reply;
+		private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+		TestResponse(URI uri, Reply reply) {
+			this.uri = uri;
+			this.reply = reply;
+			reply.headers().forEach((key, value) -> headers.put(key, List.of(value)));
+		}
+
+		@Override
+		public int statusCode() {
+			return reply.code();
+		}
+
+		@Override
+		public Map<String, List<String>> headers() {
+			return headers;
+		}
+
+		@Override
+		public void close() {
+		}
+
+		@Override
+		public URI getURI() {
+			return uri;
+		}
+
+		@Override
+		public String getHeader(String header) {
+			List<String> values = headers.get(header);
+			return values == null ? null : values.get(0);
+		}
+
+		@Override
+		public long getLastModified() {
+			String lastModified = getHeader(LAST_MODIFIED_HEADER);
+			if (lastModified == null) {
+				return 0;
+			}
+			return ZonedDateTime.parse(lastModified, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+		}
+
+		@Override
+		public void transferTo(OutputStream outputStream, ContentEncoding transportEncoding) throws IOException {
+			byte[] body = reply.body();
+			if (reply.failAfter() >= 0) {
+				outputStream.write(body, 0, reply.failAfter());
+				outputStream.flush();
+				throw new IOException("Connection reset");
+			}
+			outputStream.write(body);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2021 Sonatype Inc. and others.
+ * Copyright (c) 2008, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -63,6 +63,10 @@ public class DefaultEquinoxInstallationDescription implements EquinoxInstallatio
 
     private final Map<String, String> devEntries = new HashMap<>();
 
+    private File bundlePool;
+
+    private boolean configurationCacheEnabled;
+
     @Override
     public void addBundleStartLevel(BundleStartLevel level) {
         startLevel.put(level.getId(), level);
@@ -175,4 +179,24 @@ public class DefaultEquinoxInstallationDescription implements EquinoxInstallatio
     public Map<String, String> getDevEntries() {
         return devEntries;
     }
+
+    @Override
+    public File getBundlePool() {
+        return bundlePool;
+    }
+
+    @Override
+    public void setBundlePool(File bundlePool) {
+        this.bundlePool = bundlePool;
+    }
+
+    @Override
+    public boolean isConfigurationCacheEnabled() {
+        return configurationCacheEnabled;
+    }
+
+    @Override
+    public void setConfigurationCacheEnabled(boolean configurationCacheEnabled) {
+        this.configurationCacheEnabled = configurationCacheEnabled;
+    }
 }
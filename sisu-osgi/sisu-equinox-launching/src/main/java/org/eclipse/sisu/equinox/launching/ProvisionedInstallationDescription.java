@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013 Red Hat Inc.
+ * Copyright (c) 2013, 2026 Red Hat Inc.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -160,4 +160,24 @@ public class ProvisionedInstallationDescription implements EquinoxInstallationDe
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public File getBundlePool() {
+        return null;
+    }
+
+    @Override
+    public void setBundlePool(File bundlePool) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isConfigurationCacheEnabled() {
+        return false;
+    }
+
+    @Override
+    public void setConfigurationCacheEnabled(boolean configurationCacheEnabled) {
+        throw new UnsupportedOperationException();
+    }
+
 }
@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sisu.equinox.launching.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * A content-addressed pool of unpacked bundles that is shared between installations (and builds).
+ * Each entry is a directory named after the SHA-256 hash of the content it was created from, so an
+ * entry never changes once it exists and installations can reference it directly instead of
+ * unpacking the same jar again.
+ * <p>
+ * The modification time of an entry records when it was last used. Bundles built by the reactor or
+ * resolved as snapshots change with every build and leave an entry behind each time, so entries
+ * that were not used for {@link #MAX_AGE_DAYS} days are deleted once per pool and session.
+ */
+class BundlePool {
+
+    static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("tycho.equinox.bundlepool", "true"));
+
+    static final int MAX_AGE_DAYS = Integer.getInteger("tycho.equinox.bundlepool.maxAge", 14);
+
+    /**
+     * The time of the last use of an entry is only updated this often, not on every use
+     */
+    private static final long TOUCH_INTERVAL = TimeUnit.HOURS.toMillis(1);
+
+    private static final String TEMP = ".tmp";
+
+    private static final String DELETED = ".deleted-";
+
+    private final Map<String, FileHash> hashes = new ConcurrentHashMap<>();
+
+    private final Set<File> cleanedPools = ConcurrentHashMap.newKeySet();
+
+    interface EntryCreator {
+        void create(File directory) throws IOException;
+    }
+
+    private record FileHash(long size, long lastModified, String hash) {
+    }
+
+    /**
+     * @return the SHA-256 hash of the given jar, or <code>null</code> if it is not a file
+     */
+    String hash(File file) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+        long size = file.length();
+        long lastModified = file.lastModified();
+        FileHash cached = hashes.get(file.getAbsolutePath());
+        if (cached != null && cached.size() == size && cached.lastModified() == lastModified) {
+            return cached.hash();
+        }
+        MessageDigest digest = newDigest();
+        try (InputStream stream = Files.newInputStream(file.toPath())) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = stream.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        String hash = HexFormat.of().formatHex(digest.digest());
+        hashes.put(file.getAbsolutePath(), new FileHash(size, lastModified, hash));
+        return hash;
+    }
+
+    /**
+     * @return a hash that identifies the combination of the given hashes, in the given order
+     */
+    String hash(List<String> hashes) {
+        MessageDigest digest = newDigest();
+        for (String hash : hashes) {
+            digest.update(hash.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Returns the pool entry with the given key, the entry is created with the given creator if it
+     * does not exist yet. Entries are created in a temporary directory and moved to their final
+     * location once complete, so concurrent builds never see a partially created entry.
+     */
+    File getEntry(File pool, String key, EntryCreator creator) throws IOException {
+        File entry = findEntry(pool, key);
+        if (entry != null) {
+            return entry;
+        }
+        entry = new File(pool, key);
+        pool.mkdirs();
+        Path temp = Files.createTempDirectory(pool.toPath(), key + TEMP);
+        try {
+            creator.create(temp.toFile());
+            try {
+                Files.move(temp, entry.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileSystemException e) {
+                // created concurrently by another installation
+                if (!entry.isDirectory()) {
+                    throw e;
+                }
+            }
+        } finally {
+            delete(temp);
+        }
+        return entry;
+    }
+
+    /**
+     * @return the pool entry with the given key, or <code>null</code> if it does not exist
+     */
+    File findEntry(File pool, String key) {
+        if (MAX_AGE_DAYS > 0 && cleanedPools.add(pool)) {
+            deleteUnused(pool, System.currentTimeMillis() - TimeUnit.DAYS.toMillis(MAX_AGE_DAYS));
+        }
+        File entry = new File(pool, key);
+        if (!entry.isDirectory()) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (now - entry.lastModified() > TOUCH_INTERVAL) {
+            entry.setLastModified(now);
+        }
+        return entry;
+    }
+
+    /**
+     * Deletes the entries of the given pool that were last used before the given time. An entry is
+     * renamed before it is deleted, if it turns out to be used by another build in the meantime it
+     * is moved back.
+     */
+    void deleteUnused(File pool, long before) {
+        File[] entries = pool.listFiles(File::isDirectory);
+        if (entries == null) {
+            return;
+        }
+        for (File entry : entries) {
+            if (entry.lastModified() >= before) {
+                continue;
+            }
+            String name = entry.getName();
+            try {
+                if (name.contains(TEMP) || name.contains(DELETED)) {
+                    // left behind by a build that was killed
+                    delete(entry.toPath());
+                    continue;
+                }
+                Path deleted = pool.toPath().resolve(name + DELETED + UUID.randomUUID());
+                Files.move(entry.toPath(), deleted, StandardCopyOption.ATOMIC_MOVE);
+                if (deleted.toFile().lastModified() >= before) {
+                    Files.move(deleted, entry.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                } else {
+                    delete(deleted);
+                }
+            } catch (IOException e) {
+                // in use or already deleted by another build, try again next time
+            }
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(directory)) {
+            for (Path path : walk.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sisu.equinox.launching.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the framework storage and the extension registry cache of a configuration area after a
+ * launch, so the next launch with the same configuration and bundles does not have to install and
+ * resolve all bundles and parse their extensions again. Entries are stored in the bundle pool under
+ * a fingerprint of the <code>config.ini</code> and the content of all bundles, an entry is never
+ * changed once it exists. Entries contain the content of reactor bundles in their fingerprint and
+ * are deleted with the other unused entries of the bundle pool.
+ */
+class ConfigurationCache {
+
+    static final boolean ENABLED = Boolean
+            .parseBoolean(System.getProperty("tycho.equinox.configurationcache", "true"));
+
+    private static final String FRAMEWORK_STORAGE = "org.eclipse.osgi";
+
+    /**
+     * The parts of the configuration area that are cached, relative to the configuration location
+     */
+    private static final List<String> STORAGE = List.of(FRAMEWORK_STORAGE, "org.eclipse.core.runtime/.manager");
+
+    /**
+     * Metadata of directory bundles that the framework storage and the registry cache depend on
+     */
+    private static final List<String> DIRECTORY_METADATA = List.of(JarFile.MANIFEST_NAME, "plugin.xml",
+            "fragment.xml");
+
+    private static final String CONFIG_INI = "config.ini";
+
+    /**
+     * Data areas of bundles (<code>org.eclipse.osgi/&lt;id&gt;/data</code>) contain what the bundles
+     * (and tests) wrote at runtime
+     */
+    private static final String BUNDLE_DATA = "data";
+
+    private final BundlePool bundlePool;
+
+    private final File pool;
+
+    ConfigurationCache(BundlePool bundlePool, File pool) {
+        this.bundlePool = bundlePool;
+        this.pool = pool;
+    }
+
+    /**
+     * @return a fingerprint of the given configuration and the content of the given bundles
+     */
+    String fingerprint(Properties configuration, Map<String, String> devEntries, Collection<File> bundles)
+            throws IOException {
+        List<String> parts = new ArrayList<>();
+        new TreeMap<>(configuration).forEach((key, value) -> parts.add(key + "=" + value));
+        new TreeMap<>(devEntries).forEach((key, value) -> parts.add("dev:" + key + "=" + value));
+        for (File bundle : bundles) {
+            parts.add(bundle.getAbsolutePath());
+            if (bundle.isDirectory()) {
+                for (String metadata : DIRECTORY_METADATA) {
+                    String hash = bundlePool.hash(new File(bundle, metadata));
+                    parts.add(hash != null ? hash : "-");
+                }
+            } else {
+                String hash = bundlePool.hash(bundle);
+                parts.add(hash != null ? hash : "-");
+            }
+        }
+        return bundlePool.hash(parts);
+    }
+
+    /**
+     * Removes the state of earlier launches from the given configuration location (everything but
+     * the <code>config.ini</code>) and copies the cached storage for the given fingerprint into it if
+     * there is one.
+     *
+     * @return <code>true</code> if the cached storage was restored
+     */
+    boolean restore(String fingerprint, File configurationLocation) throws IOException {
+        File[] children = configurationLocation.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                if (!CONFIG_INI.equals(child.getName())) {
+                    delete(child.toPath());
+                }
+            }
+        }
+        File entry = bundlePool.findEntry(pool, getEntryName(fingerprint));
+        if (entry == null) {
+            return false;
+        }
+        copy(entry.toPath(), configurationLocation.toPath(), false);
+        return true;
+    }
+
+    /**
+     * Stores the storage of the given configuration location for the given fingerprint, unless there
+     * is already an entry. The storage must only contain the state that the framework creates from
+     * the <code>config.ini</code>, not changes made by the launched application.
+     */
+    void store(String fingerprint, File configurationLocation) throws IOException {
+        bundlePool.getEntry(pool, getEntryName(fingerprint), directory -> {
+            for (String storage : STORAGE) {
+                Path source = configurationLocation.toPath().resolve(storage);
+                if (Files.isDirectory(source)) {
+                    copy(source, directory.toPath().resolve(storage), FRAMEWORK_STORAGE.equals(storage));
+                }
+            }
+        });
+    }
+
+    private static String getEntryName(String fingerprint) {
+        return "configuration-" + fingerprint;
+    }
+
+    private static void copy(Path source, Path target, boolean skipBundleData) throws IOException {
+        try (Stream<Path> walk = Files.walk(source)) {
+            for (Path path : walk.toList()) {
+                Path relative = source.relativize(path);
+                if (skipBundleData && isBundleData(relative)) {
+                    continue;
+                }
+                Path destination = target.resolve(relative.toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(destination);
+                } else {
+                    Files.copy(path, destination, StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.COPY_ATTRIBUTES);
+                }
+            }
+        }
+    }
+
+    private static boolean isBundleData(Path relative) {
+        return relative.getNameCount() >= 2 && BUNDLE_DATA.equals(relative.getName(1).toString());
+    }
+
+    private static void delete(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(path)) {
+            for (Path file : walk.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
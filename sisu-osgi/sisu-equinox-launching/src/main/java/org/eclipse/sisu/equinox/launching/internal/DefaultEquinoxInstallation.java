@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2011 Sonatype Inc. and others.
+ * Copyright (c) 2008, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -28,6 +28,10 @@ public class DefaultEquinoxInstallation implements EquinoxInstallation {
 
     private final EquinoxInstallationDescription description;
 
+    private ConfigurationCache configurationCache;
+
+    private String fingerprint;
+
     public DefaultEquinoxInstallation(EquinoxInstallationDescription installationDescription, File location,
             File configurationLocation) {
         this.description = installationDescription;
@@ -73,4 +77,21 @@ public class DefaultEquinoxInstallation implements EquinoxInstallation {
         return description;
     }
 
+    void setConfigurationCache(ConfigurationCache configurationCache, String fingerprint) {
+        this.configurationCache = configurationCache;
+        this.fingerprint = fingerprint;
+    }
+
+    @Override
+    public boolean isConfigurationCached() {
+        return configurationCache != null;
+    }
+
+    @Override
+    public void cacheConfiguration() throws IOException {
+        if (configurationCache != null) {
+            configurationCache.store(fingerprint, configurationLocation);
+        }
+    }
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2014 Sonatype Inc. and others.
+ * Copyright (c) 2008, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -56,6 +56,8 @@ public class DefaultEquinoxInstallationFactory implements EquinoxInstallationFac
 
     private final Map<String, Manifest> manifestCache = new HashMap<>();
 
+    private final BundlePool bundlePool = new BundlePool();
+
     @Inject
     private Logger log;
 
@@ -76,6 +78,7 @@ public class DefaultEquinoxInstallationFactory implements EquinoxInstallationFac
         if (defaultBundleStartLevel == null) {
             defaultBundleStartLevel = new BundleStartLevel(null, 4, false);
         }
+        File poolLocation = BundlePool.ENABLED ? description.getBundlePool() : null;
 
         try {
 
@@ -85,11 +88,14 @@ public class DefaultEquinoxInstallationFactory implements EquinoxInstallationFac
                 File file = artifact.getLocation();
                 if (needsUnpack(artifact, bundlesToExplode)) {
                     String filename = artifact.getId() + "_" + artifact.getVersion();
-                    File unpacked = new File(location, "plugins/" + filename);
+                    File unpacked = getPooledBundle(poolLocation, file, filename);
+                    if (unpacked == null) {
+                        unpacked = new File(location, "plugins/" + filename);
 
-                    unpacked.mkdirs();
+                        unpacked.mkdirs();
 
-                    unpack(file, unpacked);
+                        unpack(file, unpacked);
+                    }
 
                     effective.put(artifact, unpacked);
                 } else {
@@ -139,8 +145,15 @@ public class DefaultEquinoxInstallationFactory implements EquinoxInstallationFac
 
             if (!frameworkExtensions.isEmpty()) {
                 // see osgi.framework.extensions at https://help.eclipse.org/latest/index.jsp?topic=%2Forg.eclipse.platform.doc.isv%2Freference%2Fmisc%2Fruntime-options.html
-                Collection<String> bundleNames = unpackFrameworkExtensions(location, frameworkExtensions);
-                p.setProperty("osgi.framework", copySystemBundle(description, location));
+                Collection<String> bundleNames;
+                File framework = getPooledFramework(poolLocation, description, frameworkExtensions);
+                if (framework != null) {
+                    bundleNames = getSymbolicNames(frameworkExtensions);
+                    p.setProperty("osgi.framework", "file:" + framework.getAbsolutePath().replace('\\', '/'));
+                } else {
+                    bundleNames = unpackFrameworkExtensions(location, frameworkExtensions);
+                    p.setProperty("osgi.framework", copySystemBundle(description, location));
+                }
                 p.setProperty("osgi.framework.extensions", StringUtils.join(bundleNames.iterator(), ","));
             }
 
@@ -151,12 +164,71 @@ public class DefaultEquinoxInstallationFactory implements EquinoxInstallationFac
             File configIni = new File(location, TychoConstants.CONFIG_INI_PATH);
             ReproducibleUtils.storeProperties(p, configIni.toPath());
             File configurationLocation = configIni.getParentFile();
-            return new DefaultEquinoxInstallation(description, location, configurationLocation);
+            DefaultEquinoxInstallation installation = new DefaultEquinoxInstallation(description, location,
+                    configurationLocation);
+            if (poolLocation != null && ConfigurationCache.ENABLED && description.isConfigurationCacheEnabled()) {
+                ConfigurationCache cache = new ConfigurationCache(bundlePool, poolLocation);
+                List<File> bundles = new ArrayList<>(effective.values());
+                bundles.add(description.getSystemBundle().getLocation());
+                bundles.addAll(frameworkExtensions);
+                String fingerprint = cache.fingerprint(p, description.getDevEntries(), bundles);
+                if (cache.restore(fingerprint, configurationLocation)) {
+                    log.debug("Restored cached configuration " + fingerprint);
+                }
+                installation.setConfigurationCache(cache, fingerprint);
+            }
+            return installation;
         } catch (IOException e) {
             throw new RuntimeException("Exception creating test eclipse runtime", e);
         }
     }
 
+    /**
+     * @return the directory of the given bundle unpacked in the bundle pool, or <code>null</code>
+     *         if the bundle can't be pooled
+     */
+    private File getPooledBundle(File poolLocation, File file, String filename) throws IOException {
+        if (poolLocation == null) {
+            return null;
+        }
+        String hash = bundlePool.hash(file);
+        if (hash == null) {
+            return null;
+        }
+        File entry = bundlePool.getEntry(poolLocation, hash, directory -> unpack(file, new File(directory, filename)));
+        File unpacked = new File(entry, filename);
+        return unpacked.isDirectory() ? unpacked : null;
+    }
+
+    /**
+     * Framework extensions must be located next to the system bundle, so the system bundle and the
+     * unpacked extensions are pooled together as one entry.
+     *
+     * @return the system bundle in the bundle pool, or <code>null</code> if the framework can't be
+     *         pooled
+     */
+    private File getPooledFramework(File poolLocation, EquinoxInstallationDescription description,
+            Collection<File> frameworkExtensions) throws IOException {
+        if (poolLocation == null) {
+            return null;
+        }
+        File systemBundle = description.getSystemBundle().getLocation();
+        List<String> hashes = new ArrayList<>();
+        hashes.add(bundlePool.hash(systemBundle));
+        for (File extension : frameworkExtensions) {
+            hashes.add(bundlePool.hash(extension));
+        }
+        if (hashes.contains(null)) {
+            return null;
+        }
+        File entry = bundlePool.getEntry(poolLocation, "framework-" + bundlePool.hash(hashes), directory -> {
+            unpackFrameworkExtensions(directory, frameworkExtensions);
+            copySystemBundle(description, directory);
+        });
+        File framework = new File(entry, "plugins/" + systemBundle.getName());
+        return framework.isFile() ? framework : null;
+    }
+
     private boolean needsUnpack(BundleReference artifact, Set<String> bundlesToExplode) throws IOException {
         File file = artifact.getLocation();
         if (file.isDirectory()) {
@@ -235,7 +307,7 @@ public class DefaultEquinoxInstallationFactory implements EquinoxInstallationFac
 
         for (File bundleFile : frameworkExtensions) {
             Manifest mf = getManifest(bundleFile);
-            String symbolicName = mf.getMainAttributes().getValue(Constants.BUNDLE_SYMBOLICNAME);
+            String symbolicName = getSymbolicName(mf);
             String version = mf.getMainAttributes().getValue(Constants.BUNDLE_VERSION);
             bundleNames.add(symbolicName);
             File bundleDir = new File(location, "plugins/" + symbolicName + "_" + version);
@@ -248,6 +320,18 @@ public class DefaultEquinoxInstallationFactory implements EquinoxInstallationFac
         return bundleNames;
     }
 
+    private List<String> getSymbolicNames(Collection<File> bundles) throws IOException {
+        List<String> bundleNames = new ArrayList<>();
+        for (File bundleFile : bundles) {
+            bundleNames.add(getSymbolicName(getManifest(bundleFile)));
+        }
+        return bundleNames;
+    }
+
+    private static String getSymbolicName(Manifest mf) {
+        return mf.getMainAttributes().getValue(Constants.BUNDLE_SYMBOLICNAME);
+    }
+
     private String copySystemBundle(EquinoxInstallationDescription description, File location) throws IOException {
         BundleReference bundle = description.getSystemBundle();
         File srcFile = bundle.getLocation();
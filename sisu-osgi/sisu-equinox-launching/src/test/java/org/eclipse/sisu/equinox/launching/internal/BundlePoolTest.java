@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sisu.equinox.launching.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BundlePoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final BundlePool subject = new BundlePool();
+
+    @Test
+    public void testEntryIsCreatedOnce() throws IOException {
+        File pool = tempDir.resolve("pool").toFile();
+        AtomicInteger created = new AtomicInteger();
+        BundlePool.EntryCreator creator = directory -> {
+            created.incrementAndGet();
+            Files.writeString(new File(directory, "content.txt").toPath(), "content");
+        };
+
+        File entry = subject.getEntry(pool, "key", creator);
+        File again = subject.getEntry(pool, "key", creator);
+
+        assertEquals(entry, again);
+        assertEquals(1, created.get());
+        assertEquals("content", Files.readString(new File(entry, "content.txt").toPath()));
+        assertEquals(List.of("key"), List.of(pool.list()));
+    }
+
+    @Test
+    public void testFailedEntryIsNotPublished() {
+        File pool = tempDir.resolve("pool").toFile();
+
+        assertThrows(IOException.class, () -> subject.getEntry(pool, "key", directory -> {
+            Files.writeString(new File(directory, "content.txt").toPath(), "partial");
+            throw new IOException("failed");
+        }));
+
+        assertEquals(0, pool.list().length);
+    }
+
+    @Test
+    public void testHashFollowsContent() throws IOException {
+        Path file = tempDir.resolve("bundle.jar");
+        Files.writeString(file, "first");
+        String first = subject.hash(file.toFile());
+        Files.writeString(file, "second content");
+        String second = subject.hash(file.toFile());
+
+        assertNotEquals(first, second);
+        assertEquals(64, second.length());
+        assertNull(subject.hash(tempDir.toFile()));
+        assertEquals(64, subject.hash(List.of(first, second)).length());
+        assertNotEquals(subject.hash(List.of(first, second)), subject.hash(List.of(second, first)));
+    }
+
+    @Test
+    public void testUnusedEntriesAreDeleted() throws IOException {
+        File pool = tempDir.resolve("pool").toFile();
+        File used = createEntry(pool, "used", 1);
+        File unused = createEntry(pool, "unused", 20);
+        File abandoned = createEntry(pool, "key.tmp123", 20);
+
+        subject.deleteUnused(pool, System.currentTimeMillis() - TimeUnit.DAYS.toMillis(10));
+
+        assertTrue(used.isDirectory());
+        assertEquals(List.of("used"), List.of(pool.list()));
+        assertFalse(unused.exists());
+        assertFalse(abandoned.exists());
+    }
+
+    @Test
+    public void testUsedEntryIsTouched() throws IOException {
+        File pool = tempDir.resolve("pool").toFile();
+        File entry = createEntry(pool, "key", 2);
+        long before = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1);
+
+        assertEquals(entry, subject.getEntry(pool, "key", directory -> {
+            throw new IOException("must not be created again");
+        }));
+        assertTrue(entry.lastModified() > before);
+        assertNull(subject.findEntry(pool, "missing"));
+    }
+
+    private static File createEntry(File pool, String key, int ageInDays) throws IOException {
+        File entry = new File(pool, key);
+        entry.mkdirs();
+        Files.writeString(new File(entry, "content.txt").toPath(), key);
+        entry.setLastModified(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(ageInDays));
+        return entry;
+    }
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sisu.equinox.launching.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ConfigurationCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testStoreAndRestore() throws IOException {
+        ConfigurationCache subject = new ConfigurationCache(new BundlePool(), tempDir.resolve("pool").toFile());
+        Path configuration = tempDir.resolve("configuration");
+        write(configuration.resolve("config.ini"), "osgi.bundles=");
+        write(configuration.resolve("org.eclipse.osgi/.manager/.fileTable.1"), "storage");
+        write(configuration.resolve("org.eclipse.osgi/1/data/state.txt"), "runtime data");
+        write(configuration.resolve("org.eclipse.core.runtime/.manager/.registryCache"), "registry");
+        write(configuration.resolve("org.eclipse.core.runtime/.settings/prefs"), "settings");
+        write(configuration.resolve(".log"), "log");
+
+        assertFalse(subject.restore("fingerprint", configuration.toFile()));
+        assertEquals(List.of("config.ini"), List.of(configuration.toFile().list()));
+
+        write(configuration.resolve("org.eclipse.osgi/.manager/.fileTable.1"), "storage");
+        write(configuration.resolve("org.eclipse.osgi/1/data/state.txt"), "runtime data");
+        write(configuration.resolve("org.eclipse.core.runtime/.manager/.registryCache"), "registry");
+        write(configuration.resolve("org.eclipse.core.runtime/.settings/prefs"), "settings");
+        subject.store("fingerprint", configuration.toFile());
+        write(configuration.resolve(".log"), "log");
+
+        assertTrue(subject.restore("fingerprint", configuration.toFile()));
+        assertEquals("storage", Files.readString(configuration.resolve("org.eclipse.osgi/.manager/.fileTable.1")));
+        assertEquals("registry",
+                Files.readString(configuration.resolve("org.eclipse.core.runtime/.manager/.registryCache")));
+        assertFalse(Files.exists(configuration.resolve("org.eclipse.osgi/1/data")));
+        assertFalse(Files.exists(configuration.resolve("org.eclipse.core.runtime/.settings")));
+        assertFalse(Files.exists(configuration.resolve(".log")));
+        assertEquals("osgi.bundles=", Files.readString(configuration.resolve("config.ini")));
+    }
+
+    @Test
+    public void testFingerprintFollowsBundleContent() throws IOException {
+        ConfigurationCache subject = new ConfigurationCache(new BundlePool(), tempDir.resolve("pool").toFile());
+        Properties configuration = new Properties();
+        configuration.setProperty("osgi.bundles", "reference:file:bundle.jar");
+        Path jar = tempDir.resolve("bundle.jar");
+        Path directory = tempDir.resolve("project");
+        write(jar, "first");
+        write(directory.resolve("META-INF/MANIFEST.MF"), "Bundle-SymbolicName: project");
+        List<File> bundles = List.of(jar.toFile(), directory.toFile());
+
+        String initial = subject.fingerprint(configuration, Map.of(), bundles);
+        assertEquals(initial, subject.fingerprint(configuration, Map.of(), bundles));
+
+        write(directory.resolve("bin/Test.class"), "classes");
+        assertEquals(initial, subject.fingerprint(configuration, Map.of(), bundles));
+
+        write(directory.resolve("plugin.xml"), "<plugin/>");
+        String withPluginXml = subject.fingerprint(configuration, Map.of(), bundles);
+        assertNotEquals(initial, withPluginXml);
+
+        write(jar, "second content");
+        assertNotEquals(withPluginXml, subject.fingerprint(configuration, Map.of(), bundles));
+        assertNotEquals(subject.fingerprint(configuration, Map.of(), bundles),
+                subject.fingerprint(configuration, Map.of("project", "bin"), bundles));
+    }
+
+    @Test
+    public void testRestoreMarksEntryAsUsed() throws IOException {
+        File pool = tempDir.resolve("pool").toFile();
+        ConfigurationCache subject = new ConfigurationCache(new BundlePool(), pool);
+        Path configuration = tempDir.resolve("configuration");
+        write(configuration.resolve("org.eclipse.osgi/.manager/.fileTable.1"), "storage");
+        subject.store("fingerprint", configuration.toFile());
+        File entry = new File(pool, "configuration-fingerprint");
+        long lastUse = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2);
+        entry.setLastModified(lastUse);
+
+        assertTrue(subject.restore("fingerprint", configuration.toFile()));
+        assertTrue(entry.lastModified() > lastUse);
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
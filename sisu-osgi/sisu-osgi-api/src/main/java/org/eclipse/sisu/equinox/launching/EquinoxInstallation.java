@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2011 Sonatype Inc. and others.
+ * Copyright (c) 2008, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -13,6 +13,7 @@
 package org.eclipse.sisu.equinox.launching;
 
 import java.io.File;
+import java.io.IOException;
 
 public interface EquinoxInstallation {
     public File getLauncherJar();
@@ -23,4 +24,22 @@ public interface EquinoxInstallation {
 
     public EquinoxInstallationDescription getInstallationDescription();
 
+    /**
+     * @return <code>true</code> if the framework storage of the configuration location is prepared
+     *         by the installation (empty or restored from an earlier launch with the same
+     *         configuration and bundles) and must not be cleaned when the framework starts
+     */
+    public default boolean isConfigurationCached() {
+        return false;
+    }
+
+    /**
+     * Keeps the framework storage of the configuration location for later installations with the
+     * same configuration and bundles, to be called after a launch of the installation terminated
+     * normally.
+     */
+    public default void cacheConfiguration() throws IOException {
+        // nothing to cache by default
+    }
+
 }
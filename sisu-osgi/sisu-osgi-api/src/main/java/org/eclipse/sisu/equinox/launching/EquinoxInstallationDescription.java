@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2014 Sonatype Inc. and others.
+ * Copyright (c) 2008, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -38,6 +38,23 @@ public interface EquinoxInstallationDescription {
 
     public Map<String, String> getDevEntries();
 
+    /**
+     * @return the directory of a pool that unpacked bundles are shared from between
+     *         installations, or <code>null</code> if each installation unpacks its own bundles
+     */
+    public default File getBundlePool() {
+        return null;
+    }
+
+    /**
+     * @return <code>true</code> if the framework storage of the configuration area is kept in the
+     *         bundle pool after a launch and restored for installations with the same configuration
+     *         and bundles
+     */
+    public default boolean isConfigurationCacheEnabled() {
+        return false;
+    }
+
     default void addBundle(String id, String version, File location) {
         addBundle(new BundleReference() {
 
@@ -71,4 +88,12 @@ public interface EquinoxInstallationDescription {
     void addPlatformProperty(String property, String value);
 
     void addDevEntries(String id, String entries);
+
+    default void setBundlePool(File bundlePool) {
+        // descriptions without a pool unpack the bundles of each installation
+    }
+
+    default void setConfigurationCacheEnabled(boolean configurationCacheEnabled) {
+        // descriptions without a bundle pool have nowhere to cache the configuration
+    }
 }
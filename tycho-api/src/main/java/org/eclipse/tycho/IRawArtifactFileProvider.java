@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2013 SAP SE and others.
+ * Copyright (c) 2012, 2026 SAP SE and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -13,7 +13,9 @@
 package org.eclipse.tycho;
 
 import java.io.File;
+import java.util.Collection;
 
+import org.eclipse.equinox.p2.metadata.IArtifactKey;
 import org.eclipse.equinox.p2.repository.artifact.IArtifactDescriptor;
 
 /**
@@ -43,4 +45,16 @@ public interface IRawArtifactFileProvider extends IArtifactFileProvider, IRawArt
      */
     public File getArtifactFile(IArtifactDescriptor descriptor);
 
+    /**
+     * Hints that the files of the given artifacts will be requested soon. Providers that need to
+     * download artifacts may start doing so in the background, so that later requests for these
+     * artifacts only have to wait for downloads that are still in progress. The default
+     * implementation does nothing.
+     * 
+     * @param keys
+     *            The keys of the artifacts that will be requested
+     */
+    public default void prefetch(Collection<IArtifactKey> keys) {
+    }
+
 }
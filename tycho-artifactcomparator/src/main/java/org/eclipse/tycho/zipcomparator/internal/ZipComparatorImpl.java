@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2022 Sonatype Inc. and others.
+ * Copyright (c) 2012, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -16,6 +16,7 @@ package org.eclipse.tycho.zipcomparator.internal;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
@@ -26,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
@@ -51,6 +53,8 @@ public class ZipComparatorImpl implements ArtifactComparator {
 
     private static final List<String> IGNORED_PATTERNS = List.of("META-INF/maven/**");
 
+    private static final int BUFFER_SIZE = 8192;
+
     @Inject
     private Logger log;
 
@@ -72,8 +76,26 @@ public class ZipComparatorImpl implements ArtifactComparator {
             names.addAll(baselineEntries.keySet());
             names.addAll(reachtorEntries.keySet());
 
+            // entries are independent of each other, so compare them in parallel and only
+            // collect the result in a stable order
+            Map<String, ArtifactDelta> deltas = new ConcurrentHashMap<>();
+            try {
+                names.parallelStream().forEach(name -> {
+                    try {
+                        ArtifactDelta delta = getDelta(name, baselineEntries, reachtorEntries, baselineJar,
+                                reactorJar, data);
+                        if (delta != null) {
+                            deltas.put(name, delta);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
             for (String name : names) {
-                ArtifactDelta delta = getDelta(name, baselineEntries, reachtorEntries, baselineJar, reactorJar, data);
+                ArtifactDelta delta = deltas.get(name);
                 if (delta != null) {
                     result.put(name, delta);
                 }
@@ -128,26 +150,75 @@ public class ZipComparatorImpl implements ArtifactComparator {
             return ArtifactDelta.BASELINE_ONLY;
         }
 
-        try (InputStream baseline = baselineJar.getInputStream(baselineEntry);
-                InputStream reactor = reactorJar.getInputStream(reactorEntry);) {
-            byte[] baselineBytes = baseline.readAllBytes();
-            byte[] reactorBytes = reactor.readAllBytes();
-            if (Arrays.equals(baselineBytes, reactorBytes)) {
+        if (hasSizeAndCrc(baselineEntry) && hasSizeAndCrc(reactorEntry)) {
+            // the central directory already tells us if the content is equal
+            if (baselineEntry.getSize() == reactorEntry.getSize()
+                    && baselineEntry.getCrc() == reactorEntry.getCrc()) {
                 return ArtifactDelta.NO_DIFFERENCE;
             }
-            ContentsComparator comparator = getContentsComparator(name);
-            if (comparator != null && baselineBytes.length < ContentsComparator.THRESHOLD
-                    && reactorBytes.length < ContentsComparator.THRESHOLD) {
+        } else if (contentEquals(baselineJar, baselineEntry, reactorJar, reactorEntry)) {
+            return ArtifactDelta.NO_DIFFERENCE;
+        }
+        ContentsComparator comparator = getContentsComparator(name);
+        if (comparator != null && baselineEntry.getSize() < ContentsComparator.THRESHOLD
+                && reactorEntry.getSize() < ContentsComparator.THRESHOLD) {
+            // only now the content is needed, and it is bound by the threshold
+            try (InputStream baseline = baselineJar.getInputStream(baselineEntry);
+                    InputStream reactor = reactorJar.getInputStream(reactorEntry);) {
+                ComparatorInputStream baselineStream = readLimited(baseline);
+                ComparatorInputStream reactorStream = readLimited(reactor);
+                if (baselineStream == null || reactorStream == null) {
+                    return ArtifactDelta.DEFAULT;
+                }
                 try {
-                    return comparator.getDelta(new ComparatorInputStream(baselineBytes),
-                            new ComparatorInputStream(reactorBytes), data);
+                    return comparator.getDelta(baselineStream, reactorStream, data);
                 } catch (IOException e) {
                     log.debug("comparing entry " + name + " (baseline = " + baselineJar.getName() + ", reactor="
                             + reactorJar.getName() + ") using " + comparator.getClass().getName() + " failed with: " + e
                             + ", using direct byte compare", e);
                 }
             }
-            return ArtifactDelta.DEFAULT;
+        }
+        return ArtifactDelta.DEFAULT;
+    }
+
+    private static boolean hasSizeAndCrc(ZipEntry entry) {
+        return entry.getSize() >= 0 && entry.getCrc() >= 0;
+    }
+
+    /**
+     * Reads the given stream if it is smaller than the {@link ContentsComparator#THRESHOLD}
+     *
+     * @return the content or <code>null</code> if the stream is not smaller than the threshold
+     */
+    private static ComparatorInputStream readLimited(InputStream stream) throws IOException {
+        byte[] bytes = stream.readNBytes(ContentsComparator.THRESHOLD);
+        if (bytes.length == ContentsComparator.THRESHOLD) {
+            return null;
+        }
+        return new ComparatorInputStream(bytes);
+    }
+
+    /**
+     * Compares the content of the given entries with a fixed size buffer
+     */
+    private static boolean contentEquals(ZipFile baselineJar, ZipEntry baselineEntry, ZipFile reactorJar,
+            ZipEntry reactorEntry) throws IOException {
+        try (InputStream baseline = baselineJar.getInputStream(baselineEntry);
+                InputStream reactor = reactorJar.getInputStream(reactorEntry);) {
+            byte[] baselineBuffer = new byte[BUFFER_SIZE];
+            byte[] reactorBuffer = new byte[BUFFER_SIZE];
+            while (true) {
+                int baselineRead = baseline.readNBytes(baselineBuffer, 0, BUFFER_SIZE);
+                int reactorRead = reactor.readNBytes(reactorBuffer, 0, BUFFER_SIZE);
+                if (baselineRead != reactorRead
+                        || !Arrays.equals(baselineBuffer, 0, baselineRead, reactorBuffer, 0, reactorRead)) {
+                    return false;
+                }
+                if (baselineRead < BUFFER_SIZE) {
+                    return true;
+                }
+            }
         }
     }
 
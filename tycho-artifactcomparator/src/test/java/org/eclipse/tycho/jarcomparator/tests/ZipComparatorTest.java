@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.jarcomparator.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.codehaus.plexus.testing.PlexusTest;
+import org.eclipse.tycho.artifactcomparator.ArtifactComparator;
+import org.eclipse.tycho.artifactcomparator.ArtifactComparator.ComparisonData;
+import org.eclipse.tycho.artifactcomparator.ArtifactDelta;
+import org.eclipse.tycho.zipcomparator.internal.CompoundArtifactDelta;
+import org.eclipse.tycho.zipcomparator.internal.ZipComparatorImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@PlexusTest
+public class ZipComparatorTest {
+
+    private static final ComparisonData DATA = new ComparisonData(List.of(), false);
+
+    @Inject
+    @Named(ZipComparatorImpl.TYPE)
+    private ArtifactComparator comparator;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testEqualZips() throws Exception {
+        File baseline = zip("baseline.zip", Map.of("a.txt", "a", "b.txt", "b"));
+        File reactor = zip("reactor.zip", Map.of("b.txt", "b", "a.txt", "a"));
+        assertNull(comparator.getDelta(baseline, reactor, DATA));
+    }
+
+    @Test
+    public void testEqualTextIgnoringNewLine() throws Exception {
+        File baseline = zip("baseline.zip", Map.of("a.txt", "line1\nline2\n"));
+        File reactor = zip("reactor.zip", Map.of("a.txt", "line1\r\nline2\r\n"));
+        assertNull(comparator.getDelta(baseline, reactor, DATA));
+    }
+
+    @Test
+    public void testDifferentEntries() throws Exception {
+        File baseline = zip("baseline.zip", Map.of("a.txt", "a", "b.txt", "b", "c.txt", "c"));
+        File reactor = zip("reactor.zip", Map.of("a.txt", "a", "b.txt", "changed", "d.txt", "d"));
+        ArtifactDelta delta = comparator.getDelta(baseline, reactor, DATA);
+        Map<String, ArtifactDelta> members = assertInstanceOf(CompoundArtifactDelta.class, delta).getMembers();
+        assertEquals(List.of("b.txt", "c.txt", "d.txt"), List.copyOf(members.keySet()));
+        assertEquals(ArtifactDelta.BASELINE_ONLY, members.get("c.txt"));
+        assertEquals(ArtifactDelta.MISSING_FROM_BASELINE, members.get("d.txt"));
+    }
+
+    private File zip(String name, Map<String, String> entries) throws IOException {
+        File file = tempDir.resolve(name).toFile();
+        try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(file))) {
+            for (var entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return file;
+    }
+}
@@ -19,7 +19,6 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
@@ -52,6 +51,7 @@ import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.logging.Logger;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.equinox.p2.metadata.IInstallableUnit;
 import org.eclipse.sisu.Priority;
 import org.eclipse.tycho.PackagingType;
@@ -156,7 +156,7 @@ public class TychoGraphBuilder implements GraphBuilder {
 		Map<String, MavenProject> projectIdMap = projects.stream()
 				.collect(Collectors.toMap(p -> getProjectKey(p), Function.identity()));
 		int degreeOfConcurrency = request.getDegreeOfConcurrency();
-		Optional<ExecutorService> executor;
+		Optional<ForkJoinPool> executor;
 		if (degreeOfConcurrency > 1) {
 			executor = Optional.of(new ForkJoinPool(degreeOfConcurrency));
 		} else {
@@ -166,7 +166,7 @@ public class TychoGraphBuilder implements GraphBuilder {
 		try {
 			ProjectDependencyClosure dependencyClosure;
 			try {
-				dependencyClosure = dependencyProcessor.computeProjectDependencyClosure(projects, session);
+				dependencyClosure = computeProjectDependencyClosure(projects, session, executor);
 			} catch (CoreException e) {
 				log.error("Cannot resolve projects", e);
 				return Result.error(graph, toProblems(e.getStatus(), new ArrayList<>()));
@@ -232,21 +232,16 @@ public class TychoGraphBuilder implements GraphBuilder {
 						}
 					}
 					if (projectRequest.addRequires) {
-						dependencyClosure.dependencies(always -> List.of())//
-								.filter(entry -> entry.getValue().stream()//
-										.flatMap(dependency -> dependencyClosure.getProject(dependency).stream())//
-										.anyMatch(projectRequest::matches))//
-								.map(Entry::getKey)//
-								.distinct()//
-								.peek(project -> {
-									if (DEBUG) {
-										log.info(" + add project '" + project.getId() + "' that depends on '"
-												+ projectRequest.mavenProject.getId() + "'...");
-									}
-								})//
-								// request dependencies of dependants, otherwise, -amd would not be able to
-								// produce a satisfiable build graph
-								.forEach(project -> queue.add(new ProjectRequest(project, true, true, projectRequest)));
+						for (MavenProject project : dependencyClosure
+								.getDependentProjects(projectRequest.mavenProject)) {
+							if (DEBUG) {
+								log.info(" + add project '" + project.getId() + "' that depends on '"
+										+ projectRequest.mavenProject.getId() + "'...");
+							}
+							// request dependencies of dependants, otherwise, -amd would not be able to
+							// produce a satisfiable build graph
+							queue.add(new ProjectRequest(project, true, true, projectRequest));
+						}
 					}
 				}
 			}
@@ -281,6 +276,34 @@ public class TychoGraphBuilder implements GraphBuilder {
 		}
 	}
 
+	/**
+	 * Computes the dependency closure, if an executor is given the (parallel)
+	 * computation is performed inside this pool so it uses the requested degree of
+	 * concurrency.
+	 */
+	private ProjectDependencyClosure computeProjectDependencyClosure(List<MavenProject> projects,
+			MavenSession session, Optional<ForkJoinPool> executor) throws CoreException {
+		if (executor.isEmpty()) {
+			return dependencyProcessor.computeProjectDependencyClosure(projects, session);
+		}
+		try {
+			return executor.get()
+					.submit(() -> dependencyProcessor.computeProjectDependencyClosure(projects, session)).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CoreException(Status.error("Interrupted while computing project dependencies", e));
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof CoreException coreException) {
+				throw coreException;
+			}
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new CoreException(Status.error("Computing project dependencies failed", cause));
+		}
+	}
+
 	private String getProjectKey(Dependency project) {
 		return project.getGroupId() + ":" + project.getArtifactId() + ":" + project.getVersion();
 	}
@@ -336,10 +359,6 @@ public class TychoGraphBuilder implements GraphBuilder {
 			this.mavenProject = mavenProject;
 		}
 
-		boolean matches(MavenProject mavenproject) {
-			return this.mavenProject == mavenproject;
-		}
-
 		@Override
 		public String toString() {
 			return "ProjectRequest [mavenProject=" + mavenProject + ", parent=" + parent + ", addRequires="
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.extras.buildtimestamp.jgit;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.OrTreeFilter;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+
+/**
+ * Index of the time of the last commit touching a module, computed for all modules of a reactor
+ * with a single walk over the history instead of one {@link RevWalk} per module.
+ * <p>
+ * The walk follows the first parent of each commit. This gives the same commit as a {@link RevWalk}
+ * filtered by the {@link PathFilter} of a module because such a walk also follows the first parent
+ * of a merge as long as the module is unchanged compared to it. A merge that changed the module
+ * compared to every parent is the result itself, a module that is only unchanged compared to
+ * another parent is left out of the index and must be computed with a separate walk.
+ */
+final class CommitTimestampIndex {
+
+	private final Map<String, Optional<Integer>> commitTimes = new ConcurrentHashMap<>();
+
+	private int unresolved;
+
+	/**
+	 * Walks the history starting at the given commit until the last commit of each of the given
+	 * module paths is known.
+	 */
+	void index(Repository repository, ObjectId headId, Collection<String> relPaths, String ignoreFilter)
+			throws IOException {
+		Map<String, TreeFilter> pending = new LinkedHashMap<>();
+		for (String relPath : relPaths) {
+			if (!relPath.isEmpty() && !commitTimes.containsKey(relPath)) {
+				pending.put(relPath, new PathFilter(relPath, ignoreFilter));
+			}
+		}
+		try (RevWalk walk = new RevWalk(repository); TreeWalk treeWalk = new TreeWalk(repository)) {
+			walk.setRetainBody(false);
+			treeWalk.setRecursive(true);
+			RevCommit commit = walk.parseCommit(headId);
+			while (!pending.isEmpty()) {
+				RevCommit[] parents = commit.getParents();
+				if (parents.length == 0) {
+					// the root commit touches everything it contains, everything else was never
+					// committed
+					Set<String> touched = getChanged(treeWalk, pending, commit, null);
+					for (String relPath : pending.keySet()) {
+						commitTimes.put(relPath,
+								touched.contains(relPath) ? Optional.of(commit.getCommitTime()) : Optional.empty());
+					}
+					break;
+				}
+				Set<String> touched = null;
+				Set<String> changedToFirstParent = null;
+				for (RevCommit parent : parents) {
+					Set<String> changed = getChanged(treeWalk, pending, commit, walk.parseCommit(parent));
+					if (touched == null) {
+						touched = new HashSet<>(changed);
+						changedToFirstParent = changed;
+					} else {
+						touched.retainAll(changed);
+					}
+				}
+				for (String relPath : touched) {
+					pending.remove(relPath);
+					commitTimes.put(relPath, Optional.of(commit.getCommitTime()));
+				}
+				for (String relPath : changedToFirstParent) {
+					// the module is unchanged compared to another parent of this merge, a walk for
+					// the module would continue with that parent
+					if (pending.remove(relPath) != null) {
+						unresolved++;
+					}
+				}
+				commit = walk.parseCommit(parents[0]);
+			}
+		}
+	}
+
+	private static Set<String> getChanged(TreeWalk treeWalk, Map<String, TreeFilter> pending, RevCommit commit,
+			RevCommit parent) throws IOException {
+		if (parent == null) {
+			treeWalk.reset(commit.getTree());
+		} else {
+			treeWalk.reset(parent.getTree(), commit.getTree());
+		}
+		Collection<TreeFilter> filters = pending.values();
+		TreeFilter anyModule = filters.size() == 1 ? filters.iterator().next() : OrTreeFilter.create(filters);
+		treeWalk.setFilter(AndTreeFilter.create(anyModule, TreeFilter.ANY_DIFF));
+		Set<String> changed = new HashSet<>();
+		while (treeWalk.next()) {
+			for (Map.Entry<String, TreeFilter> entry : pending.entrySet()) {
+				if (!changed.contains(entry.getKey()) && entry.getValue().include(treeWalk)) {
+					changed.add(entry.getKey());
+				}
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * @return the commit time in seconds of the last commit touching the given module path, an
+	 *         empty optional if there is no such commit or <code>null</code> if the module is not
+	 *         part of the index
+	 */
+	Optional<Integer> getCommitTime(String relPath) {
+		return commitTimes.get(relPath);
+	}
+
+	/**
+	 * Adds the commit time of a module that was computed by a separate walk.
+	 */
+	void putCommitTime(String relPath, Optional<Integer> commitTime) {
+		commitTimes.put(relPath, commitTime);
+	}
+
+	int size() {
+		return commitTimes.size();
+	}
+
+	/**
+	 * @return the number of modules that could not be resolved by the single walk
+	 */
+	int getUnresolved() {
+		return unresolved;
+	}
+}
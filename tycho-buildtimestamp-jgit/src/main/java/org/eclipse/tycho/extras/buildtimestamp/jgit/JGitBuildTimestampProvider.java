@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012 Sonatype Inc. and others.
+ * Copyright (c) 2012, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -19,7 +19,11 @@ import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import javax.inject.Inject;
@@ -109,6 +113,11 @@ public class JGitBuildTimestampProvider implements BuildTimestampProvider {
 
 	private boolean quiet;
 
+	private final Map<IndexKey, CommitTimestampIndex> indexes = new HashMap<>();
+
+	private record IndexKey(File gitDir, ObjectId headId, String ignoreFilter) {
+	}
+
 	private enum DirtyBehavior {
 
 		ERROR, WARNING, IGNORE, FALLBACK;
@@ -128,10 +137,7 @@ public class JGitBuildTimestampProvider implements BuildTimestampProvider {
 	@Override
 	public Date getTimestamp(MavenSession session, MavenProject project, MojoExecution execution)
 			throws MojoExecutionException {
-		FileRepositoryBuilder builder = new FileRepositoryBuilder() //
-				.readEnvironment() //
-				.findGitDir(project.getBasedir()) //
-				.setMustExist(true);
+		FileRepositoryBuilder builder = findGitDir(project.getBasedir()).setMustExist(true);
 		if (builder.getGitDir() == null) {
 			throw new MojoExecutionException("No git repository found searching upwards from " + project.getBasedir());
 		}
@@ -183,28 +189,91 @@ public class JGitBuildTimestampProvider implements BuildTimestampProvider {
 					}
 				}
 				// 2. get latest commit for relPath
-				try (RevWalk walk = new RevWalk(repository)) {
-					if (pathFilter != null) {
-						walk.setTreeFilter(AndTreeFilter.create(pathFilter, TreeFilter.ANY_DIFF));
-					}
-					walk.markStart(walk.parseCommit(headId));
-					walk.setRewriteParents(false);
-					RevCommit commit = walk.next();
-					// When dirtyBehaviour==ignore and no commit was ever done,
-					// the commit is null, so we fallback to the defaultTimestampProvider
-					if (commit == null) {
-						logger.info(
-								"Fallback to default timestamp provider, because no commit could be found for that project (Shared but not committed yet).");
-						return defaultTimestampProvider.getTimestamp(session, project, execution);
-					}
-					return new Date(commit.getCommitTime() * 1000L);
+				Optional<Integer> commitTime = getCommitTime(session, repository, headId, relPath, pathFilter,
+						getIgnoreFilter(execution));
+				// When dirtyBehaviour==ignore and no commit was ever done,
+				// there is no commit, so we fallback to the defaultTimestampProvider
+				if (commitTime.isEmpty()) {
+					logger.info(
+							"Fallback to default timestamp provider, because no commit could be found for that project (Shared but not committed yet).");
+					return defaultTimestampProvider.getTimestamp(session, project, execution);
 				}
+				return new Date(commitTime.get() * 1000L);
 			}
 		} catch (IOException e) {
 			throw new MojoExecutionException("Could not determine git commit timestamp", e);
 		}
 	}
 
+	private Optional<Integer> getCommitTime(MavenSession session, Repository repository, ObjectId headId,
+			String relPath, TreeFilter pathFilter, String ignoreFilter) throws IOException {
+		if (pathFilter == null) {
+			return findCommitTime(repository, headId, null);
+		}
+		CommitTimestampIndex index = getIndex(session, repository, headId, ignoreFilter);
+		Optional<Integer> commitTime = index.getCommitTime(relPath);
+		if (commitTime == null) {
+			commitTime = findCommitTime(repository, headId, pathFilter);
+			index.putCommitTime(relPath, commitTime);
+		}
+		return commitTime;
+	}
+
+	/**
+	 * Returns the index for the given state of the repository, on first access the history is
+	 * walked once for all projects of the reactor that are part of the repository.
+	 */
+	private synchronized CommitTimestampIndex getIndex(MavenSession session, Repository repository,
+			ObjectId headId, String ignoreFilter) throws IOException {
+		File gitDir = repository.getDirectory();
+		IndexKey key = new IndexKey(gitDir, headId.copy(), ignoreFilter);
+		CommitTimestampIndex index = indexes.get(key);
+		if (index == null) {
+			// a new HEAD makes all previous indexes of that repository stale
+			indexes.keySet().removeIf(k -> k.gitDir().equals(gitDir) && !k.headId().equals(headId));
+			index = new CommitTimestampIndex();
+			Set<String> relPaths = new LinkedHashSet<>();
+			for (MavenProject project : session.getProjects()) {
+				if (gitDir.equals(findGitDir(project.getBasedir()).getGitDir())) {
+					try {
+						relPaths.add(getRelPath(repository, project));
+					} catch (IOException e) {
+						// not in the working tree, such a project is reported when its timestamp is requested
+					}
+				}
+			}
+			long start = System.currentTimeMillis();
+			index.index(repository, headId, relPaths, ignoreFilter);
+			logger.debug("Indexed last commits of " + index.size() + " projects in "
+					+ (System.currentTimeMillis() - start) + " ms, " + index.getUnresolved()
+					+ " projects require a separate walk");
+			indexes.put(key, index);
+		}
+		return index;
+	}
+
+	static Optional<Integer> findCommitTime(Repository repository, ObjectId headId, TreeFilter pathFilter)
+			throws IOException {
+		try (RevWalk walk = new RevWalk(repository)) {
+			if (pathFilter != null) {
+				walk.setTreeFilter(AndTreeFilter.create(pathFilter, TreeFilter.ANY_DIFF));
+			}
+			walk.markStart(walk.parseCommit(headId));
+			walk.setRewriteParents(false);
+			RevCommit commit = walk.next();
+			if (commit == null) {
+				return Optional.empty();
+			}
+			return Optional.of(commit.getCommitTime());
+		}
+	}
+
+	private static FileRepositoryBuilder findGitDir(File basedir) {
+		return new FileRepositoryBuilder() //
+				.readEnvironment() //
+				.findGitDir(basedir);
+	}
+
 	private String getDirtyBehaviorValue(MojoExecution execution) {
 		Xpp3Dom pluginConfiguration = getDom(execution);
 		if (pluginConfiguration != null) {
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.extras.buildtimestamp.jgit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Repository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CommitTimestampIndexTest {
+
+	private static final List<String> MODULES = List.of("changed", "side", "both", "main", "root", "ignored",
+			"missing");
+
+	@TempDir
+	File workTree;
+
+	private Git git;
+
+	@BeforeEach
+	public void createHistory() throws Exception {
+		git = Git.init().setDirectory(workTree).setInitialBranch("main").call();
+		write("changed/file", "side/file", "both/file", "main/file", "root/file", "ignored/file");
+		commit(1000);
+		write("changed/file");
+		commit(2000);
+
+		git.branchCreate().setName("other").call();
+		git.checkout().setName("other").call();
+		write("side/file");
+		commit(3000);
+		write("both/file");
+		commit(3500);
+
+		git.checkout().setName("main").call();
+		write("both/other", "main/file");
+		commit(4000);
+		git.merge().include(git.getRepository().resolve("other")).setCommit(false).call();
+		commit(5000);
+
+		write("changed/file", "ignored/pom.tycho");
+		commit(6000);
+	}
+
+	@AfterEach
+	public void close() {
+		git.close();
+	}
+
+	@Test
+	public void testIndexMatchesWalkPerModule() throws Exception {
+		Repository repository = git.getRepository();
+		ObjectId headId = repository.resolve("HEAD");
+		CommitTimestampIndex index = new CommitTimestampIndex();
+		index.index(repository, headId, MODULES, null);
+
+		Map<String, Optional<Integer>> expected = Map.of("changed", Optional.of(6000), "side", Optional.of(3000),
+				"both", Optional.of(5000), "main", Optional.of(4000), "root", Optional.of(1000), "ignored",
+				Optional.of(1000), "missing", Optional.empty());
+		for (String module : MODULES) {
+			Optional<Integer> walked = JGitBuildTimestampProvider.findCommitTime(repository, headId,
+					new PathFilter(module, null));
+			assertEquals(expected.get(module), walked, module);
+			if (!"side".equals(module)) {
+				assertEquals(walked, index.getCommitTime(module), module);
+			}
+		}
+		// the merge took the module from the other parent, a walk for the module follows that parent
+		assertNull(index.getCommitTime("side"));
+		assertEquals(1, index.getUnresolved());
+		assertEquals(MODULES.size() - 1, index.size());
+	}
+
+	@Test
+	public void testIndexedModulesAreSkipped() throws Exception {
+		Repository repository = git.getRepository();
+		ObjectId headId = repository.resolve("HEAD");
+		CommitTimestampIndex index = new CommitTimestampIndex();
+		index.putCommitTime("side", Optional.of(3000));
+		index.index(repository, headId, MODULES, null);
+
+		assertEquals(0, index.getUnresolved());
+		assertEquals(MODULES.size(), index.size());
+	}
+
+	private void write(String... paths) throws Exception {
+		for (String path : paths) {
+			Path file = workTree.toPath().resolve(path);
+			Files.createDirectories(file.getParent());
+			String content = Files.exists(file) ? Files.readString(file) : "";
+			Files.writeString(file, content + "line\n");
+		}
+	}
+
+	private void commit(int commitTime) throws Exception {
+		PersonIdent ident = new PersonIdent("Tycho", "tycho@example.org", Instant.ofEpochSecond(commitTime),
+				ZoneOffset.UTC);
+		git.add().addFilepattern(".").call();
+		git.commit().setAuthor(ident).setCommitter(ident).setMessage("commit at " + commitTime).call();
+	}
+}
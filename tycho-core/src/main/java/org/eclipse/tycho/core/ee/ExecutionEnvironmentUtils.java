@@ -12,6 +12,7 @@
  *******************************************************************************/
 package org.eclipse.tycho.core.ee;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -35,6 +36,7 @@ import org.eclipse.tycho.ExecutionEnvironment;
 import org.eclipse.tycho.ExecutionEnvironment.SystemPackageEntry;
 import org.eclipse.tycho.TargetEnvironment;
 import org.eclipse.tycho.core.ee.StandardExecutionEnvironment.JavaInfo;
+import org.eclipse.tycho.p2maven.transport.DefaultTransportCacheConfig;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.Constants;
 
@@ -136,9 +138,17 @@ public class ExecutionEnvironmentUtils {
             }
             //derive from the toolchains...
             if (manager != null) {
+                if (session != null && session.getLocalRepository() != null) {
+                    StandardExecutionEnvironment.setJavaInfoCacheLocation(DefaultTransportCacheConfig
+                            .getDefaultCacheLocation(new File(session.getLocalRepository().getBasedir())));
+                }
                 List<Toolchain> jdks = manager.getToolchains(session, "jdk", null);
-                for (Toolchain jdk : jdks) {
-                    JavaInfo javaInfo = StandardExecutionEnvironment.readFromToolchains(jdk, logger);
+                // JDKs not yet known to the cache need to be queried, do this in parallel
+                List<JavaInfo> javaInfos = jdks.parallelStream()
+                        .map(jdk -> StandardExecutionEnvironment.readFromToolchains(jdk, logger)).toList();
+                for (int i = 0; i < jdks.size(); i++) {
+                    Toolchain jdk = jdks.get(i);
+                    JavaInfo javaInfo = javaInfos.get(i);
                     if (javaInfo.version > 8) {
                         Properties toolchainJvm = createProfileJvm(javaInfo.version, javaInfo.packages);
                         String name = toolchainJvm.getProperty(EquinoxConfiguration.PROP_OSGI_JAVA_PROFILE_NAME).trim();
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.core.ee;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.codehaus.plexus.logging.Logger;
+import org.eclipse.tycho.core.ee.StandardExecutionEnvironment.JavaInfo;
+
+/**
+ * Caches the {@link JavaInfo} of a java executable, so the JVM does not need to be started again
+ * in each build to query its version and system packages. An entry is identified by the real path,
+ * size and modification time of the executable and is persisted in the Tycho cache directory (if
+ * one is given), so the JVM is only started again once the JDK has changed.
+ */
+final class JavaInfoCache {
+
+    private static final String FORMAT_VERSION = "1";
+    private static final String CACHE_FOLDER = "java-info";
+
+    private static final String KEY_FORMAT = "format";
+    private static final String KEY_PATH = "path";
+    private static final String KEY_SIZE = "size";
+    private static final String KEY_LAST_MODIFIED = "lastModified";
+    private static final String KEY_VERSION = "version";
+    private static final String KEY_PACKAGES = "packages";
+
+    private final File cacheLocation;
+    private final Map<Key, JavaInfo> memoryCache = new ConcurrentHashMap<>();
+
+    /**
+     * @param cacheLocation
+     *            the Tycho cache directory or <code>null</code> if entries should only be kept in
+     *            memory
+     */
+    JavaInfoCache(File cacheLocation) {
+        this.cacheLocation = cacheLocation;
+    }
+
+    File getCacheLocation() {
+        return cacheLocation;
+    }
+
+    /**
+     * Returns the cached information for the given java executable, the loader is only called if
+     * there is no information for the current state of the executable.
+     */
+    JavaInfo getJavaInfo(String java, Logger logger, Supplier<JavaInfo> loader) {
+        Key key;
+        try {
+            key = Key.of(java);
+        } catch (IOException e) {
+            logger.debug("Can't determine state of " + java + ", information is not cached: " + e);
+            return loader.get();
+        }
+        JavaInfo cached = memoryCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        JavaInfo javaInfo = read(key, logger);
+        if (javaInfo == null) {
+            javaInfo = loader.get();
+            if (javaInfo.version > 0) {
+                // only cache successful queries, a failure might be temporary
+                write(key, javaInfo, logger);
+            }
+        } else {
+            logger.debug("Using cached information for " + java + " (Java " + javaInfo.version + ")");
+        }
+        JavaInfo existing = memoryCache.putIfAbsent(key, javaInfo);
+        return existing != null ? existing : javaInfo;
+    }
+
+    private JavaInfo read(Key key, Logger logger) {
+        File file = getCacheFile(key);
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream stream = Files.newInputStream(file.toPath())) {
+            properties.load(stream);
+        } catch (IOException e) {
+            logger.debug("Reading cached java information from " + file + " failed: " + e);
+            return null;
+        }
+        if (!FORMAT_VERSION.equals(properties.getProperty(KEY_FORMAT))
+                || !key.path().toString().equals(properties.getProperty(KEY_PATH))
+                || !String.valueOf(key.size()).equals(properties.getProperty(KEY_SIZE))
+                || !String.valueOf(key.lastModified()).equals(properties.getProperty(KEY_LAST_MODIFIED))) {
+            // the JDK has changed...
+            return null;
+        }
+        try {
+            int version = Integer.parseInt(properties.getProperty(KEY_VERSION));
+            String packages = properties.getProperty(KEY_PACKAGES, "");
+            return new JavaInfo(version, packages.isEmpty() ? List.of() : Arrays.asList(packages.split(",")));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void write(Key key, JavaInfo javaInfo, Logger logger) {
+        File file = getCacheFile(key);
+        if (file == null) {
+            return;
+        }
+        Properties properties = new Properties();
+        properties.setProperty(KEY_FORMAT, FORMAT_VERSION);
+        properties.setProperty(KEY_PATH, key.path().toString());
+        properties.setProperty(KEY_SIZE, String.valueOf(key.size()));
+        properties.setProperty(KEY_LAST_MODIFIED, String.valueOf(key.lastModified()));
+        properties.setProperty(KEY_VERSION, String.valueOf(javaInfo.version));
+        properties.setProperty(KEY_PACKAGES, String.join(",", javaInfo.packages.stream().sorted().toList()));
+        try {
+            Path folder = file.getParentFile().toPath();
+            Files.createDirectories(folder);
+            Path tempFile = Files.createTempFile(folder, file.getName(), ".tmp");
+            try {
+                try (OutputStream stream = Files.newOutputStream(tempFile)) {
+                    properties.store(stream, null);
+                }
+                Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            logger.debug("Writing cached java information to " + file + " failed: " + e);
+        }
+    }
+
+    private File getCacheFile(Key key) {
+        if (cacheLocation == null) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(key.path().toString().getBytes(StandardCharsets.UTF_8));
+            return new File(new File(cacheLocation, CACHE_FOLDER), HexFormat.of().formatHex(hash) + ".properties");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Key(Path path, long size, long lastModified) {
+
+        static Key of(String java) throws IOException {
+            Path path = Path.of(java).toRealPath();
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new Key(path, attributes.size(), attributes.lastModifiedTime().toMillis());
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2022 SAP AG and others.
+ * Copyright (c) 2010, 2026 SAP AG and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -57,6 +57,8 @@ public class StandardExecutionEnvironment implements Comparable<StandardExecutio
 
     private static final Map<String, String> TARGET_ALIASES;
 
+    private static volatile JavaInfoCache javaInfoCache = new JavaInfoCache(null);
+
     static {
         // https://help.eclipse.org/latest/topic/org.eclipse.jdt.doc.user/tasks/task-using_batch_compiler.htm
 
@@ -99,6 +101,15 @@ public class StandardExecutionEnvironment implements Comparable<StandardExecutio
         this.logger = logger;
     }
 
+    /**
+     * Sets the Tycho cache directory where the information read from toolchains is persisted
+     */
+    static synchronized void setJavaInfoCacheLocation(File cacheLocation) {
+        if (!Objects.equals(javaInfoCache.getCacheLocation(), cacheLocation)) {
+            javaInfoCache = new JavaInfoCache(cacheLocation);
+        }
+    }
+
     static JavaInfo readFromToolchains(Toolchain toolchain, Logger logger) {
         if (toolchain == null) {
             return new JavaInfo(-1, Collections.emptySet());
@@ -107,6 +118,10 @@ public class StandardExecutionEnvironment implements Comparable<StandardExecutio
         if (java == null) {
             return new JavaInfo(-1, Collections.emptySet());
         }
+        return javaInfoCache.getJavaInfo(java, logger, () -> readFromJava(java, logger));
+    }
+
+    private static JavaInfo readFromJava(String java, Logger logger) {
         Set<String> res = new HashSet<>();
         int version = -1;
         try {
@@ -144,7 +159,7 @@ public class StandardExecutionEnvironment implements Comparable<StandardExecutio
         final int version;
         final Collection<String> packages;
 
-        private JavaInfo(int version, Collection<String> packages) {
+        JavaInfo(int version, Collection<String> packages) {
             this.version = version;
             this.packages = Collections.unmodifiableCollection(packages);
         }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2023 SAP AG and others.
+ * Copyright (c) 2011, 2026 SAP AG and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -17,9 +17,13 @@ import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -32,15 +36,54 @@ import org.eclipse.tycho.LockTimeoutException;
 @Named
 @Singleton
 public class FileLockServiceImpl implements FileLockService {
-    record FileLocks(FileLockerImpl fileLocker, Lock vmLock) {
+
+    /**
+     * If enabled, file locks are acquired with a blocking call instead of polling, marker files
+     * are kept for reuse and threads of this JVM waiting for the same file are served in order
+     */
+    static final boolean BLOCKING = Boolean.getBoolean("tycho.filelock.blocking");
+
+    record FileLocks(FileLockerImpl fileLocker, Lock vmLock, WaitTime waitTime) {
+    }
+
+    /**
+     * Summary of the time spent waiting for the lock of a file
+     */
+    public record LockWaitTime(Path file, long count, long totalMillis, long maxMillis) {
+    }
+
+    private static final class WaitTime {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
     }
 
     private final Map<Path, FileLocks> lockers = new ConcurrentHashMap<>();
 
+    private final boolean blocking;
+
+    public FileLockServiceImpl() {
+        this(BLOCKING);
+    }
+
+    FileLockServiceImpl(boolean blocking) {
+        this.blocking = blocking;
+    }
+
     @Override
     public Closeable lock(File file, long timeout) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("timeout must not be negative");
+        }
         FileLocks locks = getFileLocker(file.toPath());
         FileLockerImpl locker = locks.fileLocker();
+        long start = System.nanoTime();
         try {
             if (!locks.vmLock().tryLock(timeout, TimeUnit.MILLISECONDS)) {
                 throw new LockTimeoutException("lock timeout: Could not acquire lock on file " + locker.lockMarkerFile
@@ -50,7 +93,15 @@ public class FileLockServiceImpl implements FileLockService {
             Thread.currentThread().interrupt();
             throw new LockTimeoutException("Interrupted", e);
         }
-        locker.lock(timeout);
+        try {
+            // only wait for the remaining time, threads of this JVM are already coalesced on the vm lock
+            long remaining = timeout - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            locker.lock(Math.max(0, remaining));
+        } catch (RuntimeException e) {
+            locks.vmLock().unlock();
+            throw e;
+        }
+        locks.waitTime().add(System.nanoTime() - start);
         return () -> {
             locks.fileLocker().release();
             locks.vmLock().unlock();
@@ -60,10 +111,26 @@ public class FileLockServiceImpl implements FileLockService {
     @Override
     public Closeable lockVirtually(File file) {
         FileLocks locks = getFileLocker(file.toPath());
+        long start = System.nanoTime();
         locks.vmLock().lock();
+        locks.waitTime().add(System.nanoTime() - start);
         return locks.vmLock()::unlock;
     }
 
+    /**
+     * @return the files that had to be waited for to acquire a lock, the longest total wait time
+     *         first
+     */
+    public List<LockWaitTime> getWaitTimes() {
+        return lockers.entrySet().stream().map(entry -> {
+            WaitTime waitTime = entry.getValue().waitTime();
+            return new LockWaitTime(entry.getKey(), waitTime.count.sum(),
+                    TimeUnit.NANOSECONDS.toMillis(waitTime.totalNanos.sum()),
+                    TimeUnit.NANOSECONDS.toMillis(waitTime.maxNanos.get()));
+        }).filter(waitTime -> waitTime.totalMillis() > 0)
+                .sorted(Comparator.comparingLong(LockWaitTime::totalMillis).reversed()).toList();
+    }
+
     FileLocks getFileLocker(Path file) {
         Path key;
         try {
@@ -71,7 +138,8 @@ public class FileLockServiceImpl implements FileLockService {
         } catch (IOException e) {
             key = file.toAbsolutePath().normalize();
         }
-        return lockers.computeIfAbsent(key, f -> new FileLocks(new FileLockerImpl(f), new ReentrantLock()));
+        return lockers.computeIfAbsent(key,
+                f -> new FileLocks(new FileLockerImpl(f, blocking), new ReentrantLock(blocking), new WaitTime()));
     }
 
 }
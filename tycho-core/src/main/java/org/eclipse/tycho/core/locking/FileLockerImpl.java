@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2023 SAP AG and others.
+ * Copyright (c) 2011, 2026 SAP AG and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -20,6 +20,14 @@ import java.nio.channels.FileLock;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.tycho.LockTimeoutException;
 
@@ -27,13 +35,44 @@ public class FileLockerImpl {
 
     private static final String LOCKFILE_SUFFIX = ".tycholock";
 
+    /**
+     * Threads that wait in a blocking {@link FileChannel#lock()} call, so the caller can give up
+     * after its timeout
+     */
+    private static final ExecutorService LOCK_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+
+        private AtomicInteger cnt = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r);
+            thread.setName("Tycho-FileLock-Thread-" + cnt.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
     final Path lockMarkerFile;
 
+    private final boolean blocking;
+
     private FileLock lock;
 
     private Path file;
 
     FileLockerImpl(Path file) {
+        this(file, false);
+    }
+
+    /**
+     * @param file
+     *            the file to lock
+     * @param blocking
+     *            if <code>true</code> the lock is acquired with a blocking call instead of polling
+     *            and the lock marker file is kept for reuse after the lock is released
+     */
+    FileLockerImpl(Path file, boolean blocking) {
+        this.blocking = blocking;
         this.file = file.toAbsolutePath().normalize();
         this.lockMarkerFile = Files.isDirectory(this.file) //
                 ? this.file.resolve(LOCKFILE_SUFFIX)
@@ -61,6 +100,9 @@ public class FileLockerImpl {
     }
 
     private FileLock aquireLock(long timeout) {
+        if (blocking) {
+            return aquireLockBlocking(timeout);
+        }
         final long waitInterval = 50L;
         long maxTries = (timeout / waitInterval) + 1;
         FileChannel channel = null;
@@ -90,7 +132,63 @@ public class FileLockerImpl {
                 channel = null;
             }
         }
-        throw new LockTimeoutException(
+        throw lockTimeout(timeout);
+    }
+
+    private FileLock aquireLockBlocking(long timeout) {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(lockMarkerFile, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        } catch (IOException e) {
+            throw new LockTimeoutException("Could not open lock marker file " + lockMarkerFile, e);
+        }
+        try {
+            FileLock fileLock = channel.tryLock();
+            if (fileLock != null) {
+                return fileLock;
+            }
+            if (timeout > 0) {
+                // FileChannel#lock() can't be given a timeout, so wait on a dedicated thread that
+                // is interrupted (what also closes the channel) if the timeout is exceeded
+                Future<FileLock> future = LOCK_EXECUTOR.submit(() -> channel.lock());
+                try {
+                    return future.get(timeout, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    if (!future.cancel(true)) {
+                        // the lock was acquired (or failed) just in the moment we gave up
+                        return future.get();
+                    }
+                } catch (InterruptedException e) {
+                    future.cancel(true);
+                    Thread.currentThread().interrupt();
+                    throw new LockTimeoutException("Interrupted", e);
+                }
+            }
+        } catch (IOException e) {
+            throw lockFailed(channel, e);
+        } catch (ExecutionException e) {
+            throw lockFailed(channel, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LockTimeoutException("Interrupted", e);
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+        }
+        throw lockTimeout(timeout);
+    }
+
+    private LockTimeoutException lockFailed(FileChannel channel, Throwable cause) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+        }
+        return new LockTimeoutException("Could not acquire lock on file " + lockMarkerFile, cause);
+    }
+
+    private LockTimeoutException lockTimeout(long timeout) {
+        return new LockTimeoutException(
                 "lock timeout: Could not acquire lock on file " + lockMarkerFile + " for " + timeout + " msec");
     }
 
@@ -101,6 +199,10 @@ public class FileLockerImpl {
             } catch (Exception e) {
             }
             lock = null;
+            if (blocking) {
+                // keep the marker file so the next lock does not need to create it again
+                return;
+            }
             File lockFile = lockMarkerFile.toFile();
             if (!lockFile.delete()) {
                 lockFile.deleteOnExit();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2022 Sonatype Inc. and others.
+ * Copyright (c) 2008, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -57,13 +57,17 @@ import org.eclipse.equinox.p2.metadata.IRequirement;
 import org.eclipse.sisu.equinox.EquinoxServiceFactory;
 import org.eclipse.tycho.BuildFailureException;
 import org.eclipse.tycho.DependencyResolutionException;
+import org.eclipse.tycho.FileLockService;
 import org.eclipse.tycho.TychoConstants;
 import org.eclipse.tycho.build.BuildListeners;
 import org.eclipse.tycho.core.TychoProjectManager;
+import org.eclipse.tycho.core.locking.FileLockServiceImpl;
 import org.eclipse.tycho.core.osgitools.BundleReader;
 import org.eclipse.tycho.core.osgitools.DefaultBundleReader;
 import org.eclipse.tycho.p2maven.MavenProjectDependencyProcessor;
 import org.eclipse.tycho.p2maven.MavenProjectDependencyProcessor.ProjectDependencyClosure;
+import org.eclipse.tycho.p2maven.transport.HostStatistics;
+import org.eclipse.tycho.p2maven.transport.HttpCache;
 import org.eclipse.tycho.p2maven.transport.TransportCacheConfig;
 import org.eclipse.tycho.resolver.TychoResolver;
 import org.eclipse.tycho.version.TychoVersion;
@@ -109,6 +113,12 @@ public class TychoMavenLifecycleParticipant extends AbstractMavenLifecyclePartic
     @Inject
     TransportCacheConfig transportCacheConfig;
 
+    @Inject
+    HttpCache httpCache;
+
+    @Inject
+    FileLockService fileLockService;
+
     public TychoMavenLifecycleParticipant() {
         // needed for plexus
     }
@@ -215,6 +225,17 @@ public class TychoMavenLifecycleParticipant extends AbstractMavenLifecyclePartic
     @Override
     public void afterSessionEnd(MavenSession session) throws MavenExecutionException {
         buildListeners.notifyBuildEnd(session);
+        if (log.isDebugEnabled() || transportCacheConfig.isDebug()) {
+            log.info("HTTP cache index: " + httpCache.getStatistics());
+            for (HostStatistics statistics : httpCache.getHostStatistics()) {
+                log.info("Downloads from " + statistics);
+            }
+        }
+        if (log.isDebugEnabled() && fileLockService instanceof FileLockServiceImpl lockService) {
+            lockService.getWaitTimes().stream().limit(10)
+                    .forEach(waitTime -> log.debug("Waited " + waitTime.totalMillis() + " ms (max "
+                            + waitTime.maxMillis() + " ms) in " + waitTime.count() + " locks for " + waitTime.file()));
+        }
         if (plexus.hasComponent(EquinoxServiceFactory.class)) {
             try {
                 EquinoxServiceFactory factory = plexus.lookup(EquinoxServiceFactory.class);
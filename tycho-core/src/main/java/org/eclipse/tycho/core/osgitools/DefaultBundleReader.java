@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2022 Sonatype Inc. and others.
+ * Copyright (c) 2008, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -13,17 +13,25 @@
  *******************************************************************************/
 package org.eclipse.tycho.core.osgitools;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.jar.JarFile;
@@ -45,7 +53,19 @@ import org.eclipse.tycho.TychoConstants;
 public class DefaultBundleReader extends AbstractLogEnabled implements BundleReader {
 
     private static final long LOCK_TIMEOUT = Long.getLong("tycho.bundlereader.lock.timeout", 5 * 60 * 1000L);
-    private final Map<String, OsgiManifest> manifestCache = new HashMap<>();
+    private static final int MANIFEST_CACHE_SIZE = Integer.getInteger("tycho.bundlereader.manifest.cache.size",
+            10000);
+    private static final String MANIFEST_STORE_DIR = "manifests";
+    private static final int MANIFEST_STORE_FORMAT = 1;
+
+    private final Map<String, CachedManifest> manifestCache = Collections
+            .synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedManifest> eldest) {
+                    return size() > MANIFEST_CACHE_SIZE;
+                }
+            });
 
     private File cacheDir;
     private ConcurrentMap<String, Optional<File>> extractedFiles = new ConcurrentHashMap<>();
@@ -56,10 +76,17 @@ public class DefaultBundleReader extends AbstractLogEnabled implements BundleRea
     @Override
     public OsgiManifest loadManifest(File bundleLocation) {
         String locationPath = bundleLocation.getAbsolutePath();
-        OsgiManifest manifest = manifestCache.get(locationPath);
+        File manifestSource = bundleLocation.isDirectory() ? new File(bundleLocation, JarFile.MANIFEST_NAME)
+                : bundleLocation;
+        CachedManifest cached = CachedManifest.of(manifestSource, null);
+        OsgiManifest manifest = getCachedManifest(locationPath, cached);
         if (manifest == null) {
-            manifest = doLoadManifest(bundleLocation);
-            manifestCache.put(locationPath, manifest);
+            manifest = readStoredManifest(bundleLocation, cached);
+            if (manifest == null) {
+                manifest = doLoadManifest(bundleLocation);
+                storeManifest(bundleLocation, cached, manifest);
+            }
+            manifestCache.put(locationPath, cached.with(manifest));
         }
         return manifest;
     }
@@ -69,14 +96,15 @@ public class DefaultBundleReader extends AbstractLogEnabled implements BundleRea
             throws OsgiManifestParserException, InvalidOSGiManifestException {
         String locationPath = mavenProject.getBasedir().getAbsolutePath();
         try {
-            OsgiManifest manifest = manifestCache.get(locationPath);
+            File manifestFile = getManifestLocation(mavenProject);
+            CachedManifest cached = CachedManifest.of(manifestFile, null);
+            OsgiManifest manifest = getCachedManifest(locationPath, cached);
             if (manifest == null) {
-                File manifestFile = getManifestLocation(mavenProject);
                 if (!manifestFile.isFile()) {
                     throw new OsgiManifestParserException(manifestFile.getAbsolutePath(), "Manifest file not found");
                 }
                 manifest = loadManifestFile(manifestFile);
-                manifestCache.put(locationPath, manifest);
+                manifestCache.put(locationPath, cached.with(manifest));
             }
             return manifest;
         } catch (IOException e) {
@@ -84,6 +112,99 @@ public class DefaultBundleReader extends AbstractLogEnabled implements BundleRea
         }
     }
 
+    private OsgiManifest getCachedManifest(String locationPath, CachedManifest current) {
+        CachedManifest cached = manifestCache.get(locationPath);
+        if (cached != null && cached.isSameSource(current)) {
+            return cached.manifest();
+        }
+        return null;
+    }
+
+    /**
+     * Reads the headers of a jar manifest from the store in the cache directory, this is much
+     * cheaper than opening the jar again in a later build.
+     * 
+     * @return the stored manifest or <code>null</code> if there is no (current) one
+     */
+    private OsgiManifest readStoredManifest(File bundleLocation, CachedManifest source) {
+        File storeFile = getStoreFile(bundleLocation);
+        if (storeFile == null || !storeFile.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(storeFile)))) {
+            if (in.readInt() != MANIFEST_STORE_FORMAT || !bundleLocation.getAbsolutePath().equals(readString(in))
+                    || in.readLong() != source.length() || in.readLong() != source.lastModified()) {
+                return null;
+            }
+            int count = in.readInt();
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                headers.put(readString(in), readString(in));
+            }
+            return OsgiManifest.of(headers, bundleLocation.getAbsolutePath() + "!/" + JarFile.MANIFEST_NAME);
+        } catch (IOException | RuntimeException e) {
+            getLogger().debug("Ignoring stored manifest " + storeFile + " of " + bundleLocation + ": " + e);
+            return null;
+        }
+    }
+
+    private void storeManifest(File bundleLocation, CachedManifest source, OsgiManifest manifest) {
+        File storeFile = getStoreFile(bundleLocation);
+        if (storeFile == null) {
+            return;
+        }
+        try {
+            Path directory = Files.createDirectories(storeFile.getParentFile().toPath());
+            Path tempFile = Files.createTempFile(directory, storeFile.getName(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                    out.writeInt(MANIFEST_STORE_FORMAT);
+                    writeString(out, bundleLocation.getAbsolutePath());
+                    out.writeLong(source.length());
+                    out.writeLong(source.lastModified());
+                    Map<String, String> headers = manifest.getHeaders();
+                    out.writeInt(headers.size());
+                    for (Map.Entry<String, String> header : headers.entrySet()) {
+                        writeString(out, header.getKey());
+                        writeString(out, header.getValue());
+                    }
+                }
+                Files.move(tempFile, storeFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            getLogger().debug("Can't store manifest of " + bundleLocation + " in " + storeFile + ": " + e);
+        }
+    }
+
+    /**
+     * @return the file to store the manifest of the given bundle or <code>null</code> if it should
+     *         not be stored
+     */
+    private File getStoreFile(File bundleLocation) {
+        if (cacheDir == null || !bundleLocation.isFile() || !bundleLocation.getName().toLowerCase().endsWith(".jar")) {
+            return null;
+        }
+        String path = bundleLocation.getAbsolutePath();
+        return new File(new File(cacheDir, MANIFEST_STORE_DIR),
+                UUID.nameUUIDFromBytes(path.getBytes(StandardCharsets.UTF_8)) + ".manifest");
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
     private OsgiManifest doLoadManifest(File bundleLocation) {
         try {
             if (bundleLocation.isDirectory()) {
@@ -232,6 +353,24 @@ public class DefaultBundleReader extends AbstractLogEnabled implements BundleRea
         }
     }
 
+    /**
+     * A manifest together with the state of the file it was read from.
+     */
+    private static record CachedManifest(File source, long length, long lastModified, OsgiManifest manifest) {
+
+        static CachedManifest of(File source, OsgiManifest manifest) {
+            return new CachedManifest(source, source.length(), source.lastModified(), manifest);
+        }
+
+        CachedManifest with(OsgiManifest manifest) {
+            return new CachedManifest(source, length, lastModified, manifest);
+        }
+
+        boolean isSameSource(CachedManifest other) {
+            return source.equals(other.source) && length == other.length && lastModified == other.lastModified;
+        }
+    }
+
     private static void copyStreamToFile(InputStream in, File outputFile, long timestamp) throws IOException {
         if (in == null) {
             return;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2021 Sonatype Inc. and others.
+ * Copyright (c) 2008, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -18,6 +18,7 @@ package org.eclipse.tycho.core.osgitools;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -31,6 +32,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
+import java.util.jar.JarFile;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -93,6 +95,9 @@ public class EquinoxResolver implements DependenciesResolver {
 
     public static final String HINT = "equinox";
 
+    private static final int PREPARED_BUNDLES_SIZE = Integer.getInteger("tycho.equinox.resolver.bundle.cache.size",
+            10000);
+
     private static final String FORCE_KEEP_USES = "First attempt at resolving bundle failed. Trying harder by keeping `uses` information... This may drastically slow down your build!";
 
     @Inject
@@ -113,6 +118,20 @@ public class EquinoxResolver implements DependenciesResolver {
     @Inject
     private DependencyComputer dependencyComputer;
 
+    /**
+     * Manifests and revision builders of bundles from the target platform, these are the same for
+     * all projects (and attempts) that resolve against them and so are only prepared once. The least
+     * recently used bundles are dropped, and a bundle that has changed replaces its entry.
+     */
+    private final Map<File, PreparedBundle> preparedBundles = Collections
+            .synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<File, PreparedBundle> eldest) {
+                    return size() > PREPARED_BUNDLES_SIZE;
+                }
+            });
+
     public ModuleContainer newResolvedState(ReactorProject project, MavenSession mavenSession, ExecutionEnvironment ee,
             DependencyArtifacts artifacts, Map<Module, ArtifactDescriptor> descriptorLookup) throws BundleException {
         Objects.requireNonNull(artifacts, "DependencyArtifacts can't be null!");
@@ -360,7 +379,7 @@ public class EquinoxResolver implements DependenciesResolver {
         moduleContainerAccessor[0] = moduleContainer;
 
         Map<File, OsgiManifest> systemBundles = new LinkedHashMap<>();
-        Map<File, OsgiManifest> externalBundles = new LinkedHashMap<>();
+        Map<File, PreparedBundle> externalBundles = new LinkedHashMap<>();
         Map<File, OsgiManifest> projects = new LinkedHashMap<>();
         Map<File, ArtifactDescriptor> descriptors = new LinkedHashMap<>();
 
@@ -374,28 +393,33 @@ public class EquinoxResolver implements DependenciesResolver {
                 continue;
             }
             File location = artifact.getLocation(true);
-            OsgiManifest mf = loadManifest(location, artifact);
             descriptors.put(location, artifact);
+            ReactorProject mavenProject = artifact.getMavenProject();
+            if (mavenProject == null) {
+                PreparedBundle bundle = getPreparedBundle(location, artifact);
+                if (bundle.frameworkImplementation) {
+                    systemBundles.put(location, bundle.manifest);
+                } else {
+                    externalBundles.put(location, bundle);
+                }
+                continue;
+            }
+            OsgiManifest mf = loadManifest(location, artifact);
             if (isFrameworkImplementation(mf)) {
                 systemBundles.put(location, mf);
             } else {
-                ReactorProject mavenProject = artifact.getMavenProject();
-                if (mavenProject != null) {
-                    Collection<String> additionalBundles = buildPropertiesParser.parse(mavenProject)
-                            .getAdditionalBundles();
-                    if (!additionalBundles.isEmpty()) {
-                        List<String> reqb = new ArrayList<>();
-                        String value = mf.getValue(Constants.REQUIRE_BUNDLE);
-                        if (value != null) {
-                            reqb.add(value);
-                        }
-                        reqb.addAll(additionalBundles.stream().map(b -> b + ";resolution:=optional").toList());
-                        mf.getHeaders().put(Constants.REQUIRE_BUNDLE, String.join(",", reqb));
+                Collection<String> additionalBundles = buildPropertiesParser.parse(mavenProject)
+                        .getAdditionalBundles();
+                if (!additionalBundles.isEmpty()) {
+                    List<String> reqb = new ArrayList<>();
+                    String value = mf.getValue(Constants.REQUIRE_BUNDLE);
+                    if (value != null) {
+                        reqb.add(value);
                     }
-                    projects.put(location, mf);
-                } else {
-                    externalBundles.put(location, mf);
+                    reqb.addAll(additionalBundles.stream().map(b -> b + ";resolution:=optional").toList());
+                    mf.getHeaders().put(Constants.REQUIRE_BUNDLE, String.join(",", reqb));
                 }
+                projects.put(location, mf);
             }
         }
 
@@ -415,35 +439,39 @@ public class EquinoxResolver implements DependenciesResolver {
         ModuleRevisionBuilder systemBundleRevisionBuilder = OSGiManifestBuilderFactory.createBuilder(
                 systemBundleManifest, Constants.SYSTEM_BUNDLE_SYMBOLICNAME,
                 properties.getProperty(Constants.FRAMEWORK_SYSTEMPACKAGES), systemExtraCapabilities);
-        install(moduleContainer, null, Constants.SYSTEM_BUNDLE_LOCATION, systemBundleRevisionBuilder, systemBundleInfo,
-                config, descriptorLookup, descriptors);
+        install(moduleContainer, null, Constants.SYSTEM_BUNDLE_LOCATION,
+                prepare(systemBundleRevisionBuilder, config.keepUses), systemBundleInfo, descriptorLookup,
+                descriptors);
 
-        for (Map.Entry<File, OsgiManifest> external : externalBundles.entrySet()) {
+        for (Map.Entry<File, PreparedBundle> external : externalBundles.entrySet()) {
             install(moduleContainer, null, external.getKey().getAbsolutePath(),
-                    OSGiManifestBuilderFactory.createBuilder(external.getValue().getHeaders()), external.getKey(),
-                    config, descriptorLookup, descriptors);
+                    external.getValue().getBuilder(config.keepUses), external.getKey(), descriptorLookup,
+                    descriptors);
         }
         for (Map.Entry<File, OsgiManifest> entry : projects.entrySet()) {
             // make sure reactor projects override anything from the target platform
             // that has the same bundle symbolic name
             Map<String, String> headers = entry.getValue().getHeaders();
             ModuleRevisionBuilder builder = OSGiManifestBuilderFactory.createBuilder(headers);
-            install(moduleContainer, null, entry.getKey().getAbsolutePath(), builder, entry.getKey(), config,
-                    descriptorLookup, descriptors);
+            install(moduleContainer, null, entry.getKey().getAbsolutePath(), prepare(builder, config.keepUses),
+                    entry.getKey(), descriptorLookup, descriptors);
         }
         return moduleContainer;
     }
 
-    private static Module install(ModuleContainer moduleContainer, Module origin, String location,
-            ModuleRevisionBuilder builder, File revisionInfo, EquinoxResolverConfiguration configuration,
-            Map<Module, ArtifactDescriptor> descriptorLookup, Map<File, ArtifactDescriptor> descriptors)
-            throws BundleException {
-        if (!configuration.keepUses) {
+    private static ModuleRevisionBuilder prepare(ModuleRevisionBuilder builder, boolean keepUses) {
+        if (!keepUses) {
             List<GenericInfo> capabilities = builder.getCapabilities();
             for (GenericInfo genericInfo : capabilities) {
                 genericInfo.getDirectives().remove("uses");
             }
         }
+        return builder;
+    }
+
+    private static Module install(ModuleContainer moduleContainer, Module origin, String location,
+            ModuleRevisionBuilder builder, File revisionInfo, Map<Module, ArtifactDescriptor> descriptorLookup,
+            Map<File, ArtifactDescriptor> descriptors) throws BundleException {
         Module module = moduleContainer.install(origin, location, builder, revisionInfo);
         ArtifactDescriptor descriptor = descriptors.get(revisionInfo);
         if (descriptor != null) {
@@ -452,7 +480,7 @@ public class EquinoxResolver implements DependenciesResolver {
         return module;
     }
 
-    private boolean isFrameworkImplementation(OsgiManifest mf) {
+    private static boolean isFrameworkImplementation(OsgiManifest mf) {
         // starting with OSGi R4.2, /META-INF/services/org.osgi.framework.launch.FrameworkFactory
         // can be used to detect framework implementation
         // See https://www.osgi.org/javadoc/r4v42/org/osgi/framework/launch/FrameworkFactory.html
@@ -528,6 +556,23 @@ public class EquinoxResolver implements DependenciesResolver {
     }
 
     private OsgiManifest loadManifest(File bundleLocation, ArtifactDescriptor artifact) {
+        checkLocation(bundleLocation, artifact);
+        return manifestReader.loadManifest(bundleLocation);
+    }
+
+    private PreparedBundle getPreparedBundle(File bundleLocation, ArtifactDescriptor artifact) {
+        checkLocation(bundleLocation, artifact);
+        BundleKey key = BundleKey.of(bundleLocation);
+        PreparedBundle bundle = preparedBundles.get(bundleLocation);
+        if (bundle == null || !bundle.key.equals(key)) {
+            // read outside of the map lock, concurrent resolves of the same bundle prepare equal copies
+            bundle = new PreparedBundle(key, manifestReader.loadManifest(bundleLocation));
+            preparedBundles.put(bundleLocation, bundle);
+        }
+        return bundle;
+    }
+
+    private void checkLocation(File bundleLocation, ArtifactDescriptor artifact) {
         if (bundleLocation == null) {
             throw new IllegalArgumentException("bundleLocation can't be null for artifact " + artifact);
         }
@@ -535,7 +580,6 @@ public class EquinoxResolver implements DependenciesResolver {
             throw new IllegalArgumentException(
                     "bundleLocation not found: " + bundleLocation + " for artifact " + artifact);
         }
-        return manifestReader.loadManifest(bundleLocation);
     }
 
     private boolean checkExits(File bundleLocation) {
@@ -613,6 +657,49 @@ public class EquinoxResolver implements DependenciesResolver {
         };
     }
 
+    /**
+     * Identifies the state of a bundle, for a folder the state of its manifest is used.
+     */
+    private static record BundleKey(File location, long lastModified, long length) {
+
+        static BundleKey of(File location) {
+            File file = location.isDirectory() ? new File(location, JarFile.MANIFEST_NAME) : location;
+            return new BundleKey(location, file.lastModified(), file.length());
+        }
+    }
+
+    /**
+     * The manifest of a bundle and its revision builders, a builder is only used to install the
+     * bundle and not modified afterwards, so it can be shared by all containers.
+     */
+    private static final class PreparedBundle {
+
+        private final BundleKey key;
+        private final OsgiManifest manifest;
+        private final boolean frameworkImplementation;
+        private ModuleRevisionBuilder builder;
+        private ModuleRevisionBuilder builderWithUses;
+
+        PreparedBundle(BundleKey key, OsgiManifest manifest) {
+            this.key = key;
+            this.manifest = manifest;
+            this.frameworkImplementation = isFrameworkImplementation(manifest);
+        }
+
+        synchronized ModuleRevisionBuilder getBuilder(boolean keepUses) throws BundleException {
+            if (keepUses) {
+                if (builderWithUses == null) {
+                    builderWithUses = OSGiManifestBuilderFactory.createBuilder(manifest.getHeaders());
+                }
+                return builderWithUses;
+            }
+            if (builder == null) {
+                builder = prepare(OSGiManifestBuilderFactory.createBuilder(manifest.getHeaders()), false);
+            }
+            return builder;
+        }
+    }
+
     public static Properties computeMergedProperties(MavenProject mavenProject, MavenSession mavenSession) {
         Properties properties = new Properties();
         properties.putAll(mavenProject.getProperties());
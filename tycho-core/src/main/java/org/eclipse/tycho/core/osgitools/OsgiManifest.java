@@ -47,9 +47,32 @@ public class OsgiManifest {
     private final boolean isDirectoryShape;
 
     private OsgiManifest(InputStream stream, String location) throws OsgiManifestParserException {
+        this(location, readHeaders(stream, location));
+    }
+
+    private OsgiManifest(String location, CaseInsensitiveDictionaryMap<String, String> headers)
+            throws OsgiManifestParserException {
         this.location = location;
+        this.headers = headers;
+        try {
+            // this will do more strict validation of headers on OSGi semantical level
+            this.bundleSymbolicName = OSGiManifestBuilderFactory.createBuilder(headers).getSymbolicName();
+        } catch (BundleException e) {
+            throw new OsgiManifestParserException(location, e);
+        }
+        if (this.bundleSymbolicName == null) {
+            throw new InvalidOSGiManifestException(location, "Bundle-SymbolicName is missing");
+        }
+        this.bundleVersion = parseBundleVersion();
+        this.bundleClassPath = parseBundleClasspath();
+        this.isDirectoryShape = parseDirectoryShape();
+        this.executionEnvironments = parseExecutionEnvironments();
+    }
+
+    private static CaseInsensitiveDictionaryMap<String, String> readHeaders(InputStream stream, String location)
+            throws OsgiManifestParserException {
+        CaseInsensitiveDictionaryMap<String, String> headers = new CaseInsensitiveDictionaryMap<>();
         try {
-            this.headers = new CaseInsensitiveDictionaryMap<>();
             if (location.endsWith(".bnd")) {
                 Properties properties = new Properties();
                 properties.load(stream);
@@ -66,18 +89,10 @@ public class OsgiManifest {
             } else {
                 ManifestElement.parseBundleManifest(stream, headers);
             }
-            // this will do more strict validation of headers on OSGi semantical level
-            this.bundleSymbolicName = OSGiManifestBuilderFactory.createBuilder(headers).getSymbolicName();
         } catch (IOException | BundleException e) {
             throw new OsgiManifestParserException(location, e);
         }
-        if (this.bundleSymbolicName == null) {
-            throw new InvalidOSGiManifestException(location, "Bundle-SymbolicName is missing");
-        }
-        this.bundleVersion = parseBundleVersion();
-        this.bundleClassPath = parseBundleClasspath();
-        this.isDirectoryShape = parseDirectoryShape();
-        this.executionEnvironments = parseExecutionEnvironments();
+        return headers;
     }
 
     private String[] parseExecutionEnvironments() {
@@ -177,6 +192,16 @@ public class OsgiManifest {
         return new OsgiManifest(stream, location);
     }
 
+    /**
+     * Creates a manifest from already parsed headers, e.g. as previously returned by
+     * {@link #getHeaders()}.
+     */
+    static OsgiManifest of(Map<String, String> headers, String location) throws OsgiManifestParserException {
+        CaseInsensitiveDictionaryMap<String, String> map = new CaseInsensitiveDictionaryMap<>();
+        map.putAll(headers);
+        return new OsgiManifest(location, map);
+    }
+
     private ManifestElement[] parseHeader(String key) {
         String value = headers.get(key);
         if (value == null) {
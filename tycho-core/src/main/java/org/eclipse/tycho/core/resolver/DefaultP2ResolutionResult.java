@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2022 Sonatype Inc. and others.
+ * Copyright (c) 2011, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -14,6 +14,7 @@
 package org.eclipse.tycho.core.resolver;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -43,6 +44,11 @@ public class DefaultP2ResolutionResult implements P2ResolutionResult {
      * reactor.
      */
     private final Set<IInstallableUnit> nonReactorUnits = new LinkedHashSet<>();
+    /**
+     * The p2 artifacts of entries that are not yet available locally.
+     */
+    private final Map<ClassifiedArtifactKey, IArtifactKey> pendingArtifacts = new LinkedHashMap<>();
+    private final List<IArtifactKey> pendingFragments = new ArrayList<>();
     private P2TargetPlatform resolutionContext;
     private List<Entry> fragments;
 
@@ -57,10 +63,11 @@ public class DefaultP2ResolutionResult implements P2ResolutionResult {
                 entry = new DefaultP2ResolutionResultEntry(artifactKey.getType(), artifactKey.getId(),
                         artifactKey.getVersion(), null, resolutionContext.getArtifactLocation(artifactKey));
             } else {
+                IArtifactKey p2ArtifactKey = ArtifactTypeHelper.toP2ArtifactKey(artifactKey);
+                pendingFragments.add(p2ArtifactKey);
                 entry = new DefaultP2ResolutionResultEntry(artifactKey.getType(), artifactKey.getId(),
                         artifactKey.getVersion(), null, () -> {
-                            File res = resolutionContext
-                                    .getLocalArtifactFile(ArtifactTypeHelper.toP2ArtifactKey(artifactKey));
+                            File res = resolutionContext.getLocalArtifactFile(p2ArtifactKey);
                             resolutionContext.saveLocalMavenRepository(); // store just downloaded artifacts in local Maven repo index
                             return res;
                         });
@@ -92,6 +99,7 @@ public class DefaultP2ResolutionResult implements P2ResolutionResult {
                         return res;
                     });
             entries.put(key, entry);
+            pendingArtifacts.put(key, p2ArtifactKey);
             File location = entry.getLocation(false);
             if (location != null) {
                 entriesByLocation.put(new ClassifiedLocation(location, classifier), entry);
@@ -161,6 +169,23 @@ public class DefaultP2ResolutionResult implements P2ResolutionResult {
         entries.values().removeIf(entry -> entry.getType() == null);
     }
 
+    /**
+     * Starts downloading all artifacts of this result that are not yet available locally as one
+     * batch, so that the (usually sequential) requests for the individual files only need to wait
+     * for the downloads still in progress.
+     */
+    public void prefetchArtifacts() {
+        List<IArtifactKey> keys = new ArrayList<>(pendingFragments);
+        pendingArtifacts.forEach((key, p2ArtifactKey) -> {
+            if (entries.containsKey(key)) {
+                keys.add(p2ArtifactKey);
+            }
+        });
+        if (!keys.isEmpty()) {
+            resolutionContext.prefetchLocalArtifactFiles(keys);
+        }
+    }
+
     public void addNonReactorUnit(IInstallableUnit installableUnit) {
         this.nonReactorUnits.add(installableUnit);
     }
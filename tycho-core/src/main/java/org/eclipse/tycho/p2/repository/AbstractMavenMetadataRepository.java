@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2012 Sonatype Inc. and others.
+ * Copyright (c) 2008, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -36,6 +37,13 @@ import org.eclipse.tycho.TychoConstants;
 
 public abstract class AbstractMavenMetadataRepository extends AbstractMetadataRepository {
 
+    /**
+     * Whether a binary form of the metadata files of the repository is stored next to them to speed
+     * up reading them again, see {@link MetadataBinaryIO}.
+     */
+    static final boolean BINARY_METADATA = Boolean
+            .parseBoolean(System.getProperty("tycho.p2.metadata.binary", "true"));
+
     protected final TychoRepositoryIndex metadataIndex;
 
     protected final RepositoryReader contentLocator;
@@ -44,6 +52,8 @@ public abstract class AbstractMavenMetadataRepository extends AbstractMetadataRe
 
     protected Map<GAV, Set<IInstallableUnit>> unitsMap = new LinkedHashMap<>();
 
+    private volatile boolean loaded;
+
     public AbstractMavenMetadataRepository(IProvisioningAgent agent, URI location, TychoRepositoryIndex metadataIndex,
             RepositoryReader contentLocator) {
         super(agent);
@@ -52,35 +62,72 @@ public abstract class AbstractMavenMetadataRepository extends AbstractMetadataRe
 
         this.metadataIndex = metadataIndex;
         this.contentLocator = contentLocator;
+    }
 
-        if (metadataIndex != null && contentLocator != null) {
-            load();
+    /**
+     * Loads the units of all GAVs in the index on first use, this must be called before
+     * {@link #units} or {@link #unitsMap} are accessed.
+     */
+    protected void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                if (metadataIndex != null && contentLocator != null) {
+                    load();
+                }
+                loaded = true;
+            }
         }
     }
 
     protected void load() {
         MetadataIO io = new MetadataIO();
 
-        for (GAV gav : metadataIndex.getProjectGAVs()) {
-            try {
-                File localArtifactFileLocation = contentLocator.getLocalArtifactLocation(gav,
-                        TychoConstants.CLASSIFIER_P2_METADATA, ArtifactType.TYPE_P2_METADATA);
-                if (!localArtifactFileLocation.exists()) {
-                    // if files have been manually removed from the repository, simply remove them from the index (bug 351080)
-                    metadataIndex.removeGav(gav);
-                } else {
-                    try (InputStream is = new FileInputStream(localArtifactFileLocation)) {
-                        Set<IInstallableUnit> gavUnits = io.readXML(is);
-
-                        unitsMap.put(gav, gavUnits);
-                        units.addAll(gavUnits);
-                    }
-                }
-            } catch (IOException e) {
-                // TODO throw properly typed exception if repository cannot be loaded
-                e.printStackTrace();
+        // the files are independent of each other, so they can be parsed in parallel
+        List<Map.Entry<GAV, Set<IInstallableUnit>>> loadedGavs = metadataIndex.getProjectGAVs().parallelStream()
+                .map(gav -> Map.entry(gav, read(io, gav))).toList();
+        for (Map.Entry<GAV, Set<IInstallableUnit>> entry : loadedGavs) {
+            Set<IInstallableUnit> gavUnits = entry.getValue();
+            if (gavUnits == null) {
+                // if files have been manually removed from the repository, simply remove them from the index (bug 351080)
+                metadataIndex.removeGav(entry.getKey());
+            } else if (!gavUnits.isEmpty()) {
+                unitsMap.put(entry.getKey(), gavUnits);
+                units.addAll(gavUnits);
             }
+        }
+    }
 
+    /**
+     * @return the units stored for the given GAV or <code>null</code> if there is no file for it
+     */
+    private Set<IInstallableUnit> read(MetadataIO io, GAV gav) {
+        File localArtifactFileLocation = contentLocator.getLocalArtifactLocation(gav,
+                TychoConstants.CLASSIFIER_P2_METADATA, ArtifactType.TYPE_P2_METADATA);
+        if (!localArtifactFileLocation.exists()) {
+            return null;
+        }
+        try {
+            if (BINARY_METADATA) {
+                Set<IInstallableUnit> units = MetadataBinaryIO.read(localArtifactFileLocation);
+                if (units != null) {
+                    return units;
+                }
+            }
+            Set<IInstallableUnit> units;
+            try (InputStream is = new FileInputStream(localArtifactFileLocation)) {
+                units = io.readXML(is);
+            }
+            if (BINARY_METADATA && !MetadataBinaryIO.isCurrent(localArtifactFileLocation)) {
+                MetadataBinaryIO.write(units, localArtifactFileLocation);
+            }
+            return units;
+        } catch (IOException e) {
+            // TODO throw properly typed exception if repository cannot be loaded
+            e.printStackTrace();
+            return Set.of();
         }
     }
 
@@ -90,6 +137,7 @@ public abstract class AbstractMavenMetadataRepository extends AbstractMetadataRe
 
     @Override
     public IQueryResult<IInstallableUnit> query(IQuery<IInstallableUnit> query, IProgressMonitor monitor) {
+        ensureLoaded();
         return query.perform(units.iterator());
     }
 
@@ -97,6 +145,7 @@ public abstract class AbstractMavenMetadataRepository extends AbstractMetadataRe
      * For testing purposes only
      */
     public Map<GAV, Set<IInstallableUnit>> getGAVs() {
+        ensureLoaded();
         return unitsMap;
     }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2022 SAP SE and others.
+ * Copyright (c) 2012, 2026 SAP SE and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -102,19 +102,47 @@ public abstract class ArtifactRepositoryBaseImpl<ArtifactDescriptorT extends IAr
      */
     protected abstract IArtifactDescriptor getComparableDescriptor(IArtifactDescriptor descriptor);
 
+    /**
+     * Makes sure that all descriptors of the given key are contained in the {@link #descriptorsMap}.
+     * Sub-classes that populate the index lazily need to override this, the default implementation
+     * does nothing.
+     *
+     * <p>
+     * This method is called before the index is accessed for a specific key.
+     * </p>
+     */
+    protected void loadDescriptors(IArtifactKey key) {
+        // default: the index is always complete
+    }
+
+    /**
+     * Makes sure that all descriptors of the repository are contained in the
+     * {@link #descriptorsMap}, the default implementation does nothing.
+     *
+     * <p>
+     * This method is called before the index is accessed as a whole.
+     * </p>
+     */
+    protected void loadAllDescriptors() {
+        // default: the index is always complete
+    }
+
     @Override
     public final boolean contains(IArtifactKey key) {
+        loadDescriptors(key);
         return descriptorsMap.containsKey(key);
     }
 
     @Override
     public final boolean contains(IArtifactDescriptor descriptor) {
         IArtifactDescriptor comparableDescriptor = getComparableDescriptor(descriptor);
+        loadDescriptors(comparableDescriptor.getArtifactKey());
         return descriptorsMap.values().stream().anyMatch(set -> set.contains(comparableDescriptor));
     }
 
     @Override
     public final IArtifactDescriptor[] getArtifactDescriptors(IArtifactKey key) {
+        loadDescriptors(key);
         Set<ArtifactDescriptorT> descriptors = descriptorsMap.get(key);
         if (descriptors == null) {
             return EMPTY_DESCRIPTOR_ARRAY;
@@ -124,13 +152,17 @@ public abstract class ArtifactRepositoryBaseImpl<ArtifactDescriptorT extends IAr
 
     @Override
     public final IQueryResult<IArtifactKey> query(IQuery<IArtifactKey> query, IProgressMonitor monitor) {
+        loadAllDescriptors();
         return query.perform(descriptorsMap.keySet().iterator());
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public final IQueryable<IArtifactDescriptor> descriptorQueryable() {
-        return (query, monitor) -> query.perform((Iterator<IArtifactDescriptor>) flattenedValues().iterator());
+        return (query, monitor) -> {
+            loadAllDescriptors();
+            return query.perform((Iterator<IArtifactDescriptor>) flattenedValues().iterator());
+        };
     }
 
     protected final Stream<ArtifactDescriptorT> flattenedValues() {
@@ -174,6 +206,7 @@ public abstract class ArtifactRepositoryBaseImpl<ArtifactDescriptorT extends IAr
         IArtifactDescriptor comparableDescriptor = getComparableDescriptor(descriptor);
 
         IArtifactKey artifactKey = comparableDescriptor.getArtifactKey();
+        loadDescriptors(artifactKey);
         descriptorsMap.computeIfPresent(artifactKey, (k, descriptors) -> {
             descriptors.remove(comparableDescriptor);
             return descriptors.isEmpty() ? null : descriptors;
@@ -189,6 +222,7 @@ public abstract class ArtifactRepositoryBaseImpl<ArtifactDescriptorT extends IAr
 
     @Override
     protected void internalRemoveDescriptors(IArtifactKey key) {
+        loadDescriptors(key);
         descriptorsMap.remove(key);
     }
 
@@ -201,6 +235,7 @@ public abstract class ArtifactRepositoryBaseImpl<ArtifactDescriptorT extends IAr
 
     @Override
     protected final void internalRemoveAllDescriptors() {
+        loadAllDescriptors();
         descriptorsMap.clear();
     }
 
@@ -239,6 +274,7 @@ public abstract class ArtifactRepositoryBaseImpl<ArtifactDescriptorT extends IAr
 
     @Override
     public final File getArtifactFile(IArtifactKey key) {
+        loadDescriptors(key);
         Set<ArtifactDescriptorT> descriptors = descriptorsMap.get(key);
 
         // if available, return location of canonical format of the artifact
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2014 SAP SE and others.
+ * Copyright (c) 2012, 2026 SAP SE and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -17,7 +17,10 @@ import static org.eclipse.tycho.p2.repository.BundleConstants.BUNDLE_ID;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -102,6 +105,21 @@ public class CompositeArtifactProvider extends CompositeArtifactProviderBaseImpl
         return null;
     }
 
+    @Override
+    public void prefetch(Collection<IArtifactKey> keys) {
+        // like getArtifactFile, each artifact is requested from the first component that contains it
+        Map<IRawArtifactFileProvider, List<IArtifactKey>> keysByComponent = new LinkedHashMap<>();
+        for (IArtifactKey key : keys) {
+            for (IRawArtifactFileProvider component : components) {
+                if (component.contains(key)) {
+                    keysByComponent.computeIfAbsent(component, c -> new ArrayList<>()).add(key);
+                    break;
+                }
+            }
+        }
+        keysByComponent.forEach(IRawArtifactFileProvider::prefetch);
+    }
+
     @Override
     protected void getArtifactFromAnySource(IArtifactSink sink, List<IStatus> statusCollector, IProgressMonitor monitor)
             throws ArtifactSinkException {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2021 Sonatype Inc. and others.
+ * Copyright (c) 2008, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -15,7 +15,6 @@ package org.eclipse.tycho.p2.repository;
 import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -23,11 +22,20 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 
 import org.eclipse.tycho.FileLockService;
 import org.eclipse.tycho.core.shared.MavenContext;
@@ -36,6 +44,17 @@ import org.eclipse.tycho.core.shared.MavenLogger;
 /**
  * Simplistic local Maven repository index to allow efficient lookup of all installed Tycho
  * projects. The content is persisted in a local file.
+ * <p>
+ * The file contains one GAV per line. New GAVs are appended to the file so concurrent builds only
+ * contend for the short append, and only the part of the file that was appended by others since
+ * the last read is read again. The file is compacted (that is completely rewritten) only if GAVs
+ * are removed or if it contains too many redundant lines.
+ * <p>
+ * A separate generation file holds a generation that is changed by each compaction together with
+ * the size and modification time of the index after the last write, so a reader notices that the
+ * file was rewritten even if it has the same size as before. The index file itself keeps its format
+ * so older versions sharing the same local repository can still read it, if such a version changed
+ * the file the generation file no longer matches and the file is read completely.
  */
 public class FileBasedTychoRepositoryIndex implements TychoRepositoryIndex {
 
@@ -44,24 +63,48 @@ public class FileBasedTychoRepositoryIndex implements TychoRepositoryIndex {
 
     private static final String EOL = "\n";
 
+    static final String GENERATION_SUFFIX = ".generation";
+
+    /**
+     * Number of redundant lines (duplicate or invalid entries) tolerated before the file is
+     * compacted
+     */
+    private static final int COMPACTION_THRESHOLD = 1000;
+
     private final File indexFile;
+    private final File generationFile;
     private final MavenLogger logger;
     private final FileLockService fileLockService;
 
     private Set<GAV> addedGavs = new HashSet<>();
     private Set<GAV> removedGavs = new HashSet<>();
-    private Set<GAV> gavs = new HashSet<>();
+    private Set<GAV> gavs = new LinkedHashSet<>();
     private MavenContext mavenContext;
 
+    /**
+     * the GAVs contained in the file as of the last read
+     */
+    private Set<GAV> fileGavs = new LinkedHashSet<>();
+    /**
+     * the number of lines contained in the file as of the last read
+     */
+    private int fileLines;
+    /**
+     * the generation and position up to where the file was read
+     */
+    private String readGeneration;
+    private long readPosition;
+
     private FileBasedTychoRepositoryIndex(File indexFile, FileLockService fileLockService, MavenContext mavenContext) {
         super();
         this.indexFile = indexFile;
+        this.generationFile = new File(indexFile.getPath() + GENERATION_SUFFIX);
         this.mavenContext = mavenContext;
         this.fileLockService = fileLockService;
         this.logger = mavenContext.getLogger();
         if (indexFile.isFile()) {
             try (var locked = fileLockService.lock(indexFile)) {
-                gavs = read(new FileInputStream(indexFile));
+                reconcile();
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -108,35 +151,135 @@ public class FileBasedTychoRepositoryIndex implements TychoRepositoryIndex {
         }
         try (var locked = fileLockService.lock(indexFile)) {
             reconcile();
-            // minimize time window for corrupting the file by first writing to a temp file, then moving it
-            File tempFile = File.createTempFile("index", "tmp", indexFile.getParentFile());
-            write(new BufferedOutputStream(new FileOutputStream(tempFile)));
-            if (indexFile.isFile()) {
-                indexFile.delete();
+            if (!removedGavs.isEmpty() || readGeneration == null
+                    || fileLines - fileGavs.size() > COMPACTION_THRESHOLD) {
+                compact();
+            } else {
+                append();
             }
-            tempFile.renameTo(indexFile);
+            addedGavs.clear();
+            removedGavs.clear();
         }
     }
 
-    private synchronized void reconcile() throws IOException {
-        // re-read index from file system so that changes from other
-        // processes which happened in the meantime are not discarded
+    /**
+     * Re-reads the index from the file system so that changes from other processes which happened
+     * in the meantime are not discarded. If the file was only appended to since the last read, only
+     * the new lines are read.
+     */
+    private void reconcile() throws IOException {
+        Path indexPath = indexFile.toPath();
         if (indexFile.isFile()) {
-            gavs = read(new FileInputStream(indexFile));
-            for (GAV addedGav : addedGavs) {
-                addGav(addedGav);
+            String generation = getGeneration();
+            try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (generation == null || !generation.equals(readGeneration) || size < readPosition) {
+                    // the file was compacted (or we can't tell), read it completely
+                    fileGavs = new LinkedHashSet<>();
+                    fileLines = 0;
+                    readPosition = 0;
+                }
+                if (size > readPosition) {
+                    channel.position(readPosition);
+                    fileLines += read(Channels.newInputStream(channel), fileGavs);
+                }
+                readGeneration = generation;
+                readPosition = size;
             }
-            for (GAV removedGav : removedGavs) {
-                removeGav(removedGav);
+        } else {
+            fileGavs = new LinkedHashSet<>();
+            fileLines = 0;
+            readGeneration = null;
+            readPosition = 0;
+        }
+        gavs = new LinkedHashSet<>(fileGavs);
+        gavs.addAll(addedGavs);
+        gavs.removeAll(removedGavs);
+    }
+
+    /**
+     * @return the generation of the index file, or <code>null</code> if it is unknown because the
+     *         file was written by an older version
+     */
+    private String getGeneration() throws IOException {
+        if (!generationFile.isFile()) {
+            return null;
+        }
+        List<String> lines = Files.readAllLines(generationFile.toPath(), StandardCharsets.UTF_8);
+        if (lines.size() != 3) {
+            return null;
+        }
+        try {
+            Path indexPath = indexFile.toPath();
+            if (Long.parseLong(lines.get(1)) != Files.size(indexPath)
+                    || Long.parseLong(lines.get(2)) != Files.getLastModifiedTime(indexPath).toMillis()) {
+                // changed by someone not aware of the generation
+                return null;
             }
+        } catch (NumberFormatException e) {
+            return null;
         }
-        addedGavs.clear();
-        removedGavs.clear();
+        return lines.get(0);
+    }
+
+    /**
+     * Records the given generation for the current state of the index file.
+     */
+    private void writeGeneration(String generation) throws IOException {
+        Path indexPath = indexFile.toPath();
+        Files.writeString(generationFile.toPath(), generation + EOL + Files.size(indexPath) + EOL
+                + Files.getLastModifiedTime(indexPath).toMillis() + EOL, StandardCharsets.UTF_8);
+        readGeneration = generation;
+    }
+
+    private void append() throws IOException {
+        List<GAV> newGavs = addedGavs.stream().filter(gav -> !fileGavs.contains(gav)).toList();
+        if (newGavs.isEmpty()) {
+            return;
+        }
+        Path indexPath = indexFile.toPath();
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            StringBuilder content = new StringBuilder();
+            if (size > 0) {
+                ByteBuffer last = ByteBuffer.allocate(1);
+                channel.read(last, size - 1);
+                if (last.get(0) != '\n') {
+                    // make sure we start on a new line
+                    content.append(EOL);
+                }
+            }
+            for (GAV gav : newGavs) {
+                content.append(gav.toExternalForm());
+                content.append(EOL);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+            long position = size;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            readPosition = position;
+        }
+        writeGeneration(readGeneration);
+        fileGavs.addAll(newGavs);
+        fileLines += newGavs.size();
+    }
+
+    private void compact() throws IOException {
+        // minimize time window for corrupting the file by first writing to a temp file, then moving it
+        File tempFile = File.createTempFile("index", "tmp", indexFile.getParentFile());
+        String generation = UUID.randomUUID().toString();
+        write(new BufferedOutputStream(new FileOutputStream(tempFile)));
+        Path indexPath = Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        writeGeneration(generation);
+        fileGavs = new LinkedHashSet<>(gavs);
+        fileLines = fileGavs.size();
+        readPosition = Files.size(indexPath);
     }
 
     private void write(OutputStream outStream) throws IOException {
         try (Writer out = new OutputStreamWriter(new BufferedOutputStream(outStream), StandardCharsets.UTF_8)) {
-            for (GAV gav : getProjectGAVs()) {
+            for (GAV gav : gavs) {
                 out.write(gav.toExternalForm());
                 out.write(EOL);
             }
@@ -144,14 +287,20 @@ public class FileBasedTychoRepositoryIndex implements TychoRepositoryIndex {
         }
     }
 
-    private Set<GAV> read(InputStream inStream) throws IOException {
-        LinkedHashSet<GAV> result = new LinkedHashSet<>();
+    /**
+     * Reads the GAVs from the given stream into the given set.
+     *
+     * @return the number of non-empty lines read
+     */
+    private int read(InputStream inStream, Set<GAV> result) throws IOException {
+        int lines = 0;
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(inStream, StandardCharsets.UTF_8))) {
             String line;
             while ((line = reader.readLine()) != null) {
                 if (line.trim().isEmpty()) {
                     continue;
                 }
+                lines++;
                 try {
                     GAV parsedGAV = GAV.parse(line);
                     result.add(parsedGAV);
@@ -160,7 +309,7 @@ public class FileBasedTychoRepositoryIndex implements TychoRepositoryIndex {
                 }
             }
         }
-        return result;
+        return lines;
     }
 
     public static TychoRepositoryIndex createMetadataIndex(File basedir, FileLockService fileLockService,
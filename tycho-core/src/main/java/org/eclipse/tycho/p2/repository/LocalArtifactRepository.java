@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2022 Sonatype Inc. and others.
+ * Copyright (c) 2008, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -20,26 +20,67 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
+import org.eclipse.equinox.internal.p2.metadata.ArtifactKey;
 import org.eclipse.equinox.p2.core.IProvisioningAgent;
 import org.eclipse.equinox.p2.metadata.IArtifactKey;
+import org.eclipse.equinox.p2.metadata.Version;
 import org.eclipse.equinox.p2.repository.artifact.IArtifactDescriptor;
 import org.eclipse.tycho.ArtifactType;
 import org.eclipse.tycho.TychoConstants;
 
+/**
+ * The p2 artifact repository view of the local Maven repository.
+ * <p>
+ * The <code>p2artifacts.xml</code> files of the GAVs listed in the index are only read when they
+ * are first needed: For GAVs of mirrored p2 artifacts (with a groupId starting with
+ * {@value TychoConstants#P2_GROUPID_PREFIX}) the artifact key is known from the GAV itself, so such
+ * a file is only read once its key is accessed. The files of all other GAVs (e.g. installed reactor
+ * projects) are read on the first access to the repository. GAVs whose files have been removed are
+ * pruned from the index in the background.
+ */
 public class LocalArtifactRepository extends ArtifactRepositoryBaseImpl<GAVArtifactDescriptor> {
 
-    private Set<IArtifactKey> descriptorsOnLastSave;
+    /**
+     * Runs the pruning of the index outside of the common pool, as it does file I/O and is waited
+     * for when the repository is saved
+     */
+    private static final Executor PRUNE_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+
+        private AtomicInteger cnt = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r);
+            thread.setName("Tycho-LocalRepository-Prune-Thread-" + cnt.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private final Set<IArtifactKey> descriptorsOnLastSave = ConcurrentHashMap.newKeySet();
     private final LocalRepositoryP2Indices localRepoIndices;
     private final RepositoryReader contentLocator;
     private final Map<IArtifactKey, Lock> downloadLocks = new ConcurrentHashMap<>();
+    private final Map<IArtifactKey, GAV> unloadedP2Gavs = new ConcurrentHashMap<>();
+    private final List<GAV> unloadedOtherGavs = new ArrayList<>();
+    private volatile boolean otherGavsLoaded;
+    private final CompletableFuture<Void> pruning;
 
     public LocalArtifactRepository(IProvisioningAgent agent, LocalRepositoryP2Indices localRepoIndices) {
         this(agent, localRepoIndices, new LocalRepositoryReader(localRepoIndices.getMavenContext()));
@@ -50,50 +91,123 @@ public class LocalArtifactRepository extends ArtifactRepositoryBaseImpl<GAVArtif
         super(agent, localRepoIndices.getBasedir().toURI(), ArtifactTransferPolicies.forLocalArtifacts());
         this.localRepoIndices = localRepoIndices;
         this.contentLocator = contentLocator;
-        loadMaven();
+        Set<GAV> gavs = localRepoIndices.getArtifactsIndex().getProjectGAVs();
+        for (GAV gav : gavs) {
+            IArtifactKey key = toP2ArtifactKey(gav);
+            if (key != null) {
+                unloadedP2Gavs.put(key, gav);
+            } else {
+                unloadedOtherGavs.add(gav);
+            }
+        }
+        this.pruning = CompletableFuture.runAsync(() -> pruneMissing(gavs), PRUNE_EXECUTOR);
     }
 
-    private void loadMaven() {
-        final ArtifactsIO io = new ArtifactsIO();
-        TychoRepositoryIndex index = localRepoIndices.getArtifactsIndex();
+    /**
+     * @return the key of the p2 artifact the GAV was derived from, or <code>null</code> if it is
+     *         not the GAV of a p2 artifact
+     */
+    private static IArtifactKey toP2ArtifactKey(GAV gav) {
+        String groupId = gav.getGroupId();
+        if (!groupId.startsWith(TychoConstants.P2_GROUPID_PREFIX)) {
+            return null;
+        }
+        try {
+            return new ArtifactKey(groupId.substring(TychoConstants.P2_GROUPID_PREFIX.length()), gav.getArtifactId(),
+                    Version.create(gav.getVersion()));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    protected void loadDescriptors(IArtifactKey key) {
+        loadOtherGavs();
+        // the map blocks concurrent access to the key until its descriptors are added
+        unloadedP2Gavs.computeIfPresent(key, (k, gav) -> {
+            loadGav(gav);
+            return null;
+        });
+    }
+
+    @Override
+    protected void loadAllDescriptors() {
+        loadOtherGavs();
+        for (IArtifactKey key : unloadedP2Gavs.keySet()) {
+            loadDescriptors(key);
+        }
+    }
 
-        for (final GAV gav : index.getProjectGAVs()) {
-            try {
-                File localArtifactFileLocation = contentLocator.getLocalArtifactLocation(gav,
-                        TychoConstants.CLASSIFIER_P2_ARTIFACTS, ArtifactType.TYPE_P2_ARTIFACTS);
-                if (localArtifactFileLocation.isFile()) {
-                    try (InputStream is = new FileInputStream(localArtifactFileLocation)) {
-                        final Set<IArtifactDescriptor> gavDescriptors = io.readXML(is);
-                        for (IArtifactDescriptor descriptor : gavDescriptors) {
-                            if (ArtifactTransferPolicy.isCanonicalFormat(descriptor)
-                                    && gav.getGroupId().startsWith(TychoConstants.P2_GROUPID_PREFIX)) {
-                                //we must use the key to get the correct artifact GAV location
-                                GAVArtifactDescriptor copy = new GAVArtifactDescriptor(descriptor.getArtifactKey());
-                                //but retain the properties of the given descriptor
-                                descriptor.getProperties().forEach(copy::setProperty);
-                                copy.setProcessingSteps(descriptor.getProcessingSteps());
-                                copy.setRepository(this);
-                                super.internalAddDescriptor(copy);
-                            } else {
-                                super.internalAddDescriptor(descriptor);
-                            }
+    private void loadOtherGavs() {
+        if (otherGavsLoaded) {
+            return;
+        }
+        synchronized (unloadedOtherGavs) {
+            if (!otherGavsLoaded) {
+                unloadedOtherGavs.forEach(this::loadGav);
+                unloadedOtherGavs.clear();
+                otherGavsLoaded = true;
+            }
+        }
+    }
+
+    private void loadGav(GAV gav) {
+        TychoRepositoryIndex index = localRepoIndices.getArtifactsIndex();
+        try {
+            File localArtifactFileLocation = getP2ArtifactsFile(gav);
+            if (localArtifactFileLocation.isFile()) {
+                final Set<IArtifactDescriptor> gavDescriptors;
+                try (InputStream is = new FileInputStream(localArtifactFileLocation)) {
+                    gavDescriptors = new ArtifactsIO().readXML(is);
+                }
+                // a concurrent save must not see only some of the descriptors of a GAV, it would
+                // overwrite the file with them
+                synchronized (this) {
+                    for (IArtifactDescriptor descriptor : gavDescriptors) {
+                        if (ArtifactTransferPolicy.isCanonicalFormat(descriptor)
+                                && gav.getGroupId().startsWith(TychoConstants.P2_GROUPID_PREFIX)) {
+                            //we must use the key to get the correct artifact GAV location
+                            GAVArtifactDescriptor copy = new GAVArtifactDescriptor(descriptor.getArtifactKey());
+                            //but retain the properties of the given descriptor
+                            descriptor.getProperties().forEach(copy::setProperty);
+                            copy.setProcessingSteps(descriptor.getProcessingSteps());
+                            copy.setRepository(this);
+                            super.internalAddDescriptor(copy);
+                        } else {
+                            super.internalAddDescriptor(descriptor);
                         }
+                        descriptorsOnLastSave.add(descriptor.getArtifactKey());
                     }
-                } else {
-                    // if files have been manually removed from the repository, simply remove them from the index (bug 351080)
-                    index.removeGav(gav);
                 }
-            } catch (IOException e) {
+            } else {
+                // if files have been manually removed from the repository, simply remove them from the index (bug 351080)
+                index.removeGav(gav);
+            }
+        } catch (IOException e) {
+            index.removeGav(gav);
+            localRepoIndices.getMavenContext().getLogger().debug("Cannot read stored metadata", e);
+        }
+    }
+
+    private void pruneMissing(Collection<GAV> gavs) {
+        TychoRepositoryIndex index = localRepoIndices.getArtifactsIndex();
+        for (GAV gav : gavs) {
+            if (!getP2ArtifactsFile(gav).isFile()) {
+                // the descriptors of the GAV could only be read from this file, so nothing is lost
+                // if it is removed from the index before being loaded
                 index.removeGav(gav);
-                localRepoIndices.getMavenContext().getLogger().debug("Cannot read stored metadata", e);
             }
         }
+    }
 
-        descriptorsOnLastSave = currentKeys();
+    private File getP2ArtifactsFile(GAV gav) {
+        return contentLocator.getLocalArtifactLocation(gav, TychoConstants.CLASSIFIER_P2_ARTIFACTS,
+                ArtifactType.TYPE_P2_ARTIFACTS);
     }
 
     public synchronized void save() {
         TychoRepositoryIndex index = localRepoIndices.getArtifactsIndex();
+        pruning.join();
 
         ArtifactsIO io = new ArtifactsIO();
 
@@ -129,9 +243,13 @@ public class LocalArtifactRepository extends ArtifactRepositoryBaseImpl<GAVArtif
             throw new RuntimeException(e);
         }
 
-        descriptorsOnLastSave = new HashSet<>(descriptors);
+        descriptorsOnLastSave.retainAll(descriptors);
+        descriptorsOnLastSave.addAll(descriptors);
     }
 
+    /**
+     * @return the keys of all descriptors that have been loaded or added so far
+     */
     protected HashSet<IArtifactKey> currentKeys() {
         return flattenedValues().map(IArtifactDescriptor::getArtifactKey)
                 .collect(Collectors.toCollection(HashSet::new));
@@ -198,6 +316,7 @@ public class LocalArtifactRepository extends ArtifactRepositoryBaseImpl<GAVArtif
 
     @Override
     public void internalAddDescriptor(IArtifactDescriptor descriptor) {
+        loadDescriptors(descriptor.getArtifactKey());
         super.internalAddDescriptor(descriptor);
         descriptorsOnLastSave.remove(descriptor.getArtifactKey());
     }
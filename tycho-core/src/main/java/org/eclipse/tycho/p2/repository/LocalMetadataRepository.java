@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2011 Sonatype Inc. and others.
+ * Copyright (c) 2008, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -47,6 +47,7 @@ public class LocalMetadataRepository extends AbstractMavenMetadataRepository {
     }
 
     public void addInstallableUnit(IInstallableUnit unit, GAV gav) {
+        ensureLoaded();
         this.units.add(unit);
 
         Set<IInstallableUnit> gavUnits = unitsMap.get(gav);
@@ -60,6 +61,7 @@ public class LocalMetadataRepository extends AbstractMavenMetadataRepository {
     }
 
     public void save() {
+        ensureLoaded();
         File basedir = new File(getLocation());
 
         MetadataIO io = new MetadataIO();
@@ -82,6 +84,9 @@ public class LocalMetadataRepository extends AbstractMavenMetadataRepository {
 
                 try {
                     io.writeXML(gavUnits, file);
+                    if (BINARY_METADATA) {
+                        MetadataBinaryIO.write(gavUnits, file);
+                    }
 
                     metadataIndex.addGav(gav);
                 } catch (IOException e) {
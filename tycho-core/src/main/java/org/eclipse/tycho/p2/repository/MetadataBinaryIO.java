@@ -0,0 +1,585 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2.repository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.equinox.internal.p2.metadata.ArtifactKey;
+import org.eclipse.equinox.p2.metadata.IArtifactKey;
+import org.eclipse.equinox.p2.metadata.ICopyright;
+import org.eclipse.equinox.p2.metadata.IInstallableUnit;
+import org.eclipse.equinox.p2.metadata.IInstallableUnitFragment;
+import org.eclipse.equinox.p2.metadata.IInstallableUnitPatch;
+import org.eclipse.equinox.p2.metadata.ILicense;
+import org.eclipse.equinox.p2.metadata.IProvidedCapability;
+import org.eclipse.equinox.p2.metadata.IRequirement;
+import org.eclipse.equinox.p2.metadata.ITouchpointData;
+import org.eclipse.equinox.p2.metadata.ITouchpointInstruction;
+import org.eclipse.equinox.p2.metadata.ITouchpointType;
+import org.eclipse.equinox.p2.metadata.IUpdateDescriptor;
+import org.eclipse.equinox.p2.metadata.MetadataFactory;
+import org.eclipse.equinox.p2.metadata.MetadataFactory.InstallableUnitDescription;
+import org.eclipse.equinox.p2.metadata.Version;
+import org.eclipse.equinox.p2.metadata.VersionRange;
+import org.eclipse.equinox.p2.metadata.expression.ExpressionUtil;
+import org.eclipse.equinox.p2.metadata.expression.IFilterExpression;
+import org.eclipse.equinox.p2.metadata.expression.IMatchExpression;
+
+/**
+ * Compact binary form of the units of a p2 metadata XML file, stored next to it as
+ * <code>&lt;name&gt;.bin</code>, that can be read without XML parsing.
+ * <p>
+ * All strings are stored once in a table in front of the units and referenced by their index, so
+ * reading the units mostly means decoding integers and equal strings and versions are shared
+ * between all units of the file. The file records size and modification time of the XML file it
+ * was created from and is ignored as soon as the XML file changes, the XML file stays the
+ * authoritative (and interchange) format. Units that use features not supported by this format
+ * (e.g. fragments or patches) are detected by decoding the data again before it is written, for
+ * such files only a marker is stored so that the XML is used without trying again.
+ */
+final class MetadataBinaryIO {
+
+    private static final String SUFFIX = ".bin";
+    private static final int MAGIC = 0x54503242;
+    private static final int FORMAT_VERSION = 1;
+    private static final int NULL = -1;
+    private static final int NOT_SUPPORTED = -1;
+
+    private static final byte TYPE_STRING = 0;
+    private static final byte TYPE_VERSION = 1;
+    private static final byte TYPE_VERSION_RANGE = 2;
+    private static final byte TYPE_FILTER = 3;
+    private static final byte TYPE_BOOLEAN = 4;
+    private static final byte TYPE_INTEGER = 5;
+    private static final byte TYPE_LONG = 6;
+    private static final byte TYPE_DOUBLE = 7;
+    private static final byte TYPE_LIST = 8;
+
+    private MetadataBinaryIO() {
+    }
+
+    static File getBinaryFile(File xmlFile) {
+        return new File(xmlFile.getParentFile(), xmlFile.getName() + SUFFIX);
+    }
+
+    /**
+     * @return the units of the given XML file or <code>null</code> if there is no current binary
+     *         form of it
+     */
+    static Set<IInstallableUnit> read(File xmlFile) {
+        File binaryFile = getBinaryFile(xmlFile);
+        if (!binaryFile.isFile()) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(binaryFile.toPath()));
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || buffer.getLong() != xmlFile.length()
+                    || buffer.getLong() != xmlFile.lastModified()) {
+                return null;
+            }
+            return new Decoder(buffer).readUnits();
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the binary form (or the marker that there is none) is up to date
+     *         with the given XML file
+     */
+    static boolean isCurrent(File xmlFile) {
+        File binaryFile = getBinaryFile(xmlFile);
+        if (!binaryFile.isFile()) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new FileInputStream(binaryFile))) {
+            return in.readInt() == MAGIC && in.readInt() == FORMAT_VERSION && in.readLong() == xmlFile.length()
+                    && in.readLong() == xmlFile.lastModified();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Stores the binary form of the units that have just been written to or read from the given
+     * XML file. Failures are ignored as the XML file can always be read instead.
+     */
+    static void write(Collection<? extends IInstallableUnit> units, File xmlFile) {
+        byte[] body;
+        try {
+            body = encode(units);
+        } catch (IOException | RuntimeException e) {
+            body = null;
+        }
+        File binaryFile = getBinaryFile(xmlFile);
+        try {
+            Path tempFile = Files.createTempFile(xmlFile.getParentFile().toPath(), binaryFile.getName(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(tempFile))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(FORMAT_VERSION);
+                    out.writeLong(xmlFile.length());
+                    out.writeLong(xmlFile.lastModified());
+                    if (body != null) {
+                        out.write(body);
+                    } else {
+                        out.writeInt(0);
+                        out.writeInt(NOT_SUPPORTED);
+                    }
+                }
+                Files.move(tempFile, binaryFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            // a stale binary file is ignored on read anyways
+        }
+    }
+
+    private static byte[] encode(Collection<? extends IInstallableUnit> units) throws IOException {
+        Encoder encoder = new Encoder();
+        for (IInstallableUnit unit : units) {
+            encoder.writeUnit(unit);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        encoder.writeTo(bytes, units.size());
+        byte[] body = bytes.toByteArray();
+        // make sure the units can be restored exactly, otherwise the XML must be used
+        Set<IInstallableUnit> decoded = new Decoder(ByteBuffer.wrap(body)).readUnits();
+        if (decoded == null || decoded.size() != units.size()) {
+            return null;
+        }
+        Iterator<IInstallableUnit> iterator = decoded.iterator();
+        for (IInstallableUnit unit : units) {
+            if (!isSame(unit, iterator.next())) {
+                return null;
+            }
+        }
+        return body;
+    }
+
+    private static boolean isSame(IInstallableUnit a, IInstallableUnit b) {
+        return a.getId().equals(b.getId()) && a.getVersion().equals(b.getVersion())
+                && a.isSingleton() == b.isSingleton() && a.getProperties().equals(b.getProperties())
+                && Objects.equals(a.getFilter(), b.getFilter())
+                && isSame(a.getProvidedCapabilities(), b.getProvidedCapabilities())
+                && isSame(a.getRequirements(), b.getRequirements())
+                && isSame(a.getMetaRequirements(), b.getMetaRequirements())
+                && isSame(a.getArtifacts(), b.getArtifacts())
+                && Objects.equals(a.getTouchpointType(), b.getTouchpointType())
+                && isSame(a.getTouchpointData(), b.getTouchpointData())
+                && isSame(a.getUpdateDescriptor(), b.getUpdateDescriptor())
+                && isSameLicenses(a.getLicenses(), b.getLicenses()) && isSame(a.getCopyright(), b.getCopyright());
+    }
+
+    private static boolean isSame(Collection<?> a, Collection<?> b) {
+        return new ArrayList<>(a).equals(new ArrayList<>(b));
+    }
+
+    private static boolean isSame(IUpdateDescriptor a, IUpdateDescriptor b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return isSame(a.getIUsBeingUpdated(), b.getIUsBeingUpdated()) && a.getSeverity() == b.getSeverity()
+                && Objects.equals(a.getDescription(), b.getDescription())
+                && Objects.equals(a.getLocation(), b.getLocation());
+    }
+
+    private static boolean isSameLicenses(Collection<ILicense> a, Collection<ILicense> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        Iterator<ILicense> iterator = b.iterator();
+        for (ILicense license : a) {
+            ILicense other = iterator.next();
+            if (!Objects.equals(license.getBody(), other.getBody())
+                    || !Objects.equals(license.getLocation(), other.getLocation())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSame(ICopyright a, ICopyright b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return Objects.equals(a.getBody(), b.getBody()) && Objects.equals(a.getLocation(), b.getLocation());
+    }
+
+    private static final class Encoder {
+
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+        private final ByteArrayOutputStream units = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(units);
+
+        void writeTo(OutputStream stream, int unitCount) throws IOException {
+            DataOutputStream data = new DataOutputStream(stream);
+            data.writeInt(strings.size());
+            for (String string : strings.keySet()) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                data.writeInt(bytes.length);
+                data.write(bytes);
+            }
+            data.writeInt(unitCount);
+            out.flush();
+            units.writeTo(data);
+            data.flush();
+        }
+
+        void writeUnit(IInstallableUnit unit) throws IOException {
+            if (unit instanceof IInstallableUnitFragment || unit instanceof IInstallableUnitPatch) {
+                throw new IllegalArgumentException("unsupported unit type: " + unit);
+            }
+            writeString(unit.getId());
+            writeString(unit.getVersion().toString());
+            out.writeBoolean(unit.isSingleton());
+            Map<String, String> properties = unit.getProperties();
+            out.writeInt(properties.size());
+            for (Map.Entry<String, String> property : properties.entrySet()) {
+                writeString(property.getKey());
+                writeString(property.getValue());
+            }
+            writeMatch(unit.getFilter());
+            Collection<IProvidedCapability> capabilities = unit.getProvidedCapabilities();
+            out.writeInt(capabilities.size());
+            for (IProvidedCapability capability : capabilities) {
+                writeString(capability.getNamespace());
+                Map<String, Object> attributes = capability.getAttributes();
+                out.writeInt(attributes.size());
+                for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+                    writeString(attribute.getKey());
+                    writeValue(attribute.getValue());
+                }
+            }
+            writeRequirements(unit.getRequirements());
+            writeRequirements(unit.getMetaRequirements());
+            Collection<IArtifactKey> artifacts = unit.getArtifacts();
+            out.writeInt(artifacts.size());
+            for (IArtifactKey artifact : artifacts) {
+                writeString(artifact.getClassifier());
+                writeString(artifact.getId());
+                writeString(artifact.getVersion().toString());
+            }
+            ITouchpointType touchpointType = unit.getTouchpointType();
+            writeString(touchpointType.getId());
+            writeString(touchpointType.getVersion().toString());
+            Collection<ITouchpointData> touchpointData = unit.getTouchpointData();
+            out.writeInt(touchpointData.size());
+            for (ITouchpointData data : touchpointData) {
+                Map<String, ITouchpointInstruction> instructions = data.getInstructions();
+                out.writeInt(instructions.size());
+                for (Map.Entry<String, ITouchpointInstruction> instruction : instructions.entrySet()) {
+                    writeString(instruction.getKey());
+                    writeString(instruction.getValue().getBody());
+                    writeString(instruction.getValue().getImportAttribute());
+                }
+            }
+            IUpdateDescriptor updateDescriptor = unit.getUpdateDescriptor();
+            if (updateDescriptor == null) {
+                out.writeInt(NULL);
+            } else {
+                Collection<IMatchExpression<IInstallableUnit>> updated = updateDescriptor.getIUsBeingUpdated();
+                out.writeInt(updated.size());
+                for (IMatchExpression<IInstallableUnit> match : updated) {
+                    writeMatch(match);
+                }
+                out.writeInt(updateDescriptor.getSeverity());
+                writeString(updateDescriptor.getDescription());
+                writeURI(updateDescriptor.getLocation());
+            }
+            Collection<ILicense> licenses = unit.getLicenses();
+            out.writeInt(licenses.size());
+            for (ILicense license : licenses) {
+                writeURI(license.getLocation());
+                writeString(license.getBody());
+            }
+            ICopyright copyright = unit.getCopyright();
+            out.writeBoolean(copyright != null);
+            if (copyright != null) {
+                writeURI(copyright.getLocation());
+                writeString(copyright.getBody());
+            }
+        }
+
+        private void writeRequirements(Collection<IRequirement> requirements) throws IOException {
+            out.writeInt(requirements.size());
+            for (IRequirement requirement : requirements) {
+                writeMatch(requirement.getMatches());
+                writeMatch(requirement.getFilter());
+                out.writeInt(requirement.getMin());
+                out.writeInt(requirement.getMax());
+                out.writeBoolean(requirement.isGreedy());
+                writeString(requirement.getDescription());
+            }
+        }
+
+        private void writeMatch(IMatchExpression<IInstallableUnit> match) throws IOException {
+            if (match == null) {
+                writeString(null);
+                return;
+            }
+            writeString(ExpressionUtil.getOperand(match).toString());
+            Object[] parameters = match.getParameters();
+            out.writeInt(parameters.length);
+            for (Object parameter : parameters) {
+                writeValue(parameter);
+            }
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value instanceof String string) {
+                out.writeByte(TYPE_STRING);
+                writeString(string);
+            } else if (value instanceof Version version) {
+                out.writeByte(TYPE_VERSION);
+                writeString(version.toString());
+            } else if (value instanceof VersionRange range) {
+                out.writeByte(TYPE_VERSION_RANGE);
+                writeString(range.toString());
+            } else if (value instanceof IFilterExpression filter) {
+                out.writeByte(TYPE_FILTER);
+                writeString(filter.toString());
+            } else if (value instanceof Boolean bool) {
+                out.writeByte(TYPE_BOOLEAN);
+                out.writeBoolean(bool);
+            } else if (value instanceof Integer integer) {
+                out.writeByte(TYPE_INTEGER);
+                out.writeInt(integer);
+            } else if (value instanceof Long number) {
+                out.writeByte(TYPE_LONG);
+                out.writeLong(number);
+            } else if (value instanceof Double number) {
+                out.writeByte(TYPE_DOUBLE);
+                out.writeDouble(number);
+            } else if (value instanceof List<?> list) {
+                out.writeByte(TYPE_LIST);
+                out.writeInt(list.size());
+                for (Object element : list) {
+                    writeValue(element);
+                }
+            } else {
+                throw new IllegalArgumentException("unsupported value: " + value);
+            }
+        }
+
+        private void writeURI(URI uri) throws IOException {
+            writeString(uri == null ? null : uri.toString());
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(NULL);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index == null) {
+                index = strings.size();
+                strings.put(value, index);
+            }
+            out.writeInt(index);
+        }
+    }
+
+    private static final class Decoder {
+
+        private final ByteBuffer buffer;
+        private String[] strings;
+        private Version[] versions;
+
+        Decoder(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * @return the units or <code>null</code> if the file only marks that they are not supported
+         */
+        Set<IInstallableUnit> readUnits() {
+            int stringCount = buffer.getInt();
+            strings = new String[stringCount];
+            versions = new Version[stringCount];
+            for (int i = 0; i < stringCount; i++) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            int unitCount = buffer.getInt();
+            if (unitCount == NOT_SUPPORTED) {
+                return null;
+            }
+            Set<IInstallableUnit> units = new LinkedHashSet<>();
+            for (int i = 0; i < unitCount; i++) {
+                units.add(readUnit());
+            }
+            return units;
+        }
+
+        private IInstallableUnit readUnit() {
+            InstallableUnitDescription description = new InstallableUnitDescription();
+            description.setId(readString());
+            description.setVersion(readVersion());
+            description.setSingleton(readBoolean());
+            int propertyCount = buffer.getInt();
+            for (int i = 0; i < propertyCount; i++) {
+                description.setProperty(readString(), readString());
+            }
+            description.setFilter(readMatch());
+            IProvidedCapability[] capabilities = new IProvidedCapability[buffer.getInt()];
+            for (int i = 0; i < capabilities.length; i++) {
+                String namespace = readString();
+                int attributeCount = buffer.getInt();
+                Map<String, Object> attributes = new LinkedHashMap<>();
+                for (int j = 0; j < attributeCount; j++) {
+                    attributes.put(readString(), readValue());
+                }
+                capabilities[i] = MetadataFactory.createProvidedCapability(namespace, attributes);
+            }
+            description.setCapabilities(capabilities);
+            description.setRequirements(readRequirements());
+            description.setMetaRequirements(readRequirements());
+            IArtifactKey[] artifacts = new IArtifactKey[buffer.getInt()];
+            for (int i = 0; i < artifacts.length; i++) {
+                artifacts[i] = new ArtifactKey(readString(), readString(), readVersion());
+            }
+            description.setArtifacts(artifacts);
+            description.setTouchpointType(MetadataFactory.createTouchpointType(readString(), readVersion()));
+            int touchpointDataCount = buffer.getInt();
+            for (int i = 0; i < touchpointDataCount; i++) {
+                int instructionCount = buffer.getInt();
+                Map<String, ITouchpointInstruction> instructions = new LinkedHashMap<>();
+                for (int j = 0; j < instructionCount; j++) {
+                    String key = readString();
+                    instructions.put(key, MetadataFactory.createTouchpointInstruction(readString(), readString()));
+                }
+                description.addTouchpointData(MetadataFactory.createTouchpointData(instructions));
+            }
+            int updatedCount = buffer.getInt();
+            if (updatedCount != NULL) {
+                List<IMatchExpression<IInstallableUnit>> updated = new ArrayList<>(updatedCount);
+                for (int i = 0; i < updatedCount; i++) {
+                    updated.add(readMatch());
+                }
+                int severity = buffer.getInt();
+                String updateDescription = readString();
+                description.setUpdateDescriptor(
+                        MetadataFactory.createUpdateDescriptor(updated, severity, updateDescription, readURI()));
+            }
+            ILicense[] licenses = new ILicense[buffer.getInt()];
+            for (int i = 0; i < licenses.length; i++) {
+                URI location = readURI();
+                licenses[i] = MetadataFactory.createLicense(location, readString());
+            }
+            description.setLicenses(licenses);
+            if (readBoolean()) {
+                URI location = readURI();
+                description.setCopyright(MetadataFactory.createCopyright(location, readString()));
+            }
+            return MetadataFactory.createInstallableUnit(description);
+        }
+
+        private IRequirement[] readRequirements() {
+            IRequirement[] requirements = new IRequirement[buffer.getInt()];
+            for (int i = 0; i < requirements.length; i++) {
+                IMatchExpression<IInstallableUnit> matches = readMatch();
+                IMatchExpression<IInstallableUnit> filter = readMatch();
+                int min = buffer.getInt();
+                int max = buffer.getInt();
+                boolean greedy = readBoolean();
+                requirements[i] = MetadataFactory.createRequirement(matches, filter, min, max, greedy, readString());
+            }
+            return requirements;
+        }
+
+        private IMatchExpression<IInstallableUnit> readMatch() {
+            String expression = readString();
+            if (expression == null) {
+                return null;
+            }
+            Object[] parameters = new Object[buffer.getInt()];
+            for (int i = 0; i < parameters.length; i++) {
+                parameters[i] = readValue();
+            }
+            return ExpressionUtil.getFactory().<IInstallableUnit> matchExpression(ExpressionUtil.parse(expression),
+                    parameters);
+        }
+
+        private Object readValue() {
+            byte type = buffer.get();
+            return switch (type) {
+            case TYPE_STRING -> readString();
+            case TYPE_VERSION -> readVersion();
+            case TYPE_VERSION_RANGE -> new VersionRange(readString());
+            case TYPE_FILTER -> ExpressionUtil.parseLDAP(readString());
+            case TYPE_BOOLEAN -> readBoolean();
+            case TYPE_INTEGER -> buffer.getInt();
+            case TYPE_LONG -> buffer.getLong();
+            case TYPE_DOUBLE -> buffer.getDouble();
+            case TYPE_LIST -> {
+                int size = buffer.getInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue());
+                }
+                yield list;
+            }
+            default -> throw new IllegalStateException("unknown value type " + type);
+            };
+        }
+
+        private boolean readBoolean() {
+            return buffer.get() != 0;
+        }
+
+        private URI readURI() {
+            String uri = readString();
+            return uri == null ? null : URI.create(uri);
+        }
+
+        private String readString() {
+            int index = buffer.getInt();
+            return index == NULL ? null : strings[index];
+        }
+
+        private Version readVersion() {
+            int index = buffer.getInt();
+            Version version = versions[index];
+            if (version == null) {
+                version = Version.create(strings[index]);
+                versions[index] = version;
+            }
+            return version;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2023 SAP SE and others.
+ * Copyright (c) 2012, 2026 SAP SE and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -20,11 +20,19 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 
 import org.apache.commons.codec.digest.DigestUtils;
@@ -74,6 +82,29 @@ import org.eclipse.tycho.core.shared.MultiLineLogger;
  */
 public class MirroringArtifactProvider implements IRawArtifactFileProvider {
 
+    private static final int MAX_PREFETCH_THREADS = Math.max(1,
+            Integer.getInteger("tycho.p2.transport.max-prefetch-threads", 4));
+
+    /**
+     * Threads that mirror prefetched artifacts into the local repository. These are platform
+     * threads because mirroring waits in synchronized code (e.g. while a lazy repository is loaded)
+     * where virtual threads would pin their carrier thread; only the HTTP transfers themselves run
+     * on the virtual threads of the transport.
+     */
+    private static final Executor PREFETCH_EXECUTOR = Executors.newFixedThreadPool(MAX_PREFETCH_THREADS,
+            new ThreadFactory() {
+
+                private AtomicInteger cnt = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r);
+                    thread.setName("Tycho-Prefetch-Thread-" + cnt.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
     protected final MavenLogger logger;
     protected final MavenLogger splittingLogger;
 
@@ -83,6 +114,10 @@ public class MirroringArtifactProvider implements IRawArtifactFileProvider {
     protected final IProgressMonitor monitor;
     private MavenContext mavenContext;
     private IArtifactRepository shaddowRepository;
+    /**
+     * Downloads started by {@link #prefetch(Collection)} that were not yet requested.
+     */
+    private final Map<IArtifactKey, CompletableFuture<Boolean>> prefetched = new ConcurrentHashMap<>();
 
     /**
      * Creates a new {@link MirroringArtifactProvider} instance.
@@ -192,6 +227,35 @@ public class MirroringArtifactProvider implements IRawArtifactFileProvider {
         return localArtifactRepository.contains(descriptor) || remoteProviders.contains(descriptor);
     }
 
+    /**
+     * Submits all given artifacts to the prefetch threads, so that they are downloaded in parallel
+     * instead of one by one when they are requested. Requests for an
+     * artifact wait for its prefetch; a failed prefetch is simply attempted again by the request,
+     * so that errors are reported to the caller that actually needs the artifact.
+     */
+    @Override
+    public void prefetch(Collection<IArtifactKey> keys) {
+        if (mavenContext.isOffline()) {
+            return;
+        }
+        for (IArtifactKey key : keys) {
+            prefetched.computeIfAbsent(key,
+                    k -> CompletableFuture.supplyAsync(() -> makeLocallyAvailableNow(k), PREFETCH_EXECUTOR));
+        }
+    }
+
+    private boolean makeLocallyAvailable(IArtifactKey key) throws MirroringFailedException {
+        CompletableFuture<Boolean> prefetch = prefetched.remove(key);
+        if (prefetch != null) {
+            try {
+                return prefetch.join();
+            } catch (CompletionException e) {
+                logger.debug("Prefetching artifact " + key + " failed, trying again: " + e.getCause());
+            }
+        }
+        return makeLocallyAvailableNow(key);
+    }
+
     /**
      * Downloads the artifact from remote if it isn't available locally yet.
      *
@@ -200,7 +264,7 @@ public class MirroringArtifactProvider implements IRawArtifactFileProvider {
      * @throws MirroringFailedException
      *             if a fatal error occurred while downloading the artifact.
      */
-    private boolean makeLocallyAvailable(IArtifactKey key) throws MirroringFailedException {
+    private boolean makeLocallyAvailableNow(IArtifactKey key) throws MirroringFailedException {
         try {
             boolean isAvailable = makeOneFormatLocallyAvailable(key);
 
@@ -222,7 +286,7 @@ public class MirroringArtifactProvider implements IRawArtifactFileProvider {
                     TimeUnit.MILLISECONDS.sleep(100);
                 } catch (InterruptedException e1) {
                 }
-                return makeLocallyAvailable(key);
+                return makeLocallyAvailableNow(key);
             }
             throw new MirroringFailedException(
                     "Error while mirroring artifact " + key + " to the local Maven repository" + e.getMessage(), e);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2022 Sonatype Inc. and others.
+ * Copyright (c) 2008, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -46,11 +46,15 @@ import org.eclipse.equinox.p2.query.IQueryable;
 import org.eclipse.tycho.core.shared.MavenLogger;
 import org.eclipse.tycho.helper.StatusTool;
 import org.eclipse.tycho.p2.resolver.ResolverException;
-import org.eclipse.tycho.p2tools.copiedfromp2.QueryableArray;
 import org.eclipse.tycho.p2tools.copiedfromp2.Slicer;
 
 abstract class AbstractSlicerResolutionStrategy extends AbstractResolutionStrategy {
 
+    /**
+     * Seed units generated by the last {@link #slice(Map, List, IProgressMonitor)} call
+     */
+    protected final List<IInstallableUnit> generatedSeedUnits = new ArrayList<>();
+
     protected AbstractSlicerResolutionStrategy(MavenLogger logger) {
         super(logger);
     }
@@ -78,23 +82,32 @@ abstract class AbstractSlicerResolutionStrategy extends AbstractResolutionStrate
             }
         }
 
-        Set<IInstallableUnit> availableIUs = new LinkedHashSet<>(data.getAvailableIUs());
-        availableIUs.addAll(data.getEEResolutionHints().getTemporaryAdditions());
-        availableIUs.addAll(data.getEEResolutionHints().getMandatoryUnits());
-        availableIUs.addAll(additionalUnits);
+        // the available units are usually backed by the shared index of the target platform, only
+        // the few units added for this resolution are indexed separately
+        Set<IInstallableUnit> overlayIUs = new LinkedHashSet<>(data.getEEResolutionHints().getTemporaryAdditions());
+        overlayIUs.addAll(data.getEEResolutionHints().getMandatoryUnits());
+        overlayIUs.addAll(additionalUnits);
 
         Set<IInstallableUnit> seedIUs = new LinkedHashSet<>(data.getRootIUs());
+        generatedSeedUnits.clear();
         if (data.getAdditionalRequirements() != null && !data.getAdditionalRequirements().isEmpty()) {
-            seedIUs.add(createUnitRequiring("tycho-extra", null, data.getAdditionalRequirements()));
+            IInstallableUnit extraUnit = createUnitRequiring("tycho-extra", null, data.getAdditionalRequirements());
+            generatedSeedUnits.add(extraUnit);
+            seedIUs.add(extraUnit);
         }
 
         // make sure profile UIs are part of the slice
         seedIUs.addAll(data.getEEResolutionHints().getMandatoryUnits());
         if (!data.getEEResolutionHints().getMandatoryRequires().isEmpty()) {
-            seedIUs.add(createUnitRequiring("tycho-ee", null, data.getEEResolutionHints().getMandatoryRequires()));
+            IInstallableUnit eeUnit = createUnitRequiring("tycho-ee", null,
+                    data.getEEResolutionHints().getMandatoryRequires());
+            generatedSeedUnits.add(eeUnit);
+            seedIUs.add(eeUnit);
         }
 
-        IQueryable<IInstallableUnit> baseIUCollection = new QueryableArray(availableIUs, false);
+        IQueryable<IInstallableUnit> availableIUs = data.getAvailableIUsQueryable();
+        IQueryable<IInstallableUnit> baseIUCollection = overlayIUs.isEmpty() ? availableIUs
+                : new OverlayQueryable(availableIUs, overlayIUs);
         Slicer slicer = newSlicer((query, monitor1) -> {
 //
             IQueryResult<IInstallableUnit> queryResult = baseIUCollection.query(query, monitor1);
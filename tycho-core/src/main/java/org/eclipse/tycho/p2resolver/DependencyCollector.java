@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2012 Sonatype Inc. and others.
+ * Copyright (c) 2008, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -30,7 +30,6 @@ import org.eclipse.equinox.p2.query.IQueryable;
 import org.eclipse.equinox.p2.query.QueryUtil;
 import org.eclipse.tycho.core.shared.MavenLogger;
 import org.eclipse.tycho.p2.publisher.FeatureDependenciesAction;
-import org.eclipse.tycho.p2tools.copiedfromp2.QueryableArray;
 
 public class DependencyCollector extends AbstractResolutionStrategy {
 
@@ -51,7 +50,7 @@ public class DependencyCollector extends AbstractResolutionStrategy {
 
         result.addAll(data.getRootIUs());
 
-        IQueryable<IInstallableUnit> availableUIsQueryable = new QueryableArray(data.getAvailableIUs(), false);
+        IQueryable<IInstallableUnit> availableUIsQueryable = data.getAvailableIUsQueryable();
         for (IInstallableUnit iu : data.getRootIUs()) {
             collectIncludedIUs(availableUIsQueryable, result, errors, iu, true, monitor);
         }
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2resolver;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+
+import org.eclipse.equinox.internal.p2.metadata.InstallableUnit;
+import org.eclipse.equinox.internal.p2.metadata.TranslationSupport;
+import org.eclipse.equinox.internal.p2.metadata.index.CapabilityIndex;
+import org.eclipse.equinox.internal.p2.metadata.index.IdIndex;
+import org.eclipse.equinox.internal.p2.metadata.index.IndexProvider;
+import org.eclipse.equinox.p2.metadata.IInstallableUnit;
+import org.eclipse.equinox.p2.metadata.KeyWithLocale;
+import org.eclipse.equinox.p2.metadata.index.IIndex;
+
+/**
+ * Indexed view of a fixed set of installable units that can be shared by all resolutions against a
+ * target platform. In contrast to a {@link org.eclipse.tycho.p2tools.copiedfromp2.QueryableArray}
+ * the capability and id index are only built once and can then be read concurrently without
+ * locking.
+ */
+final class InstallableUnitIndex extends IndexProvider<IInstallableUnit> {
+
+    private final Collection<IInstallableUnit> units;
+    private volatile IIndex<IInstallableUnit> capabilityIndex;
+    private volatile IIndex<IInstallableUnit> idIndex;
+    private TranslationSupport translationSupport;
+
+    /**
+     * @param units
+     *            the units of the index, must not be modified afterwards
+     */
+    InstallableUnitIndex(Collection<IInstallableUnit> units) {
+        this.units = Collections.unmodifiableCollection(units);
+    }
+
+    @Override
+    public Iterator<IInstallableUnit> everything() {
+        return units.iterator();
+    }
+
+    @Override
+    public boolean contains(IInstallableUnit element) {
+        return units.contains(element);
+    }
+
+    @Override
+    public IIndex<IInstallableUnit> getIndex(String memberName) {
+        if (InstallableUnit.MEMBER_PROVIDED_CAPABILITIES.equals(memberName)) {
+            IIndex<IInstallableUnit> index = capabilityIndex;
+            if (index == null) {
+                synchronized (this) {
+                    index = capabilityIndex;
+                    if (index == null) {
+                        capabilityIndex = index = new CapabilityIndex(units.iterator());
+                    }
+                }
+            }
+            return index;
+        }
+        if (InstallableUnit.MEMBER_ID.equals(memberName)) {
+            IIndex<IInstallableUnit> index = idIndex;
+            if (index == null) {
+                synchronized (this) {
+                    index = idIndex;
+                    if (index == null) {
+                        idIndex = index = new IdIndex(units.iterator());
+                    }
+                }
+            }
+            return index;
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized Object getManagedProperty(Object client, String memberName, Object key) {
+        if (!(client instanceof IInstallableUnit iu)) {
+            return null;
+        }
+        if (InstallableUnit.MEMBER_TRANSLATED_PROPERTIES.equals(memberName)) {
+            if (translationSupport == null) {
+                translationSupport = new TranslationSupport(this);
+            }
+            return key instanceof KeyWithLocale keyWithLocale ? translationSupport.getIUProperty(iu, keyWithLocale)
+                    : translationSupport.getIUProperty(iu, key.toString());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2resolver;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.equinox.p2.core.ProvisionException;
+import org.eclipse.equinox.p2.repository.IRepository;
+import org.eclipse.equinox.p2.repository.IRepositoryReference;
+import org.eclipse.equinox.p2.repository.metadata.IMetadataRepository;
+import org.eclipse.equinox.p2.repository.metadata.IMetadataRepositoryManager;
+import org.eclipse.tycho.MavenRepositoryLocation;
+import org.eclipse.tycho.core.shared.DuplicateFilteringLoggingProgressMonitor;
+import org.eclipse.tycho.core.shared.MavenLogger;
+
+/**
+ * Loads a set of p2 metadata repositories, and optionally the metadata repositories referenced by
+ * them, concurrently on a bounded executor. Repositories are de-duplicated by their normalized
+ * {@link URI} and the result is always reported in the order a sequential depth-first traversal of
+ * the given locations would have produced.
+ */
+class MetadataRepositoryLoader {
+
+    private static final int MAX_LOAD_THREADS = Integer.getInteger("tycho.p2.metadata.max-load-threads", 4);
+
+    private static final Executor LOAD_EXECUTOR = MAX_LOAD_THREADS > 1
+            ? Executors.newFixedThreadPool(MAX_LOAD_THREADS, new ThreadFactory() {
+
+                private AtomicInteger cnt = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r);
+                    thread.setName("Tycho-Metadata-Loader-Thread-" + cnt.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            })
+            : Runnable::run;
+
+    private final IMetadataRepositoryManager repositoryManager;
+    private final MavenLogger logger;
+    private final boolean includeReferences;
+    private final Executor executor;
+    private final Map<URI, RepositoryNode> nodes = new ConcurrentHashMap<>();
+
+    MetadataRepositoryLoader(IMetadataRepositoryManager repositoryManager, MavenLogger logger,
+            boolean includeReferences) {
+        this(repositoryManager, logger, includeReferences, LOAD_EXECUTOR);
+    }
+
+    MetadataRepositoryLoader(IMetadataRepositoryManager repositoryManager, MavenLogger logger,
+            boolean includeReferences, Executor executor) {
+        this.repositoryManager = repositoryManager;
+        this.logger = logger;
+        this.includeReferences = includeReferences;
+        this.executor = executor;
+    }
+
+    /**
+     * Loads the given locations (and their references if requested).
+     *
+     * @param locations
+     *            the top-level repositories to load
+     * @param metadataRepositories
+     *            receives the loaded repositories in depth-first order
+     * @param artifactRepositories
+     *            receives the artifact repository locations, mapped to <code>true</code> if they
+     *            were only discovered as a reference
+     * @throws RuntimeException
+     *             if one of the top-level repositories can't be loaded
+     */
+    void load(Collection<MavenRepositoryLocation> locations, List<IMetadataRepository> metadataRepositories,
+            Map<URI, Boolean> artifactRepositories) {
+        List<RepositoryNode> roots = new ArrayList<>();
+        for (MavenRepositoryLocation location : locations) {
+            roots.add(schedule(location));
+        }
+        Set<URI> visited = new HashSet<>();
+        Iterator<RepositoryNode> nodeIterator = roots.iterator();
+        for (MavenRepositoryLocation location : locations) {
+            RepositoryNode node = nodeIterator.next();
+            artifactRepositories.put(location.getURL(), false);
+            if (!visited.add(node.key)) {
+                continue;
+            }
+            try {
+                node.await();
+            } catch (ProvisionException e) {
+                String idMessage = location.getId() == null ? "" : " with ID '" + location.getId() + "'";
+                throw new RuntimeException(
+                        "Failed to load p2 repository" + idMessage + " from location " + location.getURL(), e);
+            }
+            collect(node, visited, metadataRepositories, artifactRepositories);
+        }
+    }
+
+    private void collect(RepositoryNode node, Set<URI> visited, List<IMetadataRepository> metadataRepositories,
+            Map<URI, Boolean> artifactRepositories) {
+        metadataRepositories.add(node.repository);
+        for (Object reference : node.references) {
+            if (reference instanceof RepositoryNode child) {
+                if (!visited.add(child.key)) {
+                    continue;
+                }
+                try {
+                    child.await();
+                } catch (ProvisionException e) {
+                    logger.warn("Loading referenced repository failed: " + e.getMessage(),
+                            logger.isDebugEnabled() ? e : null);
+                    continue;
+                }
+                collect(child, visited, metadataRepositories, artifactRepositories);
+            } else if (reference instanceof URI uri) {
+                artifactRepositories.putIfAbsent(uri, true);
+            }
+        }
+    }
+
+    private RepositoryNode schedule(MavenRepositoryLocation location) {
+        URI key = location.getURL().normalize();
+        RepositoryNode node = new RepositoryNode(key, location);
+        RepositoryNode existing = nodes.putIfAbsent(key, node);
+        if (existing != null) {
+            return existing;
+        }
+        executor.execute(() -> node.load());
+        return node;
+    }
+
+    private final class RepositoryNode {
+
+        private final URI key;
+        private final MavenRepositoryLocation location;
+        private final CompletableFuture<RepositoryNode> loaded = new CompletableFuture<>();
+        /**
+         * the enabled references of the repository in declaration order, either a
+         * {@link RepositoryNode} for a metadata reference or an {@link URI} for an artifact
+         * reference
+         */
+        private final List<Object> references = new ArrayList<>();
+        private IMetadataRepository repository;
+
+        RepositoryNode(URI key, MavenRepositoryLocation location) {
+            this.key = key;
+            this.location = location;
+        }
+
+        void load() {
+            long start = System.nanoTime();
+            try {
+                repository = repositoryManager.loadRepository(location.getURL(),
+                        new DuplicateFilteringLoggingProgressMonitor(logger));
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Loaded metadata repository " + location.getURL() + " in "
+                            + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+                }
+                if (includeReferences) {
+                    for (IRepositoryReference reference : repository.getReferences()) {
+                        if (reference.isEnabled()) {
+                            URI uri = reference.getLocation();
+                            if (reference.getType() == IRepository.TYPE_METADATA) {
+                                references.add(schedule(new MavenRepositoryLocation(reference.getNickname(), uri)));
+                            } else if (reference.getType() == IRepository.TYPE_ARTIFACT) {
+                                references.add(uri);
+                            }
+                        }
+                    }
+                }
+                loaded.complete(this);
+            } catch (ProvisionException | RuntimeException e) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Loading metadata repository " + location.getURL() + " failed after "
+                            + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+                }
+                loaded.completeExceptionally(e);
+            }
+        }
+
+        void await() throws ProvisionException {
+            try {
+                loaded.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while loading " + location.getURL(), e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof ProvisionException pe) {
+                    throw pe;
+                }
+                if (cause instanceof RuntimeException re) {
+                    throw re;
+                }
+                throw new RuntimeException(cause);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2resolver;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.equinox.p2.metadata.IInstallableUnit;
+import org.eclipse.equinox.p2.query.CollectionResult;
+import org.eclipse.equinox.p2.query.IQuery;
+import org.eclipse.equinox.p2.query.IQueryResult;
+import org.eclipse.equinox.p2.query.IQueryable;
+import org.eclipse.equinox.p2.query.QueryUtil;
+import org.eclipse.tycho.p2tools.copiedfromp2.QueryableArray;
+
+/**
+ * Queryable of a (usually large and shared) base and a small set of additional units, e.g. the
+ * project specific units added to the units of the target platform. This allows to use the index
+ * of the base without copying and indexing all its units again.
+ */
+final class OverlayQueryable implements IQueryable<IInstallableUnit> {
+
+    private final IQueryable<IInstallableUnit> base;
+    private final IQueryable<IInstallableUnit> overlay;
+
+    OverlayQueryable(IQueryable<IInstallableUnit> base, Collection<IInstallableUnit> additionalUnits) {
+        this.base = base;
+        this.overlay = new QueryableArray(additionalUnits);
+    }
+
+    @Override
+    public IQueryResult<IInstallableUnit> query(IQuery<IInstallableUnit> query, IProgressMonitor monitor) {
+        if (QueryUtil.isMatchQuery(query)) {
+            // the result of a match query only depends on each unit itself, so both parts can be
+            // queried separately
+            IQueryResult<IInstallableUnit> baseResult = base.query(query, monitor);
+            IQueryResult<IInstallableUnit> overlayResult = overlay.query(query, monitor);
+            if (overlayResult.isEmpty()) {
+                return baseResult;
+            }
+            if (baseResult.isEmpty()) {
+                return overlayResult;
+            }
+            Set<IInstallableUnit> result = new LinkedHashSet<>(baseResult.toUnmodifiableSet());
+            result.addAll(overlayResult.toUnmodifiableSet());
+            return new CollectionResult<>(result);
+        }
+        // other queries (e.g. for the latest version) must see all units at once
+        return query.perform(everything(monitor));
+    }
+
+    private Iterator<IInstallableUnit> everything(IProgressMonitor monitor) {
+        Set<IInstallableUnit> units = new LinkedHashSet<>(base.query(QueryUtil.ALL_UNITS, monitor).toUnmodifiableSet());
+        units.addAll(overlay.query(QueryUtil.ALL_UNITS, monitor).toUnmodifiableSet());
+        return units.iterator();
+    }
+}
@@ -27,9 +27,17 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import org.apache.felix.resolver.util.CopyOnWriteSet;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -72,13 +80,29 @@ import org.eclipse.tycho.p2.resolver.ResolverException;
 import org.eclipse.tycho.p2.target.facade.TargetPlatformConfigurationStub;
 import org.eclipse.tycho.p2.target.facade.TargetPlatformFactory;
 import org.eclipse.tycho.p2maven.tmp.BundlesAction;
-import org.eclipse.tycho.p2tools.copiedfromp2.QueryableArray;
 import org.eclipse.tycho.p2tools.copiedfromp2.Slicer;
 import org.eclipse.tycho.targetplatform.P2TargetPlatform;
 import org.eclipse.tycho.version.TychoVersion;
 
 public class P2ResolverImpl implements P2Resolver {
 
+    private static final int MAX_RESOLVE_THREADS = Integer.getInteger("tycho.p2.resolver.max-threads", 4);
+
+    private static final Executor RESOLVE_EXECUTOR = MAX_RESOLVE_THREADS > 1
+            ? Executors.newFixedThreadPool(MAX_RESOLVE_THREADS, new ThreadFactory() {
+
+                private AtomicInteger cnt = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r);
+                    thread.setName("Tycho-Resolver-Thread-" + cnt.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            })
+            : Runnable::run;
+
     private final MavenLogger logger;
 
     private final IProgressMonitor monitor;
@@ -108,21 +132,26 @@ public class P2ResolverImpl implements P2Resolver {
             ReactorProject project) {
         P2TargetPlatform targetPlatform = getTargetFromContext(context);
 
-        // we need a linked hashmap to maintain iteration-order, some of the code relies on it!
-        Map<TargetEnvironment, P2ResolutionResult> results = new LinkedHashMap<>();
-        Set<IInstallableUnit> usedTargetPlatformUnits = new LinkedHashSet<>();
+        Map<TargetEnvironment, Set<IInstallableUnit>> usedUnitsPerEnvironment = new HashMap<>();
+        for (TargetEnvironment environment : environments) {
+            usedUnitsPerEnvironment.put(environment, new LinkedHashSet<>());
+        }
         Set<IInstallableUnit> usedShadowedUnits = new CopyOnWriteSet<>();
+        ReusableSolutions reusableSolutions = new ReusableSolutions();
+        Map<TargetEnvironment, P2ResolutionResult> results = resolveForEachEnvironment(
+                environment -> resolveDependencies(Collections.emptySet(), project,
+                        new ProjectorResolutionStrategy(logger, reusableSolutions) {
+                            @Override
+                            protected Slicer newSlicer(IQueryable<IInstallableUnit> availableUnits,
+                                    Map<String, String> properties) {
+                                return super.newSlicer(
+                                        new ShadowedUnitsQueryable(targetPlatform, availableUnits, usedShadowedUnits),
+                                        properties);
+                            }
+                        }, environment, targetPlatform, usedUnitsPerEnvironment.get(environment)));
+        Set<IInstallableUnit> usedTargetPlatformUnits = new LinkedHashSet<>();
         for (TargetEnvironment environment : environments) {
-            results.put(environment,
-                    resolveDependencies(Collections.emptySet(), project, new ProjectorResolutionStrategy(logger) {
-                        @Override
-                        protected Slicer newSlicer(IQueryable<IInstallableUnit> availableUnits,
-                                Map<String, String> properties) {
-                            return super.newSlicer(
-                                    new ShadowedUnitsQueryable(targetPlatform, availableUnits, usedShadowedUnits),
-                                    properties);
-                        }
-                    }, environment, targetPlatform, usedTargetPlatformUnits));
+            usedTargetPlatformUnits.addAll(usedUnitsPerEnvironment.get(environment));
         }
         targetPlatform.reportUsedLocalIUs(usedTargetPlatformUnits);
         for (IInstallableUnit unit : usedShadowedUnits) {
@@ -137,7 +166,7 @@ public class P2ResolverImpl implements P2Resolver {
             Collection<? extends ArtifactKey> artifacts) {
         P2TargetPlatform targetPlatform = getTargetFromContext(context);
         Collection<IInstallableUnit> roots = new ArrayList<>();
-        IQueryable<IInstallableUnit> queriable = new QueryableArray(targetPlatform.getInstallableUnits());
+        IQueryable<IInstallableUnit> queriable = targetPlatform.getInstallableUnitIndex();
         for (ArtifactKey artifactKey : artifacts) {
             VersionRange range = new VersionRange(artifactKey.getVersion());
             IQuery<IInstallableUnit> query = ArtifactTypeHelper.createQueryFor(artifactKey.getType(),
@@ -145,10 +174,45 @@ public class P2ResolverImpl implements P2Resolver {
             IQueryResult<IInstallableUnit> result = queriable.query(QueryUtil.createLatestQuery(query), monitor);
             roots.addAll(result.toUnmodifiableSet());
         }
+        ReusableSolutions reusableSolutions = new ReusableSolutions();
+        return resolveForEachEnvironment(environment -> resolveDependencies(roots, null,
+                new ProjectorResolutionStrategy(logger, reusableSolutions), environment, targetPlatform, null));
+    }
+
+    /**
+     * Resolves each of the {@link #environments} concurrently, the result is in the order of the
+     * environments.
+     */
+    Map<TargetEnvironment, P2ResolutionResult> resolveForEachEnvironment(
+            Function<TargetEnvironment, P2ResolutionResult> resolver) {
+        // we need a linked hashmap to maintain iteration-order, some of the code relies on it!
         Map<TargetEnvironment, P2ResolutionResult> results = new LinkedHashMap<>();
-        for (TargetEnvironment environment : environments) {
-            results.put(environment, resolveDependencies(roots, null, new ProjectorResolutionStrategy(logger),
-                    environment, targetPlatform, null));
+        if (environments.size() < 2) {
+            for (TargetEnvironment environment : environments) {
+                results.put(environment, resolver.apply(environment));
+            }
+            return results;
+        }
+        Map<TargetEnvironment, CompletableFuture<P2ResolutionResult>> futures = new LinkedHashMap<>();
+        for (TargetEnvironment environment : environments.subList(1, environments.size())) {
+            futures.put(environment,
+                    CompletableFuture.supplyAsync(() -> resolver.apply(environment), RESOLVE_EXECUTOR));
+        }
+        // the calling thread takes the first environment instead of waiting idle
+        TargetEnvironment first = environments.get(0);
+        results.put(first, resolver.apply(first));
+        for (Entry<TargetEnvironment, CompletableFuture<P2ResolutionResult>> entry : futures.entrySet()) {
+            try {
+                results.put(entry.getKey(), entry.getValue().join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
         }
         return results;
     }
@@ -160,7 +224,7 @@ public class P2ResolverImpl implements P2Resolver {
                 eeConfig, null);
 
         ResolutionDataImpl data = new ResolutionDataImpl(contextImpl.getEEResolutionHints());
-        data.setAvailableIUs(contextImpl.getInstallableUnits());
+        data.setAvailableIUs(contextImpl, Collections.emptyList());
         data.setRootIUs(new HashSet<>());
         data.setAdditionalRequirements(additionalRequirements);
 
@@ -199,20 +263,14 @@ public class P2ResolverImpl implements P2Resolver {
             Set<IInstallableUnit> usedTargetPlatformUnits) {
         ResolutionDataImpl data = new ResolutionDataImpl(targetPlatform.getEEResolutionHints());
 
-        Set<IInstallableUnit> availableUnits = targetPlatform.getInstallableUnits();
         if (project != null) {
             data.setRootIUs(project.getDependencyMetadata(DependencyMetadataType.SEED));
-            Collection<IInstallableUnit> projectSecondaryIUs = project
-                    .getDependencyMetadata(DependencyMetadataType.RESOLVE);
-            if (!projectSecondaryIUs.isEmpty()) {
-                availableUnits = new LinkedHashSet<>(availableUnits);
-                availableUnits.addAll(projectSecondaryIUs);
-            }
+            data.setAvailableIUs(targetPlatform, project.getDependencyMetadata(DependencyMetadataType.RESOLVE));
         } else {
             data.setRootIUs(rootUIs);
+            data.setAvailableIUs(targetPlatform, Collections.emptyList());
         }
         data.setAdditionalRequirements(additionalRequirements);
-        data.setAvailableIUs(availableUnits);
         data.setAdditionalFilterProperties(additionalFilterProperties);
 
         strategy.setData(data);
@@ -221,7 +279,8 @@ public class P2ResolverImpl implements P2Resolver {
             if (project != null && p2ResolverFactoryImpl != null && pomDependencies != PomDependencies.ignore) {
                 data.setAdditionalUnitStore(p2ResolverFactoryImpl.getPomUnits().createPomQueryable(project));
             }
-            newState = strategy.resolve(environment, monitor);
+            // environments are resolved concurrently, so each needs its own monitor
+            newState = strategy.resolve(environment, new LoggingProgressMonitor(logger));
         } catch (ResolverException e) {
             logger.info(e.getSelectionContext());
             logger.error("Cannot resolve project dependencies:");
@@ -252,6 +311,7 @@ public class P2ResolverImpl implements P2Resolver {
         }
         // remove entries for which there were only "additional" IUs, but none with a recognized type
         result.removeEntriesWithUnknownType();
+        result.prefetchArtifacts();
 
         // local repository index needs to be saved manually
         targetPlatform.saveLocalMavenRepository();
@@ -325,7 +385,7 @@ public class P2ResolverImpl implements P2Resolver {
     public P2ResolutionResult resolveInstallableUnit(TargetPlatform context, String id, String versionRange) {
 
         P2TargetPlatform targetPlatform = getTargetFromContext(context);
-        IQueryable<IInstallableUnit> queriable = new QueryableArray(targetPlatform.getInstallableUnits(), false);
+        IQueryable<IInstallableUnit> queriable = targetPlatform.getInstallableUnitIndex();
 
         VersionRange range = new VersionRange(versionRange);
         IRequirement requirement = MetadataFactory.createRequirement(IInstallableUnit.NAMESPACE_IU_ID, id, range, null,
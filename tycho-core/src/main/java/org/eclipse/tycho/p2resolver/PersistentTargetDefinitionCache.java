@@ -0,0 +1,391 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2resolver;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.equinox.p2.core.IProvisioningAgent;
+import org.eclipse.equinox.p2.core.ProvisionException;
+import org.eclipse.equinox.p2.metadata.IInstallableUnit;
+import org.eclipse.equinox.p2.query.CollectionResult;
+import org.eclipse.equinox.p2.query.IQuery;
+import org.eclipse.equinox.p2.query.IQueryResult;
+import org.eclipse.equinox.p2.query.QueryUtil;
+import org.eclipse.equinox.p2.repository.artifact.IArtifactRepository;
+import org.eclipse.equinox.p2.repository.artifact.IArtifactRepositoryManager;
+import org.eclipse.equinox.p2.repository.metadata.IMetadataRepository;
+import org.eclipse.tycho.ExecutionEnvironmentResolutionHints;
+import org.eclipse.tycho.IRepositoryIdManager;
+import org.eclipse.tycho.TargetEnvironment;
+import org.eclipse.tycho.core.resolver.shared.IncludeSourceMode;
+import org.eclipse.tycho.core.resolver.shared.ReferencedRepositoryMode;
+import org.eclipse.tycho.core.shared.MavenLogger;
+import org.eclipse.tycho.p2.repository.LazyArtifactRepository;
+import org.eclipse.tycho.p2.repository.ListCompositeMetadataRepository;
+import org.eclipse.tycho.p2.repository.MetadataIO;
+import org.eclipse.tycho.p2.repository.RepositoryArtifactProvider;
+import org.eclipse.tycho.p2.resolver.EmptyArtifactRepository;
+import org.eclipse.tycho.p2.resolver.URITargetDefinitionContent;
+import org.eclipse.tycho.p2maven.ListCompositeArtifactRepository;
+import org.eclipse.tycho.targetplatform.TargetDefinition;
+import org.eclipse.tycho.targetplatform.TargetDefinition.FollowRepositoryReferences;
+import org.eclipse.tycho.targetplatform.TargetDefinition.InstallableUnitLocation;
+import org.eclipse.tycho.targetplatform.TargetDefinition.Location;
+import org.eclipse.tycho.targetplatform.TargetDefinition.Repository;
+import org.eclipse.tycho.targetplatform.TargetDefinition.Unit;
+import org.eclipse.tycho.targetplatform.TargetDefinitionContent;
+
+/**
+ * A persistent, content-addressed store for the result of resolving target definitions that only
+ * consist of p2 installable unit locations. The key is computed from everything that influences the
+ * slicer/planner result (the locations with their resolved repository URIs, the target
+ * environments, the execution environment, the include source mode and the referenced repository
+ * mode). An entry stores the resolved units and the artifact repositories they are fetched from
+ * together with their repository ids, so a warm build does not need to load the metadata
+ * repositories nor run the resolver again.
+ * <p>
+ * Entries are considered fresh for the same period as the files of the shared HTTP cache, they are
+ * ignored when maven runs with <code>-U</code> and always used in offline mode.
+ * </p>
+ */
+final class PersistentTargetDefinitionCache {
+
+    private static final int FORMAT_VERSION = 2;
+
+    private static final String CACHE_FOLDER = "target-definitions";
+
+    private final File cacheFolder;
+    private final long maxAge;
+    private final boolean offline;
+    private final boolean update;
+    private final MavenLogger logger;
+
+    PersistentTargetDefinitionCache(File cacheLocation, long maxAgeMinutes, boolean offline, boolean update,
+            MavenLogger logger) {
+        this.cacheFolder = new File(cacheLocation, CACHE_FOLDER);
+        this.maxAge = TimeUnit.MINUTES.toMillis(maxAgeMinutes);
+        this.offline = offline;
+        this.update = update;
+        this.logger = logger;
+    }
+
+    /**
+     * Computes the cache key for the given resolution arguments
+     *
+     * @return the key or an empty optional if the target definition can't be cached
+     */
+    static Optional<String> computeKey(TargetDefinition definition, Collection<TargetEnvironment> environments,
+            ExecutionEnvironmentResolutionHints jreIUs, IncludeSourceMode includeSourceMode,
+            ReferencedRepositoryMode referencedRepositoryMode, Function<String, URI> locationResolver) {
+        if (definition.hasIncludedBundles() || definition.getLocations().isEmpty()) {
+            return Optional.empty();
+        }
+        StringBuilder key = new StringBuilder();
+        key.append("format=").append(FORMAT_VERSION).append('\n');
+        for (Location location : definition.getLocations()) {
+            if (!(location instanceof InstallableUnitLocation iuLocation)) {
+                // other locations depend on local files or maven resolution
+                return Optional.empty();
+            }
+            key.append("location mode=").append(iuLocation.getIncludeMode());
+            key.append(" allEnvironments=").append(iuLocation.includeAllEnvironments());
+            key.append(" source=").append(iuLocation.includeSource());
+            key.append(" configure=").append(iuLocation.includeConfigurePhase());
+            key.append(" references=").append(iuLocation.followRepositoryReferences()).append('\n');
+            for (Repository repository : iuLocation.getRepositories()) {
+                URI uri = locationResolver.apply(repository.getLocation());
+                if (!isRemote(uri)) {
+                    // local repositories might change at any time
+                    return Optional.empty();
+                }
+                key.append("repository ").append(uri.normalize().toASCIIString()).append('\n');
+            }
+            for (Unit unit : iuLocation.getUnits()) {
+                key.append("unit ").append(unit.getId()).append(' ').append(unit.getVersion()).append('\n');
+            }
+        }
+        for (TargetEnvironment environment : environments) {
+            key.append("environment ").append(environment.toConfigSpec()).append('\n');
+        }
+        key.append("ee ").append(jreIUs.getClass().getName()).append('\n');
+        jreIUs.getMandatoryUnits().stream().map(String::valueOf).sorted()
+                .forEach(unit -> key.append("ee unit ").append(unit).append('\n'));
+        jreIUs.getTemporaryAdditions().stream().map(String::valueOf).sorted()
+                .forEach(unit -> key.append("ee addition ").append(unit).append('\n'));
+        key.append("includeSource=").append(includeSourceMode).append('\n');
+        key.append("referencedRepositories=").append(referencedRepositoryMode).append('\n');
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            return Optional.of(HexFormat.of().formatHex(hash));
+        } catch (NoSuchAlgorithmException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static boolean isRemote(URI uri) {
+        String scheme = uri.getScheme();
+        return "http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme);
+    }
+
+    /**
+     * Reads a previously stored content
+     *
+     * @param key
+     *            the key as computed by {@link #computeKey}
+     * @param definition
+     *            the target definition the content belongs to
+     * @param locationResolver
+     *            the resolver for the repository locations of the target definition
+     * @param referencedRepositoryMode
+     *            the referenced repository mode used for resolving
+     * @param agent
+     *            the agent to use
+     * @return the content or an empty optional if nothing is cached or the entry is stale
+     */
+    Optional<TargetDefinitionContent> read(String key, TargetDefinition definition,
+            Function<String, URI> locationResolver, ReferencedRepositoryMode referencedRepositoryMode,
+            IProvisioningAgent agent) {
+        if (update) {
+            return Optional.empty();
+        }
+        File file = getCacheFile(key);
+        if (!file.isFile()) {
+            return Optional.empty();
+        }
+        if (!offline && file.lastModified() + maxAge < System.currentTimeMillis()) {
+            logger.debug("Cached target definition content " + file + " is stale");
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(
+                new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file.toPath()))))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return Optional.empty();
+            }
+            IRepositoryIdManager repositoryIdManager = agent.getService(IRepositoryIdManager.class);
+            int repositoryCount = in.readInt();
+            List<IArtifactRepository> artifactRepositories = new ArrayList<>(repositoryCount);
+            for (int i = 0; i < repositoryCount; i++) {
+                URI uri = URI.create(in.readUTF());
+                boolean referenced = in.readBoolean();
+                String id = in.readUTF();
+                if (repositoryIdManager != null && !id.isEmpty()) {
+                    // the ids of referenced repositories are only known from loading their parents
+                    repositoryIdManager.addMapping(id, uri);
+                }
+                artifactRepositories.add(createArtifactRepository(uri, referenced, agent));
+            }
+            Set<IInstallableUnit> units = new MetadataIO().readXML(in);
+            Map<String, URITargetDefinitionContent> uriRepositories = new LinkedHashMap<>();
+            for (Location location : definition.getLocations()) {
+                InstallableUnitLocation iuLocation = (InstallableUnitLocation) location;
+                ReferencedRepositoryMode followReferences = getReferencedRepositoryMode(iuLocation,
+                        referencedRepositoryMode);
+                for (Repository repository : iuLocation.getRepositories()) {
+                    URI uri = locationResolver.apply(repository.getLocation());
+                    if (repositoryIdManager != null) {
+                        // otherwise mirrors and credentials are not applied when fetching artifacts
+                        repositoryIdManager.addMapping(repository.getId(), uri);
+                    }
+                    uriRepositories.computeIfAbsent(uri.normalize().toASCIIString(),
+                            s -> new URITargetDefinitionContent(agent, uri, repository.getId(), followReferences,
+                                    logger));
+                }
+            }
+            return Optional.of(new CachedTargetDefinitionContent(units, List.copyOf(uriRepositories.values()),
+                    artifactRepositories, agent));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Reading cached target definition content from " + file + " failed: " + e.getMessage(),
+                    logger.isDebugEnabled() ? e : null);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the given resolved content
+     *
+     * @param key
+     *            the key as computed by {@link #computeKey}
+     * @param definition
+     *            the target definition that was resolved
+     * @param locationResolver
+     *            the resolver for the repository locations of the target definition
+     * @param content
+     *            the resolved content
+     * @param agent
+     *            the agent the content was resolved with
+     */
+    void write(String key, TargetDefinition definition, Function<String, URI> locationResolver,
+            TargetDefinitionContent content, IProvisioningAgent agent) {
+        File file = getCacheFile(key);
+        try {
+            List<URI> primary = definition.getLocations().stream()
+                    .flatMap(location -> ((InstallableUnitLocation) location).getRepositories().stream())
+                    .map(repository -> locationResolver.apply(repository.getLocation()).normalize()).toList();
+            Map<URI, Boolean> artifactRepositories = new LinkedHashMap<>();
+            collectArtifactRepositories(content.getArtifactRepository(), primary, artifactRepositories);
+            Map<URI, String> repositoryIds = getRepositoryIds(agent.getService(IRepositoryIdManager.class));
+            List<IInstallableUnit> units = new ArrayList<>(
+                    content.query(QueryUtil.ALL_UNITS, null).toUnmodifiableSet());
+            units.sort(Comparator.comparing(IInstallableUnit::getId).thenComparing(IInstallableUnit::getVersion));
+            Files.createDirectories(cacheFolder.toPath());
+            Path tempFile = Files.createTempFile(cacheFolder.toPath(), key, ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(
+                        new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile))))) {
+                    out.writeInt(FORMAT_VERSION);
+                    out.writeInt(artifactRepositories.size());
+                    for (Map.Entry<URI, Boolean> entry : artifactRepositories.entrySet()) {
+                        out.writeUTF(entry.getKey().toASCIIString());
+                        out.writeBoolean(entry.getValue());
+                        out.writeUTF(repositoryIds.getOrDefault(stripTrailingSlash(entry.getKey()), ""));
+                    }
+                    new MetadataIO().writeXML(units, out);
+                }
+                Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Storing target definition content to " + file + " failed: " + e.getMessage(),
+                    logger.isDebugEnabled() ? e : null);
+        }
+    }
+
+    private File getCacheFile(String key) {
+        return new File(cacheFolder, key + ".bin");
+    }
+
+    private static void collectArtifactRepositories(IArtifactRepository repository, List<URI> primary,
+            Map<URI, Boolean> result) {
+        if (repository instanceof ListCompositeArtifactRepository composite) {
+            for (IArtifactRepository child : composite.artifactRepositories) {
+                collectArtifactRepositories(child, primary, result);
+            }
+        } else {
+            URI location = repository.getLocation().normalize();
+            result.putIfAbsent(location, !primary.contains(location));
+        }
+    }
+
+    /**
+     * @return the ids registered by the resolution by their locations without a trailing slash
+     */
+    private static Map<URI, String> getRepositoryIds(IRepositoryIdManager repositoryIdManager) {
+        Map<URI, String> repositoryIds = new HashMap<>();
+        if (repositoryIdManager != null) {
+            repositoryIdManager.getKnownMavenRepositoryLocations().forEach(location -> repositoryIds
+                    .putIfAbsent(stripTrailingSlash(location.getURL()), location.getId()));
+        }
+        return repositoryIds;
+    }
+
+    private static URI stripTrailingSlash(URI uri) {
+        String location = uri.normalize().toASCIIString();
+        return location.endsWith("/") ? URI.create(location.substring(0, location.length() - 1)) : URI.create(location);
+    }
+
+    private IArtifactRepository createArtifactRepository(URI uri, boolean referenced, IProvisioningAgent agent) {
+        if (referenced) {
+            return new LazyArtifactRepository(agent, uri, (u, a) -> {
+                IArtifactRepositoryManager repositoryManager = a.getService(IArtifactRepositoryManager.class);
+                if (repositoryManager != null) {
+                    try {
+                        return repositoryManager.loadRepository(u, null);
+                    } catch (ProvisionException e) {
+                        logger.warn("Skip referenced repository: " + u + ": " + e);
+                    }
+                }
+                return new EmptyArtifactRepository(a, u);
+            });
+        }
+        return new LazyArtifactRepository(agent, uri, RepositoryArtifactProvider::loadRepository);
+    }
+
+    static ReferencedRepositoryMode getReferencedRepositoryMode(InstallableUnitLocation location,
+            ReferencedRepositoryMode defaultMode) {
+        FollowRepositoryReferences followRepositoryReferences = location.followRepositoryReferences();
+        if (followRepositoryReferences == FollowRepositoryReferences.DEFAULT) {
+            return defaultMode;
+        } else if (followRepositoryReferences == FollowRepositoryReferences.ENABLED) {
+            return ReferencedRepositoryMode.include;
+        }
+        return ReferencedRepositoryMode.ignore;
+    }
+
+    private static final class CachedTargetDefinitionContent implements TargetDefinitionContent {
+
+        private final CollectionResult<IInstallableUnit> units;
+        private final List<URITargetDefinitionContent> repositories;
+        private final IArtifactRepository artifactRepository;
+        private final IProvisioningAgent agent;
+        private IMetadataRepository metadataRepository;
+
+        CachedTargetDefinitionContent(Collection<IInstallableUnit> units,
+                List<URITargetDefinitionContent> repositories, List<IArtifactRepository> artifactRepositories,
+                IProvisioningAgent agent) {
+            this.units = new CollectionResult<>(units);
+            this.repositories = repositories;
+            this.agent = agent;
+            this.artifactRepository = new ListCompositeArtifactRepository(artifactRepositories, agent);
+        }
+
+        @Override
+        public IQueryResult<IInstallableUnit> query(IQuery<IInstallableUnit> query, IProgressMonitor monitor) {
+            return units.query(query, monitor);
+        }
+
+        @Override
+        public synchronized IMetadataRepository getMetadataRepository() {
+            if (metadataRepository == null) {
+                // only loaded on demand, the units are already known
+                metadataRepository = new ListCompositeMetadataRepository(
+                        repositories.stream().map(URITargetDefinitionContent::getMetadataRepository).toList(), agent);
+            }
+            return metadataRepository;
+        }
+
+        @Override
+        public IArtifactRepository getArtifactRepository() {
+            return artifactRepository;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Christoph Läubrich and others.
+ * Copyright (c) 2022, 2026 Christoph Läubrich and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -82,7 +82,9 @@ class PomInstallableUnitStore implements IQueryable<IInstallableUnit> {
     }
 
     @Override
-    public IQueryResult<IInstallableUnit> query(IQuery<IInstallableUnit> query, IProgressMonitor monitor) {
+    public synchronized IQueryResult<IInstallableUnit> query(IQuery<IInstallableUnit> query,
+            IProgressMonitor monitor) {
+        // synchronized as the target environments of a project are resolved concurrently
         if (considerPomDependencies == PomDependencies.ignore) {
             return EMPTY_RESULT;
         }
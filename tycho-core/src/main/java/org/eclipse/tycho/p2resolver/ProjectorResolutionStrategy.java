@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2022 Sonatype Inc. and others.
+ * Copyright (c) 2008, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -43,8 +43,20 @@ import org.eclipse.tycho.p2tools.copiedfromp2.Slicer;
 
 public class ProjectorResolutionStrategy extends AbstractSlicerResolutionStrategy {
 
+    private final ReusableSolutions reusableSolutions;
+
     public ProjectorResolutionStrategy(MavenLogger logger) {
+        this(logger, null);
+    }
+
+    /**
+     * @param reusableSolutions
+     *            solutions shared with the resolutions of the same project for other environments
+     *            or <code>null</code>
+     */
+    ProjectorResolutionStrategy(MavenLogger logger, ReusableSolutions reusableSolutions) {
         super(logger);
+        this.reusableSolutions = reusableSolutions;
     }
 
     @Override
@@ -81,8 +93,29 @@ public class ProjectorResolutionStrategy extends AbstractSlicerResolutionStrateg
         // force profile UIs to be used during resolution
         seedUnits.addAll(data.getEEResolutionHints().getMandatoryUnits());
         seedRequires.addAll(data.getEEResolutionHints().getMandatoryRequires());
-        Projector projector = new Projector(slice(properties, generatedUnits, monitor), selectionContext,
-                new HashSet<>(), false) {
+        IQueryable<IInstallableUnit> slice = slice(properties, generatedUnits, monitor);
+        Collection<IInstallableUnit> newState;
+        if (reusableSolutions != null) {
+            newState = reusableSolutions.getSolution(slice, generatedSeedUnits, seedRequires, selectionContext,
+                    () -> solve(slice, selectionContext, seedUnits, seedRequires, monitor));
+        } else {
+            newState = solve(slice, selectionContext, seedUnits, seedRequires, monitor);
+        }
+
+        // remove fake IUs from resolved state
+        newState.removeAll(data.getEEResolutionHints().getTemporaryAdditions());
+        newState.removeAll(generatedUnits); //remove the tycho generated IUs if any
+
+        if (logger.isExtendedDebugEnabled()) {
+            logger.debug("Resolved IUs:\n" + ResolverDebugUtils.toDebugString(newState, false));
+        }
+        return newState;
+    }
+
+    private Collection<IInstallableUnit> solve(IQueryable<IInstallableUnit> slice,
+            Map<String, String> selectionContext, Set<IInstallableUnit> seedUnits, List<IRequirement> seedRequires,
+            IProgressMonitor monitor) throws ResolverException {
+        Projector projector = new Projector(slice, selectionContext, new HashSet<>(), false) {
             IQueryable<IInstallableUnit> units;
 
             @Override
@@ -121,16 +154,7 @@ public class ProjectorResolutionStrategy extends AbstractSlicerResolutionStrateg
         if (s.getSeverity() == IStatus.WARNING) {
             logger.warn(StatusTool.toLogMessage(s));
         }
-        Collection<IInstallableUnit> newState = projector.extractSolution();
-
-        // remove fake IUs from resolved state
-        newState.removeAll(data.getEEResolutionHints().getTemporaryAdditions());
-        newState.removeAll(generatedUnits); //remove the tycho generated IUs if any
-
-        if (logger.isExtendedDebugEnabled()) {
-            logger.debug("Resolved IUs:\n" + ResolverDebugUtils.toDebugString(newState, false));
-        }
-        return newState;
+        return projector.extractSolution();
     }
 
     private Set<Explanation> getExplanation(Projector projector) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2022 SAP AG and others.
+ * Copyright (c) 2012, 2026 SAP AG and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -25,11 +25,19 @@ import org.eclipse.equinox.p2.query.CollectionResult;
 import org.eclipse.equinox.p2.query.CompoundQueryable;
 import org.eclipse.equinox.p2.query.IQueryable;
 import org.eclipse.tycho.ExecutionEnvironmentResolutionHints;
+import org.eclipse.tycho.p2tools.copiedfromp2.QueryableArray;
 
 public interface ResolutionData {
 
     Collection<IInstallableUnit> getAvailableIUs();
 
+    /**
+     * @return the {@link #getAvailableIUs() available units} as an indexed queryable
+     */
+    default IQueryable<IInstallableUnit> getAvailableIUsQueryable() {
+        return new QueryableArray(getAvailableIUs(), false);
+    }
+
     Collection<IInstallableUnit> getRootIUs();
 
     List<IRequirement> getAdditionalRequirements();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2022 SAP SE and others.
+ * Copyright (c) 2012, 2026 SAP SE and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -19,6 +19,7 @@ import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -28,12 +29,14 @@ import org.eclipse.equinox.p2.query.IQueryResult;
 import org.eclipse.equinox.p2.query.IQueryable;
 import org.eclipse.equinox.p2.query.QueryUtil;
 import org.eclipse.tycho.ExecutionEnvironmentResolutionHints;
+import org.eclipse.tycho.targetplatform.P2TargetPlatform;
 
 public class ResolutionDataImpl implements ResolutionData {
 
     private final ExecutionEnvironmentResolutionHints eeResolutionHints;
 
     private Collection<IInstallableUnit> availableIUs;
+    private IQueryable<IInstallableUnit> availableIUsQueryable;
     private Collection<IInstallableUnit> rootIUs;
     private List<IRequirement> additionalRequirements;
     private Map<String, String> additionalFilterProperties;
@@ -59,6 +62,27 @@ public class ResolutionDataImpl implements ResolutionData {
      */
     public void setAvailableIUs(Collection<IInstallableUnit> availableIUs) {
         this.availableIUs = availableIUs;
+        this.availableIUsQueryable = null;
+    }
+
+    /**
+     * Sets the units of the target platform and the given additional units as available units.
+     * Queries use the shared index of the target platform, so the target platform units don't need
+     * to be indexed again for each resolution.
+     * 
+     * @see #setAvailableIUs(Collection)
+     */
+    public void setAvailableIUs(P2TargetPlatform targetPlatform, Collection<IInstallableUnit> additionalIUs) {
+        if (additionalIUs.isEmpty()) {
+            this.availableIUs = targetPlatform.getInstallableUnits();
+            this.availableIUsQueryable = targetPlatform.getInstallableUnitIndex();
+        } else {
+            Set<IInstallableUnit> units = new LinkedHashSet<>(targetPlatform.getInstallableUnits());
+            units.addAll(additionalIUs);
+            this.availableIUs = units;
+            this.availableIUsQueryable = new OverlayQueryable(targetPlatform.getInstallableUnitIndex(),
+                    additionalIUs);
+        }
     }
 
     /**
@@ -69,6 +93,7 @@ public class ResolutionDataImpl implements ResolutionData {
      */
     public void setAvailableIUsAndFilter(IQueryable<IInstallableUnit> unfilteredAvailableUnits) {
         this.availableIUs = new LinkedHashSet<>();
+        this.availableIUsQueryable = null;
 
         IQueryResult<IInstallableUnit> allUnits = unfilteredAvailableUnits.query(QueryUtil.ALL_UNITS,
                 new NullProgressMonitor());
@@ -85,6 +110,14 @@ public class ResolutionDataImpl implements ResolutionData {
         }
     }
 
+    @Override
+    public IQueryable<IInstallableUnit> getAvailableIUsQueryable() {
+        if (availableIUsQueryable != null) {
+            return availableIUsQueryable;
+        }
+        return ResolutionData.super.getAvailableIUsQueryable();
+    }
+
     @Override
     public Collection<IInstallableUnit> getRootIUs() {
         return rootIUs;
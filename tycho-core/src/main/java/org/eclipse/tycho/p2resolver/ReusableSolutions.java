@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2resolver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.equinox.internal.p2.metadata.InstallableUnit;
+import org.eclipse.equinox.p2.metadata.IInstallableUnit;
+import org.eclipse.equinox.p2.metadata.IInstallableUnitFragment;
+import org.eclipse.equinox.p2.metadata.IInstallableUnitPatch;
+import org.eclipse.equinox.p2.metadata.IRequirement;
+import org.eclipse.equinox.p2.metadata.expression.IMatchExpression;
+import org.eclipse.equinox.p2.query.IQueryable;
+import org.eclipse.equinox.p2.query.QueryUtil;
+import org.eclipse.tycho.p2.resolver.ResolverException;
+
+/**
+ * Solutions of the projector shared between the resolutions of one project for different target
+ * environments.
+ * <p>
+ * The environment only enters a resolution through the filters of the units and requirements. If
+ * the slices of two environments contain the same units and all filters of these units evaluate
+ * the same, the projector has to solve exactly the same problem, so the solution of the first
+ * environment can be used for the other one instead of invoking the solver again. This is the
+ * common case for projects without platform specific dependencies.
+ */
+final class ReusableSolutions {
+
+    private final Map<ProblemKey, CompletableFuture<Collection<IInstallableUnit>>> solutions = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the solution of an identical problem solved before, or solves the problem.
+     *
+     * @param slice
+     *            the slice the projector works on
+     * @param generatedUnits
+     *            units of the slice that were generated for this resolution and whose content does
+     *            not depend on the environment
+     * @param seedRequirements
+     *            the requirements the resolution starts with
+     * @param selectionContext
+     *            the properties of the environment
+     * @param solver
+     *            computes the solution if there is none to reuse
+     */
+    Collection<IInstallableUnit> getSolution(IQueryable<IInstallableUnit> slice,
+            Collection<IInstallableUnit> generatedUnits, Collection<IRequirement> seedRequirements,
+            Map<String, String> selectionContext, Solver solver) throws ResolverException {
+        ProblemKey key = ProblemKey.of(slice, generatedUnits, seedRequirements, selectionContext);
+        if (key == null) {
+            return solver.solve();
+        }
+        CompletableFuture<Collection<IInstallableUnit>> future = new CompletableFuture<>();
+        CompletableFuture<Collection<IInstallableUnit>> existing = solutions.putIfAbsent(key, future);
+        if (existing != null) {
+            try {
+                return new ArrayList<>(existing.join());
+            } catch (CompletionException e) {
+                // let this environment report the failure on its own
+                return solver.solve();
+            }
+        }
+        try {
+            Collection<IInstallableUnit> solution = solver.solve();
+            future.complete(List.copyOf(solution));
+            return solution;
+        } catch (ResolverException | RuntimeException | Error e) {
+            solutions.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    interface Solver {
+        Collection<IInstallableUnit> solve() throws ResolverException;
+    }
+
+    private record ProblemKey(Set<IInstallableUnit> units, Set<IMatchExpression<IInstallableUnit>> matchingFilters) {
+
+        /**
+         * @return the key of the problem or <code>null</code> if it contains units that are not
+         *         only influenced by filters of the slice
+         */
+        static ProblemKey of(IQueryable<IInstallableUnit> slice, Collection<IInstallableUnit> generatedUnits,
+                Collection<IRequirement> seedRequirements, Map<String, String> selectionContext) {
+            IInstallableUnit context = InstallableUnit.contextIU(selectionContext);
+            Set<IInstallableUnit> units = new HashSet<>();
+            Set<IMatchExpression<IInstallableUnit>> matchingFilters = new HashSet<>();
+            for (IRequirement requirement : seedRequirements) {
+                addIfMatching(requirement.getFilter(), context, matchingFilters);
+            }
+            for (IInstallableUnit iu : slice.query(QueryUtil.ALL_UNITS, null)) {
+                if (QueryUtil.isProduct(iu) || iu instanceof IInstallableUnitPatch) {
+                    // products query all available units and patches change requirements
+                    return null;
+                }
+                addIfMatching(iu.getFilter(), context, matchingFilters);
+                addIfMatching(iu.getRequirements(), context, matchingFilters);
+                addIfMatching(iu.getMetaRequirements(), context, matchingFilters);
+                if (iu instanceof IInstallableUnitFragment fragment) {
+                    addIfMatching(fragment.getHost(), context, matchingFilters);
+                }
+                if (!generatedUnits.contains(iu)) {
+                    units.add(iu);
+                }
+            }
+            return new ProblemKey(units, matchingFilters);
+        }
+
+        private static void addIfMatching(Collection<IRequirement> requirements, IInstallableUnit context,
+                Set<IMatchExpression<IInstallableUnit>> matchingFilters) {
+            for (IRequirement requirement : requirements) {
+                addIfMatching(requirement.getFilter(), context, matchingFilters);
+            }
+        }
+
+        private static void addIfMatching(IMatchExpression<IInstallableUnit> filter, IInstallableUnit context,
+                Set<IMatchExpression<IInstallableUnit>> matchingFilters) {
+            if (filter != null && filter.isMatch(context)) {
+                matchingFilters.add(filter);
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2022 SAP SE and others.
+ * Copyright (c) 2012, 2026 SAP SE and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -16,10 +16,12 @@
  *******************************************************************************/
 package org.eclipse.tycho.p2resolver;
 
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -34,19 +36,25 @@ import org.eclipse.tycho.core.resolver.MavenTargetLocationFactory;
 import org.eclipse.tycho.core.resolver.shared.IncludeSourceMode;
 import org.eclipse.tycho.core.resolver.shared.ReferencedRepositoryMode;
 import org.eclipse.tycho.core.shared.MavenContext;
+import org.eclipse.tycho.p2maven.transport.SharedHttpCacheStorage;
+import org.eclipse.tycho.p2maven.transport.TransportCacheConfig;
 import org.eclipse.tycho.targetplatform.TargetDefinition;
 import org.eclipse.tycho.targetplatform.TargetDefinitionContent;
 
 /**
  * Service instance for resolving target definitions. Results are cached so that there is no
  * redundant computations in the common case where all modules have the same target definition file
- * configured.
+ * configured. Target definitions that only consist of remote p2 locations are additionally cached
+ * on disk across builds, see {@link PersistentTargetDefinitionCache}.
  */
 @Component(role = TargetDefinitionResolverService.class)
 public class TargetDefinitionResolverService {
 
     private static final String CACHE_MISS_MESSAGE = "Target definition content cache miss: ";
 
+    private static final boolean PERSISTENT_CACHE = Boolean
+            .parseBoolean(System.getProperty("tycho.target.cache.persistent", "true"));
+
     private ConcurrentMap<ResolutionArguments, CompletableFuture<TargetDefinitionContent>> resolutionCache = new ConcurrentHashMap<>();
 
     @Requirement
@@ -58,6 +66,11 @@ public class TargetDefinitionResolverService {
     @Requirement
     private TargetDefinitionVariableResolver varResolver;
 
+    @Requirement
+    private TransportCacheConfig cacheConfig;
+
+    private PersistentTargetDefinitionCache persistentCache;
+
     // constructor for DS
     public TargetDefinitionResolverService() {
     }
@@ -85,6 +98,15 @@ public class TargetDefinitionResolverService {
 
     // this method must only have the cache key as parameter (to make sure that the key is complete)
     private CompletableFuture<TargetDefinitionContent> resolveFromArguments(ResolutionArguments arguments) {
+        Optional<String> persistentKey = getPersistentKey(arguments);
+        if (persistentKey.isPresent()) {
+            Optional<TargetDefinitionContent> cached = getPersistentCache().read(persistentKey.get(),
+                    arguments.definition, this::resolveLocation, arguments.referencedRepositoryMode, arguments.agent);
+            if (cached.isPresent()) {
+                mavenContext.getLogger().info("Using cached content of " + arguments);
+                return CompletableFuture.completedFuture(cached.get());
+            }
+        }
         mavenContext.getLogger().info("Resolving " + arguments);
         if (mavenContext.getLogger().isDebugEnabled()) {
             debugCacheMiss(arguments);
@@ -94,12 +116,43 @@ public class TargetDefinitionResolverService {
                 arguments.includeSourceMode, arguments.referencedRepositoryMode, mavenContext, dependenciesResolver,
                 varResolver);
         try {
-            return CompletableFuture.completedFuture(resolver.resolveContent(arguments.definition, arguments.agent));
+            TargetDefinitionContent content = resolver.resolveContent(arguments.definition, arguments.agent);
+            persistentKey.ifPresent(
+                    key -> getPersistentCache().write(key, arguments.definition, this::resolveLocation, content,
+                            arguments.agent));
+            return CompletableFuture.completedFuture(content);
         } catch (Exception e) {
             return CompletableFuture.failedFuture(e);
         }
     }
 
+    private Optional<String> getPersistentKey(ResolutionArguments arguments) {
+        if (!PERSISTENT_CACHE || cacheConfig == null) {
+            return Optional.empty();
+        }
+        try {
+            return PersistentTargetDefinitionCache.computeKey(arguments.definition, arguments.environments,
+                    arguments.jreIUs, arguments.includeSourceMode, arguments.referencedRepositoryMode,
+                    this::resolveLocation);
+        } catch (RuntimeException e) {
+            // invalid locations are reported by the resolver
+            return Optional.empty();
+        }
+    }
+
+    private synchronized PersistentTargetDefinitionCache getPersistentCache() {
+        if (persistentCache == null) {
+            persistentCache = new PersistentTargetDefinitionCache(cacheConfig.getCacheLocation(),
+                    SharedHttpCacheStorage.MIN_CACHE_PERIOD, mavenContext.isOffline(),
+                    mavenContext.isUpdateSnapshots(), mavenContext.getLogger());
+        }
+        return persistentCache;
+    }
+
+    private URI resolveLocation(String location) {
+        return URI.create(varResolver.resolve(location));
+    }
+
     private void debugCacheMiss(ResolutionArguments arguments) {
         if (resolutionCache.isEmpty()) {
             return;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2022 SAP SE and others.
+ * Copyright (c) 2011, 2026 SAP SE and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -25,6 +25,7 @@ import org.eclipse.equinox.p2.metadata.IArtifactKey;
 import org.eclipse.equinox.p2.metadata.IInstallableUnit;
 import org.eclipse.equinox.p2.metadata.Version;
 import org.eclipse.equinox.p2.metadata.VersionRange;
+import org.eclipse.equinox.p2.query.IQueryable;
 import org.eclipse.tycho.ArtifactType;
 import org.eclipse.tycho.DefaultArtifactKey;
 import org.eclipse.tycho.DependencyResolutionException;
@@ -48,9 +49,14 @@ abstract class TargetPlatformBaseImpl implements P2TargetPlatform {
      * preliminary target platform where the reactor build order isn't known yet). Configured and
      * automatic filters have been applied.
      */
-    // TODO store as QueryableCollection, which contains indices to speed up queries?
     protected final LinkedHashSet<IInstallableUnit> installableUnits;
 
+    /**
+     * Index of the {@link #installableUnits} shared by all resolutions against this target
+     * platform.
+     */
+    private final InstallableUnitIndex installableUnitIndex;
+
     // reverse lookup from target platform content to the contributing artifact/project 
 
     /**
@@ -84,6 +90,7 @@ abstract class TargetPlatformBaseImpl implements P2TargetPlatform {
             Map<IInstallableUnit, ReactorProjectIdentities> reactorProjectLookup,
             Map<IInstallableUnit, IArtifactFacade> mavenArtifactLookup, Set<IInstallableUnit> shadowed) {
         this.installableUnits = installableUnits;
+        this.installableUnitIndex = new InstallableUnitIndex(installableUnits);
         this.executionEnvironment = executionEnvironment;
         this.reactorProjectLookup = reactorProjectLookup;
         this.mavenArtifactLookup = mavenArtifactLookup;
@@ -97,6 +104,11 @@ abstract class TargetPlatformBaseImpl implements P2TargetPlatform {
         return installableUnits;
     }
 
+    @Override
+    public final IQueryable<IInstallableUnit> getInstallableUnitIndex() {
+        return installableUnitIndex;
+    }
+
     @Override
     public final org.eclipse.tycho.ArtifactKey resolveArtifact(String type, String id, String version)
             throws IllegalArtifactReferenceException, DependencyResolutionException {
@@ -169,6 +181,11 @@ abstract class TargetPlatformBaseImpl implements P2TargetPlatform {
         return artifacts.getArtifactFile(key);
     }
 
+    @Override
+    public final void prefetchLocalArtifactFiles(Collection<IArtifactKey> keys) {
+        artifacts.prefetch(keys);
+    }
+
     @Override
     public final void saveLocalMavenRepository() {
         localArtifactRepository.save();
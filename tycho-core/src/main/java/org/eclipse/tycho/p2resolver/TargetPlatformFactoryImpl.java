@@ -58,8 +58,6 @@ import org.eclipse.equinox.p2.query.IQuery;
 import org.eclipse.equinox.p2.query.IQueryResult;
 import org.eclipse.equinox.p2.query.IQueryable;
 import org.eclipse.equinox.p2.query.QueryUtil;
-import org.eclipse.equinox.p2.repository.IRepository;
-import org.eclipse.equinox.p2.repository.IRepositoryReference;
 import org.eclipse.equinox.p2.repository.artifact.IArtifactRepository;
 import org.eclipse.equinox.p2.repository.artifact.IArtifactRepositoryManager;
 import org.eclipse.equinox.p2.repository.metadata.IMetadataRepository;
@@ -423,17 +421,8 @@ public class TargetPlatformFactoryImpl implements TargetPlatformFactory {
         }
 
         List<IMetadataRepository> metadataRepositories = new ArrayList<>();
-        Set<URI> loaded = new HashSet<>();
-        for (MavenRepositoryLocation location : completeRepositories) {
-            artifactRepositories.put(location.getURL(), false);
-            try {
-                loadMetadataRepository(location, metadataRepositories, loaded, artifactRepositories, includeReferences);
-            } catch (ProvisionException e) {
-                String idMessage = location.getId() == null ? "" : " with ID '" + location.getId() + "'";
-                throw new RuntimeException(
-                        "Failed to load p2 repository" + idMessage + " from location " + location.getURL(), e);
-            }
-        }
+        new MetadataRepositoryLoader(remoteMetadataRepositoryManager, logger, includeReferences)
+                .load(completeRepositories, metadataRepositories, artifactRepositories);
         if (includeLocalMavenRepo) {
             metadataRepositories.add(localMetadataRepository);
         }
@@ -453,36 +442,6 @@ public class TargetPlatformFactoryImpl implements TargetPlatformFactory {
         return result;
     }
 
-    private void loadMetadataRepository(MavenRepositoryLocation location,
-            List<IMetadataRepository> metadataRepositories, Set<URI> loaded, Map<URI, Boolean> artifactRepositories,
-            boolean includeReferences) throws ProvisionException {
-        if (loaded.add(location.getURL().normalize())) {
-            IMetadataRepository repository = remoteMetadataRepositoryManager.loadRepository(location.getURL(), monitor);
-            metadataRepositories.add(repository);
-            if (includeReferences) {
-                for (IRepositoryReference reference : repository.getReferences()) {
-                    if (reference.isEnabled()) {
-                        URI uri = reference.getLocation();
-                        if (reference.getType() == IRepository.TYPE_METADATA) {
-                            try {
-                                loadMetadataRepository(new MavenRepositoryLocation(reference.getNickname(), uri),
-                                        metadataRepositories, loaded, artifactRepositories, includeReferences);
-                            } catch (ProvisionException e) {
-                                logger.warn("Loading referenced repository failed: " + e.getMessage(),
-                                        logger.isDebugEnabled() ? e : null);
-                            }
-                        } else if (reference.getType() == IRepository.TYPE_ARTIFACT) {
-                            if (!artifactRepositories.containsKey(uri)) {
-                                artifactRepositories.put(uri, true);
-                            }
-                        }
-                    }
-                }
-            }
-
-        }
-    }
-
     private static final class SortedRepositories {
 
         private SortedRepositories(List<FileArtifactRepository> local, List<IArtifactRepository> remote) {
@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.plexus.logging.Logger;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.equinox.p2.metadata.IArtifactKey;
+import org.eclipse.equinox.p2.repository.artifact.IArtifactDescriptor;
+import org.eclipse.equinox.p2.repository.artifact.IArtifactRepository;
+import org.eclipse.equinox.p2.repository.artifact.IFileArtifactRepository;
+import org.eclipse.equinox.p2.repository.artifact.spi.ArtifactDescriptor;
+
+/**
+ * Transfers artifacts that are available as files from a source to a destination repository
+ * without going through p2's stream based mirroring. The files of independent artifacts are
+ * copied in parallel, either as hard link (if enabled) or with {@link FileChannel#transferTo}, that
+ * lets the operating system copy the data (and even share it on copy-on-write file systems).
+ * <p>
+ * Only artifacts with a canonical descriptor that already carries its size and checksum are
+ * handled, so the resulting descriptor is the same p2 would have written. Like a mirror of p2, each
+ * copy is verified against the sha-256 checksum of the descriptor. All other artifacts, and all
+ * artifacts that could not be transferred, are left to p2.
+ */
+class LocalArtifactMirroring {
+
+    private static final String SHA_256_CHECKSUM = IArtifactDescriptor.DOWNLOAD_CHECKSUM + ".sha-256";
+
+    private static final int MAX_THREADS = Integer.getInteger("tycho.p2.mirror.max-threads",
+            Runtime.getRuntime().availableProcessors());
+
+    private static final boolean HARD_LINKS = Boolean.getBoolean("tycho.p2.mirror.hardlinks");
+
+    private static final Executor TRANSFER_EXECUTOR = MAX_THREADS > 1
+            ? Executors.newFixedThreadPool(MAX_THREADS, new ThreadFactory() {
+
+                private AtomicInteger cnt = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r);
+                    thread.setName("Tycho-Mirror-Thread-" + cnt.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            })
+            : Runnable::run;
+
+    private final IArtifactRepository source;
+    private final IArtifactRepository destination;
+    private final boolean raw;
+    private final Logger logger;
+
+    LocalArtifactMirroring(IArtifactRepository source, IArtifactRepository destination, boolean raw, Logger logger) {
+        this.source = source;
+        this.destination = destination;
+        this.raw = raw;
+        this.logger = logger;
+    }
+
+    /**
+     * Transfers the given artifacts where possible.
+     *
+     * @return the keys of the artifacts that still need to be mirrored
+     */
+    List<IArtifactKey> transfer(List<IArtifactKey> keys, IProgressMonitor monitor) {
+        if (!(source instanceof IFileArtifactRepository fileSource)
+                || !(destination instanceof IFileArtifactRepository fileDestination)) {
+            return keys;
+        }
+        List<CompletableFuture<IArtifactKey>> transfers = new ArrayList<>(keys.size());
+        for (IArtifactKey key : keys) {
+            transfers.add(CompletableFuture.supplyAsync(() -> {
+                if (monitor != null && monitor.isCanceled()) {
+                    return key;
+                }
+                return transfer(key, fileSource, fileDestination) ? null : key;
+            }, TRANSFER_EXECUTOR));
+        }
+        List<IArtifactKey> remaining = new ArrayList<>();
+        for (CompletableFuture<IArtifactKey> transfer : transfers) {
+            IArtifactKey key = transfer.join();
+            if (key != null) {
+                remaining.add(key);
+            }
+        }
+        logger.debug("Transferred " + (keys.size() - remaining.size()) + " of " + keys.size()
+                + " artifacts directly, " + remaining.size() + " artifacts are mirrored by p2");
+        return remaining;
+    }
+
+    private boolean transfer(IArtifactKey key, IFileArtifactRepository fileSource,
+            IFileArtifactRepository fileDestination) {
+        IArtifactDescriptor targetDescriptor = null;
+        File targetFile = null;
+        try {
+            IArtifactDescriptor sourceDescriptor = getCanonicalDescriptor(key);
+            if (sourceDescriptor == null) {
+                return false;
+            }
+            File sourceFile = fileSource.getArtifactFile(sourceDescriptor);
+            if (sourceFile == null || !sourceFile.isFile() || sourceFile.length() != Long
+                    .parseLong(sourceDescriptor.getProperty(IArtifactDescriptor.DOWNLOAD_SIZE))) {
+                return false;
+            }
+            // the destination is shared by all transfers, it is only saved once the batch ends
+            synchronized (destination) {
+                if (destination.contains(key)) {
+                    // p2 decides what to do with existing artifacts
+                    return false;
+                }
+                targetDescriptor = raw ? sourceDescriptor : new ArtifactDescriptor(sourceDescriptor);
+                destination.addDescriptor(targetDescriptor, null);
+                targetFile = fileDestination.getArtifactFile(targetDescriptor);
+            }
+            if (targetFile != null && copy(sourceFile.toPath(), targetFile.toPath())) {
+                verifyChecksum(targetFile.toPath(), sourceDescriptor.getProperty(SHA_256_CHECKSUM));
+                return true;
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Direct transfer of " + key + " failed, it is mirrored by p2: " + e);
+        }
+        if (targetDescriptor != null) {
+            synchronized (destination) {
+                destination.removeDescriptor(targetDescriptor, null);
+            }
+        }
+        if (targetFile != null) {
+            try {
+                Files.deleteIfExists(targetFile.toPath());
+            } catch (IOException e) {
+                // p2 replaces the file
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the only descriptor of the artifact that needs no processing and knows its size and
+     *         checksum, or <code>null</code> if the artifact has no such descriptor
+     */
+    private IArtifactDescriptor getCanonicalDescriptor(IArtifactKey key) {
+        IArtifactDescriptor[] descriptors = source.getArtifactDescriptors(key);
+        if (raw && descriptors.length != 1) {
+            // a raw mirror copies all descriptors
+            return null;
+        }
+        for (IArtifactDescriptor descriptor : descriptors) {
+            if (descriptor.getProcessingSteps().length == 0
+                    && descriptor.getProperty(IArtifactDescriptor.FORMAT) == null) {
+                if (descriptor.getProperty(IArtifactDescriptor.DOWNLOAD_SIZE) != null
+                        && descriptor.getProperty(SHA_256_CHECKSUM) != null) {
+                    return descriptor;
+                }
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static void verifyChecksum(Path file, String expected) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        String actual = HexFormat.of().formatHex(digest.digest());
+        if (!actual.equalsIgnoreCase(expected)) {
+            throw new IOException("sha-256 checksum " + actual + " of " + file + " does not match " + expected);
+        }
+    }
+
+    private static boolean copy(Path sourceFile, Path targetFile) throws IOException {
+        Files.createDirectories(targetFile.getParent());
+        // never write into an existing file, it might be a link to another file
+        Files.deleteIfExists(targetFile);
+        if (HARD_LINKS) {
+            try {
+                Files.createLink(targetFile, sourceFile);
+                return true;
+            } catch (IOException | UnsupportedOperationException e) {
+                // e.g. different file systems, fall back to a copy
+            }
+        }
+        try (FileChannel in = FileChannel.open(sourceFile, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(targetFile, StandardOpenOption.CREATE_NEW,
+                        StandardOpenOption.WRITE)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                long transferred = in.transferTo(position, size - position, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+            return out.size() == size;
+        }
+    }
+}
@@ -294,6 +294,13 @@ public class TychoMirrorApplication extends org.eclipse.tycho.p2tools.copiedfrom
         return keys;
     }
 
+    @Override
+    protected List<IArtifactKey> transferArtifacts(IArtifactRepository source, List<IArtifactKey> keys, boolean raw,
+            IProgressMonitor monitor) {
+        return new LocalArtifactMirroring(source, getDestinationArtifactRepository(), raw, logger).transfer(keys,
+                monitor);
+    }
+
     @Override
     protected Set<IInstallableUnit> collectUnits(IQueryable<IInstallableUnit> slice, IProgressMonitor monitor)
             throws ProvisionException {
@@ -273,8 +273,12 @@ public class MirrorApplication extends AbstractApplication implements IApplicati
         // Obtain ArtifactKeys from IUs
         boolean iusSpecified = !ius.isEmpty(); // call before ius.iterator() to avoid bug 420318
         List<IArtifactKey> keys = collectArtifactKeys(ius, monitor);
+        IArtifactRepository source = getCompositeArtifactRepository();
+        if (iusSpecified && !compare && !validate && baseline == null) {
+            keys = transferArtifacts(source, keys, raw, monitor);
+        }
 
-        Mirroring mirror = new Mirroring(getCompositeArtifactRepository(), destinationArtifactRepository, raw);
+        Mirroring mirror = new Mirroring(source, destinationArtifactRepository, raw);
         mirror.setCompare(compare);
         mirror.setComparatorId(comparatorID == null ? DEFAULT_COMPARATOR : comparatorID);
         mirror.setBaseline(initializeBaseline());
@@ -293,6 +297,23 @@ public class MirrorApplication extends AbstractApplication implements IApplicati
         return mirror;
     }
 
+    /**
+     * Allows to transfer artifacts to the destination repository without p2's {@link Mirroring},
+     * called only if no comparison or validation of the artifacts is requested.
+     * 
+     * @param source
+     *            the repository to mirror the artifacts from
+     * @param keys
+     *            the artifacts that should be mirrored
+     * @param raw
+     *            whether all descriptors of the artifacts should be mirrored unprocessed
+     * @return the artifacts that are still to be mirrored by p2
+     */
+    protected List<IArtifactKey> transferArtifacts(IArtifactRepository source, List<IArtifactKey> keys, boolean raw,
+            IProgressMonitor monitor) {
+        return keys;
+    }
+
     /**
      * Collect all artifacts from the IUs that should be mirrored
      * 
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.core.ee;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.maven.plugin.testing.SilentLog;
+import org.eclipse.tycho.core.ee.StandardExecutionEnvironment.JavaInfo;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JavaInfoCacheTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File cacheLocation;
+    private File java;
+    private AtomicInteger calls;
+
+    @Before
+    public void setup() throws Exception {
+        cacheLocation = tempFolder.newFolder("cache");
+        java = tempFolder.newFile("java");
+        Files.writeString(java.toPath(), "jdk 17");
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    public void testPersistedAcrossInstances() throws Exception {
+        JavaInfo first = new JavaInfoCache(cacheLocation).getJavaInfo(java.getPath(), new SilentLog(), loader(17));
+        assertEquals(1, calls.get());
+        JavaInfo second = new JavaInfoCache(cacheLocation).getJavaInfo(java.getPath(), new SilentLog(),
+                loader(17));
+        assertEquals(1, calls.get());
+        assertEquals(first.version, second.version);
+        assertEquals(Set.copyOf(first.packages), Set.copyOf(second.packages));
+    }
+
+    @Test
+    public void testChangedJdkIsQueriedAgain() throws Exception {
+        new JavaInfoCache(cacheLocation).getJavaInfo(java.getPath(), new SilentLog(), loader(17));
+        Files.writeString(java.toPath(), "jdk 21 with a different size");
+        Files.setLastModifiedTime(java.toPath(), FileTime.fromMillis(java.lastModified() + 10000));
+        JavaInfo javaInfo = new JavaInfoCache(cacheLocation).getJavaInfo(java.getPath(), new SilentLog(),
+                loader(21));
+        assertEquals(2, calls.get());
+        assertEquals(21, javaInfo.version);
+    }
+
+    @Test
+    public void testFailureIsNotPersisted() throws Exception {
+        new JavaInfoCache(cacheLocation).getJavaInfo(java.getPath(), new SilentLog(), loader(-1));
+        new JavaInfoCache(cacheLocation).getJavaInfo(java.getPath(), new SilentLog(), loader(-1));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testMemoryOnly() throws Exception {
+        JavaInfoCache cache = new JavaInfoCache(null);
+        cache.getJavaInfo(java.getPath(), new SilentLog(), loader(17));
+        cache.getJavaInfo(java.getPath(), new SilentLog(), loader(17));
+        assertEquals(1, calls.get());
+        new JavaInfoCache(null).getJavaInfo(java.getPath(), new SilentLog(), loader(17));
+        assertEquals(2, calls.get());
+    }
+
+    private Supplier<JavaInfo> loader(int version) {
+        return () -> {
+            calls.incrementAndGet();
+            return new JavaInfo(version, version > 0 ? List.of("java.lang", "javax.xml") : List.of());
+        };
+    }
+}
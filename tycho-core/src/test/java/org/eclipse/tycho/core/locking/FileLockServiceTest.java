@@ -26,9 +26,11 @@ import java.nio.channels.OverlappingFileLockException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.List;
 import java.util.Random;
 
 import org.eclipse.tycho.LockTimeoutException;
+import org.eclipse.tycho.core.locking.FileLockServiceImpl.LockWaitTime;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -129,6 +131,51 @@ public class FileLockServiceTest {
         assertFalse(Files.isRegularFile(lockFile));
     }
 
+    @Test
+    public void testBlockingKeepsMarkerFile() throws Exception {
+        subject = new FileLockServiceImpl(true);
+        File file = newTestFile();
+        Path lockFile = getLockMarkerFile(file);
+        lockAndRelease(file);
+        assertTrue(Files.isRegularFile(lockFile));
+        lockAndRelease(file);
+    }
+
+    @Test
+    public void testBlockingLockedByOtherProcess() throws Exception {
+        subject = new FileLockServiceImpl(true);
+        File testFile = newTestFile();
+        LockProcess lockProcess = new LockProcess(testFile, 2000L);
+        lockProcess.lockFileInForkedProcess();
+        try {
+            assertThrows(LockTimeoutException.class, () -> subject.lock(testFile, 0L));
+            assertThrows(LockTimeoutException.class, () -> subject.lock(testFile, 100L));
+        } finally {
+            lockProcess.cleanup();
+        }
+        lockAndRelease(testFile);
+    }
+
+    @Test
+    public void testBlockingTimeout() throws Exception {
+        subject = new FileLockServiceImpl(true);
+        File testFile = newTestFile();
+        long waitTime = 1000L;
+        LockProcess lockProcess = new LockProcess(testFile, waitTime);
+        long start = System.currentTimeMillis();
+        lockProcess.lockFileInForkedProcess();
+        try (var locked = subject.lock(testFile, 20000L)) {
+            long duration = System.currentTimeMillis() - start;
+            assertTrue(duration >= waitTime);
+        } finally {
+            lockProcess.cleanup();
+        }
+        List<LockWaitTime> waitTimes = subject.getWaitTimes();
+        assertEquals(1, waitTimes.size());
+        assertEquals(testFile.toPath().toRealPath(), waitTimes.get(0).file());
+        assertEquals(1, waitTimes.get(0).count());
+    }
+
     @Test
     public void testURLEncoding() throws IOException {
         File testFile = new File(tempFolder.getRoot(), "file with spaces" + new Random().nextInt());
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.core.osgitools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DefaultBundleReaderTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File cacheLocation;
+    private File bundle;
+
+    @Before
+    public void setup() throws Exception {
+        cacheLocation = tempFolder.newFolder("cache");
+        bundle = new File(tempFolder.getRoot(), "bundle.jar");
+        writeBundle("1.0.0");
+    }
+
+    @Test
+    public void testManifestIsCachedUntilChanged() throws Exception {
+        DefaultBundleReader reader = newReader();
+        OsgiManifest manifest = reader.loadManifest(bundle);
+        assertSame(manifest, reader.loadManifest(bundle));
+
+        writeBundle("2.0.0");
+        Files.setLastModifiedTime(bundle.toPath(), FileTime.fromMillis(bundle.lastModified() + 2000));
+        OsgiManifest changed = reader.loadManifest(bundle);
+        assertNotSame(manifest, changed);
+        assertEquals("2.0.0", changed.getBundleVersion());
+    }
+
+    @Test
+    public void testStoredManifestIsUsedByLaterBuilds() throws Exception {
+        OsgiManifest manifest = newReader().loadManifest(bundle);
+
+        // the jar is not read again as long as size and modification time are the same
+        FileTime lastModified = Files.getLastModifiedTime(bundle.toPath());
+        Files.write(bundle.toPath(), new byte[(int) bundle.length()]);
+        Files.setLastModifiedTime(bundle.toPath(), lastModified);
+        OsgiManifest stored = newReader().loadManifest(bundle);
+
+        assertEquals("test.bundle", stored.getBundleSymbolicName());
+        assertEquals("1.0.0", stored.getBundleVersion());
+        assertEquals(manifest.getHeaders(), stored.getHeaders());
+        assertEquals(manifest.getLocation(), stored.getLocation());
+    }
+
+    private DefaultBundleReader newReader() {
+        DefaultBundleReader reader = new DefaultBundleReader();
+        reader.enableLogging(new ConsoleLogger(Logger.LEVEL_DISABLED, "no-op logger"));
+        reader.setCacheLocation(cacheLocation);
+        return reader;
+    }
+
+    private void writeBundle(String version) throws IOException {
+        Manifest manifest = new Manifest();
+        Attributes attributes = manifest.getMainAttributes();
+        attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        attributes.putValue("Bundle-ManifestVersion", "2");
+        attributes.putValue("Bundle-SymbolicName", "test.bundle");
+        attributes.putValue("Bundle-Version", version);
+        try (OutputStream out = Files.newOutputStream(bundle.toPath());
+                JarOutputStream jar = new JarOutputStream(out, manifest)) {
+            // only the manifest is needed
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.core.osgitools;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.codehaus.plexus.logging.Logger;
+import org.eclipse.osgi.container.Module;
+import org.eclipse.osgi.container.ModuleContainer;
+import org.eclipse.osgi.container.ModuleWire;
+import org.eclipse.osgi.container.ModuleWiring;
+import org.eclipse.osgi.internal.framework.EquinoxConfiguration;
+import org.eclipse.tycho.ArtifactType;
+import org.eclipse.tycho.DefaultArtifactKey;
+import org.eclipse.tycho.core.osgitools.targetplatform.DefaultDependencyArtifacts;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.osgi.framework.Constants;
+
+public class EquinoxResolverTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private ScheduledExecutorService executor;
+    private DefaultDependencyArtifacts artifacts;
+
+    @Before
+    public void setup() throws Exception {
+        executor = Executors.newScheduledThreadPool(1);
+        artifacts = new DefaultDependencyArtifacts();
+        addBundle("bundle.a", "Export-Package: a");
+        addBundle("bundle.b", "Import-Package: a");
+        addBundle("bundle.c", "Require-Bundle: bundle.a,bundle.b");
+        addBundle("bundle.d", "Import-Package: missing");
+    }
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testCachedBundlesResolveLikeUncachedOnes() throws Exception {
+        EquinoxResolver subject = createResolver();
+
+        Map<String, String> uncached = resolve(subject);
+        Map<String, String> cached = resolve(subject);
+
+        assertEquals(uncached, cached);
+        assertEquals(resolve(createResolver()), cached);
+        assertEquals("RESOLVED [bundle.a]", cached.get("bundle.b"));
+        assertEquals("RESOLVED [bundle.a, bundle.b]", cached.get("bundle.c"));
+        assertEquals("INSTALLED []", cached.get("bundle.d"));
+    }
+
+    @Test
+    public void testChangedBundleIsPreparedAgain() throws Exception {
+        EquinoxResolver subject = createResolver();
+        resolve(subject);
+
+        File manifest = addBundle("bundle.d", "Import-Package: a;version=\"[1.0,2.0)\";resolution:=optional");
+        manifest.setLastModified(manifest.lastModified() + 2000);
+
+        Map<String, String> changed = resolve(subject);
+        assertEquals("RESOLVED []", changed.get("bundle.d"));
+        assertEquals(resolve(createResolver()), changed);
+    }
+
+    private EquinoxResolver createResolver() throws Exception {
+        EquinoxResolver resolver = new EquinoxResolver();
+        inject(resolver, "manifestReader", new DefaultBundleReader());
+        inject(resolver, "logger", mock(Logger.class));
+        return resolver;
+    }
+
+    /**
+     * @return the state and the providers of the wires of each bundle by its symbolic name
+     */
+    private Map<String, String> resolve(EquinoxResolver resolver) throws Exception {
+        Properties properties = new Properties();
+        properties.put(EquinoxConfiguration.PROP_OSGI_OS, "linux");
+        properties.put(EquinoxConfiguration.PROP_OSGI_WS, "gtk");
+        properties.put(EquinoxConfiguration.PROP_OSGI_ARCH, "x86_64");
+        ModuleContainer container = resolver.newState(artifacts, properties, null, executor,
+                new EquinoxResolverConfiguration(), new HashMap<>());
+        container.resolve(null, false);
+        Map<String, String> result = new TreeMap<>();
+        for (Module module : container.getModules()) {
+            Set<String> providers = new TreeSet<>();
+            ModuleWiring wiring = module.getCurrentRevision().getWiring();
+            if (wiring != null) {
+                for (ModuleWire wire : wiring.getRequiredModuleWires(null)) {
+                    providers.add(wire.getProvider().getSymbolicName());
+                }
+            }
+            result.put(module.getCurrentRevision().getSymbolicName(), module.getState() + " " + providers);
+        }
+        return result;
+    }
+
+    /**
+     * Writes a directory bundle with the given header, an already added bundle is changed
+     *
+     * @return the manifest file of the bundle
+     */
+    private File addBundle(String symbolicName, String header) throws Exception {
+        File bundle = new File(tempFolder.getRoot(), symbolicName);
+        File manifest = new File(bundle, "META-INF/MANIFEST.MF");
+        Files.createDirectories(manifest.getParentFile().toPath());
+        Files.writeString(manifest.toPath(), "Manifest-Version: 1.0\n" //
+                + "Bundle-ManifestVersion: 2\n" //
+                + Constants.BUNDLE_SYMBOLICNAME + ": " + symbolicName + "\n" //
+                + Constants.BUNDLE_VERSION + ": 1.0.0\n" //
+                + header + "\n");
+        artifacts.addArtifactFile(new DefaultArtifactKey(ArtifactType.TYPE_ECLIPSE_PLUGIN, symbolicName, "1.0.0"),
+                bundle, Set.of());
+        return manifest;
+    }
+
+    private static void inject(Object target, String name, Object value) throws Exception {
+        Field field = EquinoxResolver.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.tycho.test.util.LogVerifier;
+import org.eclipse.tycho.test.util.MockMavenContext;
+import org.eclipse.tycho.test.util.NoopFileLockService;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileBasedTychoRepositoryIndexTest {
+
+    private static final GAV GAV_1 = new GAV("group", "artifact1", "1.0.0");
+    private static final GAV GAV_2 = new GAV("group", "artifact2", "1.0.0");
+    private static final GAV GAV_3 = new GAV("group", "artifact3", "1.0.0");
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+    @Rule
+    public LogVerifier logVerifier = new LogVerifier();
+
+    private File basedir;
+    private File indexFile;
+
+    @Before
+    public void setup() throws Exception {
+        basedir = tempFolder.newFolder("repository");
+        indexFile = new File(basedir, FileBasedTychoRepositoryIndex.METADATA_INDEX_RELPATH);
+    }
+
+    @Test
+    public void testAddIsAppended() throws Exception {
+        TychoRepositoryIndex index = createIndex();
+        index.addGav(GAV_1);
+        index.save();
+        index.addGav(GAV_2);
+        index.save();
+
+        assertEquals(List.of(GAV_1.toExternalForm(), GAV_2.toExternalForm()), readLines());
+        assertEquals(Set.of(GAV_1, GAV_2), createIndex().getProjectGAVs());
+    }
+
+    @Test
+    public void testChangesOfOthersAreKept() throws Exception {
+        TychoRepositoryIndex index1 = createIndex();
+        TychoRepositoryIndex index2 = createIndex();
+        index1.addGav(GAV_1);
+        index1.save();
+        index2.addGav(GAV_2);
+        index2.save();
+        index1.addGav(GAV_3);
+        index1.save();
+
+        assertEquals(List.of(GAV_1.toExternalForm(), GAV_2.toExternalForm(), GAV_3.toExternalForm()), readLines());
+        assertEquals(Set.of(GAV_1, GAV_2, GAV_3), index1.getProjectGAVs());
+    }
+
+    @Test
+    public void testRemoveCompactsFile() throws Exception {
+        TychoRepositoryIndex index = createIndex();
+        index.addGav(GAV_1);
+        index.addGav(GAV_2);
+        index.save();
+        index.addGav(GAV_3);
+        index.save();
+        assertEquals(List.of(GAV_1.toExternalForm(), GAV_2.toExternalForm(), GAV_3.toExternalForm()), readLines());
+
+        index.removeGav(GAV_2);
+        index.save();
+
+        assertEquals(List.of(GAV_1.toExternalForm(), GAV_3.toExternalForm()), readLines());
+        assertEquals(Set.of(GAV_1, GAV_3), createIndex().getProjectGAVs());
+    }
+
+    @Test
+    public void testReplacedFileIsReadCompletely() throws Exception {
+        TychoRepositoryIndex index = createIndex();
+        index.addGav(GAV_1);
+        index.addGav(GAV_2);
+        index.save();
+        // simulate another process that removed an entry
+        Files.writeString(indexFile.toPath(), GAV_2.toExternalForm() + "\n");
+
+        index.addGav(GAV_3);
+        index.save();
+
+        assertEquals(Set.of(GAV_2, GAV_3), index.getProjectGAVs());
+        assertEquals(List.of(GAV_2.toExternalForm(), GAV_3.toExternalForm()), readLines());
+    }
+
+    @Test
+    public void testCompactionByOthersIsDetected() throws Exception {
+        TychoRepositoryIndex index1 = createIndex();
+        index1.addGav(GAV_1);
+        index1.addGav(GAV_2);
+        index1.save();
+
+        TychoRepositoryIndex index2 = createIndex();
+        index2.removeGav(GAV_1);
+        index2.addGav(GAV_3);
+        // the compacted file has the same size as before
+        index2.save();
+
+        index1.addGav(GAV_2);
+        index1.save();
+
+        assertEquals(Set.of(GAV_2, GAV_3), index1.getProjectGAVs());
+        assertEquals(List.of(GAV_2.toExternalForm(), GAV_3.toExternalForm()), readLines());
+    }
+
+    @Test
+    public void testRewriteByOlderVersionsIsDetected() throws Exception {
+        TychoRepositoryIndex index = createIndex();
+        index.addGav(GAV_1);
+        index.addGav(GAV_2);
+        index.save();
+        // older versions rewrite the file without updating the generation
+        FileTime lastModified = Files.getLastModifiedTime(indexFile.toPath());
+        Files.writeString(indexFile.toPath(), GAV_2.toExternalForm() + "\n" + GAV_3.toExternalForm() + "\n");
+        Files.setLastModifiedTime(indexFile.toPath(), FileTime.fromMillis(lastModified.toMillis() + 2000));
+
+        index.addGav(GAV_1);
+        index.save();
+
+        assertEquals(Set.of(GAV_1, GAV_2, GAV_3), index.getProjectGAVs());
+        assertEquals(List.of(GAV_2.toExternalForm(), GAV_3.toExternalForm(), GAV_1.toExternalForm()), readLines());
+    }
+
+    @Test
+    public void testFileWithoutGenerationIsCompacted() throws Exception {
+        Files.createDirectories(indexFile.getParentFile().toPath());
+        Files.writeString(indexFile.toPath(), GAV_1.toExternalForm() + "\n" + GAV_1.toExternalForm() + "\n");
+        TychoRepositoryIndex index = createIndex();
+        index.addGav(GAV_2);
+        index.save();
+
+        assertTrue(new File(indexFile.getPath() + FileBasedTychoRepositoryIndex.GENERATION_SUFFIX).isFile());
+        assertEquals(List.of(GAV_1.toExternalForm(), GAV_2.toExternalForm()), readLines());
+    }
+
+    private TychoRepositoryIndex createIndex() {
+        return FileBasedTychoRepositoryIndex.createMetadataIndex(basedir, new NoopFileLockService(),
+                new MockMavenContext(basedir, logVerifier.getLogger()));
+    }
+
+    private List<String> readLines() throws Exception {
+        return Files.readAllLines(indexFile.toPath(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2.repository;
+
+import static org.eclipse.tycho.p2resolver.InstallableUnitUtil.createFeatureIU;
+import static org.eclipse.tycho.p2resolver.InstallableUnitUtil.createIUArtifact;
+import static org.eclipse.tycho.p2resolver.InstallableUnitUtil.createIURequirement;
+import static org.eclipse.tycho.p2resolver.InstallableUnitUtil.createIUWithCapabilitiesAndFilter;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.equinox.p2.metadata.IInstallableUnit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MetadataBinaryIOTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final MetadataIO io = new MetadataIO();
+
+    @Test
+    public void testBinaryFormRestoresUnits() throws Exception {
+        List<IInstallableUnit> units = List.of(createIURequirement("a", "1.0.0", "b", "[1.0.0,2.0.0)"),
+                createIUWithCapabilitiesAndFilter("b", "1.0.0", List.of(), "(osgi.os=win32)"),
+                createIUArtifact("c", "1.0.0", "c", "1.0.0"), createFeatureIU("d", "1.0.0"));
+        File file = new File(tempFolder.getRoot(), "p2content.xml");
+        io.writeXML(units, file);
+        MetadataBinaryIO.write(units, file);
+
+        Set<IInstallableUnit> binaryUnits = MetadataBinaryIO.read(file);
+        assertNotNull(binaryUnits);
+        assertEquals(units, new ArrayList<>(binaryUnits));
+        for (IInstallableUnit unit : binaryUnits) {
+            IInstallableUnit original = units.get(units.indexOf(unit));
+            assertEquals(original.getProperties(), unit.getProperties());
+            assertEquals(original.getFilter(), unit.getFilter());
+            assertEquals(new ArrayList<>(original.getRequirements()), new ArrayList<>(unit.getRequirements()));
+            assertEquals(new ArrayList<>(original.getProvidedCapabilities()),
+                    new ArrayList<>(unit.getProvidedCapabilities()));
+            assertEquals(new ArrayList<>(original.getArtifacts()), new ArrayList<>(unit.getArtifacts()));
+        }
+    }
+
+    @Test
+    public void testChangedXMLIsDetected() throws Exception {
+        File file = new File(tempFolder.getRoot(), "p2content.xml");
+        List<IInstallableUnit> units = List.of(createFeatureIU("d", "1.0.0"));
+        io.writeXML(units, file);
+        MetadataBinaryIO.write(units, file);
+        assertTrue(MetadataBinaryIO.isCurrent(file));
+
+        List<IInstallableUnit> changed = List.of(createFeatureIU("e", "2.0.0"), createFeatureIU("f", "2.0.0"));
+        try (OutputStream os = new FileOutputStream(file)) {
+            io.writeXML(changed, os);
+        }
+        assertFalse(MetadataBinaryIO.isCurrent(file));
+        assertNull(MetadataBinaryIO.read(file));
+    }
+
+    @Test
+    public void testMetadataIOWritesNoBinaryForm() throws Exception {
+        File file = new File(tempFolder.getRoot(), "p2content.xml");
+        io.writeXML(List.of(createFeatureIU("d", "1.0.0")), file);
+
+        assertEquals(List.of("p2content.xml"), List.of(tempFolder.getRoot().list()));
+        assertNull(MetadataBinaryIO.read(file));
+    }
+}
@@ -22,6 +22,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Set;
 
 import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -33,6 +34,7 @@ import org.eclipse.equinox.p2.core.IProvisioningAgent;
 import org.eclipse.equinox.p2.core.ProvisionException;
 import org.eclipse.equinox.p2.metadata.IArtifactKey;
 import org.eclipse.equinox.p2.metadata.Version;
+import org.eclipse.equinox.p2.repository.artifact.ArtifactKeyQuery;
 import org.eclipse.equinox.p2.repository.artifact.IArtifactRepository;
 import org.eclipse.equinox.p2.repository.artifact.IArtifactRequest;
 import org.eclipse.equinox.p2.repository.artifact.spi.ArtifactDescriptor;
@@ -229,6 +231,25 @@ public class LocalArtifactRepositoryTest extends TychoPlexusTestCase {
         assertTrue(repo.contains(p2Artifact.getArtifactKey()));
     }
 
+    @Test
+    public void reloadQuery() throws Exception {
+        LocalArtifactRepository repo = new LocalArtifactRepository(lookup(IProvisioningAgent.class),
+                mvnRepo.getLocalRepositoryIndex());
+        ArtifactDescriptor mavenArtifact = newBundleArtifactDescriptor(true);
+        ArtifactDescriptor p2Artifact = newBundleArtifactDescriptor(false);
+
+        writeDummyArtifact(repo, mavenArtifact);
+        writeDummyArtifact(repo, p2Artifact);
+
+        repo.save();
+
+        // the stored descriptors are only read on demand, but must be found by a query as well
+        repo = new LocalArtifactRepository(lookup(IProvisioningAgent.class), mvnRepo.getLocalRepositoryIndex());
+        assertEquals(Set.of(mavenArtifact.getArtifactKey(), p2Artifact.getArtifactKey()),
+                repo.query(ArtifactKeyQuery.ALL_KEYS, null).toUnmodifiableSet());
+        assertEquals(1, repo.getArtifactDescriptors(p2Artifact.getArtifactKey()).length);
+    }
+
     @Test
     public void testGetArtifactsNoRequests() throws ComponentLookupException {
         LocalArtifactRepository repo = new LocalArtifactRepository(lookup(IProvisioningAgent.class),
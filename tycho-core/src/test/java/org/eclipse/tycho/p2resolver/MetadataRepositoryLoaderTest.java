@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2resolver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.equinox.p2.core.ProvisionException;
+import org.eclipse.equinox.p2.repository.IRepository;
+import org.eclipse.equinox.p2.repository.IRepositoryReference;
+import org.eclipse.equinox.p2.repository.metadata.IMetadataRepository;
+import org.eclipse.equinox.p2.repository.metadata.IMetadataRepositoryManager;
+import org.eclipse.tycho.MavenRepositoryLocation;
+import org.eclipse.tycho.core.shared.MavenLogger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MetadataRepositoryLoaderTest {
+
+    private static final URI REPO_A = URI.create("https://example.org/a");
+    private static final URI REPO_B = URI.create("https://example.org/b");
+    private static final URI REPO_C = URI.create("https://example.org/c");
+    private static final URI REPO_D = URI.create("https://example.org/d");
+    private static final URI ARTIFACTS_X = URI.create("https://example.org/x");
+
+    private IMetadataRepositoryManager manager;
+    private Map<URI, IMetadataRepository> repositories;
+    private ExecutorService executor;
+
+    @Before
+    public void setup() throws ProvisionException {
+        manager = mock(IMetadataRepositoryManager.class);
+        repositories = new LinkedHashMap<>();
+        executor = Executors.newFixedThreadPool(4);
+        // a -> (c, x), b -> (c, d), c -> a
+        repository(REPO_A, reference(REPO_C, IRepository.TYPE_METADATA),
+                reference(ARTIFACTS_X, IRepository.TYPE_ARTIFACT));
+        repository(REPO_B, reference(REPO_C, IRepository.TYPE_METADATA),
+                reference(REPO_D, IRepository.TYPE_METADATA));
+        repository(REPO_C, reference(REPO_A, IRepository.TYPE_METADATA));
+        repository(REPO_D);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testDepthFirstOrderWithReferences() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            List<IMetadataRepository> result = new ArrayList<>();
+            Map<URI, Boolean> artifactRepositories = new LinkedHashMap<>();
+            new MetadataRepositoryLoader(manager, mock(MavenLogger.class), true, executor)
+                    .load(List.of(location(REPO_B), location(REPO_A)), result, artifactRepositories);
+
+            assertEquals(List.of(repositories.get(REPO_B), repositories.get(REPO_C), repositories.get(REPO_A),
+                    repositories.get(REPO_D)), result);
+            assertEquals(Map.of(REPO_B, false, REPO_A, false, ARTIFACTS_X, true), artifactRepositories);
+        }
+    }
+
+    @Test
+    public void testEachRepositoryIsLoadedOnce() throws Exception {
+        List<IMetadataRepository> result = new ArrayList<>();
+        new MetadataRepositoryLoader(manager, mock(MavenLogger.class), true, executor).load(
+                List.of(location(REPO_A), location(REPO_B), location(URI.create("https://example.org/./a"))),
+                result, new LinkedHashMap<>());
+
+        assertEquals(4, result.size());
+        verify(manager, times(1)).loadRepository(eq(REPO_A), any(IProgressMonitor.class));
+        verify(manager, times(1)).loadRepository(eq(REPO_C), any(IProgressMonitor.class));
+    }
+
+    @Test
+    public void testReferencesIgnored() throws Exception {
+        List<IMetadataRepository> result = new ArrayList<>();
+        Map<URI, Boolean> artifactRepositories = new LinkedHashMap<>();
+        new MetadataRepositoryLoader(manager, mock(MavenLogger.class), false, Runnable::run)
+                .load(List.of(location(REPO_A), location(REPO_B)), result, artifactRepositories);
+
+        assertEquals(List.of(repositories.get(REPO_A), repositories.get(REPO_B)), result);
+        assertEquals(Map.of(REPO_A, false, REPO_B, false), artifactRepositories);
+    }
+
+    @Test
+    public void testFailingReferenceIsSkipped() throws Exception {
+        when(manager.loadRepository(eq(REPO_D), any(IProgressMonitor.class)))
+                .thenThrow(new ProvisionException(Status.error("not found")));
+        MavenLogger logger = mock(MavenLogger.class);
+        List<IMetadataRepository> result = new ArrayList<>();
+        new MetadataRepositoryLoader(manager, logger, true, executor).load(List.of(location(REPO_B)), result,
+                new LinkedHashMap<>());
+
+        assertEquals(List.of(repositories.get(REPO_B), repositories.get(REPO_C), repositories.get(REPO_A)), result);
+        verify(logger).warn(eq("Loading referenced repository failed: not found"), any());
+    }
+
+    @Test
+    public void testFailingRepository() throws Exception {
+        when(manager.loadRepository(eq(REPO_D), any(IProgressMonitor.class)))
+                .thenThrow(new ProvisionException(Status.error("not found")));
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> new MetadataRepositoryLoader(manager, mock(MavenLogger.class), true, executor).load(
+                        List.of(new MavenRepositoryLocation("d-id", REPO_D)), new ArrayList<>(),
+                        new LinkedHashMap<>()));
+        assertEquals("Failed to load p2 repository with ID 'd-id' from location " + REPO_D, e.getMessage());
+    }
+
+    private void repository(URI uri, IRepositoryReference... references) throws ProvisionException {
+        IMetadataRepository repository = mock(IMetadataRepository.class);
+        when(repository.getReferences()).thenReturn(List.of(references));
+        when(manager.loadRepository(eq(uri), any(IProgressMonitor.class))).thenReturn(repository);
+        repositories.put(uri, repository);
+    }
+
+    private static IRepositoryReference reference(URI uri, int type) {
+        IRepositoryReference reference = mock(IRepositoryReference.class);
+        when(reference.getLocation()).thenReturn(uri);
+        when(reference.getType()).thenReturn(type);
+        when(reference.isEnabled()).thenReturn(true);
+        return reference;
+    }
+
+    private static MavenRepositoryLocation location(URI uri) {
+        return new MavenRepositoryLocation(null, uri);
+    }
+}
@@ -26,6 +26,7 @@ import java.io.File;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.eclipse.core.runtime.IStatus;
@@ -172,6 +173,20 @@ public class MirroringArtifactProviderTest extends TychoPlexusTestCase {
         assertMirrored(BUNDLE_A_KEY);
     }
 
+    @Test
+    public void testGetPrefetchedArtifactFile() {
+        subject.prefetch(List.of(BUNDLE_A_KEY, BUNDLE_B_KEY, OTHER_KEY));
+
+        assertEquals(new File(localRepositoryRoot, localRepoPathOf(BUNDLE_A_KEY)),
+                subject.getArtifactFile(BUNDLE_A_KEY));
+        assertEquals(new File(localRepositoryRoot, localRepoPathOf(BUNDLE_B_KEY)),
+                subject.getArtifactFile(BUNDLE_B_KEY));
+        assertNull(subject.getArtifactFile(OTHER_KEY));
+
+        assertMirrored(BUNDLE_A_KEY);
+        assertMirrored(BUNDLE_B_KEY);
+    }
+
     @Test
     public void testGetUnavailableArtifactFile() {
         assertNull(subject.getArtifactFile(OTHER_KEY));
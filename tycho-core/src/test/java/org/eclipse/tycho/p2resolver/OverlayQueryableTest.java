@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2resolver;
+
+import static org.eclipse.tycho.p2resolver.InstallableUnitUtil.createIU;
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.equinox.p2.metadata.IInstallableUnit;
+import org.eclipse.equinox.p2.query.QueryUtil;
+import org.junit.Test;
+
+public class OverlayQueryableTest {
+
+    private static final IInstallableUnit BASE_1 = createIU("bundle", "1.0.0");
+    private static final IInstallableUnit BASE_2 = createIU("other", "1.0.0");
+    private static final IInstallableUnit OVERLAY_1 = createIU("bundle", "2.0.0");
+    private static final IInstallableUnit OVERLAY_2 = createIU("reactor", "1.0.0");
+
+    private final OverlayQueryable queryable = new OverlayQueryable(
+            new InstallableUnitIndex(List.of(BASE_1, BASE_2)), List.of(OVERLAY_1, OVERLAY_2, BASE_2));
+
+    @Test
+    public void testMatchQueryCombinesResults() {
+        assertEquals(Set.of(BASE_1, OVERLAY_1),
+                queryable.query(QueryUtil.createIUQuery("bundle"), null).toUnmodifiableSet());
+        assertEquals(Set.of(BASE_2), queryable.query(QueryUtil.createIUQuery("other"), null).toUnmodifiableSet());
+        assertEquals(Set.of(OVERLAY_2),
+                queryable.query(QueryUtil.createIUQuery("reactor"), null).toUnmodifiableSet());
+    }
+
+    @Test
+    public void testLatestQuerySeesAllUnits() {
+        assertEquals(Set.of(OVERLAY_1),
+                queryable.query(QueryUtil.createLatestQuery(QueryUtil.createIUQuery("bundle")), null)
+                        .toUnmodifiableSet());
+        assertEquals(4, queryable.query(QueryUtil.ALL_UNITS, null).toUnmodifiableSet().size());
+    }
+}
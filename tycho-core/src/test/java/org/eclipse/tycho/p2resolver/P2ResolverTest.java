@@ -27,6 +27,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.matchesRegex;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -35,6 +36,7 @@ import java.io.File;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +50,7 @@ import org.eclipse.tycho.ReactorProject;
 import org.eclipse.tycho.TargetEnvironment;
 import org.eclipse.tycho.core.ee.impl.ExecutionEnvironmentResolutionHandler;
 import org.eclipse.tycho.core.ee.shared.ExecutionEnvironmentStub;
+import org.eclipse.tycho.core.resolver.MetadataOnlyP2ResolutionResult;
 import org.eclipse.tycho.core.resolver.P2ResolutionResult;
 import org.eclipse.tycho.core.resolver.P2ResolutionResult.Entry;
 import org.eclipse.tycho.core.resolver.P2Resolver;
@@ -524,6 +527,59 @@ public class P2ResolverTest extends P2ResolverTestBase {
         assertThat(result.getNonReactorUnits(), hasItem(unitWithId("org.eclipse.osgi")));
     }
 
+    @Test
+    public void testEnvironmentsKeepTheirOrder() throws Exception {
+        List<TargetEnvironment> environments = List.of(new TargetEnvironment("linux", "gtk", "x86_64"),
+                new TargetEnvironment("linux", "gtk", "aarch64"), //
+                new TargetEnvironment("win32", "win32", "x86_64"), //
+                new TargetEnvironment("macosx", "cocoa", "x86_64"), //
+                new TargetEnvironment("macosx", "cocoa", "aarch64"));
+        Map<TargetEnvironment, P2ResolutionResult> expected = new HashMap<>();
+
+        Map<TargetEnvironment, P2ResolutionResult> results = createFor(environments)
+                .resolveForEachEnvironment(environment -> {
+                    // the later environments are resolved first
+                    sleep(50 * (environments.size() - environments.indexOf(environment)));
+                    P2ResolutionResult result = new MetadataOnlyP2ResolutionResult();
+                    synchronized (expected) {
+                        expected.put(environment, result);
+                    }
+                    return result;
+                });
+
+        assertEquals(environments, new ArrayList<>(results.keySet()));
+        for (TargetEnvironment environment : environments) {
+            assertSame(expected.get(environment), results.get(environment));
+        }
+    }
+
+    @Test
+    public void testFailureOfOneEnvironmentIsReported() throws Exception {
+        List<TargetEnvironment> environments = List.of(new TargetEnvironment("linux", "gtk", "x86_64"),
+                new TargetEnvironment("win32", "win32", "x86_64"), new TargetEnvironment("macosx", "cocoa", "x86_64"));
+        for (TargetEnvironment failing : environments) {
+            IllegalStateException failure = new IllegalStateException("Cannot resolve " + failing);
+
+            IllegalStateException reported = assertThrows(IllegalStateException.class,
+                    () -> createFor(environments).resolveForEachEnvironment(environment -> {
+                        if (environment.equals(failing)) {
+                            throw failure;
+                        }
+                        return new MetadataOnlyP2ResolutionResult();
+                    }));
+
+            assertSame(failure, reported);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private P2TargetPlatform getTargetPlatform() {
         return getTargetPlatform(NOOP_EE_RESOLUTION_HANDLER);
     }
@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2resolver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.eclipse.equinox.p2.core.IProvisioningAgent;
+import org.eclipse.equinox.p2.metadata.IInstallableUnit;
+import org.eclipse.equinox.p2.metadata.MetadataFactory;
+import org.eclipse.equinox.p2.metadata.MetadataFactory.InstallableUnitDescription;
+import org.eclipse.equinox.p2.metadata.Version;
+import org.eclipse.equinox.p2.query.CollectionResult;
+import org.eclipse.equinox.p2.query.QueryUtil;
+import org.eclipse.equinox.p2.repository.artifact.IArtifactRepository;
+import org.eclipse.tycho.IRepositoryIdManager;
+import org.eclipse.tycho.MavenRepositoryLocation;
+import org.eclipse.tycho.MavenRepositorySettings;
+import org.eclipse.tycho.TargetEnvironment;
+import org.eclipse.tycho.core.ee.impl.NoExecutionEnvironmentResolutionHints;
+import org.eclipse.tycho.core.resolver.shared.IncludeSourceMode;
+import org.eclipse.tycho.core.resolver.shared.ReferencedRepositoryMode;
+import org.eclipse.tycho.core.shared.MavenLogger;
+import org.eclipse.tycho.p2maven.ListCompositeArtifactRepository;
+import org.eclipse.tycho.targetplatform.TargetDefinition;
+import org.eclipse.tycho.targetplatform.TargetDefinitionContent;
+import org.eclipse.tycho.targetplatform.TargetDefinitionFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PersistentTargetDefinitionCacheTest {
+
+    private static final String IU_LOCATION = """
+            <location includeMode="planner" type="InstallableUnit">
+                <repository location="%s"/>
+                <unit id="org.eclipse.osgi" version="0.0.0"/>
+            </location>""";
+
+    private static final List<TargetEnvironment> LINUX = List.of(new TargetEnvironment("linux", "gtk", "x86_64"));
+
+    private static final URI REPOSITORY = URI.create("https://example.org/repo");
+
+    private static final URI REFERENCED = URI.create("https://example.org/referenced");
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testKeyIsStable() throws Exception {
+        TargetDefinition definition = target(IU_LOCATION.formatted("https://example.org/repo"));
+        Optional<String> key = computeKey(definition, LINUX, ReferencedRepositoryMode.include);
+        assertTrue(key.isPresent());
+        assertEquals(key, computeKey(target(IU_LOCATION.formatted("https://example.org/repo")), LINUX,
+                ReferencedRepositoryMode.include));
+    }
+
+    @Test
+    public void testKeyDependsOnArguments() throws Exception {
+        TargetDefinition definition = target(IU_LOCATION.formatted("https://example.org/repo"));
+        Optional<String> key = computeKey(definition, LINUX, ReferencedRepositoryMode.include);
+        assertNotEquals(key, computeKey(definition, List.of(new TargetEnvironment("win32", "win32", "x86_64")),
+                ReferencedRepositoryMode.include));
+        assertNotEquals(key, computeKey(definition, LINUX, ReferencedRepositoryMode.ignore));
+        assertNotEquals(key, computeKey(target(IU_LOCATION.formatted("https://example.org/other")), LINUX,
+                ReferencedRepositoryMode.include));
+    }
+
+    @Test
+    public void testLocalLocationsAreNotCached() throws Exception {
+        assertFalse(computeKey(target(IU_LOCATION.formatted("file:/tmp/repo")), LINUX,
+                ReferencedRepositoryMode.include).isPresent());
+        assertFalse(computeKey(target("<location path=\"/tmp/plugins\" type=\"Directory\"/>"), LINUX,
+                ReferencedRepositoryMode.include).isPresent());
+    }
+
+    @Test
+    public void testContentIsRestored() throws Exception {
+        TargetDefinition definition = target(IU_LOCATION.formatted(REPOSITORY));
+        String key = computeKey(definition, LINUX, ReferencedRepositoryMode.include).get();
+        Set<IInstallableUnit> units = Set.of(unit("org.eclipse.osgi"), unit("org.eclipse.equinox.common"));
+        // the ids registered while loading the repository and its references
+        RepositoryIds resolvedIds = new RepositoryIds();
+        resolvedIds.addMapping("repo", REPOSITORY);
+        resolvedIds.addMapping("referenced", REFERENCED);
+        IProvisioningAgent resolvedAgent = agent(resolvedIds);
+        TargetDefinitionContent content = mock(TargetDefinitionContent.class);
+        when(content.query(any(), any())).thenReturn(new CollectionResult<>(units));
+        when(content.getArtifactRepository()).thenReturn(new ListCompositeArtifactRepository(
+                List.of(artifactRepository(REPOSITORY), artifactRepository(REFERENCED)), resolvedAgent));
+        createCache().write(key, definition, URI::create, content, resolvedAgent);
+
+        RepositoryIds restoredIds = new RepositoryIds();
+        Optional<TargetDefinitionContent> restored = createCache().read(key, definition, URI::create,
+                ReferencedRepositoryMode.include, agent(restoredIds));
+
+        assertTrue(restored.isPresent());
+        assertEquals(units, restored.get().query(QueryUtil.ALL_UNITS, null).toUnmodifiableSet());
+        ListCompositeArtifactRepository artifactRepository = (ListCompositeArtifactRepository) restored.get()
+                .getArtifactRepository();
+        assertEquals(List.of(REPOSITORY, REFERENCED),
+                artifactRepository.artifactRepositories.stream().map(IArtifactRepository::getLocation).toList());
+        assertEquals(resolvedIds.ids, restoredIds.ids);
+    }
+
+    @Test
+    public void testOtherKeyIsNotRestored() throws Exception {
+        TargetDefinition definition = target(IU_LOCATION.formatted(REPOSITORY));
+        TargetDefinitionContent content = mock(TargetDefinitionContent.class);
+        when(content.query(any(), any())).thenReturn(new CollectionResult<>(Set.of(unit("org.eclipse.osgi"))));
+        when(content.getArtifactRepository()).thenReturn(artifactRepository(REPOSITORY));
+        createCache().write("key", definition, URI::create, content, agent(new RepositoryIds()));
+
+        assertFalse(createCache().read("other", definition, URI::create, ReferencedRepositoryMode.include,
+                agent(new RepositoryIds())).isPresent());
+    }
+
+    private PersistentTargetDefinitionCache createCache() {
+        return new PersistentTargetDefinitionCache(tempFolder.getRoot(), 60, false, false, mock(MavenLogger.class));
+    }
+
+    private static IProvisioningAgent agent(IRepositoryIdManager repositoryIdManager) {
+        IProvisioningAgent agent = mock(IProvisioningAgent.class);
+        when(agent.getService(IRepositoryIdManager.class)).thenReturn(repositoryIdManager);
+        return agent;
+    }
+
+    private static IArtifactRepository artifactRepository(URI location) {
+        IArtifactRepository repository = mock(IArtifactRepository.class);
+        when(repository.getLocation()).thenReturn(location);
+        return repository;
+    }
+
+    private static IInstallableUnit unit(String id) {
+        InstallableUnitDescription description = new InstallableUnitDescription();
+        description.setId(id);
+        description.setVersion(Version.create("1.0.0"));
+        return MetadataFactory.createInstallableUnit(description);
+    }
+
+    private static Optional<String> computeKey(TargetDefinition definition, List<TargetEnvironment> environments,
+            ReferencedRepositoryMode referencedRepositoryMode) {
+        return PersistentTargetDefinitionCache.computeKey(definition, environments,
+                NoExecutionEnvironmentResolutionHints.INSTANCE, IncludeSourceMode.honor, referencedRepositoryMode,
+                URI::create);
+    }
+
+    private static TargetDefinition target(String location) throws Exception {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><target><locations>" + location
+                + "</locations></target>";
+        return TargetDefinitionFile.parse(
+                TargetDefinitionFile.parseDocument(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))),
+                "test");
+    }
+
+    private static final class RepositoryIds implements IRepositoryIdManager {
+
+        final Map<URI, String> ids = new LinkedHashMap<>();
+
+        @Override
+        public void addMapping(String id, URI location) {
+            if (id != null) {
+                ids.put(location, id);
+            }
+        }
+
+        @Override
+        public URI getEffectiveLocation(URI location) {
+            return location;
+        }
+
+        @Override
+        public URI getEffectiveLocationAndPrepareLoad(URI location) {
+            return location;
+        }
+
+        @Override
+        public Stream<MavenRepositoryLocation> getKnownMavenRepositoryLocations() {
+            return ids.entrySet().stream().map(entry -> new MavenRepositoryLocation(entry.getValue(), entry.getKey()));
+        }
+
+        @Override
+        public MavenRepositorySettings getSettings() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2resolver;
+
+import static org.eclipse.tycho.p2resolver.InstallableUnitUtil.createIU;
+import static org.eclipse.tycho.p2resolver.InstallableUnitUtil.createIUWithCapabilitiesAndFilter;
+import static org.eclipse.tycho.p2resolver.InstallableUnitUtil.createProductIU;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.equinox.p2.metadata.IInstallableUnit;
+import org.eclipse.tycho.p2tools.copiedfromp2.QueryableArray;
+import org.junit.Test;
+
+public class ReusableSolutionsTest {
+
+    private static final Map<String, String> LINUX = Map.of("osgi.os", "linux");
+    private static final Map<String, String> WIN32 = Map.of("osgi.os", "win32");
+    private static final Map<String, String> MACOSX = Map.of("osgi.os", "macosx");
+
+    private final ReusableSolutions solutions = new ReusableSolutions();
+    private final AtomicInteger solverCalls = new AtomicInteger();
+
+    @Test
+    public void testSolutionIsReusedWithoutFilters() throws Exception {
+        List<IInstallableUnit> units = List.of(createIU("a", "1.0.0"), createIU("b", "1.0.0"));
+        assertEquals(units, solve(units, List.of(), LINUX));
+        assertEquals(units, solve(units, List.of(), WIN32));
+        assertEquals(1, solverCalls.get());
+    }
+
+    @Test
+    public void testFiltersEvaluatingDifferentlyAreSolvedAgain() throws Exception {
+        List<IInstallableUnit> units = List.of(createIU("a", "1.0.0"),
+                createIUWithCapabilitiesAndFilter("b", "1.0.0", List.of(), "(osgi.os=win32)"));
+        solve(units, List.of(), LINUX);
+        solve(units, List.of(), MACOSX);
+        assertEquals(1, solverCalls.get());
+        solve(units, List.of(), WIN32);
+        assertEquals(2, solverCalls.get());
+    }
+
+    @Test
+    public void testGeneratedUnitsAreIgnored() throws Exception {
+        IInstallableUnit a = createIU("a", "1.0.0");
+        IInstallableUnit generated1 = createIU("tycho-extra-1", "1.0.0");
+        IInstallableUnit generated2 = createIU("tycho-extra-2", "1.0.0");
+        solve(List.of(a, generated1), List.of(generated1), LINUX);
+        solve(List.of(a, generated2), List.of(generated2), WIN32);
+        assertEquals(1, solverCalls.get());
+    }
+
+    @Test
+    public void testProductsAreNotReused() throws Exception {
+        List<IInstallableUnit> units = List.of(createProductIU("product", "1.0.0"));
+        solve(units, List.of(), LINUX);
+        solve(units, List.of(), WIN32);
+        assertEquals(2, solverCalls.get());
+    }
+
+    private Collection<IInstallableUnit> solve(List<IInstallableUnit> slice, List<IInstallableUnit> generated,
+            Map<String, String> context) throws Exception {
+        return solutions.getSolution(new QueryableArray(slice), generated, List.of(), context, () -> {
+            solverCalls.incrementAndGet();
+            return List.copyOf(slice);
+        });
+    }
+}
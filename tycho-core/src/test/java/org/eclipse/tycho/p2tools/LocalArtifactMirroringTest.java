@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.p2tools;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.codehaus.plexus.logging.Logger;
+import org.eclipse.equinox.internal.p2.metadata.ArtifactKey;
+import org.eclipse.equinox.p2.metadata.IArtifactKey;
+import org.eclipse.equinox.p2.metadata.Version;
+import org.eclipse.equinox.p2.repository.artifact.IArtifactDescriptor;
+import org.eclipse.equinox.p2.repository.artifact.IArtifactRepository;
+import org.eclipse.equinox.p2.repository.artifact.IFileArtifactRepository;
+import org.eclipse.equinox.p2.repository.artifact.spi.ArtifactDescriptor;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LocalArtifactMirroringTest {
+
+    private static final IArtifactKey KEY = new ArtifactKey("osgi.bundle", "bundle", Version.create("1.0.0"));
+
+    private static final byte[] CONTENT = "content of the bundle".getBytes(StandardCharsets.UTF_8);
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private IFileArtifactRepository source;
+    private IFileArtifactRepository destination;
+    private File sourceFile;
+    private File targetFile;
+
+    @Before
+    public void setup() throws Exception {
+        sourceFile = tempFolder.newFile("source.jar");
+        Files.write(sourceFile.toPath(), CONTENT);
+        targetFile = new File(tempFolder.getRoot(), "destination/plugins/bundle_1.0.0.jar");
+        source = mock(IFileArtifactRepository.class);
+        destination = mock(IFileArtifactRepository.class);
+        when(destination.getArtifactFile(any(IArtifactDescriptor.class))).thenReturn(targetFile);
+    }
+
+    @Test
+    public void testArtifactFileIsCopied() throws Exception {
+        addSourceDescriptor(CONTENT.length, sha256(CONTENT));
+
+        assertEquals(List.of(), transfer());
+
+        assertArrayEquals(CONTENT, Files.readAllBytes(targetFile.toPath()));
+        verify(destination).addDescriptor(any(IArtifactDescriptor.class), isNull());
+        verify(destination, never()).removeDescriptor(any(IArtifactDescriptor.class), any());
+    }
+
+    @Test
+    public void testCorruptArtifactIsLeftToP2() throws Exception {
+        byte[] otherContent = "other content of bundle".getBytes(StandardCharsets.UTF_8);
+        addSourceDescriptor(CONTENT.length, sha256(otherContent));
+
+        assertEquals(List.of(KEY), transfer());
+
+        assertFalse(targetFile.exists());
+        verify(destination).removeDescriptor(any(IArtifactDescriptor.class), isNull());
+    }
+
+    @Test
+    public void testArtifactOfOtherSizeIsLeftToP2() throws Exception {
+        addSourceDescriptor(CONTENT.length + 1, sha256(CONTENT));
+
+        assertEquals(List.of(KEY), transfer());
+
+        assertFalse(targetFile.exists());
+        verify(destination, never()).addDescriptor(any(IArtifactDescriptor.class), any());
+    }
+
+    @Test
+    public void testArtifactWithoutChecksumIsLeftToP2() throws Exception {
+        addSourceDescriptor(CONTENT.length, null);
+
+        assertEquals(List.of(KEY), transfer());
+
+        verify(destination, never()).addDescriptor(any(IArtifactDescriptor.class), any());
+    }
+
+    @Test
+    public void testArtifactsOfOtherRepositoriesAreLeftToP2() throws Exception {
+        List<IArtifactKey> keys = List.of(KEY);
+
+        assertSame(keys, new LocalArtifactMirroring(mock(IArtifactRepository.class), destination, false,
+                mock(Logger.class)).transfer(keys, null));
+    }
+
+    private List<IArtifactKey> transfer() {
+        return new LocalArtifactMirroring(source, destination, false, mock(Logger.class)).transfer(List.of(KEY), null);
+    }
+
+    private void addSourceDescriptor(long size, String sha256) {
+        ArtifactDescriptor descriptor = new ArtifactDescriptor(KEY);
+        descriptor.setProperty(IArtifactDescriptor.DOWNLOAD_SIZE, Long.toString(size));
+        if (sha256 != null) {
+            descriptor.setProperty(IArtifactDescriptor.DOWNLOAD_CHECKSUM + ".sha-256", sha256);
+        }
+        when(source.getArtifactDescriptors(KEY)).thenReturn(new IArtifactDescriptor[] { descriptor });
+        when(source.getArtifactFile(descriptor)).thenReturn(sourceFile);
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2025 Sonatype Inc. and others.
+ * Copyright (c) 2011, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -63,6 +63,7 @@ import org.eclipse.tycho.core.resolver.P2Resolver;
 import org.eclipse.tycho.core.resolver.P2ResolverFactory;
 import org.eclipse.tycho.p2.target.facade.TargetPlatformConfigurationStub;
 import org.eclipse.tycho.p2.target.facade.TargetPlatformFactory;
+import org.eclipse.tycho.p2maven.transport.DefaultTransportCacheConfig;
 
 /**
  * Launch an eclipse process with arbitrary commandline arguments. The eclipse
@@ -387,6 +388,8 @@ public class EclipseRunMojo extends AbstractMojo {
 			}
 		}
 		installationDesc.setDefaultBundleStartLevel(defaultStartLevel);
+		installationDesc.setBundlePool(new File(DefaultTransportCacheConfig
+				.getDefaultCacheLocation(new File(session.getLocalRepository().getBasedir())), "bundle-pool"));
 		if (bundleStartLevel != null) {
 			for (BundleStartLevel level : bundleStartLevel) {
 				installationDesc.addBundleStartLevel(level);
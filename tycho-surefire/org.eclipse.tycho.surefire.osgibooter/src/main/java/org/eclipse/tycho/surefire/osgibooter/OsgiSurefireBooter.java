@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2022 Sonatype Inc. and others.
+ * Copyright (c) 2008, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -79,6 +79,8 @@ import org.osgi.framework.BundleException;
 import org.osgi.framework.Constants;
 import org.osgi.framework.FrameworkUtil;
 import org.osgi.framework.namespace.HostNamespace;
+import org.osgi.framework.startlevel.BundleStartLevel;
+import org.osgi.framework.startlevel.FrameworkStartLevel;
 import org.osgi.framework.wiring.BundleWire;
 import org.osgi.framework.wiring.BundleWiring;
 
@@ -95,6 +97,14 @@ public class OsgiSurefireBooter {
      */
     private static final String JUNIT_PLATFORM_PROVIDER = "org.apache.maven.surefire.junitplatform.JUnitPlatformProvider";
 
+    /**
+     * Created in the configuration area if the tests have changed the persistent state of the
+     * framework (installed bundles, their start levels and persistent start settings), the
+     * configuration area must then not be reused for later test runs (bug 415489), see
+     * <code>AbstractEclipseTestMojo</code>
+     */
+    private static final String FRAMEWORK_STATE_CHANGED = ".framework-state-changed";
+
     public static int run(String[] args, Properties testProps) throws Exception {
 
         //Due to how surefire works it assumes the junit provider to be on its own flat classpath.
@@ -103,6 +113,8 @@ public class OsgiSurefireBooter {
         //For this to work we need then to call tha ctual method reflectivly from the class loaded in the bootstrap loader.
         boolean printWires = Boolean.parseBoolean(testProps.getProperty("printWires"));
         Bundle testClassLoader = getBundleClassLoader(testProps.getProperty("testpluginname"));
+        // the test bundle is started in every run, so this is the state the tests start with
+        String frameworkState = getFrameworkState();
         Bundle surefireClassLoader = FrameworkUtil.getBundle(ForkedBooter.class);
         BundleClassLoader delegate = new BundleClassLoader(Arrays.asList(testClassLoader, surefireClassLoader),
                 printWires);
@@ -117,6 +129,49 @@ public class OsgiSurefireBooter {
             Class<?> bootLoaded = classLoader.loadClass(OsgiSurefireBooter.class.getName());
             Method method = bootLoaded.getMethod("invokeSureFire", String[].class, Properties.class);
             return (Integer) method.invoke(null, args, testProps);
+        } finally {
+            if (!frameworkState.equals(getFrameworkState())) {
+                markFrameworkStateChanged();
+            }
+        }
+    }
+
+    /**
+     * @return the persistent state of the framework, that is what the framework stores in its
+     *         configuration area
+     */
+    private static String getFrameworkState() {
+        Bundle systemBundle = getBundle(Constants.SYSTEM_BUNDLE_SYMBOLICNAME);
+        StringBuilder state = new StringBuilder();
+        FrameworkStartLevel frameworkStartLevel = systemBundle.adapt(FrameworkStartLevel.class);
+        if (frameworkStartLevel != null) {
+            state.append(frameworkStartLevel.getStartLevel()).append(':')
+                    .append(frameworkStartLevel.getInitialBundleStartLevel()).append('\n');
+        }
+        for (Bundle bundle : systemBundle.getBundleContext().getBundles()) {
+            state.append(bundle.getBundleId()).append(' ').append(bundle.getLocation()).append(' ')
+                    .append(bundle.getLastModified());
+            BundleStartLevel startLevel = bundle.adapt(BundleStartLevel.class);
+            if (startLevel != null) {
+                state.append(' ').append(startLevel.getStartLevel()).append(':')
+                        .append(startLevel.isPersistentlyStarted()).append(':')
+                        .append(startLevel.isActivationPolicyUsed());
+            }
+            state.append('\n');
+        }
+        return state.toString();
+    }
+
+    private static void markFrameworkStateChanged() {
+        Location configurationLocation = Platform.getConfigurationLocation();
+        if (configurationLocation == null || configurationLocation.getURL() == null) {
+            return;
+        }
+        try {
+            File marker = new File(new File(configurationLocation.getURL().toURI()), FRAMEWORK_STATE_CHANGED);
+            marker.createNewFile();
+        } catch (URISyntaxException | IOException | IllegalArgumentException e) {
+            System.err.println("Could not mark the framework state as changed: " + e);
         }
     }
 
@@ -368,7 +423,7 @@ public class OsgiSurefireBooter {
                 null));
     }
 
-    private static String getArgumentValue(String[] args, String argumentName) {
+    static String getArgumentValue(String[] args, String argumentName) {
         String arg = null;
         for (int i = 0; i < args.length; i++) {
             if (argumentName.equalsIgnoreCase(args[i]) && args.length >= i + 1) {
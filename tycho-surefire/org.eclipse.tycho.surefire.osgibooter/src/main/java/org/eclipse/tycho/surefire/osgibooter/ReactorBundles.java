@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.surefire.osgibooter;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleException;
+import org.osgi.framework.Constants;
+import org.osgi.framework.startlevel.BundleStartLevel;
+import org.osgi.framework.wiring.FrameworkWiring;
+
+/**
+ * The bundles of a reused test runtime that are built by the reactor and therefore change between
+ * test runs. All other bundles of the runtime stay as they are.
+ */
+class ReactorBundles {
+
+    private static final String INITIAL_PREFIX = "initial@";
+    private static final String REFERENCE_PREFIX = "reference:";
+    private static final String FILE_PREFIX = "file:";
+
+    static final class ReactorBundle {
+
+        final File file;
+        final int startLevel;
+        final boolean autoStart;
+
+        ReactorBundle(File file, int startLevel, boolean autoStart) {
+            this.file = file;
+            this.startLevel = startLevel;
+            this.autoStart = autoStart;
+        }
+    }
+
+    private final BundleContext context;
+
+    /**
+     * The reactor bundles of the last run and the modification time they had
+     */
+    private final Map<File, Long> current = new HashMap<>();
+
+    private boolean initial = true;
+
+    ReactorBundles(BundleContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Brings the reactor bundles of the framework in line with the given ones: new bundles are
+     * installed, changed ones updated, and the ones of the previous run that are not requested
+     * anymore are uninstalled. The first run uses the bundles the runtime was started with.
+     */
+    void update(Map<String, String> devEntries, List<ReactorBundle> bundles)
+            throws IOException, BundleException, InterruptedException {
+        writeDevProperties(devEntries);
+        Map<File, Bundle> installed = new HashMap<>();
+        for (Bundle bundle : context.getBundles()) {
+            File file = toFile(bundle.getLocation());
+            if (file != null) {
+                installed.put(file, bundle);
+            }
+        }
+        List<Bundle> changed = new ArrayList<>();
+        List<Bundle> toStart = new ArrayList<>();
+        Set<File> requested = new HashSet<>();
+        for (ReactorBundle reactorBundle : bundles) {
+            File file = canonical(reactorBundle.file);
+            requested.add(file);
+            Bundle bundle = installed.get(file);
+            if (bundle == null) {
+                bundle = context.installBundle(REFERENCE_PREFIX + FILE_PREFIX + file.getAbsolutePath());
+                if (reactorBundle.startLevel > 0) {
+                    bundle.adapt(BundleStartLevel.class).setStartLevel(reactorBundle.startLevel);
+                }
+                changed.add(bundle);
+            } else if (!initial && isModified(file)) {
+                bundle.update();
+                changed.add(bundle);
+            }
+            current.put(file, file.lastModified());
+            if (reactorBundle.autoStart) {
+                toStart.add(bundle);
+            }
+        }
+        for (Iterator<File> iterator = current.keySet().iterator(); iterator.hasNext();) {
+            File file = iterator.next();
+            if (!requested.contains(file)) {
+                iterator.remove();
+                Bundle bundle = installed.get(file);
+                if (bundle != null) {
+                    bundle.uninstall();
+                    changed.add(bundle);
+                }
+            }
+        }
+        initial = false;
+        if (!changed.isEmpty()) {
+            refresh(changed);
+        }
+        for (Bundle bundle : toStart) {
+            if (bundle.getState() != Bundle.ACTIVE) {
+                bundle.start();
+            }
+        }
+    }
+
+    private boolean isModified(File file) {
+        // the content of directories (like the test project) can change without touching the directory
+        Long lastModified = current.get(file);
+        return file.isDirectory() || lastModified == null || lastModified.longValue() != file.lastModified();
+    }
+
+    private void refresh(List<Bundle> bundles) throws InterruptedException {
+        FrameworkWiring wiring = context.getBundle(Constants.SYSTEM_BUNDLE_LOCATION).adapt(FrameworkWiring.class);
+        CountDownLatch refreshed = new CountDownLatch(1);
+        wiring.refreshBundles(bundles, event -> refreshed.countDown());
+        refreshed.await();
+    }
+
+    /**
+     * The framework reads the dev properties again once the file has changed, so the class path of
+     * the test project of the current run is used when its bundle is updated.
+     */
+    private void writeDevProperties(Map<String, String> devEntries) throws IOException {
+        String osgiDev = context.getProperty("osgi.dev");
+        if (osgiDev == null) {
+            return;
+        }
+        File file;
+        try {
+            URL url = new URL(osgiDev);
+            if (!"file".equals(url.getProtocol())) {
+                return;
+            }
+            file = new File(url.toURI());
+        } catch (IOException | URISyntaxException e) {
+            // dev mode without a properties file
+            return;
+        }
+        Properties properties = new Properties();
+        for (Entry<String, String> entry : devEntries.entrySet()) {
+            properties.setProperty(entry.getKey(), entry.getValue());
+        }
+        long lastModified = file.lastModified();
+        try (OutputStream out = new FileOutputStream(file)) {
+            properties.store(out, null);
+        }
+        if (file.lastModified() <= lastModified) {
+            // coarse file time resolution
+            file.setLastModified(lastModified + 1000);
+        }
+    }
+
+    private static File toFile(String location) {
+        if (location == null) {
+            return null;
+        }
+        String path = location;
+        if (path.startsWith(INITIAL_PREFIX)) {
+            path = path.substring(INITIAL_PREFIX.length());
+        }
+        if (path.startsWith(REFERENCE_PREFIX)) {
+            path = path.substring(REFERENCE_PREFIX.length());
+        }
+        if (!path.startsWith(FILE_PREFIX)) {
+            return null;
+        }
+        return canonical(new File(path.substring(FILE_PREFIX.length())));
+    }
+
+    private static File canonical(File file) {
+        try {
+            return file.getCanonicalFile();
+        } catch (IOException e) {
+            return file.getAbsoluteFile();
+        }
+    }
+}
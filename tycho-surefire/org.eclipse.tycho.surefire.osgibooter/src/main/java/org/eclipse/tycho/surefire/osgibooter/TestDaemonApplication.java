@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.surefire.osgibooter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * Keeps a test runtime alive to run the tests of several test projects one after the other. The
+ * application listens on a local port for requests of the test mojo, the port and a random token
+ * are written to the file given with <code>-daemonport</code> that only the user of the build can
+ * read. The port can be reached by all local users, so requests that don't start with the token are
+ * rejected. Each request names the test properties and the reactor bundles of a test project, the
+ * reactor bundles are swapped in the running framework before the tests are executed with the
+ * {@link OsgiSurefireBooter} and the result is sent back as the exit code a forked test runtime
+ * would have returned.
+ */
+public class TestDaemonApplication implements IApplication {
+
+    static final String COMMAND_RUN = "run";
+    static final String COMMAND_SHUTDOWN = "shutdown";
+
+    /**
+     * Exit code of a test run that failed with an exception
+     */
+    private static final int RUN_ERROR = 13;
+
+    private static final int DEFAULT_IDLE_TIMEOUT_SECONDS = 600;
+
+    /**
+     * Connections that don't send their request within this time are closed
+     */
+    private static final int REQUEST_TIMEOUT_MILLIS = 10000;
+
+    private volatile boolean running = true;
+
+    @Override
+    public Object start(IApplicationContext context) throws Exception {
+        String[] args = Platform.getCommandLineArgs();
+        String portFile = OsgiSurefireBooter.getArgumentValue(args, "-daemonport");
+        if (portFile == null) {
+            throw new IllegalArgumentException("-daemonport command line parameter is not specified");
+        }
+        String idleTimeout = OsgiSurefireBooter.getArgumentValue(args, "-daemonidletimeout");
+        int idleTimeoutSeconds = idleTimeout == null ? DEFAULT_IDLE_TIMEOUT_SECONDS : Integer.parseInt(idleTimeout);
+        ReactorBundles reactorBundles = new ReactorBundles(
+                FrameworkUtil.getBundle(TestDaemonApplication.class).getBundleContext());
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout(idleTimeoutSeconds * 1000);
+            String token = createToken();
+            writePort(new File(portFile), server.getLocalPort(), token);
+            serve(server, token, reactorBundles);
+        }
+        return IApplication.EXIT_OK;
+    }
+
+    /**
+     * Executes the requests sent to the given server until the runtime is asked to shut down, is
+     * stopped or was idle for the timeout of the server.
+     */
+    void serve(ServerSocket server, String token, ReactorBundles reactorBundles) throws IOException {
+        while (running) {
+            Socket accepted;
+            try {
+                accepted = server.accept();
+            } catch (SocketTimeoutException e) {
+                System.out.println("Test runtime was idle for " + (server.getSoTimeout() / 1000) + "s, shutting down");
+                return;
+            }
+            try (Socket socket = accepted;
+                    DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+                socket.setSoTimeout(REQUEST_TIMEOUT_MILLIS);
+                if (!MessageDigest.isEqual(token.getBytes(StandardCharsets.US_ASCII),
+                        in.readUTF().getBytes(StandardCharsets.US_ASCII))) {
+                    System.err.println("Rejected a request without the token of the test runtime");
+                    continue;
+                }
+                String command = in.readUTF();
+                if (COMMAND_SHUTDOWN.equals(command)) {
+                    return;
+                }
+                if (!COMMAND_RUN.equals(command)) {
+                    System.err.println("Rejected unknown command " + command);
+                    continue;
+                }
+                out.writeInt(run(in, reactorBundles));
+                out.flush();
+            } catch (IOException e) {
+                // a broken request must not stop the runtime
+                System.err.println("Request to the test runtime failed: " + e);
+            }
+        }
+    }
+
+    private static int run(DataInputStream in, ReactorBundles reactorBundles) throws IOException {
+        File testProperties = new File(in.readUTF());
+        long timeoutMillis = in.readLong();
+        Map<String, String> devEntries = new LinkedHashMap<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            devEntries.put(in.readUTF(), in.readUTF());
+        }
+        List<ReactorBundles.ReactorBundle> bundles = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            bundles.add(new ReactorBundles.ReactorBundle(new File(in.readUTF()), in.readInt(), in.readBoolean()));
+        }
+        Timer timer = startTimeout(timeoutMillis);
+        try {
+            reactorBundles.update(devEntries, bundles);
+            String[] args = new String[] { "-testproperties", testProperties.getAbsolutePath() };
+            Properties testProps = OsgiSurefireBooter.loadProperties(args);
+            OsgiSurefireBooter.printBundleInfos(testProps);
+            return OsgiSurefireBooter.run(args, testProps);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return RUN_ERROR;
+        } finally {
+            if (timer != null) {
+                timer.cancel();
+            }
+        }
+    }
+
+    /**
+     * A forked test runtime is killed when it exceeds its timeout, the daemon does the same for a
+     * single test run as the tests can't be stopped in a reliable way.
+     */
+    private static Timer startTimeout(long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            return null;
+        }
+        Timer timer = new Timer("Tycho-Test-Timeout", true);
+        timer.schedule(new TimerTask() {
+
+            @Override
+            public void run() {
+                System.err.println("Timeout of " + (timeoutMillis / 1000) + "s exceeded, test runtime is stopped");
+                Runtime.getRuntime().halt(RUN_ERROR);
+            }
+        }, timeoutMillis);
+        return timer;
+    }
+
+    static String createToken() {
+        byte[] token = new byte[32];
+        new SecureRandom().nextBytes(token);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    private static void writePort(File file, int port, String token) throws IOException {
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (OutputStream out = new FileOutputStream(temp)) {
+            out.write((port + "\n" + token).getBytes(StandardCharsets.US_ASCII));
+        }
+        if (!temp.renameTo(file)) {
+            throw new IOException("Can't write port file " + file);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+}
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.surefire.osgibooter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.eclipse.tycho.surefire.osgibooter.ReactorBundles.ReactorBundle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.Constants;
+import org.osgi.framework.launch.Framework;
+import org.osgi.framework.launch.FrameworkFactory;
+
+public class ReactorBundlesTest {
+
+    private static final Map<String, String> NO_DEV_ENTRIES = Collections.emptyMap();
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    private Framework framework;
+
+    @Before
+    public void startFramework() throws Exception {
+        Map<String, String> configuration = new HashMap<>();
+        configuration.put(Constants.FRAMEWORK_STORAGE, tempDir.newFolder("storage").getAbsolutePath());
+        configuration.put(Constants.FRAMEWORK_STORAGE_CLEAN, Constants.FRAMEWORK_STORAGE_CLEAN_ONFIRSTINIT);
+        framework = ServiceLoader.load(FrameworkFactory.class).iterator().next().newFramework(configuration);
+        framework.start();
+    }
+
+    @After
+    public void stopFramework() throws Exception {
+        framework.stop();
+        framework.waitForStop(10000);
+    }
+
+    @Test
+    public void testBundlesAreInstalledUpdatedAndUninstalled() throws Exception {
+        File file = createBundle("1.0.0");
+        List<ReactorBundle> bundles = Collections.singletonList(new ReactorBundle(file, 0, true));
+        ReactorBundles subject = new ReactorBundles(framework.getBundleContext());
+
+        subject.update(NO_DEV_ENTRIES, bundles);
+        Bundle installed = getTestBundle();
+        assertEquals("1.0.0", installed.getVersion().toString());
+        assertEquals(Bundle.ACTIVE, installed.getState());
+
+        createBundle("1.0.1");
+        subject.update(NO_DEV_ENTRIES, bundles);
+        assertEquals(installed.getBundleId(), getTestBundle().getBundleId());
+        assertEquals("1.0.1", getTestBundle().getVersion().toString());
+        assertEquals(Bundle.ACTIVE, getTestBundle().getState());
+
+        subject.update(NO_DEV_ENTRIES, Collections.<ReactorBundle> emptyList());
+        assertNull(getTestBundle());
+    }
+
+    @Test
+    public void testUnchangedBundlesAreNotUpdated() throws Exception {
+        File file = createBundle("1.0.0");
+        List<ReactorBundle> bundles = Collections.singletonList(new ReactorBundle(file, 0, false));
+        ReactorBundles subject = new ReactorBundles(framework.getBundleContext());
+        subject.update(NO_DEV_ENTRIES, bundles);
+        long lastModified = getTestBundle().getLastModified();
+
+        subject.update(NO_DEV_ENTRIES, bundles);
+
+        assertEquals(lastModified, getTestBundle().getLastModified());
+    }
+
+    @Test
+    public void testBundlesOfTheRuntimeAreUsedInTheFirstRun() throws Exception {
+        File file = createBundle("1.0.0");
+        Bundle initial = framework.getBundleContext().installBundle("reference:file:" + file.getAbsolutePath());
+        // the runtime was just started with the current bundles
+        createBundle("1.0.1");
+        List<ReactorBundle> bundles = Collections.singletonList(new ReactorBundle(file, 0, false));
+        ReactorBundles subject = new ReactorBundles(framework.getBundleContext());
+
+        subject.update(NO_DEV_ENTRIES, bundles);
+        assertEquals(initial.getBundleId(), getTestBundle().getBundleId());
+        assertEquals("1.0.0", getTestBundle().getVersion().toString());
+
+        subject.update(NO_DEV_ENTRIES, bundles);
+        assertEquals("1.0.0", getTestBundle().getVersion().toString());
+    }
+
+    private Bundle getTestBundle() {
+        for (Bundle bundle : framework.getBundleContext().getBundles()) {
+            if ("test.bundle".equals(bundle.getSymbolicName())) {
+                return bundle;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes the test bundle with the given version, the file is modified even with a coarse file
+     * time resolution
+     */
+    private File createBundle(String version) throws IOException {
+        File file = new File(tempDir.getRoot(), "test.bundle.jar");
+        File temp = new File(tempDir.getRoot(), "test.bundle.tmp");
+        Manifest manifest = new Manifest();
+        Attributes attributes = manifest.getMainAttributes();
+        attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        attributes.putValue(Constants.BUNDLE_MANIFESTVERSION, "2");
+        attributes.putValue(Constants.BUNDLE_SYMBOLICNAME, "test.bundle");
+        attributes.putValue(Constants.BUNDLE_VERSION, version);
+        try (JarOutputStream jar = new JarOutputStream(new FileOutputStream(temp), manifest)) {
+            // only the manifest is needed
+        }
+        long lastModified = file.lastModified();
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        if (lastModified != 0) {
+            file.setLastModified(lastModified + 2000);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.surefire.osgibooter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class TestDaemonApplicationTest {
+
+    @Test
+    public void testTokensAreUnique() {
+        String token = TestDaemonApplication.createToken();
+
+        assertTrue(token.length() >= 32);
+        assertNotEquals(token, TestDaemonApplication.createToken());
+    }
+
+    @Test
+    public void testRequestsWithoutTheTokenAreRejected() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout(30000);
+            String token = TestDaemonApplication.createToken();
+            CompletableFuture<Void> serving = CompletableFuture.runAsync(() -> {
+                try {
+                    // an executed run request is answered with an error because there are no reactor bundles
+                    new TestDaemonApplication().serve(server, token, null);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            assertEquals(-1, sendRunRequest(server, "wrong"));
+            assertEquals(-1, sendRunRequest(server, ""));
+            assertFalse(serving.isDone());
+
+            assertNotEquals(-1, sendRunRequest(server, token));
+
+            try (Socket socket = connect(server);
+                    DataOutputStream out = new DataOutputStream(socket.getOutputStream())) {
+                out.writeUTF(token);
+                out.writeUTF(TestDaemonApplication.COMMAND_SHUTDOWN);
+                out.flush();
+            }
+            serving.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * @return the first byte of the answer, or <code>-1</code> if the request was not answered
+     */
+    private static int sendRunRequest(ServerSocket server, String token) throws IOException {
+        try (Socket socket = connect(server);
+                DataInputStream in = new DataInputStream(socket.getInputStream());
+                DataOutputStream out = new DataOutputStream(socket.getOutputStream())) {
+            out.writeUTF(token);
+            out.writeUTF(TestDaemonApplication.COMMAND_RUN);
+            out.writeUTF("surefire.properties");
+            out.writeLong(0);
+            out.writeInt(0);
+            out.writeInt(0);
+            out.flush();
+            try {
+                return in.read();
+            } catch (SocketException e) {
+                // closed by the daemon without reading the request
+                return -1;
+            }
+        }
+    }
+
+    private static Socket connect(ServerSocket server) throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getLocalPort());
+        socket.setSoTimeout(30000);
+        return socket;
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2022 Sonatype Inc. and others.
+ * Copyright (c) 2008, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -24,10 +24,15 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -36,7 +41,13 @@ import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.TreeMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -53,6 +64,7 @@ import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.repository.RepositorySystem;
 import org.apache.maven.surefire.api.booter.ProviderParameterNames;
+import org.apache.maven.surefire.api.util.DefaultScanResult;
 import org.apache.maven.surefire.api.util.ScanResult;
 import org.apache.maven.surefire.booter.BooterConstants;
 import org.apache.maven.surefire.booter.PropertiesWrapper;
@@ -62,6 +74,7 @@ import org.eclipse.equinox.internal.p2.metadata.IRequiredCapability;
 import org.eclipse.equinox.p2.metadata.IRequirement;
 import org.eclipse.equinox.spi.p2.publisher.PublisherHelper;
 import org.eclipse.osgi.internal.framework.EquinoxConfiguration;
+import org.eclipse.sisu.equinox.launching.BundleReference;
 import org.eclipse.sisu.equinox.launching.BundleStartLevel;
 import org.eclipse.sisu.equinox.launching.DefaultEquinoxInstallationDescription;
 import org.eclipse.sisu.equinox.launching.EquinoxInstallation;
@@ -92,7 +105,11 @@ import org.eclipse.tycho.core.osgitools.DefaultReactorProject;
 import org.eclipse.tycho.core.osgitools.project.BuildOutputJar;
 import org.eclipse.tycho.p2.tools.RepositoryReferences;
 import org.eclipse.tycho.p2maven.InstallableUnitGenerator;
+import org.eclipse.tycho.p2maven.transport.DefaultTransportCacheConfig;
 import org.eclipse.tycho.p2tools.RepositoryReferenceTool;
+import org.eclipse.tycho.surefire.TestRuntimeDaemons.ReactorBundle;
+import org.eclipse.tycho.surefire.TestRuntimeDaemons.TestRun;
+import org.eclipse.tycho.surefire.TestShards.Shard;
 import org.eclipse.tycho.surefire.provider.impl.ProviderHelper;
 import org.eclipse.tycho.surefire.provider.impl.ProviderSelection;
 import org.eclipse.tycho.surefire.provider.spi.TestFrameworkProvider;
@@ -101,6 +118,18 @@ import org.eclipse.tycho.surefire.provisioning.ProvisionedInstallationBuilderFac
 
 public abstract class AbstractEclipseTestMojo extends AbstractTestMojo {
 
+    /**
+     * Program arguments that only name locations of the current test project
+     */
+    private static final Set<String> PER_TEST_PROJECT_ARGUMENTS = Set.of("-data", "-install", "-configuration",
+            "-testproperties");
+
+    /**
+     * Created in the configuration area by the test runtime if the tests changed the installed
+     * bundles or their start settings, see <code>OsgiSurefireBooter</code>
+     */
+    private static final String FRAMEWORK_STATE_CHANGED = ".framework-state-changed";
+
     private static final String[] UNIX_SIGNAL_NAMES = { "not a signal", // padding, signals start with 1
             "SIGHUP", "SIGINT", "SIGQUIT", "SIGILL", "SIGTRAP", "SIGABRT", "SIGBUS", "SIGFPE", "SIGKILL", "SIGUSR1",
             "SIGSEGV", "SIGUSR2", "SIGPIPE", "SIGALRM", "SIGTERM", "SIGSTKFLT", "SIGCHLD", "SIGCONT", "SIGSTOP",
@@ -221,6 +250,35 @@ public abstract class AbstractEclipseTestMojo extends AbstractTestMojo {
     @Parameter(property = "tycho.surefire.useUIThread", defaultValue = "true")
     private boolean useUIThread;
 
+    /**
+     * Keep the test runtime running after the tests and reuse it for the following test projects of
+     * the build that need the same runtime (same command line, configuration and non-reactor
+     * bundles). Only the bundles built by the reactor are exchanged between the test runs, which
+     * saves the startup of a new JVM and OSGi framework for each test project.
+     * <p>
+     * A reused runtime keeps the working directory and the workspace (<code>-data</code>) of the
+     * test project it was started for, and all state the tests leave behind in the JVM (e.g. system
+     * properties or static fields of non-reactor bundles). Not supported with the UI harness, a
+     * debug port or the <code>p2Installed</code> test runtime, or if a reactor bundle has to be
+     * unpacked, these tests are always executed in a new runtime. Runtimes that are still running
+     * are shut down at the end of the build.
+     * </p>
+     *
+     * @since 6.0.0
+     */
+    @Parameter(property = "tycho.surefire.reuseTestRuntime", defaultValue = "false")
+    private boolean reuseTestRuntime;
+
+    /**
+     * Time in seconds after which a test runtime kept running for reuse (see
+     * {@link #reuseTestRuntime}) shuts down by itself if no tests were executed in it. This limits
+     * how long a runtime survives a build that was not ended regularly.
+     *
+     * @since 6.0.0
+     */
+    @Parameter(property = "tycho.surefire.reuseTestRuntime.idleTimeout", defaultValue = "600")
+    private int reuseTestRuntimeIdleTimeout;
+
     /**
      * By default, Tycho Surefire disables JVM assertions for the execution of your test cases. To
      * enable the assertions, set this flag to "true".
@@ -343,6 +401,9 @@ public abstract class AbstractEclipseTestMojo extends AbstractTestMojo {
     @Inject
     private EquinoxLauncher launcher;
 
+    @Inject
+    private TestRuntimeDaemons testRuntimeDaemons;
+
     @Inject
     @Named("p2")
     protected DependencyResolver dependencyResolver;
@@ -615,6 +676,16 @@ public abstract class AbstractEclipseTestMojo extends AbstractTestMojo {
     @Parameter
     private List<String> suiteXmlFiles;
 
+    /**
+     * The bundles of the test runtime that are built by the reactor
+     */
+    private final Set<File> reactorBundles = new HashSet<>();
+
+    /**
+     * The shards the tests are executed in, empty if all tests are executed in one test runtime
+     */
+    private final List<Shard> testShards = new ArrayList<>();
+
     @Override
     protected void runTests(ScanResult scanResult) throws MojoExecutionException, MojoFailureException {
         // Allow constructing the test runtime against filtered OSGi/PDE metadata
@@ -634,7 +705,11 @@ public abstract class AbstractEclipseTestMojo extends AbstractTestMojo {
         }
         if (equinoxTestRuntime != null) {
             try (AutoCloseable runLock = CONCURRENCY_LOCK.aquire(reactorConcurrencyLevel)) {
-                runTest(equinoxTestRuntime);
+                if (testShards.isEmpty()) {
+                    runTest(equinoxTestRuntime);
+                } else {
+                    runShards();
+                }
             } catch (InterruptedException e) {
                 return;
             } catch (MojoExecutionException | MojoFailureException e) {
@@ -769,6 +844,8 @@ public abstract class AbstractEclipseTestMojo extends AbstractTestMojo {
 
         EquinoxInstallationDescription testRuntime = new DefaultEquinoxInstallationDescription();
         testRuntime.setDefaultBundleStartLevel(defaultStartLevel);
+        testRuntime.setBundlePool(getBundlePool());
+        testRuntime.setConfigurationCacheEnabled(true);
         testRuntime.addBundlesToExplode(getBundlesToExplode());
         testRuntime.addFrameworkExtensions(getFrameworkExtensions());
         if (bundleStartLevel != null) {
@@ -788,11 +865,13 @@ public abstract class AbstractEclipseTestMojo extends AbstractTestMojo {
                 // we do not need custom metadata. If we need, we load the test bundle as JAR instead
                 if (useMetadataDirectory(otherProject)) {
                     addBundle(testRuntime, artifact.getKey(), metadataDirectory);
+                    reactorBundles.add(metadataDirectory);
                     continue;
                 }
                 File file = otherProject.getArtifact(artifact.getClassifier());
                 if (file != null) {
                     addBundle(testRuntime, artifact.getKey(), file);
+                    reactorBundles.add(file);
                     continue;
                 }
             }
@@ -808,9 +887,73 @@ public abstract class AbstractEclipseTestMojo extends AbstractTestMojo {
         setupTestBundles(testFrameworkBundles, testRuntime, provider);
 
         getReportsDirectory().mkdirs();
+        List<List<String>> shardClasses = getShardClasses(scanResult);
+        if (shardClasses.size() > 1) {
+            for (int i = 0; i < shardClasses.size(); i++) {
+                File shardWork = new File(work, "shard-" + i);
+                File shardReports = new File(shardWork, "reports");
+                try {
+                    // reports of earlier runs may belong to classes that are now executed in another shard
+                    FileUtils.deleteDirectory(shardReports);
+                } catch (IOException e) {
+                    throw new MojoExecutionException("Can't delete reports of test shard " + i, e);
+                }
+                shardReports.mkdirs();
+                PropertiesWrapper shardWrapper = createSurefireProperties(provider,
+                        new DefaultScanResult(shardClasses.get(i)));
+                shardWrapper.setProperty("reportsdirectory", shardReports.getAbsolutePath());
+                File shardProperties = new File(shardWork, surefireProperties.getName());
+                storeProperties(shardWrapper.getProperties(), shardProperties);
+                testShards.add(new Shard(installationFactory.createInstallation(testRuntime, shardWork),
+                        shardProperties, new File(shardWork, "data"), shardReports));
+            }
+            return testShards.get(0).installation();
+        }
         return installationFactory.createInstallation(testRuntime, work);
     }
 
+    /**
+     * @return the number of test runtimes the test classes are distributed to, <code>1</code> to
+     *         execute all tests in one test runtime
+     */
+    protected int getShardCount() {
+        return 1;
+    }
+
+    private List<List<String>> getShardClasses(ScanResult scanResult) {
+        if (getShardCount() <= 1 || scanResult.size() <= 1) {
+            return List.of();
+        }
+        if (suiteXmlFiles != null && !suiteXmlFiles.isEmpty()) {
+            getLog().info("Test suite files can't be sharded, all tests are executed in one test runtime");
+            return List.of();
+        }
+        if (debugPort > 0) {
+            // all shards would wait for a debugger on the same port
+            getLog().info("Tests are not sharded while debugging, all tests are executed in one test runtime");
+            return List.of();
+        }
+        List<String> classes = new ArrayList<>();
+        for (int i = 0; i < scanResult.size(); i++) {
+            classes.add(scanResult.getClassName(i));
+        }
+        List<List<String>> shards = TestShards.split(classes, getShardCount(),
+                TestShards.readDurations(getReportsDirectory()));
+        for (int i = 0; i < shards.size(); i++) {
+            getLog().debug("Shard " + i + ": " + shards.get(i));
+        }
+        if (shards.size() > 1 && reuseTestRuntime) {
+            getLog().info("Tests are executed in " + shards.size()
+                    + " new test runtimes, reuseTestRuntime is not supported together with sharding");
+        }
+        return shards;
+    }
+
+    private File getBundlePool() {
+        File localRepository = new File(session.getLocalRepository().getBasedir());
+        return new File(DefaultTransportCacheConfig.getDefaultCacheLocation(localRepository), "bundle-pool");
+    }
+
     protected boolean useMetadataDirectory(ReactorProject otherProject) {
         return otherProject.sameProject(project) && project.getBasedir().equals(metadataDirectory);
     }
@@ -989,13 +1132,107 @@ public abstract class AbstractEclipseTestMojo extends AbstractTestMojo {
             if (deleteOsgiDataDirectory) {
                 FileUtils.deleteDirectory(osgiDataDirectory);
             }
-            cli = createCommandLine(testRuntime);
-            getLog().info("Executing test runtime with timeout (seconds): " + forkedProcessTimeoutInSeconds
-                    + ", logs, if any, will be placed at: " + logFile.getAbsolutePath());
-            result = launcher.execute(cli, forkedProcessTimeoutInSeconds);
+            if (canReuseTestRuntime(testRuntime)) {
+                EquinoxLaunchConfiguration daemonCli = createCommandLine(testRuntime,
+                        TestRuntimeDaemons.DAEMON_APPLICATION, surefireProperties, osgiDataDirectory);
+                daemonCli.addProgramArguments("-daemonidletimeout", String.valueOf(reuseTestRuntimeIdleTimeout));
+                cli = daemonCli;
+                getLog().info("Executing tests in reusable test runtime with timeout (seconds): "
+                        + forkedProcessTimeoutInSeconds + ", logs, if any, will be placed at: "
+                        + logFile.getAbsolutePath());
+                result = testRuntimeDaemons.execute(getTestRuntimeKey(testRuntime, daemonCli), daemonCli,
+                        createTestRun(testRuntime));
+            } else {
+                cli = createCommandLine(testRuntime, getTestApplication(), surefireProperties, osgiDataDirectory);
+                getLog().info("Executing test runtime with timeout (seconds): " + forkedProcessTimeoutInSeconds
+                        + ", logs, if any, will be placed at: " + logFile.getAbsolutePath());
+                result = launcher.execute(cli, forkedProcessTimeoutInSeconds);
+                if (isTestResult(result)) {
+                    cacheConfiguration(testRuntime);
+                }
+            }
+        } catch (Exception e) {
+            throw new MojoExecutionException("Error while executing platform", e);
+        }
+        handleResult(result, cli, logFile);
+    }
+
+    /**
+     * Executes the shards in parallel and handles their combined result: an unexpected error of a
+     * shard is reported first, then test failures, and the tests only count as not found if no
+     * shard found tests.
+     */
+    private void runShards() throws MojoExecutionException, MojoFailureException {
+        getLog().info("Executing tests in " + testShards.size() + " test runtimes with timeout (seconds): "
+                + forkedProcessTimeoutInSeconds);
+        ExecutorService executor = Executors.newFixedThreadPool(testShards.size(), r -> {
+            Thread thread = new Thread(r, "Tycho-Test-Shard");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<LaunchConfiguration> commandLines = new ArrayList<>();
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (Shard shard : testShards) {
+                if (deleteOsgiDataDirectory) {
+                    FileUtils.deleteDirectory(shard.dataDirectory());
+                }
+                LaunchConfiguration cli = createCommandLine(shard.installation(), getTestApplication(),
+                        shard.testProperties(), shard.dataDirectory());
+                commandLines.add(cli);
+                results.add(executor.submit(() -> {
+                    int result = launcher.execute(cli, forkedProcessTimeoutInSeconds);
+                    if (isTestResult(result)) {
+                        cacheConfiguration(shard.installation());
+                    }
+                    return result;
+                }));
+            }
+            int failedShard = -1;
+            int failedResult = 0;
+            boolean testsFound = false;
+            boolean testFailures = false;
+            for (int i = 0; i < results.size(); i++) {
+                int result = results.get(i).get();
+                if (!isTestResult(result)) {
+                    if (failedShard < 0) {
+                        failedShard = i;
+                        failedResult = result;
+                    }
+                } else {
+                    testsFound |= result != 254/* RunResult.NO_TESTS */;
+                    testFailures |= result == 255/* RunResult.FAILURE */;
+                }
+            }
+            TestShards.mergeReports(testShards, getReportsDirectory());
+            if (failedShard >= 0) {
+                handleResult(failedResult, commandLines.get(failedShard),
+                        new File(testShards.get(failedShard).dataDirectory(), ".metadata/.log"));
+            } else {
+                handleResult(testFailures ? 255 : testsFound ? 0 : 254, commandLines.get(0), null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while executing test shards", e);
+        } catch (MojoExecutionException | MojoFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new MojoExecutionException("Error while executing platform", e);
+        } finally {
+            executor.shutdownNow();
         }
+    }
+
+    /**
+     * @return <code>true</code> if the given exit code of a test runtime means that the tests were
+     *         executed (regardless of their outcome)
+     */
+    private static boolean isTestResult(int result) {
+        return result == 0 || result == 254 || result == 255;
+    }
+
+    private void handleResult(int result, LaunchConfiguration cli, File logFile)
+            throws MojoExecutionException, MojoFailureException {
         switch (result) {
         case 0:
             handleSuccess();
@@ -1025,7 +1262,7 @@ public abstract class AbstractEclipseTestMojo extends AbstractTestMojo {
                     "An unexpected error occurred while launching the test runtime (process returned error code ");
             defaultMessage.append(decodeReturnCode(result));
             defaultMessage.append(").");
-            if (logFile.exists()) {
+            if (logFile != null && logFile.exists()) {
                 defaultMessage.append(" The process logfile ");
                 defaultMessage.append(logFile.getAbsolutePath());
                 defaultMessage.append(" might contain further details.");
@@ -1050,6 +1287,98 @@ public abstract class AbstractEclipseTestMojo extends AbstractTestMojo {
         }
     }
 
+    private void cacheConfiguration(EquinoxInstallation testRuntime) {
+        if (new File(testRuntime.getConfigurationLocation(), FRAMEWORK_STATE_CHANGED).exists()) {
+            // bug 415489: bundles installed or started by the tests must not leak into later test runs
+            getLog().debug("The tests changed the framework state, the test runtime configuration is not cached");
+            return;
+        }
+        try {
+            testRuntime.cacheConfiguration();
+        } catch (IOException e) {
+            getLog().debug("Caching the configuration of the test runtime failed", e);
+        }
+    }
+
+    boolean canReuseTestRuntime(EquinoxInstallation testRuntime) {
+        if (!reuseTestRuntime || useUIHarness || debugPort > 0 || !"default".equals(this.testRuntime)) {
+            return false;
+        }
+        EquinoxInstallationDescription description = testRuntime.getInstallationDescription();
+        for (BundleReference bundle : description.getBundles()) {
+            File location = bundle.getLocation();
+            if (reactorBundles.contains(location) && location.isFile()
+                    && (description.getBundlesToExplode().contains(bundle.getId()) || isDirectoryShape(location))) {
+                // the unpacked copy of the runtime can't be exchanged
+                getLog().info("Reactor bundle " + bundle.getId()
+                        + " is unpacked in the test runtime, tests are executed in a new runtime");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDirectoryShape(File file) {
+        try (JarFile jarFile = new JarFile(file)) {
+            Manifest manifest = jarFile.getManifest();
+            return manifest != null && "dir".equals(manifest.getMainAttributes().getValue("Eclipse-BundleShape"));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * The key of a reusable test runtime covers everything that can't be changed once the runtime
+     * runs, the arguments that only name locations of the current test project are left out.
+     */
+    String getTestRuntimeKey(EquinoxInstallation testRuntime, LaunchConfiguration cli) {
+        List<String> key = new ArrayList<>();
+        key.add(cli.getJvmExecutable());
+        key.addAll(Arrays.asList(cli.getVMArguments()));
+        new TreeMap<>(cli.getEnvironment()).forEach((name, value) -> key.add(name + "=" + value));
+        String[] programArguments = cli.getProgramArguments();
+        for (int i = 0; i < programArguments.length; i++) {
+            if (PER_TEST_PROJECT_ARGUMENTS.contains(programArguments[i])) {
+                i++;
+            } else {
+                key.add(programArguments[i]);
+            }
+        }
+        EquinoxInstallationDescription description = testRuntime.getInstallationDescription();
+        description.getBundles().stream().filter(bundle -> !reactorBundles.contains(bundle.getLocation()))
+                .map(bundle -> bundle.getId() + "_" + bundle.getVersion() + "=" + bundle.getLocation()).sorted()
+                .forEach(key::add);
+        description.getFrameworkExtensions().stream().map(File::getAbsolutePath).sorted().forEach(key::add);
+        description.getBundlesToExplode().stream().sorted().forEach(key::add);
+        new TreeMap<>(description.getBundleStartLevel())
+                .forEach((id, level) -> key.add(id + "@" + level.getLevel() + ":" + level.isAutoStart()));
+        BundleStartLevel defaultLevel = description.getDefaultBundleStartLevel();
+        if (defaultLevel != null) {
+            key.add(defaultLevel.getLevel() + ":" + defaultLevel.isAutoStart());
+        }
+        new TreeMap<>(description.getPlatformProperties()).forEach((name, value) -> key.add(name + "=" + value));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(String.join("\n", key).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private TestRun createTestRun(EquinoxInstallation testRuntime) {
+        EquinoxInstallationDescription description = testRuntime.getInstallationDescription();
+        BundleStartLevel defaultLevel = description.getDefaultBundleStartLevel();
+        List<ReactorBundle> bundles = new ArrayList<>();
+        for (BundleReference bundle : description.getBundles()) {
+            if (reactorBundles.contains(bundle.getLocation())) {
+                BundleStartLevel level = description.getBundleStartLevel().get(bundle.getId());
+                bundles.add(new ReactorBundle(bundle.getLocation(), level != null ? level.getLevel() : 0,
+                        level != null ? level.isAutoStart() : defaultLevel != null && defaultLevel.isAutoStart()));
+            }
+        }
+        return new TestRun(surefireProperties, forkedProcessTimeoutInSeconds, description.getDevEntries(), bundles);
+    }
+
     protected abstract void handleTestFailures() throws MojoFailureException;
 
     protected abstract void handleSuccess();
@@ -1071,8 +1400,8 @@ public abstract class AbstractEclipseTestMojo extends AbstractTestMojo {
         return String.valueOf(result);
     }
 
-    private EquinoxLaunchConfiguration createCommandLine(EquinoxInstallation testRuntime)
-            throws MalformedURLException, MojoExecutionException {
+    private EquinoxLaunchConfiguration createCommandLine(EquinoxInstallation testRuntime, String testApplication,
+            File testProperties, File dataDirectory) throws MalformedURLException, MojoExecutionException {
         EquinoxLaunchConfiguration cli = new EquinoxLaunchConfiguration(testRuntime);
 
         String executable = getJavaExecutable();
@@ -1092,7 +1421,7 @@ public abstract class AbstractEclipseTestMojo extends AbstractTestMojo {
         addCustomProfileArg(cli);
         cli.addVMArguments(splitArgLine(argLine));
 
-        for (Map.Entry<String, String> entry : getMergedSystemProperties().entrySet()) {
+        for (Map.Entry<String, String> entry : getMergedSystemProperties(testRuntime).entrySet()) {
             cli.addVMArguments("-D" + entry.getKey() + "=" + entry.getValue());
         }
         if (debugOptions != null || getLog().isDebugEnabled()) {
@@ -1105,11 +1434,11 @@ public abstract class AbstractEclipseTestMojo extends AbstractTestMojo {
         if (getLog().isDebugEnabled() || showEclipseLog) {
             cli.addProgramArguments("-consolelog");
         }
-        addProgramArgs(cli, "-data", osgiDataDirectory.getAbsolutePath(), //
+        addProgramArgs(cli, "-data", dataDirectory.getAbsolutePath(), //
                 "-install", testRuntime.getLocation().getAbsolutePath(), //
                 "-configuration", testRuntime.getConfigurationLocation().getAbsolutePath(), //
-                "-application", getTestApplication(), //
-                "-testproperties", surefireProperties.getAbsolutePath());
+                "-application", testApplication, //
+                "-testproperties", testProperties.getAbsolutePath());
         if (application != null) {
             cli.addProgramArguments("-testApplication", application);
         }
@@ -1129,10 +1458,13 @@ public abstract class AbstractEclipseTestMojo extends AbstractTestMojo {
         return cli;
     }
 
-    private Map<String, String> getMergedSystemProperties() {
+    private Map<String, String> getMergedSystemProperties(EquinoxInstallation testRuntime) {
         Map<String, String> result = new LinkedHashMap<>();
-        // bug 415489: use osgi.clean=true by default
-        result.put("osgi.clean", "true");
+        // bug 415489: use osgi.clean=true by default, unless the installation prepared a clean or cached
+        // framework storage
+        if (!testRuntime.isConfigurationCached()) {
+            result.put("osgi.clean", "true");
+        }
         if (systemProperties != null) {
             result.putAll(systemProperties);
         }
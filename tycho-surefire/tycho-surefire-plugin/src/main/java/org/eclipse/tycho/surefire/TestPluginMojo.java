@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2021 Sonatype Inc. and others.
+ * Copyright (c) 2008, 2026 Sonatype Inc. and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -66,6 +66,20 @@ public class TestPluginMojo extends AbstractEclipseTestMojo {
     @Parameter
     private boolean quiet;
 
+    /**
+     * Distributes the test classes to the given number of test runtimes that are executed in
+     * parallel, each with its own work and data directory. The test classes are balanced between
+     * the runtimes by their durations in the reports of the previous run, the reports of all
+     * runtimes are merged into the {@link #reportsDirectory}. The tests must not depend on running
+     * in the same runtime as other test classes or on a fixed execution order. Test suite files are
+     * not sharded, and neither are tests that are debugged with a {@code debugPort}. Sharded tests
+     * are always executed in new test runtimes, even if {@code reuseTestRuntime} is enabled.
+     *
+     * @since 6.0.0
+     */
+    @Parameter(property = "tycho.surefire.shards", defaultValue = "1")
+    private int shards;
+
     /**
      * Configures the packaging type where this mojos applies, would normally be one of
      * eclipse-test-plugin or eclipse-plugin.
@@ -83,6 +97,11 @@ public class TestPluginMojo extends AbstractEclipseTestMojo {
         return reportsDirectory;
     }
 
+    @Override
+    protected int getShardCount() {
+        return shards;
+    }
+
     @Override
     protected void handleSuccess() {
         if (!quiet) {
@@ -0,0 +1,304 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.tycho.surefire;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.execution.MavenSession;
+import org.codehaus.plexus.logging.Logger;
+import org.eclipse.sisu.equinox.launching.EquinoxLauncher;
+import org.eclipse.sisu.equinox.launching.internal.EquinoxLaunchConfiguration;
+import org.eclipse.tycho.build.BuildListener;
+
+/**
+ * Keeps test runtimes running between test executions of a build so that test projects that need
+ * the same runtime don't have to start a new one. A runtime is identified by a key that covers
+ * everything that is fixed once it runs (command line, framework configuration and all bundles that
+ * are not built by the reactor), the reactor bundles are exchanged for each test run. All runtimes
+ * that are still running are shut down when the build ends.
+ */
+@Named
+@Singleton
+public class TestRuntimeDaemons implements BuildListener {
+
+    static final String DAEMON_APPLICATION = "org.eclipse.tycho.surefire.osgibooter.testdaemon";
+
+    /**
+     * Maximum number of runtimes kept running while no tests are executed
+     */
+    private static final int MAX_IDLE = Integer.getInteger("tycho.surefire.reuseTestRuntime.maxIdle", 2);
+
+    private static final long STARTUP_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private static final int EXIT_TIMEOUT_SECONDS = 60;
+
+    /**
+     * A reactor bundle of a test run
+     */
+    public record ReactorBundle(File file, int startLevel, boolean autoStart) {
+    }
+
+    /**
+     * The tests of one test project
+     */
+    public record TestRun(File testProperties, int timeoutInSeconds, Map<String, String> devEntries,
+            List<ReactorBundle> reactorBundles) {
+    }
+
+    @Inject
+    private EquinoxLauncher launcher;
+
+    @Inject
+    private Logger logger;
+
+    private final long startupTimeoutMillis;
+
+    /**
+     * Runs the launcher of each runtime, interrupting its thread kills the runtime
+     */
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "Tycho-Test-Runtime");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Runtimes that currently don't run tests, the least recently used first
+     */
+    private final Deque<Daemon> idle = new ArrayDeque<>();
+
+    public TestRuntimeDaemons() {
+        // for plexus
+        this.startupTimeoutMillis = STARTUP_TIMEOUT_MILLIS;
+    }
+
+    TestRuntimeDaemons(EquinoxLauncher launcher, Logger logger, long startupTimeoutMillis) {
+        this.launcher = launcher;
+        this.logger = logger;
+        this.startupTimeoutMillis = startupTimeoutMillis;
+    }
+
+    /**
+     * Runs the given tests in an idle runtime with the given key, or in a new runtime started with
+     * the given command line if there is none.
+     *
+     * @return the exit code a forked test runtime would have returned for the tests
+     */
+    public int execute(String key, EquinoxLaunchConfiguration cli, TestRun run)
+            throws IOException, InterruptedException {
+        Daemon daemon = acquire(key);
+        if (daemon == null) {
+            logger.info("Starting reusable test runtime");
+            daemon = start(key, cli);
+        } else {
+            logger.info("Reusing running test runtime");
+        }
+        int result;
+        try {
+            result = daemon.run(run);
+        } catch (IOException e) {
+            // the runtime terminated while running the tests, e.g. because of the timeout
+            logger.debug("Test runtime terminated: " + e);
+            return daemon.exitCode();
+        }
+        release(daemon);
+        return result;
+    }
+
+    private synchronized Daemon acquire(String key) {
+        for (Iterator<Daemon> iterator = idle.descendingIterator(); iterator.hasNext();) {
+            Daemon daemon = iterator.next();
+            if (daemon.exit.isDone()) {
+                iterator.remove();
+            } else if (daemon.key.equals(key)) {
+                iterator.remove();
+                return daemon;
+            }
+        }
+        return null;
+    }
+
+    private void release(Daemon daemon) {
+        Daemon evicted = null;
+        synchronized (this) {
+            idle.addLast(daemon);
+            if (idle.size() > MAX_IDLE) {
+                evicted = idle.removeFirst();
+            }
+        }
+        if (evicted != null) {
+            evicted.shutdown();
+        }
+    }
+
+    @Override
+    public void buildStarted(MavenSession session) {
+        // runtimes are started on demand
+    }
+
+    @Override
+    public void buildEnded(MavenSession session) {
+        shutdownIdle();
+    }
+
+    /**
+     * Shuts down all runtimes that currently don't run tests and waits until they have terminated,
+     * runtimes that don't terminate in time are killed.
+     */
+    void shutdownIdle() {
+        List<Daemon> daemons;
+        synchronized (this) {
+            daemons = new ArrayList<>(idle);
+            idle.clear();
+        }
+        for (Daemon daemon : daemons) {
+            daemon.shutdown();
+        }
+        for (Daemon daemon : daemons) {
+            try {
+                daemon.exit.get(EXIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (ExecutionException | CancellationException e) {
+                // terminated anyway
+            } catch (TimeoutException e) {
+                logger.warn("Test runtime did not shut down within " + EXIT_TIMEOUT_SECONDS + "s, killing it");
+                daemon.exit.cancel(true);
+            } catch (InterruptedException e) {
+                daemon.exit.cancel(true);
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Daemon start(String key, EquinoxLaunchConfiguration cli) throws IOException, InterruptedException {
+        Path portFile = Files.createTempDirectory("tycho-test-runtime").resolve("port");
+        cli.addProgramArguments("-daemonport", portFile.toString());
+        Future<Integer> exit = executor.submit(() -> launcher.execute(cli, 0));
+        boolean ready = false;
+        try {
+            long deadline = System.currentTimeMillis() + startupTimeoutMillis;
+            while (!Files.isRegularFile(portFile)) {
+                if (exit.isDone()) {
+                    throw new IOException("Test runtime terminated with exit code " + getExitCode(exit)
+                            + " before it was ready to run tests");
+                }
+                if (System.currentTimeMillis() > deadline) {
+                    throw new IOException("Test runtime was not ready to run tests after "
+                            + TimeUnit.MILLISECONDS.toSeconds(startupTimeoutMillis) + "s");
+                }
+                Thread.sleep(100);
+            }
+            // the port file contains the port and the token the runtime expects with each request, it
+            // is created in a temporary directory that only the current user can access
+            String[] portAndToken = Files.readString(portFile).trim().split("\\s+");
+            Daemon daemon = new Daemon(key, Integer.parseInt(portAndToken[0]), portAndToken[1], exit);
+            ready = true;
+            return daemon;
+        } finally {
+            if (!ready) {
+                // kills the runtime if it is still starting
+                exit.cancel(true);
+            }
+            FileUtils.deleteQuietly(portFile.getParent().toFile());
+        }
+    }
+
+    private static int getExitCode(Future<Integer> exit) throws InterruptedException {
+        try {
+            return exit.get(EXIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException | CancellationException | TimeoutException e) {
+            return -1;
+        }
+    }
+
+    private final class Daemon {
+
+        private final String key;
+        private final int port;
+        private final String token;
+        private final Future<Integer> exit;
+
+        Daemon(String key, int port, String token, Future<Integer> exit) {
+            this.key = key;
+            this.port = port;
+            this.token = token;
+            this.exit = exit;
+        }
+
+        int run(TestRun run) throws IOException {
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                    DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+                out.writeUTF(token);
+                out.writeUTF("run");
+                out.writeUTF(run.testProperties().getAbsolutePath());
+                out.writeLong(TimeUnit.SECONDS.toMillis(run.timeoutInSeconds()));
+                out.writeInt(run.devEntries().size());
+                for (Entry<String, String> entry : run.devEntries().entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeUTF(entry.getValue());
+                }
+                out.writeInt(run.reactorBundles().size());
+                for (ReactorBundle bundle : run.reactorBundles()) {
+                    out.writeUTF(bundle.file().getAbsolutePath());
+                    out.writeInt(bundle.startLevel());
+                    out.writeBoolean(bundle.autoStart());
+                }
+                out.flush();
+                return in.readInt();
+            }
+        }
+
+        int exitCode() throws InterruptedException {
+            return getExitCode(exit);
+        }
+
+        void shutdown() {
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                    DataOutputStream out = new DataOutputStream(socket.getOutputStream())) {
+                out.writeUTF(token);
+                out.writeUTF("shutdown");
+                out.flush();
+            } catch (IOException e) {
+                logger.debug("Shutting down test runtime failed: " + e);
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.tycho.surefire;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.sisu.equinox.launching.EquinoxInstallation;
+
+/**
+ * Splits the test classes of a test project into shards that are executed in separate test
+ * runtimes at the same time. The shards are balanced with the durations of the test classes from
+ * the reports of the previous run, each shard writes its own reports that are merged into the
+ * reports directory afterwards.
+ */
+class TestShards {
+
+    private static final String REPORT_PREFIX = "TEST-";
+    private static final String REPORT_SUFFIX = ".xml";
+
+    /**
+     * Run statistics of surefire, written for each run and not meaningful for a single shard
+     */
+    private static final String RUN_STATISTICS = "TESTHASH";
+
+    /**
+     * Duration assumed for test classes without a report if there are no reports at all
+     */
+    private static final double DEFAULT_DURATION = 1.0;
+
+    /**
+     * A shard of the tests of a test project
+     */
+    record Shard(EquinoxInstallation installation, File testProperties, File dataDirectory, File reportsDirectory) {
+    }
+
+    private TestShards() {
+    }
+
+    /**
+     * Splits the given test classes into at most the given number of shards with about the same
+     * duration, the longest test classes are assigned first, each to the shard with the shortest
+     * total duration so far. Test classes without a known duration are assumed to take the average
+     * duration of the known ones.
+     */
+    static List<List<String>> split(List<String> classes, int count, Map<String, Double> durations) {
+        int shardCount = Math.max(1, Math.min(count, classes.size()));
+        double defaultDuration = durations.values().stream().mapToDouble(Double::doubleValue).average()
+                .orElse(DEFAULT_DURATION);
+        List<String> sorted = new ArrayList<>(classes);
+        sorted.sort(Comparator.<String> comparingDouble(clazz -> durations.getOrDefault(clazz, defaultDuration))
+                .reversed().thenComparing(Comparator.naturalOrder()));
+        List<List<String>> shards = new ArrayList<>();
+        double[] totals = new double[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>());
+        }
+        for (String clazz : sorted) {
+            int shortest = 0;
+            for (int i = 1; i < shardCount; i++) {
+                if (totals[i] < totals[shortest]) {
+                    shortest = i;
+                }
+            }
+            shards.get(shortest).add(clazz);
+            totals[shortest] += durations.getOrDefault(clazz, defaultDuration);
+        }
+        return shards;
+    }
+
+    /**
+     * @return the duration in seconds of each test class with an XML report in the given
+     *         directory, by class name
+     */
+    static Map<String, Double> readDurations(File reportsDirectory) {
+        Map<String, Double> durations = new HashMap<>();
+        File[] reports = reportsDirectory
+                .listFiles(file -> file.getName().startsWith(REPORT_PREFIX) && file.getName().endsWith(REPORT_SUFFIX));
+        if (reports == null) {
+            return durations;
+        }
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        for (File report : reports) {
+            try (InputStream stream = Files.newInputStream(report.toPath())) {
+                XMLStreamReader reader = factory.createXMLStreamReader(stream);
+                try {
+                    // only the attributes of the root element are needed
+                    if (reader.nextTag() == XMLStreamReader.START_ELEMENT
+                            && "testsuite".equals(reader.getLocalName())) {
+                        String name = reader.getAttributeValue(null, "name");
+                        String time = reader.getAttributeValue(null, "time");
+                        if (name != null && time != null) {
+                            durations.put(name, Double.parseDouble(time.replace(",", "")));
+                        }
+                    }
+                } finally {
+                    reader.close();
+                }
+            } catch (IOException | XMLStreamException | NumberFormatException e) {
+                // unreadable reports are treated like missing ones
+            }
+        }
+        return durations;
+    }
+
+    /**
+     * Copies the reports of all shards into the given reports directory, as each test class is
+     * executed in exactly one shard the reports of different shards never overlap.
+     */
+    static void mergeReports(List<Shard> shards, File reportsDirectory) throws IOException {
+        reportsDirectory.mkdirs();
+        for (Shard shard : shards) {
+            File[] reports = shard.reportsDirectory().listFiles(File::isFile);
+            if (reports == null) {
+                continue;
+            }
+            for (File report : reports) {
+                if (!RUN_STATISTICS.equals(report.getName())) {
+                    Files.copy(report.toPath(), new File(reportsDirectory, report.getName()).toPath(),
+                            StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+}
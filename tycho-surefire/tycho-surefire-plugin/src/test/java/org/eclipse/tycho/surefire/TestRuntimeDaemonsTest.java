@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.surefire;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.eclipse.sisu.equinox.launching.DefaultEquinoxInstallationDescription;
+import org.eclipse.sisu.equinox.launching.EquinoxLauncher;
+import org.eclipse.sisu.equinox.launching.LaunchConfiguration;
+import org.eclipse.sisu.equinox.launching.internal.DefaultEquinoxInstallation;
+import org.eclipse.sisu.equinox.launching.internal.EquinoxLaunchConfiguration;
+import org.eclipse.tycho.surefire.TestRuntimeDaemons.ReactorBundle;
+import org.eclipse.tycho.surefire.TestRuntimeDaemons.TestRun;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestRuntimeDaemonsTest {
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    private final FakeRuntimes runtimes = new FakeRuntimes();
+
+    private final TestRuntimeDaemons subject = new TestRuntimeDaemons(runtimes,
+            new ConsoleLogger(Logger.LEVEL_DISABLED, "test"), 1000);
+
+    @Test
+    public void testRuntimeIsReusedForTheSameKey() throws Exception {
+        assertEquals(0, subject.execute("key", createCommandLine(), createTestRun("first")));
+        assertEquals(0, subject.execute("key", createCommandLine(), createTestRun("second")));
+
+        assertEquals(1, runtimes.launched.get());
+        assertEquals(List.of("first", "second"), runtimes.testRuns);
+    }
+
+    @Test
+    public void testRuntimeIsNotReusedForAnotherKey() throws Exception {
+        subject.execute("key", createCommandLine(), createTestRun("first"));
+        subject.execute("other", createCommandLine(), createTestRun("second"));
+
+        assertEquals(2, runtimes.launched.get());
+        assertEquals(List.of("first", "second"), runtimes.testRuns);
+    }
+
+    @Test
+    public void testRequestsContainTheTokenOfTheRuntime() throws Exception {
+        subject.execute("key", createCommandLine(), createTestRun("first"));
+        subject.execute("key", createCommandLine(), createTestRun("second"));
+
+        String token = runtimes.issuedTokens.get(0);
+        assertEquals(List.of(token, token), runtimes.tokens);
+    }
+
+    @Test
+    public void testExitCodeOfTerminatedRuntime() throws Exception {
+        runtimes.terminateWith = 13;
+
+        assertEquals(13, subject.execute("key", createCommandLine(), createTestRun("first")));
+        // a terminated runtime is not reused
+        runtimes.terminateWith = -1;
+        assertEquals(0, subject.execute("key", createCommandLine(), createTestRun("second")));
+        assertEquals(2, runtimes.launched.get());
+    }
+
+    @Test
+    public void testIdleRuntimesAreShutDownWhenTheBuildEnds() throws Exception {
+        subject.execute("key", createCommandLine(), createTestRun("first"));
+        subject.execute("other", createCommandLine(), createTestRun("second"));
+
+        subject.buildEnded(null);
+
+        assertEquals(2, runtimes.shutDown.get());
+        // a new build starts a new runtime
+        subject.execute("key", createCommandLine(), createTestRun("third"));
+        assertEquals(3, runtimes.launched.get());
+    }
+
+    @Test
+    public void testRuntimeIsKilledIfNotReadyInTime() throws Exception {
+        runtimes.ready = false;
+
+        assertThrows(IOException.class, () -> subject.execute("key", createCommandLine(), createTestRun("first")));
+
+        assertTrue(runtimes.killed.await(10, TimeUnit.SECONDS));
+        assertFalse(Files.exists(runtimes.portFiles.get(0).getParent()));
+    }
+
+    private EquinoxLaunchConfiguration createCommandLine() {
+        return new EquinoxLaunchConfiguration(
+                new DefaultEquinoxInstallation(new DefaultEquinoxInstallationDescription(), null, null));
+    }
+
+    private TestRun createTestRun(String name) throws IOException {
+        File testProperties = new File(tempDir.getRoot(), name);
+        return new TestRun(testProperties, 0, Map.of("bundle", "bin"),
+                List.of(new ReactorBundle(tempDir.newFile(name + ".jar"), 4, true)));
+    }
+
+    /**
+     * Launches runtimes that answer requests like the test daemon application of the test runtime
+     */
+    private static final class FakeRuntimes implements EquinoxLauncher {
+
+        final AtomicInteger launched = new AtomicInteger();
+        final List<String> issuedTokens = new CopyOnWriteArrayList<>();
+        final List<String> tokens = new CopyOnWriteArrayList<>();
+        final List<String> testRuns = new CopyOnWriteArrayList<>();
+        final List<Path> portFiles = new CopyOnWriteArrayList<>();
+        final AtomicInteger shutDown = new AtomicInteger();
+        final CountDownLatch killed = new CountDownLatch(1);
+        volatile int terminateWith = -1;
+        volatile boolean ready = true;
+
+        @Override
+        public int execute(LaunchConfiguration configuration, int forkedProcessTimeoutInSeconds) {
+            launched.incrementAndGet();
+            List<String> arguments = List.of(configuration.getProgramArguments());
+            Path portFile = Path.of(arguments.get(arguments.indexOf("-daemonport") + 1));
+            portFiles.add(portFile);
+            if (!ready) {
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (InterruptedException e) {
+                    // the process is destroyed if the thread running it is interrupted
+                    killed.countDown();
+                }
+                return -1;
+            }
+            String token = UUID.randomUUID().toString();
+            issuedTokens.add(token);
+            try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+                server.setSoTimeout(30000);
+                Path temp = portFile.resolveSibling("port.tmp");
+                Files.writeString(temp, server.getLocalPort() + "\n" + token);
+                Files.move(temp, portFile, StandardCopyOption.ATOMIC_MOVE);
+                while (true) {
+                    try (Socket socket = server.accept();
+                            DataInputStream in = new DataInputStream(socket.getInputStream());
+                            DataOutputStream out = new DataOutputStream(socket.getOutputStream())) {
+                        tokens.add(in.readUTF());
+                        if ("shutdown".equals(in.readUTF())) {
+                            shutDown.incrementAndGet();
+                            return 0;
+                        }
+                        testRuns.add(readTestRun(in));
+                        if (terminateWith >= 0) {
+                            return terminateWith;
+                        }
+                        out.writeInt(0);
+                    }
+                }
+            } catch (IOException e) {
+                return -1;
+            }
+        }
+
+        private static String readTestRun(DataInputStream in) throws IOException {
+            String testProperties = in.readUTF();
+            in.readLong();
+            for (int i = in.readInt(); i > 0; i--) {
+                in.readUTF();
+                in.readUTF();
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                in.readUTF();
+                in.readInt();
+                in.readBoolean();
+            }
+            return new File(testProperties).getName();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.surefire;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.codehaus.plexus.util.ReflectionUtils;
+import org.eclipse.sisu.equinox.launching.BundleStartLevel;
+import org.eclipse.sisu.equinox.launching.DefaultEquinoxInstallationDescription;
+import org.eclipse.sisu.equinox.launching.EquinoxInstallation;
+import org.eclipse.sisu.equinox.launching.internal.DefaultEquinoxInstallation;
+import org.eclipse.sisu.equinox.launching.internal.EquinoxLaunchConfiguration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestRuntimeReuseTest {
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    private AbstractEclipseTestMojo testMojo;
+
+    @Before
+    public void setUp() throws Exception {
+        testMojo = new TestPluginMojo();
+        setParameter("reuseTestRuntime", Boolean.TRUE);
+        setParameter("testRuntime", "default");
+    }
+
+    @Test
+    public void testKeyIgnoresReactorBundlesAndProjectLocations() throws Exception {
+        EquinoxInstallation first = createTestRuntime(addReactorBundle("first"), "1.0.0");
+        EquinoxInstallation second = createTestRuntime(addReactorBundle("second"), "1.0.0");
+
+        assertEquals(testMojo.getTestRuntimeKey(first, createCommandLine(first, "first")),
+                testMojo.getTestRuntimeKey(second, createCommandLine(second, "second")));
+    }
+
+    @Test
+    public void testKeyFollowsOtherBundles() throws Exception {
+        File reactorBundle = addReactorBundle("project");
+        EquinoxInstallation first = createTestRuntime(reactorBundle, "1.0.0");
+        EquinoxInstallation second = createTestRuntime(reactorBundle, "1.0.1");
+
+        assertNotEquals(testMojo.getTestRuntimeKey(first, createCommandLine(first, "project")),
+                testMojo.getTestRuntimeKey(second, createCommandLine(second, "project")));
+    }
+
+    @Test
+    public void testKeyFollowsCommandLineAndStartLevels() throws Exception {
+        EquinoxInstallation testRuntime = createTestRuntime(addReactorBundle("project"), "1.0.0");
+        String key = testMojo.getTestRuntimeKey(testRuntime, createCommandLine(testRuntime, "project"));
+
+        EquinoxLaunchConfiguration otherVmArguments = createCommandLine(testRuntime, "project");
+        otherVmArguments.addVMArguments("-Dkey=value");
+        assertNotEquals(key, testMojo.getTestRuntimeKey(testRuntime, otherVmArguments));
+
+        testRuntime.getInstallationDescription().addBundleStartLevel(new BundleStartLevel("other.bundle", 2, true));
+        assertNotEquals(key, testMojo.getTestRuntimeKey(testRuntime, createCommandLine(testRuntime, "project")));
+    }
+
+    @Test
+    public void testRuntimeIsReused() throws Exception {
+        EquinoxInstallation testRuntime = createTestRuntime(addReactorBundle("project"), "1.0.0");
+
+        assertTrue(testMojo.canReuseTestRuntime(testRuntime));
+    }
+
+    @Test
+    public void testRuntimeIsNotReusedWithoutReuseTestRuntime() throws Exception {
+        EquinoxInstallation testRuntime = createTestRuntime(addReactorBundle("project"), "1.0.0");
+        setParameter("reuseTestRuntime", Boolean.FALSE);
+
+        assertFalse(testMojo.canReuseTestRuntime(testRuntime));
+    }
+
+    @Test
+    public void testRuntimeIsNotReusedForDebugging() throws Exception {
+        EquinoxInstallation testRuntime = createTestRuntime(addReactorBundle("project"), "1.0.0");
+        setParameter("debugPort", 8000);
+
+        assertFalse(testMojo.canReuseTestRuntime(testRuntime));
+    }
+
+    @Test
+    public void testRuntimeIsNotReusedForUnpackedReactorBundles() throws Exception {
+        EquinoxInstallation testRuntime = createTestRuntime(addReactorBundle("project"), "1.0.0");
+        testRuntime.getInstallationDescription().addBundlesToExplode(List.of("test.bundle"));
+
+        assertFalse(testMojo.canReuseTestRuntime(testRuntime));
+    }
+
+    private File addReactorBundle(String project) throws Exception {
+        File bundle = new File(tempDir.newFolder(project), "test.bundle.jar");
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue("Bundle-SymbolicName", "test.bundle");
+        try (JarOutputStream jar = new JarOutputStream(new FileOutputStream(bundle), manifest)) {
+            // only the manifest is needed
+        }
+        Field field = ReflectionUtils.getFieldByNameIncludingSuperclasses("reactorBundles", testMojo.getClass());
+        field.setAccessible(true);
+        @SuppressWarnings("unchecked")
+        Set<File> reactorBundles = (Set<File>) field.get(testMojo);
+        reactorBundles.add(bundle);
+        return bundle;
+    }
+
+    private EquinoxInstallation createTestRuntime(File reactorBundle, String otherVersion) {
+        DefaultEquinoxInstallationDescription description = new DefaultEquinoxInstallationDescription();
+        description.addBundle("test.bundle", "1.0.0", reactorBundle);
+        description.addBundle("other.bundle", otherVersion, new File("other.bundle_" + otherVersion + ".jar"));
+        return new DefaultEquinoxInstallation(description, null, null);
+    }
+
+    private EquinoxLaunchConfiguration createCommandLine(EquinoxInstallation testRuntime, String project) {
+        File projectDir = new File(tempDir.getRoot(), project);
+        EquinoxLaunchConfiguration cli = new EquinoxLaunchConfiguration(testRuntime);
+        cli.setJvmExecutable("java");
+        cli.addVMArguments("-Dosgi.noShutdown=false");
+        cli.addProgramArguments("-data", new File(projectDir, "data").getAbsolutePath(), //
+                "-configuration", new File(projectDir, "configuration").getAbsolutePath(), //
+                "-application", TestRuntimeDaemons.DAEMON_APPLICATION, //
+                "-testproperties", new File(projectDir, "surefire.properties").getAbsolutePath());
+        return cli;
+    }
+
+    private void setParameter(String variable, Object value) throws IllegalAccessException {
+        Field field = ReflectionUtils.getFieldByNameIncludingSuperclasses(variable, testMojo.getClass());
+        field.setAccessible(true);
+        field.set(testMojo, value);
+    }
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Christoph Läubrich and others.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Christoph Läubrich - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.tycho.surefire;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestShardsTest {
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Test
+    public void testSplitBalancesDurations() {
+        List<List<String>> shards = TestShards.split(List.of("a.A", "b.B", "c.C", "d.D"), 2,
+                Map.of("a.A", 10.0, "b.B", 6.0, "c.C", 5.0, "d.D", 1.0));
+
+        assertEquals(List.of(List.of("a.A", "d.D"), List.of("b.B", "c.C")), shards);
+    }
+
+    @Test
+    public void testSplitWithoutDurations() {
+        List<List<String>> shards = TestShards.split(List.of("c.C", "a.A", "b.B"), 5, Map.of());
+
+        assertEquals(List.of(List.of("a.A"), List.of("b.B"), List.of("c.C")), shards);
+    }
+
+    @Test
+    public void testSplitAssumesAverageForUnknownClasses() {
+        List<List<String>> shards = TestShards.split(List.of("a.A", "b.B", "c.C"), 2,
+                Map.of("a.A", 4.0, "b.B", 2.0));
+
+        assertEquals(List.of(List.of("a.A"), List.of("c.C", "b.B")), shards);
+    }
+
+    @Test
+    public void testReadDurations() throws IOException {
+        File reports = tempDir.newFolder("reports");
+        write(new File(reports, "TEST-a.A.xml"),
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<testsuite name=\"a.A\" time=\"1,234.5\" tests=\"1\">"
+                        + "<testcase name=\"test\" classname=\"a.A\" time=\"1234.5\"/></testsuite>");
+        write(new File(reports, "TEST-b.B.xml"), "<testsuite name=\"b.B\" time=\"0.25\"/>");
+        write(new File(reports, "TEST-broken.xml"), "<testsuite name=");
+        write(new File(reports, "a.A.txt"), "not a report");
+
+        assertEquals(Map.of("a.A", 1234.5, "b.B", 0.25), TestShards.readDurations(reports));
+        assertEquals(Map.of(), TestShards.readDurations(new File(reports, "missing")));
+    }
+
+    @Test
+    public void testMergeReports() throws IOException {
+        File first = tempDir.newFolder("shard-0");
+        File second = tempDir.newFolder("shard-1");
+        write(new File(first, "TEST-a.A.xml"), "a");
+        write(new File(first, "TESTHASH"), "hash");
+        write(new File(second, "TEST-b.B.xml"), "b");
+        File reports = new File(tempDir.getRoot(), "reports");
+
+        TestShards.mergeReports(List.of(new TestShards.Shard(null, null, null, first),
+                new TestShards.Shard(null, null, null, second)), reports);
+
+        assertEquals("a", Files.readString(new File(reports, "TEST-a.A.xml").toPath()));
+        assertEquals("b", Files.readString(new File(reports, "TEST-b.B.xml").toPath()));
+        assertFalse(new File(reports, "TESTHASH").exists());
+        assertTrue(new File(first, "TEST-a.A.xml").exists());
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Files.writeString(file.toPath(), content);
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2022 SAP SE and others.
+ * Copyright (c) 2011, 2026 SAP SE and others.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
  * which accompanies this distribution, and is available at
@@ -22,6 +22,7 @@ import org.eclipse.equinox.p2.metadata.IArtifactKey;
 import org.eclipse.equinox.p2.metadata.IInstallableUnit;
 import org.eclipse.equinox.p2.metadata.Version;
 import org.eclipse.equinox.p2.metadata.VersionRange;
+import org.eclipse.equinox.p2.query.IQueryable;
 import org.eclipse.tycho.DependencyResolutionException;
 import org.eclipse.tycho.ExecutionEnvironmentResolutionHints;
 import org.eclipse.tycho.IArtifactFacade;
@@ -36,6 +37,12 @@ public interface P2TargetPlatform extends TargetPlatform {
 
     Set<IInstallableUnit> getInstallableUnits();
 
+    /**
+     * Returns the {@link #getInstallableUnits() installable units} as an indexed queryable. The
+     * index is built once per target platform and may be queried concurrently.
+     */
+    IQueryable<IInstallableUnit> getInstallableUnitIndex();
+
     /**
      * Returns additional information for resolving against the configured execution environment.
      */
@@ -45,6 +52,13 @@ public interface P2TargetPlatform extends TargetPlatform {
 
     File getLocalArtifactFile(IArtifactKey key);
 
+    /**
+     * Starts making the given artifacts locally available in the background, so that subsequent
+     * calls to {@link #getLocalArtifactFile(IArtifactKey)} for them don't need to download them
+     * one by one.
+     */
+    void prefetchLocalArtifactFiles(Collection<IArtifactKey> keys);
+
     /**
      * Returns the map from target platform installable units back to the contributing reactor
      * project.